@@ -0,0 +1,106 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import lombok.extern.slf4j.Slf4j;
+
+/*
+ * Minimal measurement loop shared by the benchmarks: warm up, then time a fixed number of iterations on the calling
+ * thread, reporting both wall time and thread CPU time per operation.
+ */
+@Slf4j
+final class BenchmarkSupport {
+
+    private static final String[] FIRST_NAMES = {
+        "Tiger", "Bill", "Jill", "Ada", "Grace", "Linus", "Swapnil", "Prerana"
+    };
+    private static final String[] LAST_NAMES = {"Nixon", "Bob", "Jenkins", "Lovelace", "Hopper", "Patil", "Sharma"};
+    private static final String[] TITLES = {
+        "Software Engineer", "Documentation Engineer", "Financial Advisor", "Manager", "Vice Chair"
+    };
+
+    private static volatile int sink;
+
+    private BenchmarkSupport() {}
+
+    record Measurement(double wallNanosPerOp, double cpuNanosPerOp) {
+
+        Map<String, Object> toMap() {
+            final var map = new LinkedHashMap<String, Object>();
+            map.put("wallMicrosPerOp", wallNanosPerOp / 1_000.0);
+            map.put("cpuMicrosPerOp", cpuNanosPerOp / 1_000.0);
+            return map;
+        }
+    }
+
+    static Measurement measure(int warmupIterations, int iterations, Callable<?> operation) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            consume(operation.call());
+        }
+        final var threads = ManagementFactory.getThreadMXBean();
+        final var cpuStart = threads.getCurrentThreadCpuTime();
+        final var wallStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            consume(operation.call());
+        }
+        final var wall = System.nanoTime() - wallStart;
+        final var cpu = threads.getCurrentThreadCpuTime() - cpuStart;
+        return new Measurement((double) wall / iterations, (double) cpu / iterations);
+    }
+
+    /*
+     * Deterministic employees so runs are comparable.
+     */
+    static List<MockEmployee> employees(int count, long seed) {
+        final var random = new Random(seed);
+        final var employees = new ArrayList<MockEmployee>(count);
+        for (int i = 0; i < count; i++) {
+            final var first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            final var last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            employees.add(new MockEmployee(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    first + " " + last,
+                    random.nextInt(30000, 500000),
+                    random.nextInt(16, 70),
+                    TITLES[random.nextInt(TITLES.length)],
+                    (first + last + i).toLowerCase() + "@company.com"));
+        }
+        return employees;
+    }
+
+    static Map<String, String> parseArgs(String[] args) {
+        final var options = new HashMap<String, String>();
+        for (String arg : args) {
+            final var separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    static void writeReport(Path output, Map<String, Object> report) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        log.info("Benchmark report written to {}", output.toAbsolutePath());
+    }
+
+    private static void consume(Object value) {
+        sink += System.identityHashCode(value);
+    }
+}
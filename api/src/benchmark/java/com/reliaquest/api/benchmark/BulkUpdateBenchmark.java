@@ -0,0 +1,140 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.ServerApplication;
+import com.reliaquest.server.model.BulkUpdateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+/**
+ * Times {@code POST /api/v1/employee/bulk-update} raising salaries by 4%, for every Software Engineer (a hash index
+ * lookup, a fifth of the store) and for every employee (a full scan), at each bulk update pool size. Every run gets a
+ * freshly started mock server seeded with the same generated employees, and makes few enough calls to stay under its
+ * random request limit.
+ *
+ * <p>Options: {@code --rows}, {@code --parallelism} (comma separated, default 1 and the core count),
+ * {@code --iterations} (timed updates per run after one warm-up, default 3) and {@code --output}.
+ */
+@Slf4j
+public class BulkUpdateBenchmark {
+
+    private static final String BULK_UPDATE_PATH = "/api/v1/employee/bulk-update";
+    private static final String RAISE = "salary = salary * 1.04";
+    private static final Map<String, String> SCENARIOS = new LinkedHashMap<>();
+
+    static {
+        SCENARIOS.put("softwareEngineers", "title = 'Software Engineer'");
+        SCENARIOS.put("everyone", null);
+    }
+
+    public static void main(String[] args) throws Exception {
+        final var options = BenchmarkSupport.parseArgs(args);
+        final var rows = Integer.parseInt(options.getOrDefault("rows", "1000000"));
+        final var parallelism = Arrays.stream(options.getOrDefault(
+                                "parallelism", "1," + Runtime.getRuntime().availableProcessors())
+                        .split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .distinct()
+                .toList();
+        final var iterations = Integer.parseInt(options.getOrDefault("iterations", "3"));
+        final var output = Path.of(options.getOrDefault("output", "build/benchmark/bulk-update.json"));
+
+        final var objectMapper = new ObjectMapper();
+        final var httpClient = HttpClient.newHttpClient();
+        final var employees = BenchmarkSupport.employees(rows, 42L);
+        final var results = new ArrayList<Map<String, Object>>();
+        for (Map.Entry<String, String> scenario : SCENARIOS.entrySet()) {
+            for (int threads : parallelism) {
+                results.add(run(httpClient, objectMapper, employees, scenario, threads, iterations));
+            }
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("rows", rows);
+        report.put("set", RAISE);
+        report.put("iterations", iterations);
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("runs", results);
+        BenchmarkSupport.writeReport(output, report);
+    }
+
+    private static Map<String, Object> run(
+            HttpClient httpClient,
+            ObjectMapper objectMapper,
+            List<MockEmployee> employees,
+            Map.Entry<String, String> scenario,
+            int threads,
+            int iterations)
+            throws Exception {
+        try (var context = SpringApplication.run(
+                ServerApplication.class,
+                "--server.port=0",
+                "--spring.application.name=mock-employee-api",
+                "--logging.level.com.reliaquest=INFO",
+                "--tracing.enabled=false",
+                "--mock.employees.bulk-update.parallelism=" + threads)) {
+            context.getBean(MockEmployeeService.class).insertAll(employees);
+            final var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            final var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + BULK_UPDATE_PATH))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(
+                            new BulkUpdateMockEmployeeInput(scenario.getValue(), RAISE))))
+                    .build();
+            bulkUpdate(httpClient, objectMapper, request);
+
+            long updated = 0;
+            long serverMillis = 0;
+            String plan = null;
+            final var start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                final JsonNode report = bulkUpdate(httpClient, objectMapper, request);
+                updated += report.path("updated").asLong();
+                serverMillis += report.path("elapsedMillis").asLong();
+                plan = report.path("plan").asText();
+            }
+            final var wallNanos = System.nanoTime() - start;
+            final var result = new LinkedHashMap<String, Object>();
+            result.put("scenario", scenario.getKey());
+            result.put("plan", plan);
+            result.put("parallelism", threads);
+            result.put("storeSize", employees.size());
+            result.put("updatedPerCall", updated / iterations);
+            result.put("wallMillisPerCall", wallNanos / 1_000_000.0 / iterations);
+            result.put("rowsPerSecond", updated * 1_000_000_000.0 / wallNanos);
+            result.put("serverRowsPerSecond", serverMillis == 0 ? null : updated * 1_000.0 / serverMillis);
+            log.info(
+                    "{} with {} threads: {} rows per call in {} ms, {} rows/s",
+                    scenario.getKey(),
+                    threads,
+                    updated / iterations,
+                    Math.round(wallNanos / 1_000_000.0 / iterations),
+                    Math.round((double) result.get("rowsPerSecond")));
+            return result;
+        }
+    }
+
+    private static JsonNode bulkUpdate(HttpClient httpClient, ObjectMapper objectMapper, HttpRequest request)
+            throws Exception {
+        final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(
+                    "Bulk update failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body()).path("data");
+    }
+}
@@ -0,0 +1,153 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.ServerApplication;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.bulk.ImportFormat;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+/**
+ * Streams generated CSV and NDJSON files through the mock server's {@code POST /api/v1/employee/import} and reports
+ * rows per second, end to end and as measured by the server, for each import pool size. Every run gets a freshly
+ * started mock server, so each import lands in a store of the same size.
+ *
+ * <p>Options: {@code --rows}, {@code --formats} (comma separated, default {@code csv,ndjson}), {@code --parallelism}
+ * (comma separated, default 1 and the core count), {@code --chunk-size} and {@code --output}.
+ */
+@Slf4j
+public class ImportBenchmark {
+
+    private static final String IMPORT_PATH = "/api/v1/employee/import";
+
+    public static void main(String[] args) throws Exception {
+        final var options = BenchmarkSupport.parseArgs(args);
+        final var rows = Integer.parseInt(options.getOrDefault("rows", "1000000"));
+        final var formats = Arrays.stream(options.getOrDefault("formats", "csv,ndjson").split(","))
+                .map(format -> ImportFormat.valueOf(format.trim().toUpperCase(Locale.ROOT)))
+                .toList();
+        final var parallelism = Arrays.stream(options.getOrDefault(
+                                "parallelism", "1," + Runtime.getRuntime().availableProcessors())
+                        .split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .distinct()
+                .toList();
+        final var chunkSize = options.getOrDefault("chunk-size", "1048576");
+        final var output = Path.of(options.getOrDefault("output", "build/benchmark/import.json"));
+
+        final var objectMapper = new ObjectMapper();
+        final var httpClient = HttpClient.newHttpClient();
+        final var employees = BenchmarkSupport.employees(rows, 42L);
+        final var results = new ArrayList<Map<String, Object>>();
+        for (ImportFormat format : formats) {
+            final var file = Files.createTempFile("employee-import", "." + format.name().toLowerCase(Locale.ROOT));
+            try {
+                write(file, format, employees, objectMapper);
+                for (int threads : parallelism) {
+                    results.add(run(httpClient, objectMapper, file, format, threads, chunkSize));
+                }
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("rows", rows);
+        report.put("chunkSize", Integer.parseInt(chunkSize));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("runs", results);
+        BenchmarkSupport.writeReport(output, report);
+    }
+
+    private static Map<String, Object> run(
+            HttpClient httpClient,
+            ObjectMapper objectMapper,
+            Path file,
+            ImportFormat format,
+            int threads,
+            String chunkSize)
+            throws Exception {
+        try (var context = SpringApplication.run(
+                ServerApplication.class,
+                "--server.port=0",
+                "--spring.application.name=mock-employee-api",
+                "--logging.level.com.reliaquest=INFO",
+                "--tracing.enabled=false",
+                "--mock.employees.import.parallelism=" + threads,
+                "--mock.employees.import.chunk-size=" + chunkSize)) {
+            final var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            final var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + IMPORT_PATH))
+                    .header("Content-Type", format.getMediaType())
+                    .POST(HttpRequest.BodyPublishers.ofFile(file))
+                    .build();
+            final var start = System.nanoTime();
+            final var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            final var wallNanos = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Import failed with " + response.statusCode() + ": " + response.body());
+            }
+            final JsonNode imported = objectMapper.readTree(response.body()).path("data");
+            final var result = new LinkedHashMap<String, Object>();
+            result.put("format", format.name());
+            result.put("parallelism", threads);
+            result.put("bytes", Files.size(file));
+            result.put("imported", imported.path("imported").asLong());
+            result.put("rejected", imported.path("rejected").asLong());
+            result.put("wallMillis", wallNanos / 1_000_000.0);
+            result.put("rowsPerSecond", imported.path("rows").asLong() * 1_000_000_000.0 / wallNanos);
+            result.put("serverRowsPerSecond", imported.path("rowsPerSecond").asDouble());
+            log.info(
+                    "{} with {} threads: {} rows in {} ms, {} rows/s",
+                    format,
+                    threads,
+                    imported.path("rows").asLong(),
+                    Math.round(wallNanos / 1_000_000.0),
+                    Math.round((double) result.get("rowsPerSecond")));
+            return result;
+        }
+    }
+
+    private static void write(Path file, ImportFormat format, List<MockEmployee> employees, ObjectMapper objectMapper)
+            throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            if (format == ImportFormat.CSV) {
+                writer.write("name,salary,age,title\n");
+            }
+            for (MockEmployee employee : employees) {
+                if (format == ImportFormat.CSV) {
+                    writer.write(String.join(
+                            ",",
+                            employee.getName(),
+                            String.valueOf(employee.getSalary()),
+                            String.valueOf(employee.getAge()),
+                            employee.getTitle()));
+                } else {
+                    final var row = new LinkedHashMap<String, Object>();
+                    row.put("name", employee.getName());
+                    row.put("salary", employee.getSalary());
+                    row.put("age", employee.getAge());
+                    row.put("title", employee.getTitle());
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+            }
+        }
+    }
+}
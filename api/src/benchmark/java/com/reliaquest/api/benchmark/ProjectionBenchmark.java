@@ -0,0 +1,120 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.translator.EmployeeTranslator;
+import com.reliaquest.api.web.EmployeeFieldProjection;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.web.FieldProjection;
+import com.reliaquest.server.web.MockEmployeeFieldProjection;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares full and {@code ?fields=} projected employee lists, as written by the api and by the mock server: encoded
+ * size, encode time and the resulting lists per second, in JSON and Smile.
+ *
+ * <p>Options: {@code --employees}, {@code --projections} (semicolon separated field lists, default
+ * {@code id,name;name,salary}), {@code --iterations}, {@code --warmup} and {@code --output}.
+ */
+@Slf4j
+public class ProjectionBenchmark {
+
+    private static final String FULL = "full";
+
+    public static void main(String[] args) throws Exception {
+        final var options = BenchmarkSupport.parseArgs(args);
+        final var employeeCount = Integer.parseInt(options.getOrDefault("employees", "1000"));
+        final var projections =
+                Arrays.asList(options.getOrDefault("projections", "id,name;name,salary").split(";"));
+        final var iterations = Integer.parseInt(options.getOrDefault("iterations", "500"));
+        final var warmup = Integer.parseInt(options.getOrDefault("warmup", "200"));
+        final var output = Path.of(options.getOrDefault("output", "build/benchmark/projection.json"));
+
+        final var mocks = BenchmarkSupport.employees(employeeCount, 42L);
+        final var translator = new EmployeeTranslator();
+        final List<EmployeeResponse> employees = mocks.stream().map(translator::convertToEmployee).toList();
+
+        final var formats = new LinkedHashMap<String, ObjectMapper>();
+        formats.put("application/json", new ObjectMapper());
+        formats.put("application/x-jackson-smile", new ObjectMapper(new SmileFactory()));
+
+        final var results = new LinkedHashMap<String, Object>();
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            final var api = projectable(format.getValue().copy(), EmployeeResponse.class);
+            final var server = projectable(format.getValue().copy(), MockEmployee.class);
+            final var formatResults = new LinkedHashMap<String, Object>();
+            formatResults.put(
+                    "api",
+                    measureProjections(api, new EmployeeFieldProjection(), employees, projections, warmup, iterations));
+            formatResults.put(
+                    "server",
+                    measureProjections(
+                            server,
+                            new MockEmployeeFieldProjection(),
+                            Response.handledWith(mocks),
+                            projections,
+                            warmup,
+                            iterations));
+            results.put(format.getKey(), formatResults);
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("employees", employeeCount);
+        report.put("iterations", iterations);
+        report.put("formats", results);
+        BenchmarkSupport.writeReport(output, report);
+    }
+
+    /*
+     * Configured as the applications' object mappers are: the type is projectable and unprojected writes keep all
+     * properties.
+     */
+    private static ObjectMapper projectable(ObjectMapper mapper, Class<?> type) {
+        mapper.addMixIn(type, FieldProjection.Projectable.class);
+        mapper.setFilterProvider(FieldProjection.serializeAll());
+        return mapper;
+    }
+
+    private static Map<String, Object> measureProjections(
+            ObjectMapper mapper,
+            FieldProjection projection,
+            Object body,
+            List<String> projections,
+            int warmup,
+            int iterations)
+            throws Exception {
+        final var writers = new LinkedHashMap<String, ObjectWriter>();
+        writers.put(FULL, mapper.writer());
+        projections.forEach(fields -> writers.put(fields, mapper.writer(projection.only(fields))));
+
+        final var results = new LinkedHashMap<String, Object>();
+        Integer fullSize = null;
+        for (Map.Entry<String, ObjectWriter> writer : writers.entrySet()) {
+            final var encoded = writer.getValue().writeValueAsBytes(body);
+            fullSize = fullSize == null ? encoded.length : fullSize;
+            final var encode =
+                    BenchmarkSupport.measure(warmup, iterations, () -> writer.getValue().writeValueAsBytes(body));
+            final var result = new LinkedHashMap<String, Object>();
+            result.put("bytes", encoded.length);
+            result.put("sizeVsFull", (double) encoded.length / fullSize);
+            result.put("encode", encode.toMap());
+            result.put("listsPerSecond", 1_000_000_000.0 / encode.wallNanosPerOp());
+            results.put(writer.getKey(), result);
+            log.info(
+                    "{} {}: {} bytes, encode {} us cpu",
+                    projection.getClass().getSimpleName(),
+                    writer.getKey(),
+                    encoded.length,
+                    encode.cpuNanosPerOp() / 1_000.0);
+        }
+        return results;
+    }
+}
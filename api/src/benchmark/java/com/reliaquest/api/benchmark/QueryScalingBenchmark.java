@@ -0,0 +1,127 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.service.ParallelQueryExecutor;
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures how the name search, highest salary and top-10 queries scale with the fork-join pool size of
+ * {@link ParallelQueryExecutor}, against the sequential streams they replaced. Wall time is the figure to read; CPU
+ * time only covers the calling thread, so it falls as work moves onto the pool.
+ *
+ * <p>Options: {@code --employees}, {@code --parallelism} (comma separated, default powers of two up to the core count),
+ * {@code --chunk-size}, {@code --fragment}, {@code --iterations}, {@code --warmup} and {@code --output}.
+ */
+@Slf4j
+public class QueryScalingBenchmark {
+
+    private static final Comparator<MockEmployee> BY_SALARY = Comparator.comparingInt(MockEmployee::getSalary);
+
+    public static void main(String[] args) throws Exception {
+        final var options = BenchmarkSupport.parseArgs(args);
+        final var employeeCount = Integer.parseInt(options.getOrDefault("employees", "1000000"));
+        final var chunkSize = Integer.parseInt(options.getOrDefault("chunk-size", "16384"));
+        final var fragment = options.getOrDefault("fragment", "patil").toLowerCase(Locale.ROOT);
+        final var iterations = Integer.parseInt(options.getOrDefault("iterations", "50"));
+        final var warmup = Integer.parseInt(options.getOrDefault("warmup", "20"));
+        final var output = Path.of(options.getOrDefault("output", "build/benchmark/query-scaling.json"));
+        final var parallelism = options.containsKey("parallelism")
+                ? Arrays.stream(options.get("parallelism").split(","))
+                        .map(String::trim)
+                        .map(Integer::parseInt)
+                        .toList()
+                : defaultParallelism();
+
+        final var employees = List.copyOf(BenchmarkSupport.employees(employeeCount, 42L));
+
+        final var sequential = new LinkedHashMap<String, Object>();
+        final var baseline = measureQueries(
+                warmup,
+                iterations,
+                () -> employees.stream()
+                        .filter(e -> e.getName().toLowerCase(Locale.ROOT).contains(fragment))
+                        .toList(),
+                () -> employees.stream().map(MockEmployee::getSalary).max(Integer::compareTo),
+                () -> employees.stream().sorted(BY_SALARY.reversed()).limit(10).toList());
+        baseline.forEach((query, measurement) -> sequential.put(query, measurement.toMap()));
+        log.info("sequential streams: {}", describe(baseline));
+
+        final var scaling = new ArrayList<Map<String, Object>>();
+        Map<String, BenchmarkSupport.Measurement> single = null;
+        for (int threads : parallelism) {
+            final var executor = new ParallelQueryExecutor(threads, chunkSize);
+            try {
+                final var measured = measureQueries(
+                        warmup,
+                        iterations,
+                        () -> executor.filter(
+                                employees, e -> e.getName().toLowerCase(Locale.ROOT).contains(fragment)),
+                        () -> executor.max(employees, BY_SALARY),
+                        () -> executor.topK(employees, 10, BY_SALARY));
+                single = single == null ? measured : single;
+                final var result = new LinkedHashMap<String, Object>();
+                result.put("parallelism", threads);
+                for (Map.Entry<String, BenchmarkSupport.Measurement> query : measured.entrySet()) {
+                    final var entry = new LinkedHashMap<String, Object>(query.getValue().toMap());
+                    entry.put("speedupVsFirst", single.get(query.getKey()).wallNanosPerOp()
+                            / query.getValue().wallNanosPerOp());
+                    entry.put("speedupVsSequential", baseline.get(query.getKey()).wallNanosPerOp()
+                            / query.getValue().wallNanosPerOp());
+                    result.put(query.getKey(), entry);
+                }
+                scaling.add(result);
+                log.info("parallelism {}: {}", threads, describe(measured));
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("employees", employeeCount);
+        report.put("chunkSize", chunkSize);
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("iterations", iterations);
+        report.put("sequential", sequential);
+        report.put("scaling", scaling);
+        BenchmarkSupport.writeReport(output, report);
+    }
+
+    private static Map<String, BenchmarkSupport.Measurement> measureQueries(
+            int warmup, int iterations, Callable<?> search, Callable<?> highest, Callable<?> top10) throws Exception {
+        final var measurements = new LinkedHashMap<String, BenchmarkSupport.Measurement>();
+        measurements.put("search", BenchmarkSupport.measure(warmup, iterations, search));
+        measurements.put("highestSalary", BenchmarkSupport.measure(warmup, iterations, highest));
+        measurements.put("top10", BenchmarkSupport.measure(warmup, iterations, top10));
+        return measurements;
+    }
+
+    private static List<Integer> defaultParallelism() {
+        final var cores = Runtime.getRuntime().availableProcessors();
+        final var levels = new ArrayList<Integer>();
+        for (int threads = 1; threads < cores; threads *= 2) {
+            levels.add(threads);
+        }
+        levels.add(cores);
+        return levels;
+    }
+
+    private static String describe(Map<String, BenchmarkSupport.Measurement> measurements) {
+        final var description = new StringBuilder();
+        measurements.forEach((query, measurement) -> description
+                .append(description.isEmpty() ? "" : ", ")
+                .append(query)
+                .append(' ')
+                .append("%.1f".formatted(measurement.wallNanosPerOp() / 1_000_000.0))
+                .append(" ms"));
+        return description.toString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the formats the mock server can negotiate for {@code Response<List<MockEmployee>>}: encoded size, and
+ * encode and decode time per full list.
+ *
+ * <p>Options: {@code --employees}, {@code --iterations}, {@code --warmup} and {@code --output}.
+ */
+@Slf4j
+public class SerializationBenchmark {
+
+    private static final TypeReference<Response<List<MockEmployee>>> RESPONSE_TYPE = new TypeReference<>() {};
+
+    public static void main(String[] args) throws Exception {
+        final var options = BenchmarkSupport.parseArgs(args);
+        final var employeeCount = Integer.parseInt(options.getOrDefault("employees", "1000"));
+        final var iterations = Integer.parseInt(options.getOrDefault("iterations", "500"));
+        final var warmup = Integer.parseInt(options.getOrDefault("warmup", "200"));
+        final var output = Path.of(options.getOrDefault("output", "build/benchmark/serialization.json"));
+
+        final var response = Response.handledWith(BenchmarkSupport.employees(employeeCount, 42L));
+        final var formats = new LinkedHashMap<String, ObjectMapper>();
+        formats.put("application/json", new ObjectMapper());
+        formats.put("application/x-jackson-smile", new ObjectMapper(new SmileFactory()));
+        formats.put("application/cbor", new ObjectMapper(new CBORFactory()));
+
+        final var results = new LinkedHashMap<String, Object>();
+        Integer jsonSize = null;
+        for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+            final var mapper = format.getValue();
+            final var encoded = mapper.writeValueAsBytes(response);
+            final var decoded = mapper.readValue(encoded, RESPONSE_TYPE);
+            if (!decoded.data().equals(response.data())) {
+                throw new IllegalStateException(format.getKey() + " did not round-trip the employee list");
+            }
+            jsonSize = jsonSize == null ? encoded.length : jsonSize;
+
+            final var encode = BenchmarkSupport.measure(warmup, iterations, () -> mapper.writeValueAsBytes(response));
+            final var decode =
+                    BenchmarkSupport.measure(warmup, iterations, () -> mapper.readValue(encoded, RESPONSE_TYPE));
+            final var result = new LinkedHashMap<String, Object>();
+            result.put("bytes", encoded.length);
+            result.put("sizeVsJson", (double) encoded.length / jsonSize);
+            result.put("encode", encode.toMap());
+            result.put("decode", decode.toMap());
+            results.put(format.getKey(), result);
+            log.info(
+                    "{}: {} bytes, encode {} us cpu, decode {} us cpu",
+                    format.getKey(),
+                    encoded.length,
+                    encode.cpuNanosPerOp() / 1_000.0,
+                    decode.cpuNanosPerOp() / 1_000.0);
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("employees", employeeCount);
+        report.put("iterations", iterations);
+        report.put("formats", results);
+        BenchmarkSupport.writeReport(output, report);
+    }
+}
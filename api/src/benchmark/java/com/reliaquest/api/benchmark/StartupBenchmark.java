@@ -0,0 +1,153 @@
+package com.reliaquest.api.benchmark;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures cold start of the api and the mock server as the time from launching a fresh JVM to the first HTTP response
+ * on a real endpoint, for each startup mode. Any status counts as served, since the mock server may answer 429.
+ *
+ * <p>Modes: {@code default}; {@code lazy} (the {@code fast-start} profile); {@code aot} (AOT-processed context);
+ * {@code cds} (class-data-sharing archive from the {@code cdsArchive} task); {@code fast} (all three).
+ *
+ * <p>Options: {@code --runs} per mode, {@code --modes}, {@code --timeout} (ISO-8601), {@code --output}, and per
+ * application {@code --<app>.classpath}, {@code --<app>.mainClass}, {@code --<app>.archive} and
+ * {@code --<app>.probe}; these are passed by the {@code startupBenchmark} Gradle task.
+ */
+@Slf4j
+public class StartupBenchmark {
+
+    private static final List<String> APPLICATIONS = List.of("api", "server");
+    private static final Map<String, List<String>> MODE_JVM_ARGS = Map.of(
+            "default", List.of(),
+            "lazy", List.of(),
+            "aot", List.of("-Dspring.aot.enabled=true"),
+            "cds", List.of("-XX:SharedArchiveFile=%s"),
+            "fast", List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=%s"));
+    private static final Map<String, List<String>> MODE_ARGS = Map.of(
+            "lazy", List.of("--spring.profiles.active=fast-start"),
+            "fast", List.of("--spring.profiles.active=fast-start"));
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        final var options = BenchmarkSupport.parseArgs(args);
+        final var runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        final var modes = Arrays.asList(
+                options.getOrDefault("modes", "default,lazy,aot,cds,fast").split(","));
+        final var timeout = Duration.parse(options.getOrDefault("timeout", "PT60S"));
+        final var output = Path.of(options.getOrDefault("output", "build/benchmark/startup.json"));
+
+        final var benchmark = new StartupBenchmark();
+        final var results = new LinkedHashMap<String, Object>();
+        for (String application : APPLICATIONS) {
+            final var perMode = new LinkedHashMap<String, Object>();
+            for (String mode : modes) {
+                if (!MODE_JVM_ARGS.containsKey(mode)) {
+                    throw new IllegalArgumentException("Unknown startup mode " + mode);
+                }
+                final var millis = new ArrayList<Double>();
+                for (int run = 0; run < runs; run++) {
+                    millis.add(benchmark.timeToFirstResponse(application, mode, options, timeout));
+                }
+                perMode.put(mode, summarize(millis));
+                log.info("{} {}: {}", application, mode, perMode.get(mode));
+            }
+            results.put(application, perMode);
+        }
+
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("runsPerMode", runs);
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("timeToFirstResponse", results);
+        BenchmarkSupport.writeReport(output, report);
+    }
+
+    double timeToFirstResponse(String application, String mode, Map<String, String> options, Duration timeout)
+            throws Exception {
+        final var archive = required(options, application + ".archive");
+        final var port = freePort();
+        final var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        MODE_JVM_ARGS.get(mode).forEach(arg -> command.add(arg.formatted(archive)));
+        command.add("-cp");
+        command.add(required(options, application + ".classpath"));
+        command.add(required(options, application + ".mainClass"));
+        command.add("--server.port=" + port);
+        command.addAll(MODE_ARGS.getOrDefault(mode, List.of()));
+
+        final var probe = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + required(options, application + ".probe")))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        final var start = System.nanoTime();
+        final var process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            final var deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(
+                            application + " exited with " + process.exitValue() + " in mode " + mode);
+                }
+                try {
+                    httpClient.send(probe, HttpResponse.BodyHandlers.discarding());
+                    return (System.nanoTime() - start) / 1_000_000.0;
+                } catch (ConnectException ex) {
+                    TimeUnit.MILLISECONDS.sleep(10);
+                }
+            }
+            throw new IllegalStateException(application + " did not respond within " + timeout + " in mode " + mode);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static Map<String, Object> summarize(List<Double> millis) {
+        final var sorted = millis.stream().sorted().toList();
+        final var summary = new LinkedHashMap<String, Object>();
+        summary.put("medianMillis", sorted.get(sorted.size() / 2));
+        summary.put("minMillis", sorted.get(0));
+        summary.put("maxMillis", sorted.get(sorted.size() - 1));
+        summary.put("runsMillis", millis);
+        return summary;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        final var value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return value;
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.api.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Latencies are measured from the intended send time, so a stalled dispatcher or server shows up as latency
+ * instead of silently lowering the offered rate.
+ */
+class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private long errors;
+    private long fallbacks;
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+
+    synchronized void record(long latencyNanos, int status, boolean fallback) {
+        append(latencyNanos);
+        statuses.merge(status, 1L, Long::sum);
+        if (fallback) {
+            fallbacks++;
+        }
+    }
+
+    synchronized void recordError(long latencyNanos) {
+        append(latencyNanos);
+        errors++;
+    }
+
+    synchronized Map<String, Object> summarize(double seconds) {
+        final var sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        final var summary = new LinkedHashMap<String, Object>();
+        summary.put("requests", count);
+        summary.put("throughputPerSecond", seconds > 0 ? count / seconds : 0);
+        summary.put("p50Ms", percentileMillis(sorted, 0.50));
+        summary.put("p99Ms", percentileMillis(sorted, 0.99));
+        summary.put("p999Ms", percentileMillis(sorted, 0.999));
+        summary.put("maxMs", count == 0 ? 0 : sorted[count - 1] / 1_000_000.0);
+        summary.put("tooManyRequests", statuses.getOrDefault(429, 0L));
+        summary.put("shed", statuses.getOrDefault(503, 0L));
+        summary.put("fallbacks", fallbacks);
+        summary.put("errors", errors);
+        summary.put("statuses", new TreeMap<>(statuses));
+        return summary;
+    }
+
+    synchronized void mergeInto(LatencyRecorder total) {
+        synchronized (total) {
+            for (int i = 0; i < count; i++) {
+                total.append(latencies[i]);
+            }
+            statuses.forEach((status, n) -> total.statuses.merge(status, n, Long::sum));
+            total.errors += errors;
+            total.fallbacks += fallbacks;
+        }
+    }
+
+    private void append(long latencyNanos) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        final var index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
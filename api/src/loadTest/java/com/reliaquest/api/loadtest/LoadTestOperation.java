@@ -0,0 +1,100 @@
+package com.reliaquest.api.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The seven {@code IEmployeeController} operations, keyed by their method names so a mix such as
+ * {@code getAllEmployees:30,createEmployee:5} reads the same as the controller contract.
+ */
+enum LoadTestOperation {
+    getAllEmployees(true) {
+        @Override
+        HttpRequest request(URI base, LoadTestState state) {
+            return get(base.resolve(PATH));
+        }
+    },
+    getEmployeesByNameSearch(false) {
+        @Override
+        HttpRequest request(URI base, LoadTestState state) {
+            // Fragments are the first characters of generated names and may contain spaces or apostrophes.
+            final var fragment = URLEncoder.encode(state.randomNameFragment(), StandardCharsets.UTF_8);
+            return get(base.resolve(PATH + "/search?searchString=" + fragment));
+        }
+    },
+    getEmployeeById(false) {
+        @Override
+        HttpRequest request(URI base, LoadTestState state) {
+            return get(base.resolve(PATH + "/" + state.randomKnownId()));
+        }
+    },
+    getHighestSalaryOfEmployees(false) {
+        @Override
+        HttpRequest request(URI base, LoadTestState state) {
+            return get(base.resolve(PATH + "/highestSalary"));
+        }
+    },
+    getTopTenHighestEarningEmployeeNames(false) {
+        @Override
+        HttpRequest request(URI base, LoadTestState state) {
+            return get(base.resolve(PATH + "/top10HighestEarningEmployeeNames"));
+        }
+    },
+    createEmployee(false) {
+        @Override
+        HttpRequest request(URI base, LoadTestState state) {
+            final var body = """
+                    {"name":"Load Test %s","salary":%d,"age":%d,"title":"Load Tester"}"""
+                    .formatted(
+                            UUID.randomUUID(),
+                            ThreadLocalRandom.current().nextInt(30000, 500000),
+                            ThreadLocalRandom.current().nextInt(16, 76));
+            return HttpRequest.newBuilder(base.resolve(PATH))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    },
+    deleteEmployeeById(false) {
+        @Override
+        HttpRequest request(URI base, LoadTestState state) {
+            return HttpRequest.newBuilder(base.resolve(PATH + "/" + state.takeCreatedId()))
+                    .DELETE()
+                    .build();
+        }
+    };
+
+    static final String PATH = "/api/v1/employees";
+
+    /*
+     * The list fallback is an empty result, which the controller answers with 404. Only the full list can be told
+     * apart from a genuine miss, since the harness never empties the store.
+     */
+    private final boolean fallbackOnNotFound;
+
+    LoadTestOperation(boolean fallbackOnNotFound) {
+        this.fallbackOnNotFound = fallbackOnNotFound;
+    }
+
+    abstract HttpRequest request(URI base, LoadTestState state);
+
+    boolean isFallback(int status) {
+        return fallbackOnNotFound && status == 404;
+    }
+
+    static LoadTestOperation parse(String name) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation in mix: " + name));
+    }
+
+    private static HttpRequest get(URI uri) {
+        return HttpRequest.newBuilder(uri).GET().build();
+    }
+}
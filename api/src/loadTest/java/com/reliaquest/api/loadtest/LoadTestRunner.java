@@ -0,0 +1,277 @@
+package com.reliaquest.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Open-loop load generator for the employee api. Requests are dispatched on a fixed schedule derived from the
+ * target rate and never wait for earlier responses, and each latency is taken from the scheduled send time, which
+ * avoids coordinated omission. Without {@code --target} the api (and the mock server beans it embeds) is started in
+ * this JVM on a random port.
+ *
+ * <p>With {@code --faults} the api instead sends every employee operation over HTTP to a mock server started in this
+ * JVM with those Spring profiles, normally {@code faults}, so the run measures the api under the injected upstream
+ * latency, errors and 429s. {@code --faultSeed} overrides the profile's seed.
+ *
+ * <p>{@code --requestThreads} and {@code --upstreamThreads} cap the api's servlet threads and upstream pool. The
+ * report then gives the peak number of requests the api was handling at once; with {@code --faults}, where each
+ * upstream call waits out injected latency on a non-blocking client, that peak is bounded by the rate and latency
+ * rather than by either thread count.
+ *
+ * <p>Options: {@code --rate} requests per second, {@code --duration} and {@code --warmup} as ISO-8601 durations,
+ * {@code --mix} as {@code operation:weight} pairs, {@code --output} for the JSON report and {@code --target} for an
+ * already running api.
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    private static final String DEFAULT_MIX = "getAllEmployees:25,getEmployeesByNameSearch:20,getEmployeeById:20,"
+            + "getHighestSalaryOfEmployees:10,getTopTenHighestEarningEmployeeNames:10,createEmployee:10,"
+            + "deleteEmployeeById:5";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient =
+            HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    public static void main(String[] args) throws Exception {
+        final var options = parse(args);
+        final var contexts = new ArrayList<ConfigurableApplicationContext>();
+        URI base;
+        ConfigurableApplicationContext api = null;
+        if (options.containsKey("target")) {
+            base = URI.create(options.get("target"));
+        } else {
+            final var apiArgs = new ArrayList<>(List.of("--server.port=0"));
+            if (options.containsKey("requestThreads")) {
+                apiArgs.add("--server.tomcat.threads.max=" + options.get("requestThreads"));
+                apiArgs.add("--server.tomcat.threads.min-spare=" + options.get("requestThreads"));
+            }
+            if (options.containsKey("upstreamThreads")) {
+                apiArgs.add("--employee.upstream.pool-size=" + options.get("upstreamThreads"));
+            }
+            if (options.containsKey("faults")) {
+                final var upstreamArgs = new ArrayList<>(List.of(
+                        "--server.port=0",
+                        "--spring.application.name=mock-employee-api",
+                        "--spring.profiles.active=" + options.get("faults")));
+                if (options.containsKey("faultSeed")) {
+                    upstreamArgs.add("--mock.faults.seed=" + options.get("faultSeed"));
+                }
+                contexts.add(SpringApplication.run(ServerApplication.class, upstreamArgs.toArray(String[]::new)));
+                apiArgs.add("--employee.replication.primary-url=" + baseUri(contexts.get(0)));
+            }
+            api = new SpringApplication(ApiApplication.class, InFlightRequestFilter.class)
+                    .run(apiArgs.toArray(String[]::new));
+            contexts.add(api);
+            base = baseUri(api);
+        }
+        try {
+            new LoadTestRunner().run(base, options, Optional.ofNullable(api));
+        } finally {
+            for (int i = contexts.size() - 1; i >= 0; i--) {
+                contexts.get(i).close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static URI baseUri(ConfigurableApplicationContext context) {
+        return URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+    }
+
+    void run(URI base, Map<String, String> options, Optional<ConfigurableApplicationContext> api) throws Exception {
+        final var rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        final var duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        final var warmup = Duration.parse(options.getOrDefault("warmup", "PT5S"));
+        final var mix = parseMix(options.getOrDefault("mix", DEFAULT_MIX));
+        final var output = Path.of(options.getOrDefault("output", "build/load-test/report.json"));
+
+        final var state = seed(base);
+        final var recorders = new EnumMap<LoadTestOperation, LatencyRecorder>(LoadTestOperation.class);
+        mix.keySet().forEach(operation -> recorders.put(operation, new LatencyRecorder()));
+        final var operations = mix.keySet().toArray(LoadTestOperation[]::new);
+        final var cumulativeWeights = new int[operations.length];
+        var totalWeight = 0;
+        for (int i = 0; i < operations.length; i++) {
+            totalWeight += mix.get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        log.info("Driving {} at {} req/s for {} after {} warmup, mix {}", base, rate, duration, warmup, mix);
+        final var intervalNanos = (long) (1_000_000_000L / rate);
+        final var startNanos = System.nanoTime();
+        final var measureFromNanos = startNanos + warmup.toNanos();
+        final var endNanos = measureFromNanos + duration.toNanos();
+        final var inFlight = new ArrayList<CompletableFuture<?>>();
+        for (long i = 0; ; i++) {
+            final var intendedNanos = startNanos + i * intervalNanos;
+            if (intendedNanos >= endNanos) {
+                break;
+            }
+            final var waitNanos = intendedNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            final var pick = ThreadLocalRandom.current().nextInt(totalWeight);
+            var index = 0;
+            while (cumulativeWeights[index] <= pick) {
+                index++;
+            }
+            final var operation = operations[index];
+            final var recorder = intendedNanos >= measureFromNanos ? recorders.get(operation) : null;
+            inFlight.add(dispatch(base, operation, state, intendedNanos, recorder));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+
+        writeReport(output, options, rate, duration, recorders, api);
+    }
+
+    private CompletableFuture<?> dispatch(
+            URI base,
+            LoadTestOperation operation,
+            LoadTestState state,
+            long intendedNanos,
+            LatencyRecorder recorder) {
+        return httpClient
+                .sendAsync(operation.request(base, state), HttpResponse.BodyHandlers.ofString())
+                .handle((response, ex) -> {
+                    final var latency = System.nanoTime() - intendedNanos;
+                    if (ex != null) {
+                        if (recorder != null) {
+                            recorder.recordError(latency);
+                        }
+                        return null;
+                    }
+                    if (operation == LoadTestOperation.createEmployee && response.statusCode() == 201) {
+                        readId(response.body()).ifPresent(state::created);
+                    }
+                    if (recorder != null) {
+                        recorder.record(latency, response.statusCode(), operation.isFallback(response.statusCode()));
+                    }
+                    return null;
+                });
+    }
+
+    private LoadTestState seed(URI base) throws IOException, InterruptedException {
+        final var response = httpClient.send(
+                HttpRequest.newBuilder(base.resolve(LoadTestOperation.PATH))
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        final var ids = new ArrayList<String>();
+        final var fragments = new ArrayList<String>();
+        if (response.statusCode() == 200) {
+            for (JsonNode employee : objectMapper.readTree(response.body())) {
+                ids.add(employee.path("id").asText());
+                final var name = employee.path("name").asText();
+                fragments.add(name.substring(0, Math.min(3, name.length())));
+            }
+        } else {
+            log.warn("Seeding returned {}, using random ids and fragments", response.statusCode());
+        }
+        return new LoadTestState(ids, fragments);
+    }
+
+    private Optional<String> readId(String body) {
+        try {
+            return Optional.of(objectMapper.readTree(body).path("id").asText());
+        } catch (IOException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private void writeReport(
+            Path output,
+            Map<String, String> options,
+            double rate,
+            Duration duration,
+            Map<LoadTestOperation, LatencyRecorder> recorders,
+            Optional<ConfigurableApplicationContext> api)
+            throws IOException {
+        final var seconds = duration.toNanos() / 1_000_000_000.0;
+        final var total = new LatencyRecorder();
+        final var perOperation = new LinkedHashMap<String, Object>();
+        recorders.forEach((operation, recorder) -> {
+            perOperation.put(operation.name(), recorder.summarize(seconds));
+            recorder.mergeInto(total);
+        });
+        final var report = new LinkedHashMap<String, Object>();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("options", new HashMap<>(options));
+        report.put("targetRatePerSecond", rate);
+        report.put("measuredSeconds", seconds);
+        report.put("total", total.summarize(seconds));
+        report.put("operations", perOperation);
+        api.ifPresent(context -> report.put("concurrency", concurrency(context)));
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        log.info("Load test report written to {}: {}", output.toAbsolutePath(), report.get("total"));
+    }
+
+    /*
+     * The thread counts the in-process api ran with, next to the most requests it was handling at once.
+     */
+    private static Map<String, Object> concurrency(ConfigurableApplicationContext api) {
+        final var environment = api.getEnvironment();
+        final var concurrency = new LinkedHashMap<String, Object>();
+        concurrency.put("requestThreads", environment.getProperty("server.tomcat.threads.max", Integer.class, 200));
+        concurrency.put("upstreamThreads", environment.getProperty("employee.upstream.pool-size", Integer.class, 16));
+        concurrency.put("peakConcurrentRequests", api.getBean(InFlightRequestFilter.class).getPeak());
+        return concurrency;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        final var options = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            final var separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static Map<LoadTestOperation, Integer> parseMix(String mix) {
+        final var weights = new EnumMap<LoadTestOperation, Integer>(LoadTestOperation.class);
+        for (String entry : mix.split(",")) {
+            final var parts = entry.trim().split(":");
+            final var weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight > 0) {
+                weights.put(LoadTestOperation.parse(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix is empty");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.api.loadtest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Ids and names seeded from the store before the run, plus ids created during it so deletes hit real employees.
+ */
+class LoadTestState {
+
+    private final List<String> knownIds;
+    private final List<String> nameFragments;
+    private final ConcurrentLinkedQueue<String> createdIds = new ConcurrentLinkedQueue<>();
+
+    LoadTestState(List<String> knownIds, List<String> nameFragments) {
+        this.knownIds = knownIds.isEmpty() ? List.of(UUID.randomUUID().toString()) : knownIds;
+        this.nameFragments = nameFragments.isEmpty() ? List.of("a") : nameFragments;
+    }
+
+    String randomKnownId() {
+        return knownIds.get(ThreadLocalRandom.current().nextInt(knownIds.size()));
+    }
+
+    String randomNameFragment() {
+        return nameFragments.get(ThreadLocalRandom.current().nextInt(nameFragments.size()));
+    }
+
+    void created(String id) {
+        createdIds.add(id);
+    }
+
+    String takeCreatedId() {
+        final var id = createdIds.poll();
+        return id != null ? id : UUID.randomUUID().toString();
+    }
+}
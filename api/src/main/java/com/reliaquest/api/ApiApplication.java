@@ -2,10 +2,8 @@ package com.reliaquest.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.EnableAspectJAutoProxy;
 
 @SpringBootApplication(scanBasePackages = {"com.reliaquest.api", "com.reliaquest.server"})
-@EnableAspectJAutoProxy
 public class ApiApplication {
 
     public static void main(String[] args) {
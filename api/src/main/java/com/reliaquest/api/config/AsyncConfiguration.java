@@ -0,0 +1,68 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.service.AdaptiveConcurrencyLimiter;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+@Configuration
+public class AsyncConfiguration {
+
+    public static final String EMPLOYEE_API_RETRY = "employeeApi";
+    public static final String EMPLOYEE_API_READ_BULKHEAD = "employeeApiRead";
+    public static final String EMPLOYEE_API_WRITE_BULKHEAD = "employeeApiWrite";
+
+    /*
+     * Upstream calls run on this pool so request threads only compose futures.
+     */
+    @Bean
+    public ExecutorService upstreamExecutor(@Value("${employee.upstream.pool-size:16}") int poolSize) {
+        return Executors.newFixedThreadPool(poolSize, new CustomizableThreadFactory("upstream-"));
+    }
+
+    /*
+     * Retry backoff is scheduled here instead of sleeping on the calling thread.
+     */
+    @Bean
+    public ScheduledExecutorService retryScheduler(@Value("${employee.upstream.retry-threads:2}") int threads) {
+        return Executors.newScheduledThreadPool(threads, new CustomizableThreadFactory("upstream-retry-"));
+    }
+
+    @Bean
+    public Retry employeeApiRetry(RetryRegistry retryRegistry) {
+        return retryRegistry.retry(EMPLOYEE_API_RETRY);
+    }
+
+    /*
+     * Reads and writes get separate bulkheads so slow writes cannot starve reads of upstream slots.
+     */
+    @Bean
+    public Bulkhead employeeApiReadBulkhead(BulkheadRegistry bulkheadRegistry) {
+        return bulkheadRegistry.bulkhead(EMPLOYEE_API_READ_BULKHEAD);
+    }
+
+    @Bean
+    public Bulkhead employeeApiWriteBulkhead(BulkheadRegistry bulkheadRegistry) {
+        return bulkheadRegistry.bulkhead(EMPLOYEE_API_WRITE_BULKHEAD);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter upstreamConcurrencyLimiter(
+            @Value("${employee.upstream.limit.initial:20}") int initialLimit,
+            @Value("${employee.upstream.limit.min:4}") int minLimit,
+            @Value("${employee.upstream.limit.max:200}") int maxLimit,
+            @Value("${employee.upstream.limit.latency-threshold:PT0.25S}") Duration latencyThreshold,
+            @Value("${employee.upstream.limit.backoff-ratio:0.9}") double backoffRatio) {
+        return new AdaptiveConcurrencyLimiter(
+                initialLimit, minLimit, maxLimit, latencyThreshold.toNanos(), backoffRatio);
+    }
+}
@@ -0,0 +1,174 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.service.BatchingLoaderFactory;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeServiceImpl;
+import com.reliaquest.api.service.HttpEmployeeNode;
+import com.reliaquest.api.service.LeastOutstandingBalancer;
+import com.reliaquest.api.service.ReplicatedEmployeeService;
+import com.reliaquest.api.service.ShardedEmployeeService;
+import com.reliaquest.api.service.TracingEmployeeService;
+import com.reliaquest.api.service.UpstreamCallExecutor;
+import com.reliaquest.api.service.WarmCachedEmployeeService;
+import com.reliaquest.api.service.WarmEmployeeCache;
+import com.reliaquest.api.translator.EmployeeTranslator;
+import com.reliaquest.server.service.IdempotencyTable;
+import com.reliaquest.server.service.WarmSnapshotFile;
+import com.reliaquest.server.service.index.NameTrieIndex;
+import com.reliaquest.server.service.shard.ConsistentHashRing;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Slf4j
+@Configuration
+public class EmployeeServiceConfiguration {
+
+    /*
+     * Whichever topology is chosen, its operations are traced.
+     */
+    @Bean
+    @Primary
+    public EmployeeService employeeService(
+            EmployeeServiceImpl employeeServiceImpl,
+            @Value("${employee.shards.urls:}") List<String> shardUrls,
+            @Value("${employee.shards.virtual-nodes:128}") int virtualNodes,
+            @Value("${employee.shards.autocomplete-rank:salary}") String autocompleteRank,
+            @Value("${employee.replication.primary-url:}") String primaryUrl,
+            @Value("${employee.replication.replica-urls:}") List<String> replicaUrls,
+            @Value("${employee.warm-cache.dir:}") String warmCacheDir,
+            @Value("${employee.warm-cache.max-age:PT24H}") Duration warmCacheMaxAge,
+            @Value("${employee.warm-cache.revalidate-after:PT1S}") Duration warmCacheRevalidateAfter,
+            @Value("${employee.warm-cache.write-interval:PT10S}") Duration warmCacheWriteInterval,
+            WebClient.Builder webClientBuilder,
+            UpstreamCallExecutor upstreamCallExecutor,
+            EmployeeTranslator employeeTranslator,
+            ObjectMapper objectMapper,
+            BatchingLoaderFactory batchingLoaderFactory) {
+        return new TracingEmployeeService(topology(
+                employeeServiceImpl,
+                shardUrls,
+                virtualNodes,
+                NameTrieIndex.Rank.valueOf(autocompleteRank.toUpperCase(Locale.ROOT)),
+                primaryUrl,
+                replicaUrls,
+                new WarmCacheSettings(warmCacheDir, warmCacheMaxAge, warmCacheRevalidateAfter, warmCacheWriteInterval),
+                webClientBuilder,
+                upstreamCallExecutor,
+                employeeTranslator,
+                objectMapper,
+                batchingLoaderFactory));
+    }
+
+    /*
+     * Chosen at runtime rather than by a condition, since conditions are frozen in an AOT-processed context. The shard
+     * at index i must run with mock.employees.shard.index=i and the same count, virtual-node and autocomplete rank
+     * settings, which is checked against every shard that is already up. Without shards or a primary, the in-process
+     * store is used.
+     */
+    private static EmployeeService topology(
+            EmployeeServiceImpl employeeServiceImpl,
+            List<String> shardUrls,
+            int virtualNodes,
+            NameTrieIndex.Rank autocompleteRank,
+            String primaryUrl,
+            List<String> replicaUrls,
+            WarmCacheSettings warmCache,
+            WebClient.Builder webClientBuilder,
+            UpstreamCallExecutor upstreamCallExecutor,
+            EmployeeTranslator employeeTranslator,
+            ObjectMapper objectMapper,
+            BatchingLoaderFactory batchingLoaderFactory) {
+        if (!shardUrls.isEmpty() && !primaryUrl.isBlank()) {
+            throw new IllegalStateException(
+                    "employee.shards.urls and employee.replication.primary-url cannot be combined");
+        }
+        if (!shardUrls.isEmpty()) {
+            log.info("Routing employee operations to {} shards: {}", shardUrls.size(), shardUrls);
+            final var shards = shardUrls.stream()
+                    .map(url -> node(webClientBuilder, objectMapper, url))
+                    .toList();
+            final var sharded = new ShardedEmployeeService(
+                    List.copyOf(shards),
+                    new ConsistentHashRing(shards.size(), virtualNodes),
+                    autocompleteRank,
+                    upstreamCallExecutor,
+                    employeeTranslator,
+                    objectMapper,
+                    employeeServiceImpl,
+                    batchingLoaderFactory);
+            sharded.checkShardSettings();
+            return warmCache.wrap(sharded, shards, "shard-", upstreamCallExecutor, employeeTranslator, objectMapper);
+        }
+        if (!primaryUrl.isBlank()) {
+            log.info("Writing employees to primary {} and reading from replicas {}", primaryUrl, replicaUrls);
+            final var primary = node(webClientBuilder, objectMapper, primaryUrl);
+            final var replicas = replicaUrls.isEmpty()
+                    ? List.of(primary)
+                    : replicaUrls.stream().map(url -> node(webClientBuilder, objectMapper, url)).toList();
+            final var replicated = new ReplicatedEmployeeService(
+                    primary,
+                    new LeastOutstandingBalancer<>(replicas),
+                    upstreamCallExecutor,
+                    employeeTranslator,
+                    objectMapper,
+                    employeeServiceImpl,
+                    batchingLoaderFactory);
+            return warmCache.wrap(
+                    replicated, List.of(primary), "primary-", upstreamCallExecutor, employeeTranslator, objectMapper);
+        }
+        return employeeServiceImpl;
+    }
+
+    /*
+     * Creates already answered per Idempotency-Key. A duplicate arriving while the first is in flight waits for it
+     * instead of reaching the mock server.
+     */
+    @Bean
+    public IdempotencyTable<EmployeeResponse> createEmployeeRequests(
+            @Value("${employee.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${employee.idempotency.ttl:PT24H}") Duration ttl) {
+        return new IdempotencyTable<>(maxEntries, ttl);
+    }
+
+    /*
+     * With employee.warm-cache.dir set, an HTTP topology's dataset reads are answered from one warm cache per mock
+     * server history, each in its own file: the primary's, which replicas share, or each shard's.
+     */
+    private record WarmCacheSettings(String dir, Duration maxAge, Duration revalidateAfter, Duration writeInterval) {
+
+        EmployeeService wrap(
+                EmployeeService topology,
+                List<HttpEmployeeNode> histories,
+                String filePrefix,
+                UpstreamCallExecutor upstreamCallExecutor,
+                EmployeeTranslator employeeTranslator,
+                ObjectMapper objectMapper) {
+            if (dir.isBlank()) {
+                return topology;
+            }
+            log.info("Serving dataset reads from warm caches in {}", dir);
+            final List<WarmEmployeeCache> caches = new ArrayList<>();
+            for (int i = 0; i < histories.size(); i++) {
+                final var file = new WarmSnapshotFile(Path.of(dir, filePrefix + i + ".snapshot"), objectMapper);
+                caches.add(new WarmEmployeeCache(
+                        histories.get(i), upstreamCallExecutor, file, maxAge, revalidateAfter, writeInterval));
+            }
+            return new WarmCachedEmployeeService(topology, caches, employeeTranslator);
+        }
+    }
+
+    private static HttpEmployeeNode node(WebClient.Builder webClientBuilder, ObjectMapper objectMapper, String url) {
+        return HttpEmployeeNode.create(webClientBuilder, objectMapper, url);
+    }
+}
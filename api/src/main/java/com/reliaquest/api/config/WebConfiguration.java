@@ -0,0 +1,49 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.web.TimedJsonHttpMessageConverter;
+import com.reliaquest.api.web.TracingExchangeFilter;
+import com.reliaquest.api.web.VersionTokenInterceptor;
+import com.reliaquest.server.web.FieldProjection;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    /*
+     * Lets EmployeeFieldProjection trim EmployeeResponse with ?fields=; every other write serializes all properties.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer employeeProjectionMixIn() {
+        return builder -> builder.mixIn(EmployeeResponse.class, FieldProjection.Projectable.class)
+                .filters(FieldProjection.serializeAll());
+    }
+
+    /*
+     * Replaces Boot's default JSON converter so response serialization shows up in EmployeeStageEvent recordings.
+     */
+    @Bean
+    public TimedJsonHttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJsonHttpMessageConverter(objectMapper);
+    }
+
+    /*
+     * Every WebClient built from Boot's builder, including the shard and replica nodes, propagates the trace.
+     */
+    @Bean
+    public WebClientCustomizer tracingWebClientCustomizer() {
+        return builder -> builder.filter(new TracingExchangeFilter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new VersionTokenInterceptor())
+                .addPathPatterns("/api/v1/employees", "/api/v1/employees/**");
+    }
+}
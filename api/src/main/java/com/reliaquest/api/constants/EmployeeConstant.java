@@ -6,4 +6,14 @@ public class EmployeeConstant {
     public static final String INVALID_EMPLOYEE_ID_FORMAT = "Invalid employee ID format";
     public static final String EMPLOYEE_NOT_FOUND_FOR_ID = "Employee not found for ID";
     public static final String EMPLOYEE_INPUT_IS_NULL = "Employee input is null";
+    public static final String EMPLOYEE_VERSION_CONFLICT = "Employee has changed since version ";
+    public static final String INVALID_EMPLOYEE_IDS = "Employee ids must be a non-empty list of at most ";
+    public static final String INVALID_RANGE = "Range minimum must not exceed maximum";
+    public static final String INVALID_PAGE_LIMIT = "Page limit must be between 1 and ";
+    public static final String AUTOCOMPLETE_PREFIX_IS_BLANK = "Autocomplete prefix is blank";
+    public static final String BULKHEAD_FULL = "Upstream bulkhead is full: ";
+    public static final String CONCURRENCY_LIMIT_REACHED = "Upstream concurrency limit reached";
+    public static final String UPSTREAM_TIMEOUT = "Upstream did not answer within ";
+    public static final String INVALID_VERSION_TOKEN = "Invalid X-Employee-Version header: ";
+    public static final String NOT_SUPPORTED_WHEN_SHARDED = "Not supported when the employee store is sharded: ";
 }
@@ -1,98 +1,300 @@
 package com.reliaquest.api.controller;
 
 import com.reliaquest.api.constants.EmployeeConstant;
+import com.reliaquest.api.exception.UpstreamTimeoutException;
+import com.reliaquest.api.model.EmployeeBulkUpdate;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePageResponse;
+import com.reliaquest.api.model.EmployeePatch;
+import com.reliaquest.api.model.EmployeeQueryResponse;
 import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SearchCacheStatsResponse;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.web.HttpCachePolicy;
+import com.reliaquest.server.service.IdempotencyTable;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import com.reliaquest.server.web.EmployeeETags;
+import java.time.Duration;
 import java.util.List;
-import lombok.AllArgsConstructor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 @RestController
 @RequestMapping("/api/v1/employees")
-@AllArgsConstructor
 @Slf4j
 public class EmployeeController implements IEmployeeController<EmployeeResponse, EmployeeInput> {
 
     private EmployeeService employeeService;
 
+    private IdempotencyTable<EmployeeResponse> createEmployeeRequests;
+
+    private HttpCachePolicy httpCachePolicy;
+
+    private Duration requestTimeout;
+
+    public EmployeeController(
+            EmployeeService employeeService,
+            IdempotencyTable<EmployeeResponse> createEmployeeRequests,
+            HttpCachePolicy httpCachePolicy,
+            @Value("${employee.upstream.request-timeout:PT10S}") Duration requestTimeout) {
+        this.employeeService = employeeService;
+        this.createEmployeeRequests = createEmployeeRequests;
+        this.httpCachePolicy = httpCachePolicy;
+        this.requestTimeout = requestTimeout;
+    }
+
     @Override
     @GetMapping
-    public ResponseEntity<List<EmployeeResponse>> getAllEmployees() throws Exception {
+    public CompletableFuture<ResponseEntity<List<EmployeeResponse>>> getAllEmployees() throws Exception {
         log.info("Fetching all employees");
-        List<EmployeeResponse> employees = employeeService.fetchAllEmployees();
-        if (employees == null || employees.isEmpty()) {
-            log.info(EmployeeConstant.NO_EMPLOYEES_FOUND);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-        }
-        return ResponseEntity.ok(employees);
+        return withinTimeout(httpCachePolicy.respond(
+                employeeService.getDatasetVersion(),
+                httpCachePolicy.getListCacheControl(),
+                () -> employeeService.fetchAllEmployees().thenApply(employees -> {
+                    if (employees == null || employees.isEmpty()) {
+                        log.info(EmployeeConstant.NO_EMPLOYEES_FOUND);
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+                    }
+                    return ResponseEntity.ok(employees);
+                })));
     }
 
     @Override
     @GetMapping("/search")
-    public ResponseEntity<List<EmployeeResponse>> getEmployeesByNameSearch(@RequestParam String searchString)
-            throws Exception {
+    public CompletableFuture<ResponseEntity<List<EmployeeResponse>>> getEmployeesByNameSearch(
+            @RequestParam String searchString) throws Exception {
         log.info("Searching employees by name fragment: {}", searchString);
-        List<EmployeeResponse> employees = employeeService.getEmployeesByNameSearch(searchString);
-        if (employees == null || employees.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-        }
-        return ResponseEntity.ok(employees);
+        return withinTimeout(employeeService.getEmployeesByNameSearch(searchString)
+                .thenApply(employees -> {
+                    if (employees == null || employees.isEmpty()) {
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+                    }
+                    return ResponseEntity.ok(employees);
+                }));
+    }
+
+    @GetMapping("/search/cache/stats")
+    public ResponseEntity<SearchCacheStatsResponse> getSearchCacheStats() {
+        return ResponseEntity.ok(employeeService.getSearchCacheStats());
+    }
+
+    @GetMapping("/autocomplete")
+    public CompletableFuture<ResponseEntity<List<EmployeeResponse>>> autocompleteEmployees(
+            @RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) throws Exception {
+        log.info("Autocompleting employees for prefix: {}", prefix);
+        return withinTimeout(employeeService.autocompleteEmployees(prefix, limit).thenApply(ResponseEntity::ok));
     }
 
     @Override
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeResponse> getEmployeeById(@PathVariable String id) throws Exception {
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> getEmployeeById(@PathVariable String id)
+            throws Exception {
         log.info("Fetching employee by ID: {}", id);
-        EmployeeResponse employee = employeeService.getEmployeeById(id);
-        if (employee == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-        }
-        return ResponseEntity.ok(employee);
+        return withinTimeout(employeeService.getEmployeeById(id).thenApply(employee -> {
+            if (employee == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+            }
+            return ResponseEntity.ok(employee);
+        }));
+    }
+
+    /*
+     * A read, but sent as POST so a long id list travels in the body instead of the URL.
+     */
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<List<EmployeeResponse>>> getEmployeesByIds(@RequestBody List<String> ids)
+            throws Exception {
+        log.info("Fetching {} employees by ID", ids == null ? 0 : ids.size());
+        return withinTimeout(employeeService.getEmployeesByIds(ids).thenApply(ResponseEntity::ok));
+    }
+
+    @GetMapping("/salaryRange")
+    public CompletableFuture<ResponseEntity<EmployeePageResponse>> getEmployeesBySalaryRange(
+            @RequestParam(required = false) Integer minSalary,
+            @RequestParam(required = false) Integer maxSalary,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit)
+            throws Exception {
+        log.info("Fetching employees by salary range: {} - {}", minSalary, maxSalary);
+        return withinTimeout(employeeService
+                .getEmployeesBySalaryRange(minSalary, maxSalary, cursor, limit)
+                .thenApply(ResponseEntity::ok));
+    }
+
+    @GetMapping("/ageRange")
+    public CompletableFuture<ResponseEntity<EmployeePageResponse>> getEmployeesByAgeRange(
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit)
+            throws Exception {
+        log.info("Fetching employees by age range: {} - {}", minAge, maxAge);
+        return withinTimeout(
+                employeeService.getEmployeesByAgeRange(minAge, maxAge, cursor, limit).thenApply(ResponseEntity::ok));
+    }
+
+    /*
+     * e.g. where=title = 'Engineer' and salary > 100000 and name ~ 'ann'&orderBy=salary desc&limit=20&explain=true
+     */
+    @GetMapping("/query")
+    public CompletableFuture<ResponseEntity<EmployeeQueryResponse>> queryEmployees(
+            @RequestParam(required = false) String where,
+            @RequestParam(required = false) String orderBy,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean explain)
+            throws Exception {
+        log.info("Querying employees where {} ordered by {}", where, orderBy);
+        return withinTimeout(
+                employeeService.queryEmployees(where, orderBy, limit, explain).thenApply(ResponseEntity::ok));
     }
 
     @Override
     @GetMapping("/highestSalary")
-    public ResponseEntity<Integer> getHighestSalaryOfEmployees() throws Exception {
+    public CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() throws Exception {
         log.info("Fetching highest salary among employees");
-        Integer highestSalary = employeeService.getHighestSalaryOfEmployees();
-        return ResponseEntity.ok(highestSalary);
+        return withinTimeout(httpCachePolicy.respond(
+                employeeService.getDatasetVersion(),
+                httpCachePolicy.getAggregateCacheControl(),
+                () -> employeeService.getHighestSalaryOfEmployees().thenApply(ResponseEntity::ok)));
     }
 
     @Override
     @GetMapping("/top10HighestEarningEmployeeNames")
-    public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() throws Exception {
+    public CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() throws Exception {
         log.info("Fetching top 10 highest earning employee names");
-        List<String> topNames = employeeService.getTop10HighestEarningEmployeeNames();
-        return ResponseEntity.ok(topNames);
+        return withinTimeout(httpCachePolicy.respond(
+                employeeService.getDatasetVersion(),
+                httpCachePolicy.getAggregateCacheControl(),
+                () -> employeeService.getTop10HighestEarningEmployeeNames().thenApply(ResponseEntity::ok)));
     }
 
     @Override
     @PostMapping
-    public ResponseEntity<EmployeeResponse> createEmployee(@RequestBody EmployeeInput employeeInput) throws Exception {
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> createEmployee(@RequestBody EmployeeInput employeeInput)
+            throws Exception {
         log.info("Creating new employee: {}", employeeInput);
-        EmployeeResponse employee = employeeService.createEmployee(employeeInput);
-        return ResponseEntity.status(HttpStatus.CREATED).body(employee);
+        final String idempotencyKey = idempotencyKey();
+        final CompletableFuture<EmployeeResponse> employee = idempotencyKey == null
+                ? employeeService.createEmployee(employeeInput)
+                : createEmployeeRequests.submit(
+                        idempotencyKey,
+                        employeeInput,
+                        () -> employeeService.createEmployee(employeeInput, idempotencyKey));
+        return withinTimeout(employee.thenApply(created -> ResponseEntity.status(HttpStatus.CREATED).body(created)));
+    }
+
+    /*
+     * Replaces name, salary, age and title. Both PUT and PATCH take If-Match with the version ETag returned by an
+     * earlier read or write, and answer 412 with the current ETag when the employee has moved on.
+     */
+    @PutMapping("/{id}")
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> replaceEmployee(
+            @PathVariable String id,
+            @RequestBody EmployeeInput employeeInput,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws Exception {
+        log.info("Replacing employee {}: {}", id, employeeInput);
+        if (employeeInput == null) {
+            throw new IllegalArgumentException(EmployeeConstant.EMPLOYEE_INPUT_IS_NULL);
+        }
+        String validationError = employeeInput.getValidationError();
+        if (validationError != null) {
+            throw new IllegalArgumentException(validationError);
+        }
+        return withinTimeout(employeeService
+                .updateEmployee(id, EmployeePatch.replacing(employeeInput), EmployeeETags.parseIfMatch(ifMatch))
+                .thenApply(EmployeeController::updated));
+    }
+
+    @PatchMapping("/{id}")
+    public CompletableFuture<ResponseEntity<EmployeeResponse>> updateEmployee(
+            @PathVariable String id,
+            @RequestBody EmployeePatch patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws Exception {
+        log.info("Updating employee {}: {}", id, patch);
+        return withinTimeout(employeeService
+                .updateEmployee(id, patch, EmployeeETags.parseIfMatch(ifMatch))
+                .thenApply(EmployeeController::updated));
+    }
+
+    /*
+     * e.g. {"where": "title = 'Software Engineer'", "set": "salary = salary * 1.04"}; without where, every employee is
+     * updated. One upstream call, all or nothing.
+     */
+    @PostMapping("/bulk-update")
+    public CompletableFuture<ResponseEntity<BulkUpdateReport>> bulkUpdateEmployees(
+            @RequestBody EmployeeBulkUpdate update) throws Exception {
+        log.info("Bulk updating employees where {}: {}", update.getWhere(), update.getSet());
+        return withinTimeout(employeeService
+                .bulkUpdateEmployees(update.getWhere(), update.getSet())
+                .thenApply(ResponseEntity::ok));
     }
 
     @Override
     @DeleteMapping("/{id}")
-    public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) throws Exception {
+    public CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) throws Exception {
         log.info("Deleting employee by ID: {}", id);
-        String deletedName = employeeService.deleteEmployeeById(id);
-        if (deletedName == null) {
+        return withinTimeout(employeeService.deleteEmployeeById(id).thenApply(deletedName -> {
+            if (deletedName == null) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+            }
+            return ResponseEntity.ok(deletedName);
+        }));
+    }
+
+    private static ResponseEntity<EmployeeResponse> updated(EmployeeResponse employee) {
+        if (employee == null) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         }
-        return ResponseEntity.ok(deletedName);
+        return ResponseEntity.ok().eTag(EmployeeETags.of(employee.getVersion())).body(employee);
+    }
+
+    /*
+     * IEmployeeController fixes the createEmployee signature, so the optional Idempotency-Key header is read from the
+     * current request rather than bound as a parameter.
+     */
+    private static String idempotencyKey() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            final var key = attributes.getRequest().getHeader(IdempotencyTable.HEADER);
+            return key == null || key.isBlank() ? null : key;
+        }
+        return null;
+    }
+
+    /*
+     * Handlers return the composed upstream future, so the servlet thread is released as soon as the calls are sent
+     * and the response is written when the future completes; Spring hands a failure's cause to GlobalExceptionHandler.
+     * A response that is not ready within the request timeout answers 504.
+     */
+    private <T> CompletableFuture<T> withinTimeout(CompletableFuture<T> response) {
+        return response.orTimeout(requestTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                .exceptionallyCompose(ex -> {
+                    final var cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    return CompletableFuture.failedFuture(
+                            cause instanceof TimeoutException
+                                    ? new UpstreamTimeoutException(EmployeeConstant.UPSTREAM_TIMEOUT + requestTimeout)
+                                    : cause);
+                });
     }
 }
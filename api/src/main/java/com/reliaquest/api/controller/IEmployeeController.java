@@ -1,6 +1,7 @@
 package com.reliaquest.api.controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,23 +22,24 @@ import org.springframework.web.bind.annotation.RequestBody;
 public interface IEmployeeController<Entity, Input> {
 
     @GetMapping()
-    ResponseEntity<List<Entity>> getAllEmployees() throws Exception;
+    CompletableFuture<ResponseEntity<List<Entity>>> getAllEmployees() throws Exception;
 
     @GetMapping("/search/{searchString}")
-    ResponseEntity<List<Entity>> getEmployeesByNameSearch(@PathVariable String searchString) throws Exception;
+    CompletableFuture<ResponseEntity<List<Entity>>> getEmployeesByNameSearch(@PathVariable String searchString)
+            throws Exception;
 
     @GetMapping("/{id}")
-    ResponseEntity<Entity> getEmployeeById(@PathVariable String id) throws Exception;
+    CompletableFuture<ResponseEntity<Entity>> getEmployeeById(@PathVariable String id) throws Exception;
 
     @GetMapping("/highestSalary")
-    ResponseEntity<Integer> getHighestSalaryOfEmployees() throws Exception;
+    CompletableFuture<ResponseEntity<Integer>> getHighestSalaryOfEmployees() throws Exception;
 
     @GetMapping("/topTenHighestEarningEmployeeNames")
-    ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() throws Exception;
+    CompletableFuture<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() throws Exception;
 
     @PostMapping()
-    ResponseEntity<Entity> createEmployee(@RequestBody Input employeeInput) throws Exception;
+    CompletableFuture<ResponseEntity<Entity>> createEmployee(@RequestBody Input employeeInput) throws Exception;
 
     @DeleteMapping("/{id}")
-    ResponseEntity<String> deleteEmployeeById(@PathVariable String id) throws Exception;
+    CompletableFuture<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) throws Exception;
 }
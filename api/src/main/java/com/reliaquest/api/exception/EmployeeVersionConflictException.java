@@ -0,0 +1,18 @@
+package com.reliaquest.api.exception;
+
+import lombok.Getter;
+
+/**
+ * A compare-and-set update whose If-Match version is no longer the employee's; reported as 412 with the current
+ * version's ETag so the client can re-read and retry.
+ */
+@Getter
+public class EmployeeVersionConflictException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public EmployeeVersionConflictException(String message, long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+}
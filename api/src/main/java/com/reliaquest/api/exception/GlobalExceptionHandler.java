@@ -1,8 +1,10 @@
 package com.reliaquest.api.exception;
 
+import com.reliaquest.server.web.EmployeeETags;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -39,6 +41,55 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.TOO_MANY_REQUESTS);
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleServiceOverloadedException(
+            ServiceOverloadedException ex, WebRequest request) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        error.put("error", "Service Unavailable");
+        error.put("message", ex.getMessage());
+        log.warn("Request shed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler(UpstreamTimeoutException.class)
+    public ResponseEntity<Map<String, Object>> handleUpstreamTimeoutException(
+            UpstreamTimeoutException ex, WebRequest request) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("status", HttpStatus.GATEWAY_TIMEOUT.value());
+        error.put("error", "Gateway Timeout");
+        error.put("message", ex.getMessage());
+        log.warn("Upstream timed out: {}", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @ExceptionHandler(EmployeeVersionConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleEmployeeVersionConflictException(
+            EmployeeVersionConflictException ex, WebRequest request) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("status", HttpStatus.PRECONDITION_FAILED.value());
+        error.put("error", "Precondition Failed");
+        error.put("message", ex.getMessage());
+        error.put("currentVersion", ex.getCurrentVersion());
+        log.info("Update conflict: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(EmployeeETags.of(ex.getCurrentVersion()))
+                .body(error);
+    }
+
+    @ExceptionHandler(UnsupportedOperationException.class)
+    public ResponseEntity<Map<String, Object>> handleUnsupportedOperationException(
+            UnsupportedOperationException ex, WebRequest request) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("status", HttpStatus.NOT_IMPLEMENTED.value());
+        error.put("error", "Not Implemented");
+        error.put("message", ex.getMessage());
+        log.warn("Unsupported operation: {}", ex.getMessage());
+        return new ResponseEntity<>(error, HttpStatus.NOT_IMPLEMENTED);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleAllExceptions(Exception ex, WebRequest request) {
         Map<String, Object> error = new HashMap<>();
@@ -0,0 +1,8 @@
+package com.reliaquest.api.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
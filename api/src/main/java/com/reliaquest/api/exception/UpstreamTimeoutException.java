@@ -0,0 +1,8 @@
+package com.reliaquest.api.exception;
+
+public class UpstreamTimeoutException extends RuntimeException {
+
+    public UpstreamTimeoutException(String message) {
+        super(message);
+    }
+}
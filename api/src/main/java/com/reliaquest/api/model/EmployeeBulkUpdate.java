@@ -0,0 +1,18 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * The employees to change, as a query where clause (every employee when absent), and the changes to make to them,
+ * e.g. where "title = 'Software Engineer'" and set "salary = salary * 1.04".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeBulkUpdate {
+
+    private String where;
+    private String set;
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * The fields to change in an employee update; absent fields keep their value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePatch {
+
+    private String name;
+    private Integer salary;
+    private Integer age;
+    private String title;
+
+    public static EmployeePatch replacing(EmployeeInput input) {
+        return new EmployeePatch(input.getName(), input.getSalary(), input.getAge(), input.getTitle());
+    }
+
+    public String getValidationError() {
+        if (name == null && salary == null && age == null && title == null) return "Employee update has no fields.";
+        if (name != null && name.isBlank()) return "Employee name is blank.";
+        if (salary != null && salary <= 0) return "Employee salary must be positive.";
+        if (age != null && age < 16) return "Employee age must be at least 16.";
+        if (age != null && age > 75) return "Employee age must not be greater than 75.";
+        if (title != null && title.isBlank()) return "Employee title is blank.";
+        return null;
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reliaquest.server.model.QueryStats;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeQueryResponse {
+
+    private List<EmployeeResponse> employees;
+    private QueryStats stats;
+}
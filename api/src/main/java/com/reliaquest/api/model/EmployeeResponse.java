@@ -14,5 +14,6 @@ public class EmployeeResponse {
     private Integer age;
     private String title;
     private String email;
+    private Long version;
     private String error;
 }
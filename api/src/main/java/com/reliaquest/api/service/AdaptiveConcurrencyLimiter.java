@@ -0,0 +1,70 @@
+package com.reliaquest.api.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * AIMD concurrency limit for upstream calls. Every call that completes quickly without being throttled grows the
+ * limit by {@code 1/limit}; a 429 or a call slower than the latency threshold shrinks it by {@code backoffRatio}.
+ * Calls over the limit are rejected at once rather than queued.
+ *
+ * <p>Only upstreams reached through {@link HttpEmployeeNode}, with {@code employee.shards.urls} or
+ * {@code employee.replication.primary-url} set, can answer 429. The default in-process upstream never does, so there
+ * only slow calls shrink the limit.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(
+            int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public synchronized void release(long latencyNanos, boolean throttled) {
+        int current = inFlight.getAndDecrement();
+        if (throttled || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            log.debug("Upstream concurrency limit decreased to {}", getLimit());
+        } else if (current * 2 >= limit) {
+            // Only grow while the limit is actually being exercised, otherwise idle periods inflate it.
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,120 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.server.trace.Span;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.NonNull;
+
+/**
+ * Collects single-key loads made within a short window into one batch call, in the manner of DataLoader. The first
+ * load after a dispatch opens the window; the pending keys are dispatched when it closes, or as soon as
+ * {@code maxBatchSize} distinct keys are pending. Loads of a key that is already pending share its future.
+ *
+ * <p>The batch function returns the values it found by key; keys it leaves out load as empty. A failed batch fails
+ * every load in it. Nothing is cached between batches.
+ *
+ * <p>A batch's upstream call is traced as part of the load that opened its window, or that filled it. Each load's
+ * future completes in its own caller's trace.
+ */
+public class BatchingLoader<K, V> {
+
+    private final Function<List<K>, CompletableFuture<Map<K, V>>> batchFunction;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final ScheduledExecutorService scheduler;
+
+    private LinkedHashMap<K, CompletableFuture<Optional<V>>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledDispatch;
+
+    public BatchingLoader(
+            @NonNull Function<List<K>, CompletableFuture<Map<K, V>>> batchFunction,
+            int maxBatchSize,
+            @NonNull Duration window,
+            @NonNull ScheduledExecutorService scheduler) {
+        if (maxBatchSize < 1 || window.isNegative()) {
+            throw new IllegalArgumentException("Batch size must be positive and the window must not be negative");
+        }
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = window.toNanos();
+        this.scheduler = scheduler;
+    }
+
+    public CompletableFuture<Optional<V>> load(@NonNull K key) {
+        final CompletableFuture<Optional<V>> result;
+        Map<K, CompletableFuture<Optional<V>>> batch = null;
+        synchronized (this) {
+            result = pending.computeIfAbsent(key, ignored -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize || windowNanos == 0) {
+                batch = drain();
+            } else if (scheduledDispatch == null) {
+                scheduledDispatch = scheduler.schedule(
+                        Span.current().wrap(this::dispatchPending), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+        return Span.resume(result);
+    }
+
+    /*
+     * The found values by key; a failure of any batch involved fails the whole result.
+     */
+    public CompletableFuture<Map<K, V>> loadMany(@NonNull Collection<K> keys) {
+        final var loads = new LinkedHashMap<K, CompletableFuture<Optional<V>>>();
+        keys.forEach(key -> loads.computeIfAbsent(key, this::load));
+        return CompletableFuture.allOf(loads.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    final var found = new LinkedHashMap<K, V>();
+                    loads.forEach((key, load) -> load.join().ifPresent(value -> found.put(key, value)));
+                    return found;
+                });
+    }
+
+    private void dispatchPending() {
+        final Map<K, CompletableFuture<Optional<V>>> batch;
+        synchronized (this) {
+            batch = drain();
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    private Map<K, CompletableFuture<Optional<V>>> drain() {
+        if (scheduledDispatch != null) {
+            scheduledDispatch.cancel(false);
+            scheduledDispatch = null;
+        }
+        final var batch = pending;
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<Optional<V>>> batch) {
+        CompletableFuture<Map<K, V>> values;
+        try {
+            values = batchFunction.apply(new ArrayList<>(batch.keySet()));
+        } catch (RuntimeException e) {
+            values = CompletableFuture.failedFuture(e);
+        }
+        values.whenComplete((found, ex) -> batch.forEach((key, load) -> {
+            if (ex != null) {
+                load.completeExceptionally(ex);
+            } else {
+                load.complete(Optional.ofNullable(found.get(key)));
+            }
+        }));
+    }
+}
@@ -0,0 +1,40 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.server.service.MockEmployeeService;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the {@link BatchingLoader}s behind single-id lookups with the configured window and batch size. Dispatches
+ * are scheduled on the upstream retry scheduler, which only hands them on to the upstream pool.
+ */
+@Component
+public class BatchingLoaderFactory {
+
+    private final int maxBatchSize;
+    private final Duration window;
+    private final ScheduledExecutorService retryScheduler;
+
+    public BatchingLoaderFactory(
+            @Value("${employee.batching.max-batch-size:100}") int maxBatchSize,
+            @Value("${employee.batching.window:PT0.002S}") Duration window,
+            ScheduledExecutorService retryScheduler) {
+        if (maxBatchSize > MockEmployeeService.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    "employee.batching.max-batch-size cannot exceed " + MockEmployeeService.MAX_BATCH_SIZE);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.window = window;
+        this.retryScheduler = retryScheduler;
+    }
+
+    public <K, V> BatchingLoader<K, V> create(Function<List<K>, CompletableFuture<Map<K, V>>> batchFunction) {
+        return new BatchingLoader<>(batchFunction, maxBatchSize, window, retryScheduler);
+    }
+}
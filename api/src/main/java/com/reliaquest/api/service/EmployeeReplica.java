@@ -0,0 +1,270 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.query.BulkUpdateReplay;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local copy of the mock employee store. It is bootstrapped from one full snapshot and then follows the change log's
+ * in-process stream, so reads are served from the local view: a read only looks up the log's head sequence and, when
+ * the stream has not delivered that far yet, waits for it, so it still sees every write completed before it.
+ *
+ * <p>Only after a gap, when the stream dropped the replica for falling behind or skipped a sequence, does the next
+ * read pull the change-log delta since the last applied sequence and subscribe again. If the server has already
+ * evicted the needed changes the replica bootstraps again. Registered {@link ReplicaChangeListener}s see every reset
+ * and applied change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeReplica {
+
+    private final MockEmployeeService mockEmployeeService;
+    private final UpstreamCallExecutor upstreamCallExecutor;
+    private final List<ReplicaChangeListener> replicaChangeListeners;
+    private final Map<UUID, MockEmployee> employees = new LinkedHashMap<>();
+
+    // Reads waiting for the stream to reach a sequence, keyed by that sequence.
+    private final NavigableMap<Long, CompletableFuture<List<MockEmployee>>> waiting = new TreeMap<>();
+
+    private long sequence = -1;
+    private List<MockEmployee> view = List.of();
+    private boolean stale;
+    private Runnable unsubscribe;
+
+    @PreDestroy
+    synchronized void close() {
+        if (unsubscribe != null) {
+            unsubscribe.run();
+            unsubscribe = null;
+        }
+    }
+
+    public CompletableFuture<List<MockEmployee>> current() {
+        return currentAt(mockEmployeeService.currentSequence());
+    }
+
+    /*
+     * The change-log sequence applied once the replica has caught up with the store.
+     */
+    public CompletableFuture<Long> currentVersion() {
+        return current().thenApply(ignored -> appliedSequence());
+    }
+
+    /*
+     * The replica as it is, without looking at the log, when it has already applied minVersion; otherwise as current().
+     * For a request that has just synced and must not wait again.
+     */
+    public CompletableFuture<List<MockEmployee>> currentAtLeast(long minVersion) {
+        synchronized (this) {
+            if (sequence >= minVersion && sequence >= 0) {
+                return CompletableFuture.completedFuture(view());
+            }
+        }
+        return current();
+    }
+
+    private CompletableFuture<List<MockEmployee>> currentAt(long head) {
+        synchronized (this) {
+            if (unsubscribe != null) {
+                if (sequence >= head) {
+                    return CompletableFuture.completedFuture(view());
+                }
+                // A copy, so a caller cancelling or timing out its future does not fail the other readers.
+                return waiting.computeIfAbsent(head, ignored -> new CompletableFuture<>()).copy();
+            }
+        }
+        return catchUp();
+    }
+
+    /*
+     * Not following the stream: pull the delta since the applied sequence, or bootstrap, then subscribe again.
+     */
+    private CompletableFuture<List<MockEmployee>> catchUp() {
+        final long from = appliedSequence();
+        final CompletableFuture<List<MockEmployee>> caughtUp = from < 0
+                ? bootstrap()
+                : upstreamCallExecutor
+                        .read(() -> mockEmployeeService.getChangesSince(from))
+                        .thenCompose(changes -> changes.map(this::apply)
+                                .map(CompletableFuture::completedFuture)
+                                .orElseGet(this::bootstrap));
+        return caughtUp.thenApply(caught -> {
+            follow();
+            release();
+            return caught;
+        });
+    }
+
+    private CompletableFuture<List<MockEmployee>> bootstrap() {
+        log.info("Bootstrapping employee replica from a full snapshot");
+        return upstreamCallExecutor.read(mockEmployeeService::snapshot).thenApply(this::reset);
+    }
+
+    private void follow() {
+        final long from;
+        synchronized (this) {
+            if (unsubscribe != null) {
+                return;
+            }
+            from = sequence;
+        }
+        final Optional<Runnable> subscription =
+                mockEmployeeService.subscribeChanges(from, this::receive, this::dropped);
+        synchronized (this) {
+            if (subscription.isPresent() && unsubscribe == null) {
+                unsubscribe = subscription.get();
+                log.debug("Employee replica following the change log from sequence {}", from);
+                return;
+            }
+        }
+        // Evicted since the catch-up, or another catch-up subscribed first; the next read catches up again.
+        subscription.ifPresent(Runnable::run);
+    }
+
+    /*
+     * Runs on the change log's sender thread, one event at a time and in sequence order.
+     */
+    private void receive(EmployeeChangeEvent change) {
+        final long applied;
+        synchronized (this) {
+            applied = sequence;
+            if (change.sequence() <= applied + 1) {
+                applyChange(change);
+            }
+        }
+        if (change.sequence() > applied + 1) {
+            log.warn("Employee replica at sequence {} was sent change {}", applied, change.sequence());
+            resubscribe();
+        } else {
+            release();
+        }
+    }
+
+    private void dropped() {
+        log.warn("Employee replica fell behind the change log and was dropped");
+        resubscribe();
+    }
+
+    /*
+     * After a gap: stops following, and catches up now if reads are waiting for the stream, otherwise on the next read.
+     */
+    private void resubscribe() {
+        final Runnable subscription;
+        final boolean awaited;
+        synchronized (this) {
+            subscription = unsubscribe;
+            unsubscribe = null;
+            awaited = !waiting.isEmpty();
+        }
+        if (subscription != null) {
+            subscription.run();
+        }
+        if (awaited) {
+            catchUp().exceptionally(ex -> {
+                fail(ex);
+                return null;
+            });
+        }
+    }
+
+    /*
+     * Completes the reads waiting for a sequence the replica has reached, outside the lock since their continuations
+     * run inline.
+     */
+    private void release() {
+        final List<CompletableFuture<List<MockEmployee>>> reached;
+        final List<MockEmployee> current;
+        synchronized (this) {
+            final var ready = waiting.headMap(sequence, true);
+            if (ready.isEmpty()) {
+                return;
+            }
+            reached = new ArrayList<>(ready.values());
+            ready.clear();
+            current = view();
+        }
+        reached.forEach(read -> read.complete(current));
+    }
+
+    private void fail(Throwable ex) {
+        final List<CompletableFuture<List<MockEmployee>>> failed;
+        synchronized (this) {
+            failed = new ArrayList<>(waiting.values());
+            waiting.clear();
+        }
+        failed.forEach(read -> read.completeExceptionally(ex));
+    }
+
+    private synchronized long appliedSequence() {
+        return sequence;
+    }
+
+    private synchronized List<MockEmployee> view() {
+        if (stale) {
+            view = List.copyOf(employees.values());
+            stale = false;
+        }
+        return view;
+    }
+
+    private synchronized List<MockEmployee> reset(EmployeeSnapshot snapshot) {
+        if (snapshot.sequence() < sequence) {
+            return view();
+        }
+        employees.clear();
+        snapshot.employees().forEach(employee -> employees.put(employee.getId(), employee));
+        sequence = snapshot.sequence();
+        stale = true;
+        replicaChangeListeners.forEach(listener -> listener.onReset(sequence));
+        return view();
+    }
+
+    private synchronized List<MockEmployee> apply(List<EmployeeChangeEvent> changes) {
+        if (!changes.isEmpty()) {
+            changes.forEach(this::applyChange);
+            log.debug("Applied employee changes up to sequence {}", sequence);
+        }
+        return view();
+    }
+
+    private void applyChange(EmployeeChangeEvent change) {
+        if (change.sequence() <= sequence) {
+            return;
+        }
+        if (change.type() == EmployeeChangeEvent.Type.BULK_UPDATED) {
+            final var replay = BulkUpdateReplay.of(change.bulkUpdate());
+            employees.replaceAll((id, employee) -> replay.apply(employee));
+            sequence = change.sequence();
+            stale = true;
+            replicaChangeListeners.forEach(listener -> listener.onBulkUpdate(change));
+            return;
+        }
+        final var id = change.employee().getId();
+        final var previous = change.type() == EmployeeChangeEvent.Type.DELETED
+                ? employees.remove(id)
+                : employees.put(id, change.employee());
+        sequence = change.sequence();
+        stale = true;
+        if (change.type() == EmployeeChangeEvent.Type.UPDATED && previous != null) {
+            replicaChangeListeners.forEach(listener -> listener.onUpdate(previous, change));
+        } else {
+            replicaChangeListeners.forEach(listener -> listener.onChange(change));
+        }
+    }
+}
@@ -1,23 +1,79 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePageResponse;
+import com.reliaquest.api.model.EmployeePatch;
+import com.reliaquest.api.model.EmployeeQueryResponse;
 import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SearchCacheStatsResponse;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
 import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
 
 public interface EmployeeService {
-    List<EmployeeResponse> fetchAllEmployees() throws Exception;
+    CompletableFuture<List<EmployeeResponse>> fetchAllEmployees();
 
-    EmployeeResponse getEmployeeById(String id) throws Exception;
+    CompletableFuture<EmployeeResponse> getEmployeeById(String id);
 
-    List<EmployeeResponse> getEmployeesByNameSearch(String nameFragment) throws Exception;
+    /** The employees found for {@code ids}, in request order; unknown ids are left out. */
+    CompletableFuture<List<EmployeeResponse>> getEmployeesByIds(List<String> ids);
 
-    Integer getHighestSalaryOfEmployees() throws Exception;
+    CompletableFuture<List<EmployeeResponse>> getEmployeesByNameSearch(String nameFragment);
 
-    List<String> getTop10HighestEarningEmployeeNames() throws Exception;
+    SearchCacheStatsResponse getSearchCacheStats();
 
-    String deleteEmployeeById(String id) throws Exception;
+    CompletableFuture<List<EmployeeResponse>> autocompleteEmployees(String prefix, int limit);
 
-    EmployeeResponse createEmployee(EmployeeInput employeeInput) throws Exception;
+    CompletableFuture<EmployeePageResponse> getEmployeesBySalaryRange(
+            Integer minSalary, Integer maxSalary, String cursor, int limit);
+
+    CompletableFuture<EmployeePageResponse> getEmployeesByAgeRange(
+            Integer minAge, Integer maxAge, String cursor, int limit);
+
+    /**
+     * Employees matching {@code where}, in the language of {@link com.reliaquest.server.service.query.EmployeeQuery},
+     * optionally ordered, up to {@code limit}; with {@code explain}, the plan and execution stats are included.
+     */
+    CompletableFuture<EmployeeQueryResponse> queryEmployees(String where, String orderBy, int limit, boolean explain);
+
+    CompletableFuture<Integer> getHighestSalaryOfEmployees();
+
+    CompletableFuture<List<String>> getTop10HighestEarningEmployeeNames();
+
+    CompletableFuture<String> deleteEmployeeById(String id);
+
+    default CompletableFuture<EmployeeResponse> createEmployee(EmployeeInput employeeInput) {
+        return createEmployee(employeeInput, null);
+    }
+
+    /**
+     * Creates an employee at most once per {@code idempotencyKey}, including across upstream retries. Without a key,
+     * one is generated for this call so only its own retries are deduplicated.
+     */
+    CompletableFuture<EmployeeResponse> createEmployee(EmployeeInput employeeInput, String idempotencyKey);
+
+    /**
+     * Applies the patch's fields and returns the employee at its new version. With {@code expectedVersion}, the update
+     * is a compare-and-set and fails with {@link com.reliaquest.api.exception.EmployeeVersionConflictException} if the
+     * employee has moved past that version.
+     */
+    CompletableFuture<EmployeeResponse> updateEmployee(String id, EmployeePatch patch, Long expectedVersion);
+
+    /**
+     * Applies {@code set}, in the language of {@link com.reliaquest.server.service.query.UpdateExpression}, to every
+     * employee matching {@code where} as one upstream write. The update is all or nothing.
+     */
+    CompletableFuture<BulkUpdateReport> bulkUpdateEmployees(String where, String set);
 
     List<EmployeeResponse> fallbackEmployees(Throwable ex);
+
+    /**
+     * The version of the dataset that full-list and aggregate reads are computed from, brought up to date by this
+     * call. Those reads made later in the same request reuse this sync instead of pulling again. Empty when the
+     * topology has no single version to offer.
+     */
+    default CompletableFuture<OptionalLong> getDatasetVersion() {
+        return CompletableFuture.completedFuture(OptionalLong.empty());
+    }
 }
@@ -2,104 +2,419 @@ package com.reliaquest.api.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.constants.EmployeeConstant;
+import com.reliaquest.api.exception.EmployeeVersionConflictException;
+import com.reliaquest.api.exception.ServiceOverloadedException;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePageResponse;
+import com.reliaquest.api.model.EmployeePatch;
+import com.reliaquest.api.model.EmployeeQueryResponse;
 import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SearchCacheStatsResponse;
+import com.reliaquest.api.service.EmployeeStageEvent.Stage;
 import com.reliaquest.api.translator.EmployeeTranslator;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeUpdateResult;
 import com.reliaquest.server.model.MockEmployee;
-import io.github.resilience4j.retry.annotation.Retry;
+import com.reliaquest.server.model.UpdateMockEmployeeInput;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import com.reliaquest.server.service.query.EmployeeQuery;
+import com.reliaquest.server.service.query.Predicate;
+import com.reliaquest.server.service.query.UpdateExpression;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.OptionalLong;
 import java.util.UUID;
-import lombok.AllArgsConstructor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 @Service
-@AllArgsConstructor
 @Slf4j
-@Retry(name = "employeeApi", fallbackMethod = "fallbackEmployees")
 public class EmployeeServiceImpl implements EmployeeService {
 
-    private final com.reliaquest.server.service.MockEmployeeService mockEmployeeService;
+    private final MockEmployeeService mockEmployeeService;
     private final ObjectMapper objectMapper;
     private final EmployeeTranslator employeeTranslator;
+    private final UpstreamCallExecutor upstreamCallExecutor;
+    private final EmployeeReplica employeeReplica;
+    private final NameSearchCache nameSearchCache;
+    private final ParallelQueryExecutor parallelQueryExecutor;
+
+    // Single-id reads in flight together are looked up with one upstream batch call.
+    private final BatchingLoader<UUID, MockEmployee> employeeLoader;
+
+    public EmployeeServiceImpl(
+            MockEmployeeService mockEmployeeService,
+            ObjectMapper objectMapper,
+            EmployeeTranslator employeeTranslator,
+            UpstreamCallExecutor upstreamCallExecutor,
+            EmployeeReplica employeeReplica,
+            NameSearchCache nameSearchCache,
+            ParallelQueryExecutor parallelQueryExecutor,
+            BatchingLoaderFactory batchingLoaderFactory) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.objectMapper = objectMapper;
+        this.employeeTranslator = employeeTranslator;
+        this.upstreamCallExecutor = upstreamCallExecutor;
+        this.employeeReplica = employeeReplica;
+        this.nameSearchCache = nameSearchCache;
+        this.parallelQueryExecutor = parallelQueryExecutor;
+        this.employeeLoader = batchingLoaderFactory.create(ids -> upstreamCallExecutor
+                .read(() -> mockEmployeeService.findByIds(ids))
+                .thenApply(EmployeeServiceImpl::byId));
+    }
 
     @Override
-    public List<EmployeeResponse> fetchAllEmployees() {
-        log.info("Fetching all employees from mock service via REST TEMPLATE");
-        return mockEmployeeService.getMockEmployees().stream()
-                .map(employeeTranslator::convertToEmployee)
-                .toList();
+    public CompletableFuture<List<EmployeeResponse>> fetchAllEmployees() {
+        log.info("Fetching all employees from the local employee replica");
+        final String operation = "fetchAllEmployees";
+        return fetchMockEmployees(operation)
+                .thenApply(mocks -> translate(operation, mocks))
+                .exceptionally(this::fallbackEmployees);
     }
 
     @Override
-    public List<EmployeeResponse> getEmployeesByNameSearch(String searchString) {
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByNameSearch(String searchString) {
         log.info("Searching employees with name containing: {}", searchString);
-        return mockEmployeeService.getMockEmployees().stream()
-                .filter(e -> e.getName().toLowerCase().contains(searchString.toLowerCase()))
-                .map(employeeTranslator::convertToEmployee)
-                .toList();
+        final String key = NameSearchCache.normalize(searchString);
+        final long generation = nameSearchCache.generation();
+        final String operation = "getEmployeesByNameSearch";
+        // The replica is synced first so any change it applies has invalidated the cache before the lookup.
+        return fetchMockEmployees(operation)
+                .thenApply(mocks -> nameSearchCache.get(key).orElseGet(() -> {
+                    List<MockEmployee> matches = EmployeeStageEvent.record(
+                            operation,
+                            Stage.FILTER,
+                            mocks.size(),
+                            () -> parallelQueryExecutor.filter(
+                                    mocks, e -> NameSearchCache.normalize(e.getName()).contains(key)),
+                            List::size);
+                    List<EmployeeResponse> results = translate(operation, matches);
+                    nameSearchCache.put(key, results, generation);
+                    return results;
+                }))
+                .exceptionally(this::fallbackEmployees);
     }
 
     @Override
-    public EmployeeResponse getEmployeeById(String id) {
+    public SearchCacheStatsResponse getSearchCacheStats() {
+        return nameSearchCache.stats();
+    }
+
+    @Override
+    public CompletableFuture<OptionalLong> getDatasetVersion() {
+        final var token = VersionToken.current();
+        return employeeReplica.currentVersion().thenApply(version -> {
+            token.ifPresent(synced -> synced.synced(version));
+            return OptionalLong.of(version);
+        });
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> getEmployeeById(String id) {
         log.info("Fetching employee by ID: {}", id);
         if (!isValidUUID(id)) {
             throw new IllegalArgumentException(EmployeeConstant.INVALID_EMPLOYEE_ID_FORMAT);
         }
-        Optional<MockEmployee> mockOpt = mockEmployeeService.getMockEmployees().stream()
-                .filter(e -> id.equalsIgnoreCase(e.getId().toString()))
-                .findFirst();
-        if (mockOpt.isEmpty()) {
-            throw new IllegalArgumentException(EmployeeConstant.EMPLOYEE_NOT_FOUND_FOR_ID + id);
+        final String operation = "getEmployeeById";
+        return findMockEmployee(operation, id).thenApply(mock -> EmployeeStageEvent.record(
+                operation, Stage.TRANSLATE, 1, () -> employeeTranslator.convertToEmployee(mock), ignored -> 1));
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByIds(List<String> ids) {
+        log.info("Fetching {} employees by ID", ids == null ? 0 : ids.size());
+        final String operation = "getEmployeesByIds";
+        final List<UUID> uuids = parseIds(ids);
+        return EmployeeStageEvent.recordAsync(
+                        operation, Stage.FETCH, uuids.size(), () -> employeeLoader.loadMany(uuids), Map::size)
+                .thenApply(mocks -> translate(operation, mocks.values()));
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> autocompleteEmployees(String prefix, int limit) {
+        log.info("Autocompleting employee names for prefix: {}", prefix);
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException(EmployeeConstant.AUTOCOMPLETE_PREFIX_IS_BLANK);
         }
-        return employeeTranslator.convertToEmployee(mockOpt.get());
+        final String operation = "autocompleteEmployees";
+        return EmployeeStageEvent.recordAsync(
+                        operation,
+                        Stage.FETCH,
+                        limit,
+                        () -> upstreamCallExecutor.read(() -> mockEmployeeService.autocomplete(prefix, limit)),
+                        List::size)
+                .thenApply(mocks -> translate(operation, mocks));
+    }
+
+    @Override
+    public CompletableFuture<EmployeePageResponse> getEmployeesBySalaryRange(
+            Integer minSalary, Integer maxSalary, String cursor, int limit) {
+        log.info("Fetching employees with salary between {} and {}", minSalary, maxSalary);
+        validateRange(minSalary, maxSalary, limit);
+        return fetchPage(
+                "getEmployeesBySalaryRange",
+                limit,
+                () -> mockEmployeeService.findBySalaryRange(minSalary, maxSalary, cursor, limit));
+    }
+
+    @Override
+    public CompletableFuture<EmployeePageResponse> getEmployeesByAgeRange(
+            Integer minAge, Integer maxAge, String cursor, int limit) {
+        log.info("Fetching employees with age between {} and {}", minAge, maxAge);
+        validateRange(minAge, maxAge, limit);
+        return fetchPage(
+                "getEmployeesByAgeRange",
+                limit,
+                () -> mockEmployeeService.findByAgeRange(minAge, maxAge, cursor, limit));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeQueryResponse> queryEmployees(
+            String where, String orderBy, int limit, boolean explain) {
+        log.info("Querying employees where {}", where);
+        final EmployeeQuery query = EmployeeQuery.parse(where, orderBy, limit);
+        final String operation = "queryEmployees";
+        return EmployeeStageEvent.recordAsync(
+                        operation,
+                        Stage.FETCH,
+                        query.limit(),
+                        () -> upstreamCallExecutor.read(() -> mockEmployeeService.query(query, explain)),
+                        result -> result.employees().size())
+                .thenApply(result -> EmployeeStageEvent.record(
+                        operation,
+                        Stage.TRANSLATE,
+                        result.employees().size(),
+                        () -> employeeTranslator.convertToEmployeeQueryResponse(result),
+                        translated -> translated.getEmployees().size()));
     }
 
     @Override
-    public Integer getHighestSalaryOfEmployees() {
+    public CompletableFuture<Integer> getHighestSalaryOfEmployees() {
         log.info("Calculating highest salary among employees");
-        return mockEmployeeService.getMockEmployees().stream()
+        final String operation = "getHighestSalaryOfEmployees";
+        return fetchMockEmployees(operation).thenApply(mocks -> EmployeeStageEvent.record(
+                        operation,
+                        Stage.AGGREGATE,
+                        mocks.size(),
+                        () -> parallelQueryExecutor.max(mocks, Comparator.comparingInt(MockEmployee::getSalary)),
+                        highest -> highest.isPresent() ? 1 : 0)
                 .map(MockEmployee::getSalary)
-                .max(Integer::compareTo)
-                .orElse(0);
+                .orElse(0));
     }
 
     @Override
-    public List<String> getTop10HighestEarningEmployeeNames() {
+    public CompletableFuture<List<String>> getTop10HighestEarningEmployeeNames() {
         log.info("Fetching top 10 highest earning employee names");
-        return mockEmployeeService.getMockEmployees().stream()
-                .sorted(Comparator.comparingInt(MockEmployee::getSalary).reversed())
-                .limit(10)
+        final String operation = "getTop10HighestEarningEmployeeNames";
+        return fetchMockEmployees(operation).thenApply(mocks -> EmployeeStageEvent.record(
+                        operation,
+                        Stage.SORT,
+                        mocks.size(),
+                        () -> parallelQueryExecutor.topK(mocks, 10, Comparator.comparingInt(MockEmployee::getSalary)),
+                        List::size)
+                .stream()
                 .map(MockEmployee::getName)
-                .toList();
+                .toList());
     }
 
     @Override
-    public String deleteEmployeeById(String id) {
+    public CompletableFuture<String> deleteEmployeeById(String id) {
         log.info("Deleting employee by ID: {}", id);
         if (!isValidUUID(id)) {
             throw new IllegalArgumentException(EmployeeConstant.INVALID_EMPLOYEE_ID_FORMAT);
         }
-        Optional<MockEmployee> mockOpt = mockEmployeeService.getMockEmployees().stream()
-                .filter(e -> id.equalsIgnoreCase(e.getId().toString()))
-                .findFirst();
-        if (mockOpt.isEmpty()) {
-            throw new IllegalArgumentException(EmployeeConstant.EMPLOYEE_NOT_FOUND_FOR_ID + id);
-        }
-        DeleteMockEmployeeInput deleteMockEmployeeInput =
-                employeeTranslator.toMockEmployeeToDeleteMockEmployee(mockOpt.get());
-        mockEmployeeService.delete(deleteMockEmployeeInput);
-        return mockOpt.get().getName();
+        final String operation = "deleteEmployeeById";
+        return findMockEmployee(operation, id).thenCompose(mock -> {
+            DeleteMockEmployeeInput deleteMockEmployeeInput =
+                    employeeTranslator.toMockEmployeeToDeleteMockEmployee(mock);
+            return EmployeeStageEvent.recordAsync(
+                            operation,
+                            Stage.WRITE,
+                            1,
+                            () -> upstreamCallExecutor.write(() -> mockEmployeeService.delete(deleteMockEmployeeInput)),
+                            deleted -> deleted ? 1 : 0)
+                    .thenApply(ignored -> mock.getName());
+        });
     }
 
     @Override
-    public EmployeeResponse createEmployee(EmployeeInput employeeInput) {
+    public CompletableFuture<EmployeeResponse> createEmployee(EmployeeInput employeeInput, String idempotencyKey) {
         log.info("Creating employee: {}", employeeInput);
+        validateEmployeeInput(employeeInput);
+        CreateMockEmployeeInput createMockEmployeeInput =
+                objectMapper.convertValue(employeeInput, CreateMockEmployeeInput.class);
+        final String upstreamKey = upstreamIdempotencyKey(idempotencyKey);
+        return EmployeeStageEvent.recordAsync(
+                        "createEmployee",
+                        Stage.WRITE,
+                        1,
+                        () -> upstreamCallExecutor.write(
+                                () -> mockEmployeeService.create(createMockEmployeeInput, upstreamKey)),
+                        ignored -> 1)
+                .thenApply(employeeTranslator::convertToEmployee);
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> updateEmployee(String id, EmployeePatch patch, Long expectedVersion) {
+        log.info("Updating employee {} at version {}: {}", id, expectedVersion, patch);
+        final UUID uuid = parseId(id);
+        final UpdateMockEmployeeInput input = toUpdateInput(patch, objectMapper);
+        return EmployeeStageEvent.recordAsync(
+                        "updateEmployee",
+                        Stage.WRITE,
+                        1,
+                        () -> upstreamCallExecutor.write(
+                                () -> mockEmployeeService.update(uuid, input, expectedVersion)),
+                        result -> result.status() == EmployeeUpdateResult.Status.UPDATED ? 1 : 0)
+                .thenApply(result -> employeeTranslator.convertToEmployee(updatedOrThrow(result, id, expectedVersion)));
+    }
+
+    @Override
+    public CompletableFuture<BulkUpdateReport> bulkUpdateEmployees(String where, String set) {
+        log.info("Bulk updating employees where {}: {}", where, set);
+        final Predicate predicate = EmployeeQuery.parseWhere(where);
+        final UpdateExpression expression = UpdateExpression.parse(set);
+        return EmployeeStageEvent.recordAsync(
+                "bulkUpdateEmployees",
+                Stage.WRITE,
+                0,
+                () -> upstreamCallExecutor.write(() -> mockEmployeeService.bulkUpdate(predicate, expression)),
+                report -> (int) report.updated());
+    }
+
+    /*
+     * A request that already synced the replica for its ETag reads the replica at that version without syncing again,
+     * so its body is never older than its ETag.
+     */
+    private CompletableFuture<List<MockEmployee>> fetchMockEmployees(String operation) {
+        final var synced = VersionToken.current().map(VersionToken::getSynced).orElse(OptionalLong.empty());
+        return EmployeeStageEvent.recordAsync(
+                operation,
+                Stage.FETCH,
+                0,
+                () -> synced.isPresent()
+                        ? employeeReplica.currentAtLeast(synced.getAsLong())
+                        : employeeReplica.current(),
+                List::size);
+    }
+
+    private CompletableFuture<EmployeePageResponse> fetchPage(
+            String operation, int limit, Supplier<EmployeePage> upstreamCall) {
+        return EmployeeStageEvent.recordAsync(
+                        operation,
+                        Stage.FETCH,
+                        limit,
+                        () -> upstreamCallExecutor.read(upstreamCall),
+                        page -> page.employees().size())
+                .thenApply(page -> EmployeeStageEvent.record(
+                        operation,
+                        Stage.TRANSLATE,
+                        page.employees().size(),
+                        () -> employeeTranslator.convertToEmployeePage(page),
+                        translated -> translated.getEmployees().size()));
+    }
+
+    private List<EmployeeResponse> translate(String operation, Collection<MockEmployee> mocks) {
+        return EmployeeStageEvent.record(
+                operation,
+                Stage.TRANSLATE,
+                mocks.size(),
+                () -> mocks.stream().map(employeeTranslator::convertToEmployee).toList(),
+                List::size);
+    }
+
+    private CompletableFuture<MockEmployee> findMockEmployee(String operation, String id) {
+        return EmployeeStageEvent.recordAsync(
+                        operation,
+                        Stage.FETCH,
+                        1,
+                        () -> employeeLoader.load(UUID.fromString(id)),
+                        mockOpt -> mockOpt.isPresent() ? 1 : 0)
+                .thenApply(mockOpt -> {
+                    if (mockOpt.isEmpty()) {
+                        throw new IllegalArgumentException(EmployeeConstant.EMPLOYEE_NOT_FOUND_FOR_ID + id);
+                    }
+                    return mockOpt.get();
+                });
+    }
+
+    /*
+     * Distinct ids in request order, validated before any lookup is made.
+     */
+    static List<UUID> parseIds(List<String> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > MockEmployeeService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    EmployeeConstant.INVALID_EMPLOYEE_IDS + MockEmployeeService.MAX_PAGE_SIZE);
+        }
+        return ids.stream()
+                .map(id -> {
+                    if (!isValidUUID(id)) {
+                        throw new IllegalArgumentException(EmployeeConstant.INVALID_EMPLOYEE_ID_FORMAT);
+                    }
+                    return UUID.fromString(id);
+                })
+                .distinct()
+                .toList();
+    }
+
+    static UUID parseId(String id) {
+        if (!isValidUUID(id)) {
+            throw new IllegalArgumentException(EmployeeConstant.INVALID_EMPLOYEE_ID_FORMAT);
+        }
+        return UUID.fromString(id);
+    }
+
+    static UpdateMockEmployeeInput toUpdateInput(EmployeePatch patch, ObjectMapper objectMapper) {
+        if (patch == null) {
+            throw new IllegalArgumentException(EmployeeConstant.EMPLOYEE_INPUT_IS_NULL);
+        }
+        String validationError = patch.getValidationError();
+        if (validationError != null) {
+            log.error("Employee patch validation failed: {}", validationError);
+            throw new IllegalArgumentException(validationError);
+        }
+        return objectMapper.convertValue(patch, UpdateMockEmployeeInput.class);
+    }
+
+    /*
+     * The updated employee, or the not-found and version-conflict outcomes as the exceptions the api reports them by.
+     */
+    static MockEmployee updatedOrThrow(EmployeeUpdateResult result, String id, Long expectedVersion) {
+        return switch (result.status()) {
+            case UPDATED -> result.employee();
+            case NOT_FOUND -> throw new IllegalArgumentException(EmployeeConstant.EMPLOYEE_NOT_FOUND_FOR_ID + id);
+            case VERSION_MISMATCH -> throw new EmployeeVersionConflictException(
+                    EmployeeConstant.EMPLOYEE_VERSION_CONFLICT + expectedVersion,
+                    result.employee().getVersion());
+        };
+    }
+
+    static Map<UUID, MockEmployee> byId(Collection<MockEmployee> mocks) {
+        return mocks.stream()
+                .collect(Collectors.toMap(MockEmployee::getId, Function.identity(), (first, ignored) -> first));
+    }
+
+    static void validateRange(Integer min, Integer max, int limit) {
+        if (min != null && max != null && min > max) {
+            throw new IllegalArgumentException(EmployeeConstant.INVALID_RANGE);
+        }
+        if (limit < 1 || limit > MockEmployeeService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(EmployeeConstant.INVALID_PAGE_LIMIT + MockEmployeeService.MAX_PAGE_SIZE);
+        }
+    }
+
+    static void validateEmployeeInput(EmployeeInput employeeInput) {
         if (employeeInput == null) {
             throw new IllegalArgumentException(EmployeeConstant.EMPLOYEE_INPUT_IS_NULL);
         }
@@ -108,13 +423,16 @@ public class EmployeeServiceImpl implements EmployeeService {
             log.error("Employee input validation failed: {}", validationError);
             throw new IllegalArgumentException(validationError);
         }
-        CreateMockEmployeeInput createMockEmployeeInput =
-                objectMapper.convertValue(employeeInput, CreateMockEmployeeInput.class);
-        MockEmployee mock = mockEmployeeService.create(createMockEmployeeInput);
-        return employeeTranslator.convertToEmployee(mock);
     }
 
-    private boolean isValidUUID(String id) {
+    /*
+     * Every upstream create carries a key, so a retry after a lost response cannot insert the employee twice.
+     */
+    static String upstreamIdempotencyKey(String idempotencyKey) {
+        return idempotencyKey != null ? idempotencyKey : UUID.randomUUID().toString();
+    }
+
+    static boolean isValidUUID(String id) {
         try {
             UUID.fromString(id);
             return true;
@@ -124,7 +442,12 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     public List<EmployeeResponse> fallbackEmployees(Throwable ex) {
-        log.info("Fallback triggered due to: {}", ex.getMessage());
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof ServiceOverloadedException overloaded) {
+            // Shed load is reported as 503, not masked as an empty result.
+            throw overloaded;
+        }
+        log.info("Fallback triggered due to: {}", cause.getMessage());
 
         return Collections.emptyList();
     }
@@ -0,0 +1,54 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeUpdateResult;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.ShardSettings;
+import com.reliaquest.server.model.UpdateMockEmployeeInput;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One mock employee server holding the employees whose ids hash to its shard index. Calls are non-blocking, answering
+ * with a future as soon as the request is sent, and are run through {@link UpstreamCallExecutor} by
+ * {@link ShardedEmployeeService}.
+ */
+public interface EmployeeShard {
+
+    CompletableFuture<List<MockEmployee>> findAll();
+
+    CompletableFuture<List<MockEmployee>> searchByName(String fragment);
+
+    /** This shard's highest earners, highest first; merging every shard's top {@code limit} gives the global one. */
+    CompletableFuture<List<MockEmployee>> findTopBySalary(int limit);
+
+    CompletableFuture<Optional<Integer>> findHighestSalary();
+
+    /** This shard's next page in (salary, id) order, which is the same on every shard. */
+    CompletableFuture<EmployeePage> findBySalaryRange(Integer min, Integer max, String cursor, int limit);
+
+    /** This shard's next page in (age, id) order, which is the same on every shard. */
+    CompletableFuture<EmployeePage> findByAgeRange(Integer min, Integer max, String cursor, int limit);
+
+    /** This shard's best {@code limit} completions, in its autocomplete rank order. */
+    CompletableFuture<List<MockEmployee>> autocomplete(String prefix, int limit);
+
+    CompletableFuture<ShardSettings> getShardSettings();
+
+    CompletableFuture<Optional<MockEmployee>> findById(UUID id);
+
+    CompletableFuture<List<MockEmployee>> findByIds(Collection<UUID> ids);
+
+    /** A null {@code idempotencyKey} creates unconditionally. */
+    CompletableFuture<MockEmployee> create(CreateMockEmployeeInput input, String idempotencyKey);
+
+    CompletableFuture<Boolean> delete(DeleteMockEmployeeInput input);
+
+    /** A null {@code expectedVersion} updates whatever version the employee is at. */
+    CompletableFuture<EmployeeUpdateResult> update(UUID id, UpdateMockEmployeeInput input, Long expectedVersion);
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.api.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one stage of an employee request: where its time went and how many rows went in and out.
+ * Events are only written while a recording that enables {@value #NAME} is running, e.g. one started at runtime with
+ * {@code jcmd <pid> JFR.start}; otherwise begin, end and commit are no-ops and the event does not escape the stage.
+ */
+@Name(EmployeeStageEvent.NAME)
+@Label("Employee Request Stage")
+@Category({"ReliaQuest", "Employee API"})
+@Description("A stage of an employee request with the rows it was given and produced")
+@StackTrace(false)
+public class EmployeeStageEvent extends Event {
+
+    public static final String NAME = "com.reliaquest.api.EmployeeStage";
+
+    public enum Stage {
+        FETCH,
+        WRITE,
+        TRANSLATE,
+        FILTER,
+        SORT,
+        AGGREGATE,
+        SERIALIZE,
+        RETRY_WAIT
+    }
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Dataset Size")
+    @Description("Rows the stage worked on")
+    int datasetSize;
+
+    @Label("Result Size")
+    @Description("Rows the stage produced")
+    int resultSize;
+
+    @Label("Failed")
+    boolean failed;
+
+    public static EmployeeStageEvent start() {
+        final var event = new EmployeeStageEvent();
+        event.begin();
+        return event;
+    }
+
+    /*
+     * Times a synchronous stage. A stage that throws is recorded as failed with no result.
+     */
+    public static <T> T record(
+            String operation, Stage stage, int datasetSize, Supplier<T> work, ToIntFunction<? super T> resultSize) {
+        final var event = start();
+        final T result;
+        try {
+            result = work.get();
+        } catch (RuntimeException ex) {
+            event.finish(operation, stage, datasetSize, 0, true);
+            throw ex;
+        }
+        if (event.isEnabled()) {
+            event.finish(operation, stage, datasetSize, resultSize.applyAsInt(result), false);
+        }
+        return result;
+    }
+
+    /*
+     * Times an asynchronous stage until its future completes. A fetch or write only knows its dataset before it runs as
+     * the rows it asks for: the ids or page size requested, or 0 when it reads everything or matches a predicate.
+     */
+    public static <T> CompletableFuture<T> recordAsync(
+            String operation,
+            Stage stage,
+            int datasetSize,
+            Supplier<CompletableFuture<T>> work,
+            ToIntFunction<? super T> resultSize) {
+        final var event = start();
+        if (!event.isEnabled()) {
+            return work.get();
+        }
+        return work.get().whenComplete((result, ex) -> {
+            final int size = ex == null ? resultSize.applyAsInt(result) : 0;
+            event.finish(operation, stage, datasetSize, size, ex != null);
+        });
+    }
+
+    public void finish(String operation, Stage stage, int datasetSize, int resultSize, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.stage = stage.name();
+            this.datasetSize = datasetSize;
+            this.resultSize = resultSize;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
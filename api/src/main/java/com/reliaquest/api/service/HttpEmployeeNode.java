@@ -0,0 +1,389 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.model.BulkUpdateMockEmployeeInput;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQueryResult;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.EmployeeUpdateResult;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.ShardSettings;
+import com.reliaquest.server.model.UpdateMockEmployeeInput;
+import com.reliaquest.server.service.IdempotencyTable;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import com.reliaquest.server.web.EmployeeETags;
+import com.reliaquest.server.web.ReplicaConsistencyInterceptor;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
+
+/*
+ * One mock server reached over its HTTP API, used as a shard or as a primary or replica. Calls go through a
+ * non-blocking WebClient, so no thread waits while a request is in flight. Reads take the change-log version they must
+ * observe (0 for any); writes return the version they produced. A 429 surfaces as
+ * HttpClientErrorException.TooManyRequests, which the employeeApi retry and the adaptive limiter already handle.
+ */
+@RequiredArgsConstructor
+public class HttpEmployeeNode implements EmployeeShard {
+
+    private static final String PATH = "/api/v1/employee";
+    private static final ParameterizedTypeReference<Response<List<MockEmployee>>> EMPLOYEES =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<MockEmployee>> EMPLOYEE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<EmployeePage>> PAGE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<EmployeeQueryResult>> QUERY =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<Integer>> SALARY = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<Boolean>> DELETED = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<BulkUpdateReport>> BULK_UPDATE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<ShardSettings>> SHARD_SETTINGS =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<EmployeeSnapshot>> SNAPSHOT =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<List<EmployeeChangeEvent>>> CHANGES =
+            new ParameterizedTypeReference<>() {};
+
+    // Smile is preferred; a server that cannot encode it answers in JSON.
+    static final String ACCEPT = "application/x-jackson-smile, application/json;q=0.9";
+
+    private final WebClient webClient;
+
+    /*
+     * A node whose responses are negotiated as Smile, which the mock server writes and this client parses with less
+     * work and fewer bytes than JSON. objectMapper is the JSON mapper whose modules and settings the Smile codecs copy.
+     * Request bodies stay JSON, since the default JSON encoder is tried before custom ones.
+     */
+    public static HttpEmployeeNode create(WebClient.Builder webClientBuilder, ObjectMapper objectMapper, String url) {
+        final var smileMapper = objectMapper.copyWith(new SmileFactory());
+        return new HttpEmployeeNode(webClientBuilder
+                .clone()
+                .baseUrl(url)
+                .codecs(codecs -> {
+                    codecs.customCodecs().registerWithDefaultConfig(new Jackson2SmileDecoder(smileMapper));
+                    codecs.customCodecs().registerWithDefaultConfig(new Jackson2SmileEncoder(smileMapper));
+                })
+                .defaultHeader(HttpHeaders.ACCEPT, ACCEPT)
+                .build());
+    }
+
+    @Override
+    public CompletableFuture<List<MockEmployee>> findAll() {
+        return findAll(0);
+    }
+
+    public CompletableFuture<List<MockEmployee>> findAll(long minVersion) {
+        return get(builder -> builder.path(PATH), minVersion, EMPLOYEES);
+    }
+
+    @Override
+    public CompletableFuture<List<MockEmployee>> searchByName(String fragment) {
+        return searchByName(fragment, 0);
+    }
+
+    public CompletableFuture<List<MockEmployee>> searchByName(String fragment, long minVersion) {
+        return get(builder -> builder.path(PATH + "/search").queryParam("fragment", fragment), minVersion, EMPLOYEES);
+    }
+
+    @Override
+    public CompletableFuture<List<MockEmployee>> findTopBySalary(int limit) {
+        return findTopBySalary(limit, 0);
+    }
+
+    public CompletableFuture<List<MockEmployee>> findTopBySalary(int limit, long minVersion) {
+        return get(builder -> builder.path(PATH + "/salary/top").queryParam("limit", limit), minVersion, EMPLOYEES);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Integer>> findHighestSalary() {
+        return findHighestSalary(0);
+    }
+
+    public CompletableFuture<Optional<Integer>> findHighestSalary(long minVersion) {
+        return get(builder -> builder.path(PATH + "/salary/highest"), minVersion, SALARY)
+                .thenApply(Optional::ofNullable);
+    }
+
+    @Override
+    public CompletableFuture<Optional<MockEmployee>> findById(UUID id) {
+        return findById(id, 0);
+    }
+
+    public CompletableFuture<Optional<MockEmployee>> findById(UUID id, long minVersion) {
+        return webClient
+                .get()
+                .uri(builder -> withMinVersion(builder.path(PATH + "/" + id), minVersion))
+                .exchangeToMono(response -> response.statusCode().value() == HttpStatus.NOT_FOUND.value()
+                        ? response.releaseBody().thenReturn(Optional.<MockEmployee>empty())
+                        : entity(response, EMPLOYEE).map(found -> Optional.ofNullable(found.getBody().data())))
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<List<MockEmployee>> findByIds(Collection<UUID> ids) {
+        return findByIds(ids, 0);
+    }
+
+    /*
+     * Sent in requests of at most MockEmployeeService.MAX_BATCH_SIZE ids, which keeps the query string short. The
+     * requests are all in flight at once.
+     */
+    public CompletableFuture<List<MockEmployee>> findByIds(Collection<UUID> ids, long minVersion) {
+        final var all = List.copyOf(ids);
+        final var chunks = new ArrayList<CompletableFuture<List<MockEmployee>>>();
+        for (int from = 0; from < all.size(); from += MockEmployeeService.MAX_BATCH_SIZE) {
+            final var chunk = all.subList(from, Math.min(from + MockEmployeeService.MAX_BATCH_SIZE, all.size()));
+            chunks.add(get(builder -> builder.path(PATH + "/batch").queryParam("ids", chunk), minVersion, EMPLOYEES));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> chunks.stream()
+                        .map(CompletableFuture::join)
+                        .flatMap(Collection::stream)
+                        .toList());
+    }
+
+    @Override
+    public CompletableFuture<EmployeePage> findBySalaryRange(Integer min, Integer max, String cursor, int limit) {
+        return findBySalaryRange(min, max, cursor, limit, 0);
+    }
+
+    public CompletableFuture<EmployeePage> findBySalaryRange(
+            Integer min, Integer max, String cursor, int limit, long minVersion) {
+        return get(builder -> range(builder.path(PATH + "/range/salary"), min, max, cursor, limit), minVersion, PAGE);
+    }
+
+    @Override
+    public CompletableFuture<EmployeePage> findByAgeRange(Integer min, Integer max, String cursor, int limit) {
+        return findByAgeRange(min, max, cursor, limit, 0);
+    }
+
+    public CompletableFuture<EmployeePage> findByAgeRange(
+            Integer min, Integer max, String cursor, int limit, long minVersion) {
+        return get(builder -> range(builder.path(PATH + "/range/age"), min, max, cursor, limit), minVersion, PAGE);
+    }
+
+    public CompletableFuture<EmployeeQueryResult> query(
+            String where, String orderBy, int limit, boolean explain, long minVersion) {
+        return get(
+                builder -> builder.path(PATH + "/query")
+                        .queryParamIfPresent("where", Optional.ofNullable(where))
+                        .queryParamIfPresent("orderBy", Optional.ofNullable(orderBy))
+                        .queryParam("limit", limit)
+                        .queryParam("explain", explain),
+                minVersion,
+                QUERY);
+    }
+
+    @Override
+    public CompletableFuture<List<MockEmployee>> autocomplete(String prefix, int limit) {
+        return autocomplete(prefix, limit, 0);
+    }
+
+    public CompletableFuture<List<MockEmployee>> autocomplete(String prefix, int limit, long minVersion) {
+        return get(
+                builder -> builder.path(PATH + "/autocomplete")
+                        .queryParam("prefix", prefix)
+                        .queryParam("limit", limit),
+                minVersion,
+                EMPLOYEES);
+    }
+
+    @Override
+    public CompletableFuture<ShardSettings> getShardSettings() {
+        return get(builder -> builder.path(PATH + "/shard"), 0, SHARD_SETTINGS);
+    }
+
+    public CompletableFuture<EmployeeSnapshot> snapshot() {
+        return get(builder -> builder.path(PATH + "/snapshot"), 0, SNAPSHOT);
+    }
+
+    /*
+     * The changes after since within epoch. Empty on 410, when the server has evicted them or restarted into another
+     * epoch, so the reader must load a snapshot instead.
+     */
+    public CompletableFuture<Optional<List<EmployeeChangeEvent>>> changesSince(long since, String epoch) {
+        return webClient
+                .get()
+                .uri(builder -> builder.path(PATH + "/changes")
+                        .queryParam("since", since)
+                        .queryParamIfPresent("epoch", Optional.ofNullable(epoch))
+                        .build())
+                .exchangeToMono(response -> response.statusCode().value() == HttpStatus.GONE.value()
+                        ? response.releaseBody().thenReturn(Optional.<List<EmployeeChangeEvent>>empty())
+                        : entity(response, CHANGES).map(changes -> Optional.of(changes.getBody().data())))
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<MockEmployee> create(CreateMockEmployeeInput input, String idempotencyKey) {
+        return createVersioned(input, idempotencyKey).thenApply(Versioned::value);
+    }
+
+    public CompletableFuture<Versioned<MockEmployee>> createVersioned(
+            CreateMockEmployeeInput input, String idempotencyKey) {
+        return webClient
+                .post()
+                .uri(PATH)
+                .headers(headers -> {
+                    if (idempotencyKey != null) {
+                        headers.set(IdempotencyTable.HEADER, idempotencyKey);
+                    }
+                })
+                .bodyValue(input)
+                .exchangeToMono(response -> entity(response, EMPLOYEE).map(HttpEmployeeNode::versioned))
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(DeleteMockEmployeeInput input) {
+        return deleteVersioned(input).thenApply(deleted -> Boolean.TRUE.equals(deleted.value()));
+    }
+
+    public CompletableFuture<Versioned<Boolean>> deleteVersioned(DeleteMockEmployeeInput input) {
+        return webClient
+                .method(HttpMethod.DELETE)
+                .uri(PATH)
+                .bodyValue(input)
+                .exchangeToMono(response -> entity(response, DELETED).map(HttpEmployeeNode::versioned))
+                .toFuture();
+    }
+
+    @Override
+    public CompletableFuture<EmployeeUpdateResult> update(
+            UUID id, UpdateMockEmployeeInput input, Long expectedVersion) {
+        return updateVersioned(id, input, expectedVersion).thenApply(Versioned::value);
+    }
+
+    /*
+     * Sent as PATCH with If-Match; the 404 and 412 answers are results here rather than errors. A mismatch carries the
+     * employee the server holds now.
+     */
+    public CompletableFuture<Versioned<EmployeeUpdateResult>> updateVersioned(
+            UUID id, UpdateMockEmployeeInput input, Long expectedVersion) {
+        return webClient
+                .patch()
+                .uri(PATH + "/" + id)
+                .headers(headers -> {
+                    if (expectedVersion != null) {
+                        headers.setIfMatch(EmployeeETags.of(expectedVersion));
+                    }
+                })
+                .bodyValue(input)
+                .exchangeToMono(response -> {
+                    final int status = response.statusCode().value();
+                    if (status == HttpStatus.NOT_FOUND.value()) {
+                        return response.releaseBody().thenReturn(new Versioned<>(EmployeeUpdateResult.notFound(), 0));
+                    }
+                    if (status == HttpStatus.PRECONDITION_FAILED.value()) {
+                        return response.bodyToMono(EMPLOYEE).map(current -> new Versioned<>(
+                                EmployeeUpdateResult.versionMismatch(current.data()), 0));
+                    }
+                    return entity(response, EMPLOYEE).map(HttpEmployeeNode::versioned).map(updated -> new Versioned<>(
+                            EmployeeUpdateResult.updated(updated.value()), updated.version()));
+                })
+                .toFuture();
+    }
+
+    /*
+     * A bulk update the primary rejected, such as one that would leave an employee with an invalid salary, surfaces as
+     * IllegalArgumentException with the primary's message.
+     */
+    public CompletableFuture<Versioned<BulkUpdateReport>> bulkUpdateVersioned(String where, String set) {
+        return webClient
+                .post()
+                .uri(PATH + "/bulk-update")
+                .bodyValue(new BulkUpdateMockEmployeeInput(where, set))
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() != HttpStatus.BAD_REQUEST.value()) {
+                        return entity(response, BULK_UPDATE).map(HttpEmployeeNode::versioned);
+                    }
+                    return response.bodyToMono(BULK_UPDATE)
+                            .mapNotNull(Response::error)
+                            .defaultIfEmpty(HttpStatus.BAD_REQUEST.getReasonPhrase())
+                            .flatMap(error -> Mono.<Versioned<BulkUpdateReport>>error(
+                                    new IllegalArgumentException(error)));
+                })
+                .toFuture();
+    }
+
+    /*
+     * The data of a response may be null, which a Mono cannot carry, so it is unwrapped from the future instead.
+     */
+    private <T> CompletableFuture<T> get(
+            Function<UriBuilder, UriBuilder> path, long minVersion, ParameterizedTypeReference<Response<T>> type) {
+        return webClient
+                .get()
+                .uri(builder -> withMinVersion(path.apply(builder), minVersion))
+                .exchangeToMono(response -> entity(response, type))
+                .toFuture()
+                .thenApply(entity -> entity.getBody().data());
+    }
+
+    private static <T> Mono<ResponseEntity<T>> entity(ClientResponse response, ParameterizedTypeReference<T> type) {
+        return response.statusCode().isError() ? failure(response) : response.toEntity(type);
+    }
+
+    /*
+     * Error answers fail with the same HttpClientErrorException and HttpServerErrorException a RestClient raises, so a
+     * 429 is still a TooManyRequests to the retry, the limiter and GlobalExceptionHandler.
+     */
+    private static <T> Mono<T> failure(ClientResponse response) {
+        final var status = response.statusCode();
+        final var reason = Optional.ofNullable(HttpStatus.resolve(status.value()))
+                .map(HttpStatus::getReasonPhrase)
+                .orElse("");
+        final var headers = response.headers().asHttpHeaders();
+        return response.bodyToMono(byte[].class)
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> Mono.error(
+                        status.is4xxClientError()
+                                ? HttpClientErrorException.create(status, reason, headers, body, null)
+                                : HttpServerErrorException.create(status, reason, headers, body, null)));
+    }
+
+    private static URI withMinVersion(UriBuilder builder, long minVersion) {
+        if (minVersion > 0) {
+            builder.queryParam(ReplicaConsistencyInterceptor.MIN_VERSION_PARAM, minVersion);
+        }
+        return builder.build();
+    }
+
+    private static UriBuilder range(UriBuilder builder, Integer min, Integer max, String cursor, int limit) {
+        return builder.queryParamIfPresent("min", Optional.ofNullable(min))
+                .queryParamIfPresent("max", Optional.ofNullable(max))
+                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                .queryParam("limit", limit);
+    }
+
+    private static <T> Versioned<T> versioned(ResponseEntity<Response<T>> entity) {
+        final var version = entity.getHeaders().getFirst(ReplicaConsistencyInterceptor.VERSION_HEADER);
+        return new Versioned<>(entity.getBody().data(), version == null ? 0 : Long.parseLong(version));
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.api.service;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Picks the node with the fewest requests in flight from this api, so a slow or throttling node is naturally given
+ * less work. The scan starts at a random node, which spreads ties. Callers must {@link #release} every index they
+ * {@link #acquire}.
+ */
+public final class LeastOutstandingBalancer<T> {
+
+    private final List<T> nodes;
+    private final AtomicIntegerArray outstanding;
+
+    public LeastOutstandingBalancer(List<T> nodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one node is required");
+        }
+        this.nodes = List.copyOf(nodes);
+        this.outstanding = new AtomicIntegerArray(nodes.size());
+    }
+
+    public int acquire() {
+        final var start = ThreadLocalRandom.current().nextInt(nodes.size());
+        var best = start;
+        for (int offset = 1; offset < nodes.size(); offset++) {
+            final var candidate = (start + offset) % nodes.size();
+            if (outstanding.get(candidate) < outstanding.get(best)) {
+                best = candidate;
+            }
+        }
+        outstanding.incrementAndGet(best);
+        return best;
+    }
+
+    public void release(int index) {
+        outstanding.decrementAndGet(index);
+    }
+
+    public T get(int index) {
+        return nodes.get(index);
+    }
+
+    public int getOutstanding(int index) {
+        return outstanding.get(index);
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SearchCacheStatsResponse;
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size-bounded cache of name-search results keyed by the normalized search string. Caffeine's W-TinyLFU policy admits
+ * a new entry into the main segment only if it has been requested more often than the entry it would evict, so a burst
+ * of one-off searches cannot flush the frequently repeated ones.
+ *
+ * <p>A create or delete only invalidates the keys contained in the changed employee's name, and an update those
+ * contained in its old or new name, because those are the only searches whose result it can affect. Every
+ * invalidation also bumps a generation; a result computed across an invalidation is dropped rather than cached, since
+ * it may have been read from the replica before the change.
+ */
+@Slf4j
+@Component
+public class NameSearchCache implements ReplicaChangeListener {
+
+    private final Cache<String, List<EmployeeResponse>> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder invalidations = new LongAdder();
+
+    public NameSearchCache(@Value("${employee.search-cache.maximum-size:10000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                // Maintenance runs on the caller so eviction counts are current when stats are read.
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    public static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /** Read before the replica is consulted and handed back to {@link #put}. */
+    public long generation() {
+        return generation.get();
+    }
+
+    public Optional<List<EmployeeResponse>> get(String key) {
+        return Optional.ofNullable(cache.getIfPresent(key));
+    }
+
+    public void put(String key, List<EmployeeResponse> results, long computedAt) {
+        cache.put(key, results);
+        // Invalidation bumps the generation before removing keys, so either it removed this entry or we see the bump.
+        if (generation.get() != computedAt) {
+            cache.invalidate(key);
+        }
+    }
+
+    @Override
+    public void onReset(long sequence) {
+        generation.incrementAndGet();
+        invalidations.add(cache.estimatedSize());
+        cache.invalidateAll();
+        log.debug("Cleared name-search cache after replica reset to sequence {}", sequence);
+    }
+
+    @Override
+    public void onChange(EmployeeChangeEvent change) {
+        invalidateContainedIn(change.employee().getName());
+    }
+
+    @Override
+    public void onUpdate(MockEmployee previous, EmployeeChangeEvent change) {
+        invalidateContainedIn(previous.getName(), change.employee().getName());
+    }
+
+    private void invalidateContainedIn(String... names) {
+        final List<String> normalized = Arrays.stream(names).map(NameSearchCache::normalize).toList();
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> {
+            if (normalized.stream().anyMatch(name -> name.contains(key))) {
+                invalidations.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    public SearchCacheStatsResponse stats() {
+        final var stats = cache.stats();
+        return new SearchCacheStatsResponse(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                invalidations.sum());
+    }
+}
@@ -0,0 +1,174 @@
+package com.reliaquest.api.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs filter, max and top-K queries over an immutable, random-access employee view on a dedicated fork-join pool. The
+ * index range is halved until a range holds at most {@code chunkSize} rows; each chunk produces a partial result
+ * (match list, max, bounded top-K heap) and partials are combined on the way back up. Views no larger than one chunk
+ * are queried on the calling thread, where forking costs more than it saves.
+ *
+ * <p>Results are the same as the sequential equivalents: matches keep view order and ties in max and top-K go to the
+ * earlier row.
+ */
+@Component
+public class ParallelQueryExecutor {
+
+    private final ForkJoinPool pool;
+
+    @Getter
+    private final int chunkSize;
+
+    public ParallelQueryExecutor(
+            @Value("${employee.query.parallelism:0}") int parallelism,
+            @Value("${employee.query.chunk-size:16384}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Query chunk size must be positive");
+        }
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = chunkSize;
+    }
+
+    public <T> List<T> filter(List<T> rows, Predicate<? super T> predicate) {
+        return execute(
+                rows,
+                (from, to) -> {
+                    final var matches = new ArrayList<T>();
+                    for (int i = from; i < to; i++) {
+                        if (predicate.test(rows.get(i))) {
+                            matches.add(rows.get(i));
+                        }
+                    }
+                    return matches;
+                },
+                (left, right) -> {
+                    left.addAll(right);
+                    return left;
+                });
+    }
+
+    public <T> Optional<T> max(List<T> rows, Comparator<? super T> comparator) {
+        return execute(
+                rows,
+                (from, to) -> {
+                    T best = null;
+                    for (int i = from; i < to; i++) {
+                        if (best == null || comparator.compare(rows.get(i), best) > 0) {
+                            best = rows.get(i);
+                        }
+                    }
+                    return Optional.ofNullable(best);
+                },
+                (left, right) -> left.isEmpty()
+                                || (right.isPresent() && comparator.compare(right.get(), left.get()) > 0)
+                        ? right
+                        : left);
+    }
+
+    /**
+     * The {@code k} largest rows by {@code comparator}, largest first.
+     */
+    public <T> List<T> topK(List<T> rows, int k, Comparator<? super T> comparator) {
+        if (k < 1) {
+            return List.of();
+        }
+        final Comparator<Ranked<T>> order = Comparator.<Ranked<T>, T>comparing(Ranked::row, comparator)
+                .thenComparing(Ranked::index, Comparator.reverseOrder());
+        final List<Ranked<T>> top = execute(
+                rows,
+                (from, to) -> {
+                    // Min-heap of the best k seen so far; its head is the first to be displaced.
+                    final var heap = new PriorityQueue<Ranked<T>>(k + 1, order);
+                    for (int i = from; i < to; i++) {
+                        final T row = rows.get(i);
+                        if (heap.size() < k) {
+                            heap.add(new Ranked<>(row, i));
+                        } else if (comparator.compare(row, heap.peek().row()) > 0) {
+                            heap.poll();
+                            heap.add(new Ranked<>(row, i));
+                        }
+                    }
+                    final var best = new ArrayList<>(heap);
+                    best.sort(order.reversed());
+                    return best;
+                },
+                (left, right) -> mergeDescending(left, right, k, order));
+        return top.stream().map(Ranked::row).toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private <T, R> R execute(List<T> rows, ChunkQuery<R> chunkQuery, BinaryOperator<R> combiner) {
+        if (rows.size() <= chunkSize) {
+            return chunkQuery.apply(0, rows.size());
+        }
+        return pool.invoke(new ChunkTask<>(0, rows.size(), chunkQuery, combiner, chunkSize));
+    }
+
+    private static <T> List<Ranked<T>> mergeDescending(
+            List<Ranked<T>> left, List<Ranked<T>> right, int k, Comparator<Ranked<T>> order) {
+        final var merged = new ArrayList<Ranked<T>>(Math.min(k, left.size() + right.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < k && (i < left.size() || j < right.size())) {
+            if (j >= right.size() || (i < left.size() && order.compare(left.get(i), right.get(j)) >= 0)) {
+                merged.add(left.get(i++));
+            } else {
+                merged.add(right.get(j++));
+            }
+        }
+        return merged;
+    }
+
+    private record Ranked<T>(T row, int index) {}
+
+    @FunctionalInterface
+    private interface ChunkQuery<R> {
+        R apply(int from, int to);
+    }
+
+    private static final class ChunkTask<R> extends RecursiveTask<R> {
+
+        private final int from;
+        private final int to;
+        private final ChunkQuery<R> chunkQuery;
+        private final BinaryOperator<R> combiner;
+        private final int chunkSize;
+
+        private ChunkTask(int from, int to, ChunkQuery<R> chunkQuery, BinaryOperator<R> combiner, int chunkSize) {
+            this.from = from;
+            this.to = to;
+            this.chunkQuery = chunkQuery;
+            this.combiner = combiner;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= chunkSize) {
+                return chunkQuery.apply(from, to);
+            }
+            final var middle = (from + to) >>> 1;
+            final var left = new ChunkTask<>(from, middle, chunkQuery, combiner, chunkSize);
+            final var right = new ChunkTask<>(middle, to, chunkQuery, combiner, chunkSize);
+            left.fork();
+            final var rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.MockEmployee;
+
+/**
+ * Notified by {@link EmployeeReplica} while it holds its lock, so implementations must be quick and must not call
+ * back into the replica.
+ */
+public interface ReplicaChangeListener {
+
+    /** The replica replaced its contents with a full snapshot; nothing derived from the old contents is valid. */
+    void onReset(long sequence);
+
+    void onChange(EmployeeChangeEvent change);
+
+    /** An update of an employee the replica already held; {@code previous} is that employee before the change. */
+    default void onUpdate(MockEmployee previous, EmployeeChangeEvent change) {
+        onChange(change);
+    }
+
+    /** A bulk update the replica replayed; any number of employees may have changed, so by default it is a reset. */
+    default void onBulkUpdate(EmployeeChangeEvent change) {
+        onReset(change.sequence());
+    }
+}
@@ -0,0 +1,303 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.constants.EmployeeConstant;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePageResponse;
+import com.reliaquest.api.model.EmployeePatch;
+import com.reliaquest.api.model.EmployeeQueryResponse;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SearchCacheStatsResponse;
+import com.reliaquest.api.translator.EmployeeTranslator;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import com.reliaquest.server.service.query.EmployeeQuery;
+import com.reliaquest.server.service.query.UpdateExpression;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * {@link EmployeeService} over a primary mock server and its read-only replicas. Writes go to the primary and record
+ * the version they produced in the request's {@link VersionToken}. Reads go to the replica with the fewest
+ * outstanding requests and carry the token's minimum version; a replica that cannot catch up in time answers 412 and
+ * the read is served by the primary instead.
+ */
+@Slf4j
+public class ReplicatedEmployeeService implements EmployeeService {
+
+    private static final int TOP_EARNERS = 10;
+
+    private final HttpEmployeeNode primary;
+    private final LeastOutstandingBalancer<HttpEmployeeNode> replicaBalancer;
+    private final UpstreamCallExecutor upstreamCallExecutor;
+    private final EmployeeTranslator employeeTranslator;
+    private final ObjectMapper objectMapper;
+    private final EmployeeServiceImpl employeeServiceImpl;
+    private final BatchingLoader<VersionedId, MockEmployee> employeeLoader;
+
+    public ReplicatedEmployeeService(
+            HttpEmployeeNode primary,
+            LeastOutstandingBalancer<HttpEmployeeNode> replicaBalancer,
+            UpstreamCallExecutor upstreamCallExecutor,
+            EmployeeTranslator employeeTranslator,
+            ObjectMapper objectMapper,
+            EmployeeServiceImpl employeeServiceImpl,
+            BatchingLoaderFactory batchingLoaderFactory) {
+        this.primary = primary;
+        this.replicaBalancer = replicaBalancer;
+        this.upstreamCallExecutor = upstreamCallExecutor;
+        this.employeeTranslator = employeeTranslator;
+        this.objectMapper = objectMapper;
+        this.employeeServiceImpl = employeeServiceImpl;
+        this.employeeLoader = batchingLoaderFactory.create(this::findOnReplica);
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> fetchAllEmployees() {
+        log.info("Fetching all employees from a replica");
+        return read(HttpEmployeeNode::findAll)
+                .thenApply(this::translateAll)
+                .exceptionally(this::fallbackEmployees);
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> getEmployeeById(String id) {
+        log.info("Fetching employee by ID: {}", id);
+        final var key = new VersionedId(parseId(id), currentMinVersion());
+        return employeeLoader.load(key).thenApply(mock -> employeeTranslator.convertToEmployee(orNotFound(mock, id)));
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByIds(List<String> ids) {
+        log.info("Fetching {} employees by ID from a replica", ids == null ? 0 : ids.size());
+        final long minVersion = currentMinVersion();
+        final var keys = EmployeeServiceImpl.parseIds(ids).stream()
+                .map(uuid -> new VersionedId(uuid, minVersion))
+                .toList();
+        return employeeLoader.loadMany(keys).thenApply(mocks -> translateAll(List.copyOf(mocks.values())));
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByNameSearch(String nameFragment) {
+        log.info("Searching a replica for name containing: {}", nameFragment);
+        return read((node, minVersion) -> node.searchByName(nameFragment, minVersion))
+                .thenApply(this::translateAll)
+                .exceptionally(this::fallbackEmployees);
+    }
+
+    @Override
+    public SearchCacheStatsResponse getSearchCacheStats() {
+        return employeeServiceImpl.getSearchCacheStats();
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> autocompleteEmployees(String prefix, int limit) {
+        log.info("Autocompleting employee names for prefix: {}", prefix);
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException(EmployeeConstant.AUTOCOMPLETE_PREFIX_IS_BLANK);
+        }
+        return read((node, minVersion) -> node.autocomplete(prefix, limit, minVersion))
+                .thenApply(this::translateAll);
+    }
+
+    @Override
+    public CompletableFuture<EmployeePageResponse> getEmployeesBySalaryRange(
+            Integer minSalary, Integer maxSalary, String cursor, int limit) {
+        log.info("Fetching employees with salary between {} and {}", minSalary, maxSalary);
+        EmployeeServiceImpl.validateRange(minSalary, maxSalary, limit);
+        return read((node, minVersion) -> node.findBySalaryRange(minSalary, maxSalary, cursor, limit, minVersion))
+                .thenApply(employeeTranslator::convertToEmployeePage);
+    }
+
+    @Override
+    public CompletableFuture<EmployeePageResponse> getEmployeesByAgeRange(
+            Integer minAge, Integer maxAge, String cursor, int limit) {
+        log.info("Fetching employees with age between {} and {}", minAge, maxAge);
+        EmployeeServiceImpl.validateRange(minAge, maxAge, limit);
+        return read((node, minVersion) -> node.findByAgeRange(minAge, maxAge, cursor, limit, minVersion))
+                .thenApply(employeeTranslator::convertToEmployeePage);
+    }
+
+    @Override
+    public CompletableFuture<EmployeeQueryResponse> queryEmployees(
+            String where, String orderBy, int limit, boolean explain) {
+        log.info("Querying a replica for employees where {}", where);
+        // Parsed here too, so a malformed query is rejected before it reaches a replica.
+        EmployeeQuery.parse(where, orderBy, limit);
+        return read((node, minVersion) -> node.query(where, orderBy, limit, explain, minVersion))
+                .thenApply(employeeTranslator::convertToEmployeeQueryResponse);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getHighestSalaryOfEmployees() {
+        log.info("Fetching highest salary from a replica");
+        return read(HttpEmployeeNode::findHighestSalary).thenApply(max -> max.orElse(0));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getTop10HighestEarningEmployeeNames() {
+        log.info("Fetching top {} earners from a replica", TOP_EARNERS);
+        return read((node, minVersion) -> node.findTopBySalary(TOP_EARNERS, minVersion))
+                .thenApply(mocks -> mocks.stream()
+                        .sorted(Comparator.comparingInt(MockEmployee::getSalary).reversed())
+                        .map(MockEmployee::getName)
+                        .toList());
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeById(String id) {
+        log.info("Deleting employee by ID on the primary: {}", id);
+        final var uuid = parseId(id);
+        final var token = VersionToken.current();
+        return upstreamCallExecutor
+                .readAsync(() -> primary.findById(uuid, 0))
+                .thenCompose(mock -> {
+                    final var found = orNotFound(mock, id);
+                    final var input = employeeTranslator.toMockEmployeeToDeleteMockEmployee(found);
+                    return upstreamCallExecutor
+                            .writeAsync(() -> primary.deleteVersioned(input))
+                            .thenApply(deleted -> {
+                                token.ifPresent(t -> t.observe(deleted.version()));
+                                return found.getName();
+                            });
+                });
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> createEmployee(EmployeeInput employeeInput, String idempotencyKey) {
+        log.info("Creating employee on the primary: {}", employeeInput);
+        EmployeeServiceImpl.validateEmployeeInput(employeeInput);
+        CreateMockEmployeeInput createMockEmployeeInput =
+                objectMapper.convertValue(employeeInput, CreateMockEmployeeInput.class);
+        final var token = VersionToken.current();
+        final var upstreamKey = EmployeeServiceImpl.upstreamIdempotencyKey(idempotencyKey);
+        return upstreamCallExecutor
+                .writeAsync(() -> primary.createVersioned(createMockEmployeeInput, upstreamKey))
+                .thenApply(created -> {
+                    token.ifPresent(t -> t.observe(created.version()));
+                    return employeeTranslator.convertToEmployee(created.value());
+                });
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> updateEmployee(String id, EmployeePatch patch, Long expectedVersion) {
+        log.info("Updating employee {} on the primary", id);
+        final var uuid = parseId(id);
+        final var input = EmployeeServiceImpl.toUpdateInput(patch, objectMapper);
+        final var token = VersionToken.current();
+        return upstreamCallExecutor
+                .writeAsync(() -> primary.updateVersioned(uuid, input, expectedVersion))
+                .thenApply(updated -> {
+                    final var employee = EmployeeServiceImpl.updatedOrThrow(updated.value(), id, expectedVersion);
+                    token.ifPresent(t -> t.observe(updated.version()));
+                    return employeeTranslator.convertToEmployee(employee);
+                });
+    }
+
+    @Override
+    public CompletableFuture<BulkUpdateReport> bulkUpdateEmployees(String where, String set) {
+        log.info("Bulk updating employees on the primary where {}: {}", where, set);
+        // Parsed here too, so a malformed update is rejected before it reaches the primary.
+        EmployeeQuery.parseWhere(where);
+        UpdateExpression.parse(set);
+        final var token = VersionToken.current();
+        return upstreamCallExecutor
+                .writeAsync(() -> primary.bulkUpdateVersioned(where, set))
+                .thenApply(report -> {
+                    token.ifPresent(t -> t.observe(report.version()));
+                    return report.value();
+                });
+    }
+
+    @Override
+    public List<EmployeeResponse> fallbackEmployees(Throwable ex) {
+        return employeeServiceImpl.fallbackEmployees(ex);
+    }
+
+    /*
+     * The minimum version is read on the calling thread, where the request's token is bound.
+     */
+    private <T> CompletableFuture<T> read(BiFunction<HttpEmployeeNode, Long, CompletableFuture<T>> call) {
+        return read(currentMinVersion(), call);
+    }
+
+    private static long currentMinVersion() {
+        return VersionToken.current().map(VersionToken::getMinVersion).orElse(0L);
+    }
+
+    /*
+     * A batch is read at the highest minimum version among its lookups, which satisfies every one of them.
+     */
+    private CompletableFuture<Map<VersionedId, MockEmployee>> findOnReplica(List<VersionedId> keys) {
+        final long minVersion = keys.stream().mapToLong(VersionedId::minVersion).max().orElse(0L);
+        final var ids = keys.stream().map(VersionedId::id).distinct().toList();
+        return read(minVersion, (node, version) -> node.findByIds(ids, version)).thenApply(mocks -> {
+            final var found = EmployeeServiceImpl.byId(mocks);
+            final var byKey = new HashMap<VersionedId, MockEmployee>();
+            keys.forEach(key -> {
+                if (found.containsKey(key.id())) {
+                    byKey.put(key, found.get(key.id()));
+                }
+            });
+            return byKey;
+        });
+    }
+
+    /*
+     * The replica stays acquired until its answer arrives; a 412 is then retried on the primary.
+     */
+    private <T> CompletableFuture<T> read(
+            long minVersion, BiFunction<HttpEmployeeNode, Long, CompletableFuture<T>> call) {
+        return upstreamCallExecutor.readAsync(() -> {
+            final var replica = replicaBalancer.acquire();
+            final CompletableFuture<T> fromReplica;
+            try {
+                fromReplica = call.apply(replicaBalancer.get(replica), minVersion);
+            } catch (RuntimeException ex) {
+                replicaBalancer.release(replica);
+                throw ex;
+            }
+            return fromReplica
+                    .whenComplete((result, ex) -> replicaBalancer.release(replica))
+                    .exceptionallyCompose(ex -> {
+                        final var cause =
+                                ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                        if (!(cause instanceof HttpClientErrorException error)
+                                || error.getStatusCode().value() != HttpStatus.PRECONDITION_FAILED.value()) {
+                            return CompletableFuture.failedFuture(cause);
+                        }
+                        log.debug(
+                                "Replica {} has not reached version {}, reading from the primary", replica, minVersion);
+                        return call.apply(primary, minVersion);
+                    });
+        });
+    }
+
+    private static UUID parseId(String id) {
+        if (!EmployeeServiceImpl.isValidUUID(id)) {
+            throw new IllegalArgumentException(EmployeeConstant.INVALID_EMPLOYEE_ID_FORMAT);
+        }
+        return UUID.fromString(id);
+    }
+
+    private static MockEmployee orNotFound(Optional<MockEmployee> mock, String id) {
+        return mock.orElseThrow(() -> new IllegalArgumentException(EmployeeConstant.EMPLOYEE_NOT_FOUND_FOR_ID + id));
+    }
+
+    private List<EmployeeResponse> translateAll(List<MockEmployee> mocks) {
+        return mocks.stream().map(employeeTranslator::convertToEmployee).toList();
+    }
+
+    private record VersionedId(UUID id, long minVersion) {}
+}
@@ -0,0 +1,349 @@
+package com.reliaquest.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.constants.EmployeeConstant;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePageResponse;
+import com.reliaquest.api.model.EmployeePatch;
+import com.reliaquest.api.model.EmployeeQueryResponse;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SearchCacheStatsResponse;
+import com.reliaquest.api.translator.EmployeeTranslator;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.ShardSettings;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import com.reliaquest.server.service.index.NameTrieIndex;
+import com.reliaquest.server.service.index.SortedFieldIndex;
+import com.reliaquest.server.service.shard.ConsistentHashRing;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link EmployeeService} over several mock server shards. Point operations go to the shard that owns the id on the
+ * consistent-hash ring. List, search, highest salary, top 10, ranges and autocomplete scatter to every shard in
+ * parallel and merge the partial results: highest salary is the max of the shard maxima, and ordered results are a
+ * k-way merge of each shard's first {@code limit}, which always holds the global first {@code limit}. New employees
+ * are spread round-robin, and the receiving shard issues an id it owns.
+ *
+ * <p>A range page is resumed on every shard from the same cursor, since (key, id) order is the same on each. Employee
+ * queries and bulk updates are rejected while sharded: a query's plan and order would have to be merged here, and a
+ * bulk update could not be all or nothing across shards.
+ */
+@Slf4j
+public class ShardedEmployeeService implements EmployeeService {
+
+    private static final int TOP_EARNERS = 10;
+    // The order of each shard's salary index read backwards.
+    private static final Comparator<MockEmployee> TOP_EARNER_ORDER = Comparator.comparing(MockEmployee::getSalary)
+            .thenComparing(MockEmployee::getId)
+            .reversed();
+
+    private final List<EmployeeShard> shards;
+    private final ConsistentHashRing shardRing;
+    private final NameTrieIndex.Rank autocompleteRank;
+    private final UpstreamCallExecutor upstreamCallExecutor;
+    private final EmployeeTranslator employeeTranslator;
+    private final ObjectMapper objectMapper;
+    private final EmployeeServiceImpl employeeServiceImpl;
+    private final BatchingLoader<UUID, MockEmployee> employeeLoader;
+    private final AtomicInteger nextCreateShard = new AtomicInteger();
+
+    public ShardedEmployeeService(
+            List<EmployeeShard> shards,
+            ConsistentHashRing shardRing,
+            NameTrieIndex.Rank autocompleteRank,
+            UpstreamCallExecutor upstreamCallExecutor,
+            EmployeeTranslator employeeTranslator,
+            ObjectMapper objectMapper,
+            EmployeeServiceImpl employeeServiceImpl,
+            BatchingLoaderFactory batchingLoaderFactory) {
+        this.shards = shards;
+        this.shardRing = shardRing;
+        this.autocompleteRank = autocompleteRank;
+        this.upstreamCallExecutor = upstreamCallExecutor;
+        this.employeeTranslator = employeeTranslator;
+        this.objectMapper = objectMapper;
+        this.employeeServiceImpl = employeeServiceImpl;
+        this.employeeLoader = batchingLoaderFactory.create(this::findOnOwners);
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> fetchAllEmployees() {
+        log.info("Fetching all employees from {} shards", shards.size());
+        return scatter(EmployeeShard::findAll)
+                .thenApply(this::translateAll)
+                .exceptionally(this::fallbackEmployees);
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> getEmployeeById(String id) {
+        log.info("Fetching employee by ID: {}", id);
+        return findOnOwner(id).thenApply(employeeTranslator::convertToEmployee);
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByIds(List<String> ids) {
+        log.info("Fetching {} employees by ID from their shards", ids == null ? 0 : ids.size());
+        return employeeLoader
+                .loadMany(EmployeeServiceImpl.parseIds(ids))
+                .thenApply(mocks -> mocks.values().stream()
+                        .map(employeeTranslator::convertToEmployee)
+                        .toList());
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByNameSearch(String nameFragment) {
+        log.info("Searching {} shards for name containing: {}", shards.size(), nameFragment);
+        return scatter(shard -> shard.searchByName(nameFragment))
+                .thenApply(this::translateAll)
+                .exceptionally(this::fallbackEmployees);
+    }
+
+    @Override
+    public SearchCacheStatsResponse getSearchCacheStats() {
+        return employeeServiceImpl.getSearchCacheStats();
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> autocompleteEmployees(String prefix, int limit) {
+        log.info("Autocompleting employee names for prefix {} on {} shards", prefix, shards.size());
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException(EmployeeConstant.AUTOCOMPLETE_PREFIX_IS_BLANK);
+        }
+        return scatter(shard -> shard.autocomplete(prefix, limit))
+                .thenApply(partials -> merge(partials, autocompleteRank.getComparator(), limit).stream()
+                        .map(employeeTranslator::convertToEmployee)
+                        .toList());
+    }
+
+    @Override
+    public CompletableFuture<EmployeePageResponse> getEmployeesBySalaryRange(
+            Integer minSalary, Integer maxSalary, String cursor, int limit) {
+        log.info("Fetching employees with salary between {} and {} from every shard", minSalary, maxSalary);
+        EmployeeServiceImpl.validateRange(minSalary, maxSalary, limit);
+        return scatter(shard -> shard.findBySalaryRange(minSalary, maxSalary, cursor, limit))
+                .thenApply(pages -> mergePages(pages, MockEmployee::getSalary, limit))
+                .thenApply(employeeTranslator::convertToEmployeePage);
+    }
+
+    @Override
+    public CompletableFuture<EmployeePageResponse> getEmployeesByAgeRange(
+            Integer minAge, Integer maxAge, String cursor, int limit) {
+        log.info("Fetching employees with age between {} and {} from every shard", minAge, maxAge);
+        EmployeeServiceImpl.validateRange(minAge, maxAge, limit);
+        return scatter(shard -> shard.findByAgeRange(minAge, maxAge, cursor, limit))
+                .thenApply(pages -> mergePages(pages, MockEmployee::getAge, limit))
+                .thenApply(employeeTranslator::convertToEmployeePage);
+    }
+
+    @Override
+    public CompletableFuture<EmployeeQueryResponse> queryEmployees(
+            String where, String orderBy, int limit, boolean explain) {
+        throw new UnsupportedOperationException(EmployeeConstant.NOT_SUPPORTED_WHEN_SHARDED + "employee query");
+    }
+
+    @Override
+    public CompletableFuture<Integer> getHighestSalaryOfEmployees() {
+        log.info("Calculating highest salary across {} shards", shards.size());
+        return scatter(EmployeeShard::findHighestSalary).thenApply(maxima -> maxima.stream()
+                .flatMap(Optional::stream)
+                .max(Integer::compareTo)
+                .orElse(0));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getTop10HighestEarningEmployeeNames() {
+        log.info("Merging top {} earners from {} shards", TOP_EARNERS, shards.size());
+        return scatter(shard -> shard.findTopBySalary(TOP_EARNERS))
+                .thenApply(partials -> merge(partials, TOP_EARNER_ORDER, TOP_EARNERS).stream()
+                        .map(MockEmployee::getName)
+                        .toList());
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeById(String id) {
+        log.info("Deleting employee by ID: {}", id);
+        final var owner = ownerOf(id);
+        return findOnOwner(id).thenCompose(mock -> upstreamCallExecutor
+                .writeAsync(() -> owner.delete(employeeTranslator.toMockEmployeeToDeleteMockEmployee(mock)))
+                .thenApply(ignored -> mock.getName()));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> createEmployee(EmployeeInput employeeInput, String idempotencyKey) {
+        log.info("Creating employee: {}", employeeInput);
+        EmployeeServiceImpl.validateEmployeeInput(employeeInput);
+        CreateMockEmployeeInput createMockEmployeeInput =
+                objectMapper.convertValue(employeeInput, CreateMockEmployeeInput.class);
+        // A client key always maps to the same shard, which is the one that remembers it.
+        final var shard = idempotencyKey != null
+                ? shards.get(shardRing.shardFor(
+                        UUID.nameUUIDFromBytes(idempotencyKey.getBytes(StandardCharsets.UTF_8))))
+                : shards.get(Math.floorMod(nextCreateShard.getAndIncrement(), shards.size()));
+        final var upstreamKey = EmployeeServiceImpl.upstreamIdempotencyKey(idempotencyKey);
+        return upstreamCallExecutor
+                .writeAsync(() -> shard.create(createMockEmployeeInput, upstreamKey))
+                .thenApply(employeeTranslator::convertToEmployee);
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> updateEmployee(String id, EmployeePatch patch, Long expectedVersion) {
+        log.info("Updating employee {} on its shard", id);
+        final var owner = ownerOf(id);
+        final var input = EmployeeServiceImpl.toUpdateInput(patch, objectMapper);
+        return upstreamCallExecutor
+                .writeAsync(() -> owner.update(parseId(id), input, expectedVersion))
+                .thenApply(result -> employeeTranslator.convertToEmployee(
+                        EmployeeServiceImpl.updatedOrThrow(result, id, expectedVersion)));
+    }
+
+    @Override
+    public CompletableFuture<BulkUpdateReport> bulkUpdateEmployees(String where, String set) {
+        throw new UnsupportedOperationException(EmployeeConstant.NOT_SUPPORTED_WHEN_SHARDED + "bulk update");
+    }
+
+    @Override
+    public List<EmployeeResponse> fallbackEmployees(Throwable ex) {
+        return employeeServiceImpl.fallbackEmployees(ex);
+    }
+
+    /**
+     * Fails when a shard's index, count, virtual nodes or autocomplete rank differ from this service's, since ids would
+     * be routed to shards that do not hold them and merged results would be out of order. A shard that cannot be
+     * reached is only logged, so the api can start before its shards.
+     */
+    public void checkShardSettings() {
+        final var expectedVirtualNodes = shardRing.getVirtualNodes();
+        for (int index = 0; index < shards.size(); index++) {
+            final ShardSettings settings;
+            try {
+                settings = shards.get(index).getShardSettings().join();
+            } catch (RuntimeException ex) {
+                final var cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                log.warn("Could not check the settings of shard {}: {}", index, cause.getMessage());
+                continue;
+            }
+            final var expected = new ShardSettings(index, shards.size(), expectedVirtualNodes, autocompleteRank);
+            if (!expected.equals(settings)) {
+                throw new IllegalStateException("Shard " + index + " runs with " + settings + " but " + expected
+                        + " is configured; start it with matching mock.employees.shard and autocomplete settings");
+            }
+        }
+    }
+
+    private EmployeeShard ownerOf(String id) {
+        return shards.get(shardRing.shardFor(parseId(id)));
+    }
+
+    private static UUID parseId(String id) {
+        if (!EmployeeServiceImpl.isValidUUID(id)) {
+            throw new IllegalArgumentException(EmployeeConstant.INVALID_EMPLOYEE_ID_FORMAT);
+        }
+        return UUID.fromString(id);
+    }
+
+    private CompletableFuture<MockEmployee> findOnOwner(String id) {
+        return employeeLoader
+                .load(parseId(id))
+                .thenApply(mock -> mock.orElseThrow(
+                        () -> new IllegalArgumentException(EmployeeConstant.EMPLOYEE_NOT_FOUND_FOR_ID + id)));
+    }
+
+    /*
+     * One batch: the ids are grouped by owning shard and each shard is asked for its group in parallel.
+     */
+    private CompletableFuture<Map<UUID, MockEmployee>> findOnOwners(List<UUID> ids) {
+        final List<CompletableFuture<List<MockEmployee>>> partials = ids.stream()
+                .collect(Collectors.groupingBy(shardRing::shardFor))
+                .entrySet()
+                .stream()
+                .map(owned -> upstreamCallExecutor.readAsync(
+                        () -> shards.get(owned.getKey()).findByIds(owned.getValue())))
+                .toList();
+        return CompletableFuture.allOf(partials.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> EmployeeServiceImpl.byId(partials.stream()
+                        .map(CompletableFuture::join)
+                        .flatMap(Collection::stream)
+                        .toList()));
+    }
+
+    /*
+     * One read per shard, all in flight at once; fails if any shard fails after its retries.
+     */
+    private <T> CompletableFuture<List<T>> scatter(Function<EmployeeShard, CompletableFuture<T>> call) {
+        final List<CompletableFuture<T>> partials = shards.stream()
+                .map(shard -> upstreamCallExecutor.readAsync(() -> call.apply(shard)))
+                .toList();
+        return CompletableFuture.allOf(partials.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> partials.stream().map(CompletableFuture::join).toList());
+    }
+
+    /*
+     * The first limit employees of the shards' pages in (key, id) order. Each shard returned up to limit entries after
+     * the cursor, so when a shard's page runs out every employee kept came before its next one. The next cursor
+     * points after the last employee kept, and is null when no shard has more.
+     */
+    private static EmployeePage mergePages(
+            List<EmployeePage> pages, Function<MockEmployee, Integer> keyExtractor, int limit) {
+        final var order = Comparator.comparing(keyExtractor).thenComparing(MockEmployee::getId);
+        final var merged = merge(pages.stream().map(EmployeePage::employees).toList(), order, limit + 1);
+        final var more = merged.size() > limit || pages.stream().anyMatch(page -> page.nextCursor() != null);
+        final var employees = merged.subList(0, Math.min(merged.size(), limit));
+        if (!more || employees.isEmpty()) {
+            return new EmployeePage(employees, null);
+        }
+        final var last = employees.get(employees.size() - 1);
+        return new EmployeePage(employees, SortedFieldIndex.cursorAfter(keyExtractor.apply(last), last.getId()));
+    }
+
+    /*
+     * K-way merge of lists each already in order: a heap holds one position per list, so taking the first limit costs
+     * O(limit log k) however long the lists are.
+     */
+    static <T> List<T> merge(List<List<T>> partials, Comparator<? super T> order, int limit) {
+        final var positions = new int[partials.size()];
+        final var heads = new PriorityQueue<Integer>(
+                Math.max(1, partials.size()),
+                Comparator.comparing((Integer list) -> head(partials, positions, list), order));
+        for (int list = 0; list < partials.size(); list++) {
+            if (!partials.get(list).isEmpty()) {
+                heads.add(list);
+            }
+        }
+        final var merged = new ArrayList<T>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            final int list = heads.poll();
+            merged.add(head(partials, positions, list));
+            if (++positions[list] < partials.get(list).size()) {
+                heads.add(list);
+            }
+        }
+        return merged;
+    }
+
+    private static <T> T head(List<List<T>> partials, int[] positions, int list) {
+        return partials.get(list).get(positions[list]);
+    }
+
+    private List<EmployeeResponse> translateAll(List<List<MockEmployee>> partials) {
+        return partials.stream()
+                .flatMap(Collection::stream)
+                .map(employeeTranslator::convertToEmployee)
+                .toList();
+    }
+}
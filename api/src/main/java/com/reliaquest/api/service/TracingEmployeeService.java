@@ -0,0 +1,123 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePageResponse;
+import com.reliaquest.api.model.EmployeePatch;
+import com.reliaquest.api.model.EmployeeQueryResponse;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SearchCacheStatsResponse;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import com.reliaquest.server.trace.Span;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Traces each call into the chosen {@link EmployeeService} as a span named after the operation, from the call until
+ * its future completes. Upstream calls, retries and lookups made by the operation become its children.
+ */
+@RequiredArgsConstructor
+public class TracingEmployeeService implements EmployeeService {
+
+    private static final String SPAN_PREFIX = "EmployeeService.";
+
+    @NonNull
+    private final EmployeeService delegate;
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> fetchAllEmployees() {
+        return Span.trace(SPAN_PREFIX + "fetchAllEmployees", delegate::fetchAllEmployees);
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> getEmployeeById(String id) {
+        return Span.trace(SPAN_PREFIX + "getEmployeeById", () -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByIds(List<String> ids) {
+        return Span.trace(SPAN_PREFIX + "getEmployeesByIds", () -> delegate.getEmployeesByIds(ids));
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByNameSearch(String nameFragment) {
+        return Span.trace(
+                SPAN_PREFIX + "getEmployeesByNameSearch", () -> delegate.getEmployeesByNameSearch(nameFragment));
+    }
+
+    @Override
+    public SearchCacheStatsResponse getSearchCacheStats() {
+        return delegate.getSearchCacheStats();
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> autocompleteEmployees(String prefix, int limit) {
+        return Span.trace(SPAN_PREFIX + "autocompleteEmployees", () -> delegate.autocompleteEmployees(prefix, limit));
+    }
+
+    @Override
+    public CompletableFuture<EmployeePageResponse> getEmployeesBySalaryRange(
+            Integer minSalary, Integer maxSalary, String cursor, int limit) {
+        return Span.trace(
+                SPAN_PREFIX + "getEmployeesBySalaryRange",
+                () -> delegate.getEmployeesBySalaryRange(minSalary, maxSalary, cursor, limit));
+    }
+
+    @Override
+    public CompletableFuture<EmployeePageResponse> getEmployeesByAgeRange(
+            Integer minAge, Integer maxAge, String cursor, int limit) {
+        return Span.trace(
+                SPAN_PREFIX + "getEmployeesByAgeRange",
+                () -> delegate.getEmployeesByAgeRange(minAge, maxAge, cursor, limit));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeQueryResponse> queryEmployees(
+            String where, String orderBy, int limit, boolean explain) {
+        return Span.trace(
+                SPAN_PREFIX + "queryEmployees", () -> delegate.queryEmployees(where, orderBy, limit, explain));
+    }
+
+    @Override
+    public CompletableFuture<Integer> getHighestSalaryOfEmployees() {
+        return Span.trace(SPAN_PREFIX + "getHighestSalaryOfEmployees", delegate::getHighestSalaryOfEmployees);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getTop10HighestEarningEmployeeNames() {
+        return Span.trace(
+                SPAN_PREFIX + "getTop10HighestEarningEmployeeNames", delegate::getTop10HighestEarningEmployeeNames);
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeById(String id) {
+        return Span.trace(SPAN_PREFIX + "deleteEmployeeById", () -> delegate.deleteEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> createEmployee(EmployeeInput employeeInput, String idempotencyKey) {
+        return Span.trace(SPAN_PREFIX + "createEmployee", () -> delegate.createEmployee(employeeInput, idempotencyKey));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> updateEmployee(String id, EmployeePatch patch, Long expectedVersion) {
+        return Span.trace(SPAN_PREFIX + "updateEmployee", () -> delegate.updateEmployee(id, patch, expectedVersion));
+    }
+
+    @Override
+    public CompletableFuture<BulkUpdateReport> bulkUpdateEmployees(String where, String set) {
+        return Span.trace(SPAN_PREFIX + "bulkUpdateEmployees", () -> delegate.bulkUpdateEmployees(where, set));
+    }
+
+    @Override
+    public List<EmployeeResponse> fallbackEmployees(Throwable ex) {
+        return delegate.fallbackEmployees(ex);
+    }
+
+    @Override
+    public CompletableFuture<OptionalLong> getDatasetVersion() {
+        return Span.trace(SPAN_PREFIX + "getDatasetVersion", delegate::getDatasetVersion);
+    }
+}
@@ -0,0 +1,157 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.constants.EmployeeConstant;
+import com.reliaquest.api.exception.ServiceOverloadedException;
+import com.reliaquest.server.trace.Span;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.retry.Retry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Runs calls against the mock employee service off the request thread. A blocking attempt is submitted to the upstream
+ * pool, while a non-blocking one is sent directly and only completes on that pool. Failed attempts are re-submitted by
+ * the retry scheduler after the configured wait, so no thread sleeps through a backoff.
+ *
+ * <p>Before an attempt is submitted it must get a permit from the read or write bulkhead and from the shared
+ * adaptive concurrency limit. Either refusal fails the attempt immediately with {@link ServiceOverloadedException}.
+ *
+ * <p>Within a trace, each call is a span with one child span per attempt, and the returned future completes with the
+ * caller's span current so its continuations stay in the caller's trace.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UpstreamCallExecutor {
+
+    private final Retry employeeApiRetry;
+    private final Bulkhead employeeApiReadBulkhead;
+    private final Bulkhead employeeApiWriteBulkhead;
+    private final AdaptiveConcurrencyLimiter upstreamConcurrencyLimiter;
+    private final Executor upstreamExecutor;
+    private final ScheduledExecutorService retryScheduler;
+
+    public <T> CompletableFuture<T> read(Supplier<T> upstreamCall) {
+        return call(employeeApiReadBulkhead, blocking(upstreamCall));
+    }
+
+    public <T> CompletableFuture<T> write(Supplier<T> upstreamCall) {
+        return call(employeeApiWriteBulkhead, blocking(upstreamCall));
+    }
+
+    public <T> CompletableFuture<T> readAsync(Supplier<CompletableFuture<T>> upstreamCall) {
+        return call(employeeApiReadBulkhead, nonBlocking(upstreamCall));
+    }
+
+    public <T> CompletableFuture<T> writeAsync(Supplier<CompletableFuture<T>> upstreamCall) {
+        return call(employeeApiWriteBulkhead, nonBlocking(upstreamCall));
+    }
+
+    /*
+     * A blocking call holds an upstream pool thread for as long as the upstream takes to answer.
+     */
+    private <T> Function<Span, CompletableFuture<T>> blocking(Supplier<T> upstreamCall) {
+        return span -> CompletableFuture.supplyAsync(span.wrap(upstreamCall), upstreamExecutor);
+    }
+
+    /*
+     * A non-blocking call is sent from the calling thread and holds no thread while it is in flight. Its answer arrives
+     * on the HTTP client's I/O thread, so completion moves to the upstream pool to keep continuations off that thread.
+     */
+    private <T> Function<Span, CompletableFuture<T>> nonBlocking(Supplier<CompletableFuture<T>> upstreamCall) {
+        return span -> {
+            CompletableFuture<T> sent;
+            try {
+                sent = span.wrap(upstreamCall).get();
+            } catch (RuntimeException ex) {
+                sent = CompletableFuture.failedFuture(ex);
+            }
+            return sent.whenCompleteAsync((result, ex) -> {}, upstreamExecutor);
+        };
+    }
+
+    /*
+     * The time between a failed attempt and the next one is recorded as a RETRY_WAIT stage, which is where upstream
+     * rate limiting shows up. The wait only starts when the retry will make another attempt.
+     */
+    private <T> CompletableFuture<T> call(Bulkhead bulkhead, Function<Span, CompletableFuture<T>> upstreamCall) {
+        final var retryWait = new AtomicReference<EmployeeStageEvent>();
+        final var attempts = new AtomicInteger();
+        return Span.resume(Span.trace("upstream " + bulkhead.getName(), () -> {
+            // Retries run on the retry scheduler, so their attempt spans hang off the span captured here.
+            final var callSpan = Span.current();
+            return employeeApiRetry
+                    .executeCompletionStage(retryScheduler, () -> {
+                        final var wait = retryWait.getAndSet(null);
+                        if (wait != null) {
+                            wait.finish(bulkhead.getName(), EmployeeStageEvent.Stage.RETRY_WAIT, 1, 0, false);
+                        }
+                        final int number = attempts.incrementAndGet();
+                        final var span = callSpan.child("attempt " + number);
+                        return attempt(bulkhead, upstreamCall, retryWait, number, span);
+                    })
+                    .toCompletableFuture();
+        }));
+    }
+
+    private <T> CompletableFuture<T> attempt(
+            Bulkhead bulkhead,
+            Function<Span, CompletableFuture<T>> upstreamCall,
+            AtomicReference<EmployeeStageEvent> retryWait,
+            int number,
+            Span span) {
+        if (!bulkhead.tryAcquirePermission()) {
+            log.warn("Shedding upstream call, bulkhead {} is full", bulkhead.getName());
+            final var ex = new ServiceOverloadedException(EmployeeConstant.BULKHEAD_FULL + bulkhead.getName());
+            startRetryWait(retryWait, number, ex);
+            return shed(span, ex);
+        }
+        if (!upstreamConcurrencyLimiter.tryAcquire()) {
+            bulkhead.onComplete();
+            log.warn("Shedding upstream call, concurrency limit {} reached", upstreamConcurrencyLimiter.getLimit());
+            final var ex = new ServiceOverloadedException(EmployeeConstant.CONCURRENCY_LIMIT_REACHED);
+            startRetryWait(retryWait, number, ex);
+            return shed(span, ex);
+        }
+        long start = System.nanoTime();
+        return upstreamCall.apply(span).whenComplete((result, ex) -> {
+            bulkhead.onComplete();
+            upstreamConcurrencyLimiter.release(System.nanoTime() - start, isThrottled(ex));
+            if (ex != null) {
+                startRetryWait(retryWait, number, ex);
+                span.fail(ex);
+            }
+            span.end();
+        });
+    }
+
+    private void startRetryWait(AtomicReference<EmployeeStageEvent> retryWait, int number, Throwable ex) {
+        final var config = employeeApiRetry.getRetryConfig();
+        if (number < config.getMaxAttempts() && config.getExceptionPredicate().test(unwrap(ex))) {
+            retryWait.set(EmployeeStageEvent.start());
+        }
+    }
+
+    private static <T> CompletableFuture<T> shed(Span span, ServiceOverloadedException ex) {
+        span.fail(ex).end();
+        return CompletableFuture.failedFuture(ex);
+    }
+
+    private static boolean isThrottled(Throwable ex) {
+        return unwrap(ex) instanceof HttpClientErrorException.TooManyRequests;
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.server.web.ReplicaConsistencyInterceptor;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.Getter;
+
+/**
+ * Read-your-writes token of one api request, bound to the request thread for the duration of the call. The
+ * {@code X-Employee-Version} request header gives the change-log version reads must observe; writes record the version
+ * they produced, which is returned to the client in the same header to send back on its next reads.
+ *
+ * <p>The token also remembers the dataset version the request has already synced its local replica to, so a
+ * conditional GET that computed its ETag from that version reads the same data without waiting for changes again.
+ *
+ * <p>Services capture the token on the calling thread, since their futures complete on upstream threads. The request's
+ * token is bound again for its async dispatch, where the response is written.
+ */
+public final class VersionToken {
+
+    public static final String HEADER = ReplicaConsistencyInterceptor.VERSION_HEADER;
+
+    private static final ThreadLocal<VersionToken> CURRENT = new ThreadLocal<>();
+
+    @Getter
+    private final long minVersion;
+
+    private final AtomicLong observed = new AtomicLong(-1);
+
+    private final AtomicLong synced = new AtomicLong(-1);
+
+    public VersionToken(long minVersion) {
+        this.minVersion = minVersion;
+    }
+
+    public static Optional<VersionToken> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static void bind(VersionToken token) {
+        CURRENT.set(token);
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    /*
+     * Runs work with the given token bound, restoring the thread's previous one afterwards, for continuations that call
+     * services on a thread other than the request's.
+     */
+    public static <T> T callWith(Optional<VersionToken> token, Supplier<T> work) {
+        final var previous = CURRENT.get();
+        token.ifPresentOrElse(CURRENT::set, CURRENT::remove);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public void observe(long version) {
+        observed.accumulateAndGet(version, Math::max);
+    }
+
+    public OptionalLong getObserved() {
+        final var version = observed.get();
+        return version < 0 ? OptionalLong.empty() : OptionalLong.of(version);
+    }
+
+    public void synced(long version) {
+        synced.accumulateAndGet(version, Math::max);
+    }
+
+    public OptionalLong getSynced() {
+        final var version = synced.get();
+        return version < 0 ? OptionalLong.empty() : OptionalLong.of(version);
+    }
+}
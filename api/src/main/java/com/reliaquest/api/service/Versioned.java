@@ -0,0 +1,6 @@
+package com.reliaquest.api.service;
+
+/**
+ * A write result together with the mock server change-log version that includes it.
+ */
+public record Versioned<T>(T value, long version) {}
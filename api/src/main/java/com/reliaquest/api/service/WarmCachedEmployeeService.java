@@ -0,0 +1,172 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePageResponse;
+import com.reliaquest.api.model.EmployeePatch;
+import com.reliaquest.api.model.EmployeeQueryResponse;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SearchCacheStatsResponse;
+import com.reliaquest.api.translator.EmployeeTranslator;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers the full list, name search, highest salary and top 10 of a sharded or replicated topology from its
+ * {@link WarmEmployeeCache}s, one per mock server history, so a restarted api reads them from disk rather than all at
+ * once from upstream. Every other call goes to the topology. Its writes invalidate the caches, so a read made through
+ * this api after a write includes it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class WarmCachedEmployeeService implements EmployeeService {
+
+    private static final int TOP_EARNERS = 10;
+
+    @NonNull
+    private final EmployeeService delegate;
+
+    @NonNull
+    private final List<WarmEmployeeCache> caches;
+
+    @NonNull
+    private final EmployeeTranslator employeeTranslator;
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> fetchAllEmployees() {
+        log.info("Fetching all employees from the warm cache");
+        return employees().thenApply(this::translateAll).exceptionally(this::fallbackEmployees);
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> getEmployeeById(String id) {
+        return delegate.getEmployeeById(id);
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByIds(List<String> ids) {
+        return delegate.getEmployeesByIds(ids);
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> getEmployeesByNameSearch(String nameFragment) {
+        log.info("Searching the warm cache for name containing: {}", nameFragment);
+        final var needle = nameFragment.toLowerCase(Locale.ROOT);
+        return employees()
+                .thenApply(mocks -> translateAll(mocks.stream()
+                        .filter(mock -> mock.getName().toLowerCase(Locale.ROOT).contains(needle))
+                        .toList()))
+                .exceptionally(this::fallbackEmployees);
+    }
+
+    @Override
+    public SearchCacheStatsResponse getSearchCacheStats() {
+        return delegate.getSearchCacheStats();
+    }
+
+    @Override
+    public CompletableFuture<List<EmployeeResponse>> autocompleteEmployees(String prefix, int limit) {
+        return delegate.autocompleteEmployees(prefix, limit);
+    }
+
+    @Override
+    public CompletableFuture<EmployeePageResponse> getEmployeesBySalaryRange(
+            Integer minSalary, Integer maxSalary, String cursor, int limit) {
+        return delegate.getEmployeesBySalaryRange(minSalary, maxSalary, cursor, limit);
+    }
+
+    @Override
+    public CompletableFuture<EmployeePageResponse> getEmployeesByAgeRange(
+            Integer minAge, Integer maxAge, String cursor, int limit) {
+        return delegate.getEmployeesByAgeRange(minAge, maxAge, cursor, limit);
+    }
+
+    @Override
+    public CompletableFuture<EmployeeQueryResponse> queryEmployees(
+            String where, String orderBy, int limit, boolean explain) {
+        return delegate.queryEmployees(where, orderBy, limit, explain);
+    }
+
+    @Override
+    public CompletableFuture<Integer> getHighestSalaryOfEmployees() {
+        log.info("Calculating highest salary from the warm cache");
+        return employees().thenApply(mocks -> mocks.stream()
+                .mapToInt(MockEmployee::getSalary)
+                .max()
+                .orElse(0));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getTop10HighestEarningEmployeeNames() {
+        log.info("Fetching top {} earners from the warm cache", TOP_EARNERS);
+        return employees().thenApply(mocks -> mocks.stream()
+                .sorted(Comparator.comparingInt(MockEmployee::getSalary).reversed())
+                .limit(TOP_EARNERS)
+                .map(MockEmployee::getName)
+                .toList());
+    }
+
+    @Override
+    public CompletableFuture<String> deleteEmployeeById(String id) {
+        return invalidating(delegate.deleteEmployeeById(id));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> createEmployee(EmployeeInput employeeInput, String idempotencyKey) {
+        return invalidating(delegate.createEmployee(employeeInput, idempotencyKey));
+    }
+
+    @Override
+    public CompletableFuture<EmployeeResponse> updateEmployee(String id, EmployeePatch patch, Long expectedVersion) {
+        return invalidating(delegate.updateEmployee(id, patch, expectedVersion));
+    }
+
+    @Override
+    public CompletableFuture<BulkUpdateReport> bulkUpdateEmployees(String where, String set) {
+        return invalidating(delegate.bulkUpdateEmployees(where, set));
+    }
+
+    @Override
+    public List<EmployeeResponse> fallbackEmployees(Throwable ex) {
+        return delegate.fallbackEmployees(ex);
+    }
+
+    @Override
+    public CompletableFuture<OptionalLong> getDatasetVersion() {
+        return delegate.getDatasetVersion();
+    }
+
+    /*
+     * Versions are only comparable within one history, so the request's minimum version applies only to a replicated
+     * topology's single cache.
+     */
+    private CompletableFuture<List<MockEmployee>> employees() {
+        final long minVersion = caches.size() == 1
+                ? VersionToken.current().map(VersionToken::getMinVersion).orElse(0L)
+                : 0;
+        final List<CompletableFuture<List<MockEmployee>>> parts =
+                caches.stream().map(cache -> cache.employees(minVersion)).toList();
+        return CompletableFuture.allOf(parts.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> parts.stream()
+                        .flatMap(part -> part.join().stream())
+                        .toList());
+    }
+
+    /*
+     * Invalidated whether or not the write succeeded, since one that timed out may still have been applied.
+     */
+    private <T> CompletableFuture<T> invalidating(CompletableFuture<T> write) {
+        return write.whenComplete((result, ex) -> caches.forEach(WarmEmployeeCache::invalidate));
+    }
+
+    private List<EmployeeResponse> translateAll(List<MockEmployee> mocks) {
+        return mocks.stream().map(employeeTranslator::convertToEmployee).toList();
+    }
+}
@@ -0,0 +1,219 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.WarmSnapshotFile;
+import com.reliaquest.server.service.query.BulkUpdateReplay;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The api's copy of one mock server history in the sharded and replicated topologies (the primary's, or one shard's),
+ * kept with the epoch and sequence it was taken at in a {@link WarmSnapshotFile}. A restarted api serves the file at
+ * once, so its first reads do not all go upstream together and use up the mock server's request budget.
+ *
+ * <p>The copy is revalidated lazily. The first read after {@code revalidateAfter} asks the node for the changes since
+ * the copy's sequence within its epoch and is answered from the copy meanwhile. A 410, because the node restarted or
+ * evicted those changes, replaces the copy with a full snapshot. A read waits for the revalidation only when the copy
+ * is older than its minimum version or was invalidated by a write made through this api. One revalidation runs at a
+ * time, and the file is rewritten after one at most every {@code writeInterval}.
+ */
+@Slf4j
+public class WarmEmployeeCache {
+
+    private final HttpEmployeeNode node;
+    private final UpstreamCallExecutor upstreamCallExecutor;
+    private final WarmSnapshotFile file;
+    private final long revalidateAfterNanos;
+    private final long writeIntervalNanos;
+    private final Map<UUID, MockEmployee> employees = new LinkedHashMap<>();
+
+    private String epoch;
+    private long sequence = -1;
+    private List<MockEmployee> view = List.of();
+    private boolean stale;
+    private boolean unwritten;
+    private long revalidatedAt;
+    private long writtenAt;
+
+    // Writes made through this api so far, and how many of them the copy is known to include.
+    private long invalidations;
+    private long validFor;
+
+    private CompletableFuture<List<MockEmployee>> revalidation;
+    private long revalidationFor;
+
+    public WarmEmployeeCache(
+            HttpEmployeeNode node,
+            UpstreamCallExecutor upstreamCallExecutor,
+            WarmSnapshotFile file,
+            Duration maxAge,
+            Duration revalidateAfter,
+            Duration writeInterval) {
+        this.node = node;
+        this.upstreamCallExecutor = upstreamCallExecutor;
+        this.file = file;
+        this.revalidateAfterNanos = revalidateAfter.toNanos();
+        this.writeIntervalNanos = writeInterval.toNanos();
+        final long now = System.nanoTime();
+        // Due at once: the first read is answered from the file and revalidates it.
+        this.revalidatedAt = now - revalidateAfterNanos;
+        this.writtenAt = now - writeIntervalNanos;
+        file.load(maxAge).ifPresent(snapshot -> {
+            reset(snapshot);
+            unwritten = false;
+            log.info("Serving warm employee cache at sequence {} until it is revalidated", snapshot.sequence());
+        });
+    }
+
+    /*
+     * The copy, without waiting when it has applied minVersion and every write made through this api.
+     */
+    public CompletableFuture<List<MockEmployee>> employees(long minVersion) {
+        final boolean usable;
+        synchronized (this) {
+            usable = sequence >= 0 && sequence >= minVersion && validFor == invalidations;
+            if (usable && System.nanoTime() - revalidatedAt < revalidateAfterNanos) {
+                return CompletableFuture.completedFuture(view());
+            }
+        }
+        final var revalidated = revalidate();
+        // A copy, so a caller cancelling or timing out its future does not fail the other readers.
+        return usable ? CompletableFuture.completedFuture(view()) : revalidated.copy();
+    }
+
+    /*
+     * A write went through this api: later reads wait for a revalidation started after it.
+     */
+    public synchronized void invalidate() {
+        invalidations++;
+    }
+
+    /*
+     * Joins the revalidation in flight if it started after the last write, otherwise starts one once it has finished.
+     */
+    private CompletableFuture<List<MockEmployee>> revalidate() {
+        final var started = new CompletableFuture<List<MockEmployee>>();
+        final CompletableFuture<?> previous;
+        final long generation;
+        synchronized (this) {
+            if (revalidation != null && revalidationFor == invalidations) {
+                return revalidation;
+            }
+            previous = revalidation == null ? CompletableFuture.completedFuture(null) : revalidation;
+            revalidation = started;
+            revalidationFor = generation = invalidations;
+        }
+        previous.handle((ignored, ex) -> null)
+                .thenCompose(ignored -> fetch())
+                .whenComplete((fetched, ex) -> {
+                    synchronized (this) {
+                        if (revalidation == started) {
+                            revalidation = null;
+                        }
+                        revalidatedAt = System.nanoTime();
+                        if (ex == null) {
+                            validFor = Math.max(validFor, generation);
+                        }
+                    }
+                    if (ex != null) {
+                        log.warn("Could not revalidate the employee cache: {}", ex.getMessage());
+                        started.completeExceptionally(ex);
+                        return;
+                    }
+                    persist();
+                    started.complete(fetched);
+                });
+        return started;
+    }
+
+    private CompletableFuture<List<MockEmployee>> fetch() {
+        final long from;
+        final String fromEpoch;
+        synchronized (this) {
+            from = sequence;
+            fromEpoch = epoch;
+        }
+        if (from < 0) {
+            return load();
+        }
+        return upstreamCallExecutor
+                .readAsync(() -> node.changesSince(from, fromEpoch))
+                .thenCompose(changes -> changes.map(this::apply)
+                        .map(CompletableFuture::completedFuture)
+                        .orElseGet(() -> {
+                            log.info("Changes after {} of epoch {} are gone, reloading the cache", from, fromEpoch);
+                            return load();
+                        }));
+    }
+
+    private CompletableFuture<List<MockEmployee>> load() {
+        log.info("Loading the employee cache from a full snapshot");
+        return upstreamCallExecutor.readAsync(node::snapshot).thenApply(this::reset);
+    }
+
+    /*
+     * Runs where the revalidation completed, on the upstream executor, so the request threads never wait on the disk.
+     */
+    private void persist() {
+        final EmployeeSnapshot snapshot;
+        synchronized (this) {
+            if (!unwritten || System.nanoTime() - writtenAt < writeIntervalNanos) {
+                return;
+            }
+            snapshot = new EmployeeSnapshot(epoch, sequence, view());
+            unwritten = false;
+            writtenAt = System.nanoTime();
+        }
+        try {
+            file.write(snapshot);
+        } catch (IOException ex) {
+            log.warn("Could not write the warm employee cache: {}", ex.getMessage());
+        }
+    }
+
+    private synchronized List<MockEmployee> view() {
+        if (stale) {
+            view = List.copyOf(employees.values());
+            stale = false;
+        }
+        return view;
+    }
+
+    private synchronized List<MockEmployee> reset(EmployeeSnapshot snapshot) {
+        employees.clear();
+        snapshot.employees().forEach(employee -> employees.put(employee.getId(), employee));
+        epoch = snapshot.epoch();
+        sequence = snapshot.sequence();
+        stale = true;
+        unwritten = true;
+        return view();
+    }
+
+    private synchronized List<MockEmployee> apply(List<EmployeeChangeEvent> changes) {
+        for (EmployeeChangeEvent change : changes) {
+            if (change.sequence() <= sequence) {
+                continue;
+            }
+            if (change.type() == EmployeeChangeEvent.Type.BULK_UPDATED) {
+                final var replay = BulkUpdateReplay.of(change.bulkUpdate());
+                employees.replaceAll((id, employee) -> replay.apply(employee));
+            } else if (change.type() == EmployeeChangeEvent.Type.DELETED) {
+                employees.remove(change.employee().getId());
+            } else {
+                employees.put(change.employee().getId(), change.employee());
+            }
+            sequence = change.sequence();
+            stale = true;
+            unwritten = true;
+        }
+        return view();
+    }
+}
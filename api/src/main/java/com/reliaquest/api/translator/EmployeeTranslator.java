@@ -1,7 +1,11 @@
 package com.reliaquest.api.translator;
 
+import com.reliaquest.api.model.EmployeePageResponse;
+import com.reliaquest.api.model.EmployeeQueryResponse;
 import com.reliaquest.api.model.EmployeeResponse;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQueryResult;
 import com.reliaquest.server.model.MockEmployee;
 import org.springframework.stereotype.Component;
 
@@ -22,6 +26,17 @@ public class EmployeeTranslator {
         emp.setTitle(mock.getTitle());
         emp.setSalary(mock.getSalary());
         emp.setEmail(mock.getEmail());
+        emp.setVersion(mock.getVersion());
         return emp;
     }
+
+    public EmployeePageResponse convertToEmployeePage(EmployeePage page) {
+        return new EmployeePageResponse(
+                page.employees().stream().map(this::convertToEmployee).toList(), page.nextCursor());
+    }
+
+    public EmployeeQueryResponse convertToEmployeeQueryResponse(EmployeeQueryResult result) {
+        return new EmployeeQueryResponse(
+                result.employees().stream().map(this::convertToEmployee).toList(), result.stats());
+    }
 }
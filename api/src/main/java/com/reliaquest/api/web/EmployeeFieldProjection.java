@@ -0,0 +1,21 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.server.web.FieldProjection;
+import java.util.Map;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+@ControllerAdvice(assignableTypes = EmployeeController.class)
+public class EmployeeFieldProjection extends FieldProjection {
+
+    public EmployeeFieldProjection() {
+        super(Map.of(
+                "id", "id",
+                "name", "name",
+                "salary", "salary",
+                "age", "age",
+                "title", "title",
+                "email", "email",
+                "version", "version"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.service.VersionToken;
+import com.reliaquest.server.trace.Span;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Conditional GETs for employee reads whose result depends only on the dataset. The ETag is the dataset version
+ * combined with the request's path, query and {@code Accept} header, so each representation has its own tag. A request
+ * whose {@code If-None-Match} names the current tag is answered 304 before the result is computed or serialized.
+ *
+ * <p>The version is read before the result is computed, so a tag can only be older than its body. A client holding
+ * such a tag gets one more full response once the dataset moves on, but is never sent a stale 304. Without a dataset
+ * version no ETag is sent and only {@code Cache-Control} applies.
+ */
+@Component
+public class HttpCachePolicy {
+
+    @Getter
+    private final CacheControl aggregateCacheControl;
+
+    // Lists are revalidated on every poll, which is cheap when nothing changed.
+    @Getter
+    private final CacheControl listCacheControl = CacheControl.noCache();
+
+    public HttpCachePolicy(@Value("${employee.http-cache.aggregate-max-age:PT5S}") Duration aggregateMaxAge) {
+        this.aggregateCacheControl = CacheControl.maxAge(aggregateMaxAge);
+    }
+
+    /*
+     * The request's headers, current span and version token are captured on the calling thread, since the response
+     * is computed once the dataset version arrives, on whichever thread completes it.
+     */
+    public <T> CompletableFuture<ResponseEntity<T>> respond(
+            CompletableFuture<OptionalLong> datasetVersion,
+            CacheControl cacheControl,
+            Supplier<CompletableFuture<ResponseEntity<T>>> response) {
+        final var request = RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+        final String path = request == null ? null : request.getRequestURI();
+        final String query = request == null ? null : request.getQueryString();
+        final String accept = request == null ? null : request.getHeader(HttpHeaders.ACCEPT);
+        final String ifNoneMatch = request == null ? null : request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        final var span = Span.current();
+        final var token = VersionToken.current();
+        return datasetVersion.thenCompose(version -> {
+            final String etag =
+                    request == null || version.isEmpty() ? null : etag(version.getAsLong(), path, query, accept);
+            if (etag != null && matches(ifNoneMatch, etag)) {
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(etag)
+                        .cacheControl(cacheControl)
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .<T>build());
+            }
+            return span.wrap(() -> VersionToken.callWith(token, response))
+                    .get()
+                    .thenApply(computed -> {
+                        if (!computed.getStatusCode().is2xxSuccessful()) {
+                            return computed;
+                        }
+                        final var builder = ResponseEntity.status(computed.getStatusCode())
+                                .headers(computed.getHeaders())
+                                .cacheControl(cacheControl)
+                                .varyBy(HttpHeaders.ACCEPT);
+                        if (etag != null) {
+                            builder.eTag(etag);
+                        }
+                        return builder.body(computed.getBody());
+                    });
+        });
+    }
+
+    static String etag(long datasetVersion, String path, String query, String accept) {
+        return "\"" + datasetVersion + "-" + Integer.toHexString(Objects.hash(path, query, accept)) + "\"";
+    }
+
+    /*
+     * If-None-Match uses the weak comparison, so W/ prefixed copies of the tag match too.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(etag));
+    }
+}
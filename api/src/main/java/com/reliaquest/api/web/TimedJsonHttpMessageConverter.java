@@ -0,0 +1,53 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.service.EmployeeStageEvent;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/*
+ * The default JSON converter, recording each response it writes as a SERIALIZE stage of the handling controller method.
+ */
+public class TimedJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public TimedJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        final var event = EmployeeStageEvent.start();
+        boolean failed = true;
+        try {
+            super.writeInternal(object, type, outputMessage);
+            failed = false;
+        } finally {
+            if (event.isEnabled()) {
+                final int size = rows(object);
+                event.finish(operation(), EmployeeStageEvent.Stage.SERIALIZE, size, failed ? 0 : size, failed);
+            }
+        }
+    }
+
+    private static int rows(Object object) {
+        final var value = object instanceof MappingJacksonValue container ? container.getValue() : object;
+        return value instanceof Collection<?> collection ? collection.size() : 1;
+    }
+
+    private static String operation() {
+        final var attributes = RequestContextHolder.getRequestAttributes();
+        final var handler = attributes == null
+                ? null
+                : attributes.getAttribute(
+                        HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return handler instanceof HandlerMethod method ? method.getMethod().getName() : "unknown";
+    }
+}
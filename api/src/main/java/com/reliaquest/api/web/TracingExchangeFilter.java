@@ -0,0 +1,42 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.server.trace.Span;
+import com.reliaquest.server.trace.TraceContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/*
+ * Traces each upstream HTTP call as a child of the span current when the call is sent, and sends that span's context
+ * in traceparent, so the mock server's spans join the api's trace. The span ends with the response status, before the
+ * body is read.
+ */
+public class TracingExchangeFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            final var span = Span.startChild(request.method() + " " + request.url().getPath());
+            if (!span.isRecording()) {
+                return next.exchange(request);
+            }
+            span.attribute("http.url", request.url().toString());
+            final var traced = ClientRequest.from(request)
+                    .header(TraceContext.HEADER, span.getContext().toTraceparent())
+                    .build();
+            return next.exchange(traced)
+                    .doOnNext(response -> {
+                        final int status = response.statusCode().value();
+                        span.attribute("http.status", status);
+                        if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                            span.fail("HTTP " + status);
+                        }
+                    })
+                    .doOnError(span::fail)
+                    .doFinally(signal -> span.end());
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.constants.EmployeeConstant;
+import com.reliaquest.api.service.VersionToken;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/*
+ * Binds the request's VersionToken, built from the X-Employee-Version header, to the request thread. Handlers answer
+ * with futures, so the token is kept on the request and bound again on the async dispatch that writes the response.
+ */
+public class VersionTokenInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String TOKEN_ATTRIBUTE = VersionTokenInterceptor.class.getName() + ".token";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(TOKEN_ATTRIBUTE) instanceof VersionToken token) {
+            VersionToken.bind(token);
+            return true;
+        }
+        final var header = request.getHeader(VersionToken.HEADER);
+        long minVersion = 0;
+        if (header != null && !header.isBlank()) {
+            try {
+                minVersion = Long.parseLong(header.trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException(EmployeeConstant.INVALID_VERSION_TOKEN + header);
+            }
+        }
+        final var token = new VersionToken(minVersion);
+        request.setAttribute(TOKEN_ATTRIBUTE, token);
+        VersionToken.bind(token);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(
+            HttpServletRequest request, HttpServletResponse response, Object handler) {
+        VersionToken.unbind();
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        VersionToken.unbind();
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.service.VersionToken;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/*
+ * Returns the version produced by a write so the client can send it back on later reads.
+ */
+@ControllerAdvice(assignableTypes = EmployeeController.class)
+public class VersionTokenResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        VersionToken.current()
+                .map(VersionToken::getObserved)
+                .ifPresent(observed -> observed.ifPresent(
+                        version -> response.getHeaders().set(VersionToken.HEADER, String.valueOf(version))));
+        return body;
+    }
+}
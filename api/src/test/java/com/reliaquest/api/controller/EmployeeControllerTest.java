@@ -1,26 +1,54 @@
 package com.reliaquest.api.controller;
 
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.reliaquest.api.constants.EmployeeConstant;
+import com.reliaquest.api.exception.EmployeeVersionConflictException;
+import com.reliaquest.api.exception.GlobalExceptionHandler;
+import com.reliaquest.api.exception.ServiceOverloadedException;
+import com.reliaquest.api.exception.UpstreamTimeoutException;
+import com.reliaquest.api.model.EmployeeBulkUpdate;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePageResponse;
+import com.reliaquest.api.model.EmployeePatch;
+import com.reliaquest.api.model.EmployeeQueryResponse;
 import com.reliaquest.api.model.EmployeeResponse;
 import com.reliaquest.api.service.EmployeeService;
 import com.reliaquest.api.translator.EmployeeTranslator;
+import com.reliaquest.api.web.HttpCachePolicy;
+import com.reliaquest.server.service.IdempotencyTable;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 class EmployeeControllerTest {
     @Mock
@@ -29,7 +57,13 @@ class EmployeeControllerTest {
     @Mock
     private EmployeeTranslator employeeTranslator;
 
-    @InjectMocks
+    @Spy
+    private IdempotencyTable<EmployeeResponse> createEmployeeRequests =
+            new IdempotencyTable<>(100, Duration.ofMinutes(5));
+
+    @Spy
+    private HttpCachePolicy httpCachePolicy = new HttpCachePolicy(Duration.ofSeconds(5));
+
     private EmployeeController employeeController;
 
     private EmployeeResponse employee;
@@ -38,6 +72,8 @@ class EmployeeControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        employeeController = controller(Duration.ofSeconds(5));
+        when(employeeService.getDatasetVersion()).thenReturn(completedFuture(OptionalLong.empty()));
         employee = new EmployeeResponse();
         employee.setId(UUID.fromString("2f1a8de6-aeeb-4a99-b085-2b9cba532f44"));
         employee.setName("Swapnil Patil");
@@ -49,14 +85,19 @@ class EmployeeControllerTest {
         employeeInput = new EmployeeInput("Swapnil Patil", 100000, 30, "Developer");
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     @DisplayName("Test getAllEmployees - Success")
     void testGetAllEmployees_Success() throws Exception {
         // When
-        when(employeeService.fetchAllEmployees()).thenReturn(Arrays.asList(employee));
+        when(employeeService.fetchAllEmployees()).thenReturn(completedFuture(Arrays.asList(employee)));
 
         // Then
-        ResponseEntity<List<EmployeeResponse>> response = employeeController.getAllEmployees();
+        ResponseEntity<List<EmployeeResponse>> response = await(employeeController.getAllEmployees());
 
         // Assertions
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -64,14 +105,55 @@ class EmployeeControllerTest {
         assertEquals(1, response.getBody().size());
     }
 
+    @Test
+    @DisplayName("Test getAllEmployees - A shed upstream call is answered 503 with Retry-After")
+    void testGetAllEmployees_Shed() {
+        // When
+        when(employeeService.fetchAllEmployees())
+                .thenReturn(CompletableFuture.failedFuture(
+                        new ServiceOverloadedException(EmployeeConstant.BULKHEAD_FULL + "employeeApiRead")));
+
+        // Then
+        ServiceOverloadedException ex =
+                assertThrows(ServiceOverloadedException.class, () -> await(employeeController.getAllEmployees()));
+        ResponseEntity<Map<String, Object>> response =
+                new GlobalExceptionHandler().handleServiceOverloadedException(ex, null);
+
+        // Assertions
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Upstream bulkhead is full: employeeApiRead", response.getBody().get("message"));
+    }
+
+    @Test
+    @DisplayName("Test getAllEmployees - A response not ready within the request timeout fails with a 504")
+    void testGetAllEmployees_UpstreamTimeout() {
+        // Given
+        CompletableFuture<List<EmployeeResponse>> stalled = new CompletableFuture<>();
+        EmployeeController controller = controller(Duration.ofMillis(50));
+
+        // When
+        when(employeeService.fetchAllEmployees()).thenReturn(stalled);
+
+        // Then
+        UpstreamTimeoutException ex =
+                assertThrows(UpstreamTimeoutException.class, () -> await(controller.getAllEmployees()));
+        ResponseEntity<Map<String, Object>> response =
+                new GlobalExceptionHandler().handleUpstreamTimeoutException(ex, null);
+
+        // Assertions
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+        assertEquals("Upstream did not answer within PT0.05S", response.getBody().get("message"));
+    }
+
     @Test
     @DisplayName("Test getAllEmployees - Empty List")
     void testGetAllEmployees_Empty() throws Exception {
         // When
-        when(employeeService.fetchAllEmployees()).thenReturn(Collections.emptyList());
+        when(employeeService.fetchAllEmployees()).thenReturn(completedFuture(Collections.emptyList()));
 
         // Then
-        ResponseEntity<List<EmployeeResponse>> response = employeeController.getAllEmployees();
+        ResponseEntity<List<EmployeeResponse>> response = await(employeeController.getAllEmployees());
 
         // Assertions
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -82,10 +164,10 @@ class EmployeeControllerTest {
     @DisplayName("Test getEmployeesByNameSearch - Success")
     void testGetEmployeesByNameSearch_Success() throws Exception {
         // When
-        when(employeeService.getEmployeesByNameSearch("Patil")).thenReturn(Arrays.asList(employee));
+        when(employeeService.getEmployeesByNameSearch("Patil")).thenReturn(completedFuture(Arrays.asList(employee)));
 
         // Then
-        ResponseEntity<List<EmployeeResponse>> response = employeeController.getEmployeesByNameSearch("Patil");
+        ResponseEntity<List<EmployeeResponse>> response = await(employeeController.getEmployeesByNameSearch("Patil"));
 
         // Assertions
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -97,10 +179,10 @@ class EmployeeControllerTest {
     @DisplayName("Test getEmployeesByNameSearch - Empty List")
     void testGetEmployeesByNameSearch_Empty() throws Exception {
         // When
-        when(employeeService.getEmployeesByNameSearch("Prerana")).thenReturn(Collections.emptyList());
+        when(employeeService.getEmployeesByNameSearch("Prerana")).thenReturn(completedFuture(Collections.emptyList()));
 
         // Then
-        ResponseEntity<List<EmployeeResponse>> response = employeeController.getEmployeesByNameSearch("Prerana");
+        ResponseEntity<List<EmployeeResponse>> response = await(employeeController.getEmployeesByNameSearch("Prerana"));
 
         // Assertions
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
@@ -112,11 +194,11 @@ class EmployeeControllerTest {
     void testGetEmployeeById_Success() throws Exception {
         // When
         when(employeeService.getEmployeeById("2f1a8de6-aeeb-4a99-b085-2b9cba532f44"))
-                .thenReturn(employee);
+                .thenReturn(completedFuture(employee));
 
         // Then
         ResponseEntity<EmployeeResponse> response =
-                employeeController.getEmployeeById("2f1a8de6-aeeb-4a99-b085-2b9cba532f44");
+                await(employeeController.getEmployeeById("2f1a8de6-aeeb-4a99-b085-2b9cba532f44"));
 
         // Assertions
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -128,24 +210,58 @@ class EmployeeControllerTest {
     @DisplayName("Test getEmployeeById - Not Found")
     void testGetEmployeeById_NotFound() throws Exception {
         // When
-        when(employeeService.getEmployeeById("uuid-999")).thenReturn(null);
+        when(employeeService.getEmployeeById("uuid-999")).thenReturn(completedFuture(null));
 
         // Then
-        ResponseEntity<EmployeeResponse> response = employeeController.getEmployeeById("uuid-999");
+        ResponseEntity<EmployeeResponse> response = await(employeeController.getEmployeeById("uuid-999"));
 
         // Assertions
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
     }
 
+    @Test
+    @DisplayName("Test getEmployeesBySalaryRange - Success")
+    void testGetEmployeesBySalaryRange_Success() throws Exception {
+        // When
+        when(employeeService.getEmployeesBySalaryRange(50000, 150000, null, 100))
+                .thenReturn(completedFuture(new EmployeePageResponse(Arrays.asList(employee), null)));
+
+        // Then
+        ResponseEntity<EmployeePageResponse> response =
+                await(employeeController.getEmployeesBySalaryRange(50000, 150000, null, 100));
+
+        // Assertions
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getEmployees().size());
+        assertNull(response.getBody().getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test queryEmployees - Success")
+    void testQueryEmployees_Success() throws Exception {
+        // When
+        when(employeeService.queryEmployees("age > 30", "salary desc", 20, false))
+                .thenReturn(completedFuture(new EmployeeQueryResponse(Arrays.asList(employee), null)));
+
+        // Then
+        ResponseEntity<EmployeeQueryResponse> response =
+                await(employeeController.queryEmployees("age > 30", "salary desc", 20, false));
+
+        // Assertions
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().getEmployees().size());
+        assertNull(response.getBody().getStats());
+    }
+
     @Test
     @DisplayName("Test getHighestSalaryOfEmployees - Success")
     void testGetHighestSalaryOfEmployees() throws Exception {
         // When
-        when(employeeService.getHighestSalaryOfEmployees()).thenReturn(100000);
+        when(employeeService.getHighestSalaryOfEmployees()).thenReturn(completedFuture(100000));
 
         // Then
-        ResponseEntity<Integer> response = employeeController.getHighestSalaryOfEmployees();
+        ResponseEntity<Integer> response = await(employeeController.getHighestSalaryOfEmployees());
 
         // Assertions
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -157,24 +273,39 @@ class EmployeeControllerTest {
     void testGetTopTenHighestEarningEmployeeNames() throws Exception {
         // When
         when(employeeService.getTop10HighestEarningEmployeeNames())
-                .thenReturn(Arrays.asList("Swapnil Patil", "Prerana Patil"));
+                .thenReturn(completedFuture(Arrays.asList("Swapnil Patil", "Prerana Patil")));
 
         // Then
-        ResponseEntity<List<String>> response = employeeController.getTopTenHighestEarningEmployeeNames();
+        ResponseEntity<List<String>> response = await(employeeController.getTopTenHighestEarningEmployeeNames());
 
         // Assertions
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(2, response.getBody().size());
     }
 
+    @Test
+    @DisplayName("Test getEmployeesByIds - Success")
+    void testGetEmployeesByIds_Success() throws Exception {
+        // When
+        List<String> ids = List.of("2f1a8de6-aeeb-4a99-b085-2b9cba532f44", "7b9b1e3c-2123-4f91-9b0c-e801632b0e22");
+        when(employeeService.getEmployeesByIds(ids)).thenReturn(completedFuture(List.of(employee)));
+
+        // Then
+        ResponseEntity<List<EmployeeResponse>> response = await(employeeController.getEmployeesByIds(ids));
+
+        // Assertions
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(List.of(employee), response.getBody());
+    }
+
     @Test
     @DisplayName("Test createEmployee - Success")
     void testCreateEmployee_Success() throws Exception {
         // When
-        when(employeeService.createEmployee(employeeInput)).thenReturn(employee);
+        when(employeeService.createEmployee(employeeInput)).thenReturn(completedFuture(employee));
 
         // Then
-        ResponseEntity<EmployeeResponse> response = employeeController.createEmployee(employeeInput);
+        ResponseEntity<EmployeeResponse> response = await(employeeController.createEmployee(employeeInput));
 
         // Assertions
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
@@ -182,15 +313,70 @@ class EmployeeControllerTest {
         assertEquals("Swapnil Patil", response.getBody().getName());
     }
 
+    @Test
+    @DisplayName("Test createEmployee - Repeated Idempotency-Key returns the original employee")
+    void testCreateEmployee_IdempotentReplay() throws Exception {
+        // When
+        withIdempotencyKey("order-42");
+        when(employeeService.createEmployee(employeeInput, "order-42")).thenReturn(completedFuture(employee));
+
+        // Then
+        ResponseEntity<EmployeeResponse> first = await(employeeController.createEmployee(employeeInput));
+        ResponseEntity<EmployeeResponse> retry =
+                await(employeeController.createEmployee(new EmployeeInput("Swapnil Patil", 100000, 30, "Developer")));
+
+        // Assertions
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertSame(first.getBody(), retry.getBody());
+        verify(employeeService, times(1)).createEmployee(employeeInput, "order-42");
+    }
+
+    @Test
+    @DisplayName("Test createEmployee - Idempotency-Key reused for a different employee")
+    void testCreateEmployee_IdempotencyKeyReused() throws Exception {
+        // When
+        withIdempotencyKey("order-42");
+        when(employeeService.createEmployee(employeeInput, "order-42")).thenReturn(completedFuture(employee));
+        await(employeeController.createEmployee(employeeInput));
+
+        // Then
+        Exception ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> await(
+                        employeeController.createEmployee(new EmployeeInput("Prerana Borse", 90000, 28, "Analyst"))));
+
+        // Assertions
+        assertTrue(ex.getMessage().contains("order-42"));
+    }
+
+    @Test
+    @DisplayName("Test createEmployee - Failed create is not remembered")
+    void testCreateEmployee_FailureNotRemembered() throws Exception {
+        // When
+        withIdempotencyKey("order-42");
+        when(employeeService.createEmployee(employeeInput, "order-42"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("upstream down")))
+                .thenReturn(completedFuture(employee));
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> await(employeeController.createEmployee(employeeInput)));
+        ResponseEntity<EmployeeResponse> retry = await(employeeController.createEmployee(employeeInput));
+
+        // Assertions
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        verify(employeeService, times(2)).createEmployee(employeeInput, "order-42");
+    }
+
     @Test
     @DisplayName("Test deleteEmployeeById - Success")
     void testDeleteEmployeeById_Success() throws Exception {
         // When
         when(employeeService.deleteEmployeeById("2f1a8de6-aeeb-4a99-b085-2b9cba532f44"))
-                .thenReturn("Swapnil Patil");
+                .thenReturn(completedFuture("Swapnil Patil"));
 
         // Then
-        ResponseEntity<String> response = employeeController.deleteEmployeeById("2f1a8de6-aeeb-4a99-b085-2b9cba532f44");
+        ResponseEntity<String> response =
+                await(employeeController.deleteEmployeeById("2f1a8de6-aeeb-4a99-b085-2b9cba532f44"));
 
         // Assertions
         assertEquals(HttpStatus.OK, response.getStatusCode());
@@ -201,13 +387,203 @@ class EmployeeControllerTest {
     @DisplayName("Test deleteEmployeeById - Not Found")
     void testDeleteEmployeeById_NotFound() throws Exception {
         // When
-        when(employeeService.deleteEmployeeById("uuid-999")).thenReturn(null);
+        when(employeeService.deleteEmployeeById("uuid-999")).thenReturn(completedFuture(null));
 
         // Then
-        ResponseEntity<String> response = employeeController.deleteEmployeeById("uuid-999");
+        ResponseEntity<String> response = await(employeeController.deleteEmployeeById("uuid-999"));
 
         // Assertions
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
     }
+
+    @Test
+    @DisplayName("Test getEmployeeById - Failed upstream future rethrows cause")
+    void testGetEmployeeById_FailedFuture() {
+        // When
+        when(employeeService.getEmployeeById("2f1a8de6-aeeb-4a99-b085-2b9cba532f44"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("Employee not found for ID")));
+
+        // Then
+        Exception ex = assertThrows(
+                IllegalArgumentException.class,
+                () -> await(employeeController.getEmployeeById("2f1a8de6-aeeb-4a99-b085-2b9cba532f44")));
+
+        // Assertions
+        assertEquals("Employee not found for ID", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Test getAllEmployees - Sends the dataset ETag and revalidation Cache-Control")
+    void testGetAllEmployees_ETag() throws Exception {
+        // When
+        withRequest(new MockHttpServletRequest("GET", "/api/v1/employees"));
+        when(employeeService.getDatasetVersion()).thenReturn(completedFuture(OptionalLong.of(7)));
+        when(employeeService.fetchAllEmployees()).thenReturn(completedFuture(Arrays.asList(employee)));
+
+        // Then
+        ResponseEntity<List<EmployeeResponse>> response = await(employeeController.getAllEmployees());
+
+        // Assertions
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getHeaders().getETag().startsWith("\"7-"));
+        assertEquals("no-cache", response.getHeaders().getCacheControl());
+        assertEquals(1, response.getBody().size());
+    }
+
+    @Test
+    @DisplayName("Test getHighestSalaryOfEmployees - Matching If-None-Match answers 304 without computing")
+    void testGetHighestSalaryOfEmployees_NotModified() throws Exception {
+        // When
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees/highestSalary");
+        withRequest(request);
+        when(employeeService.getDatasetVersion()).thenReturn(completedFuture(OptionalLong.of(7)));
+        when(employeeService.getHighestSalaryOfEmployees()).thenReturn(completedFuture(100000));
+        String etag = await(employeeController.getHighestSalaryOfEmployees()).getHeaders().getETag();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        // Then
+        ResponseEntity<Integer> response = await(employeeController.getHighestSalaryOfEmployees());
+
+        // Assertions
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(etag, response.getHeaders().getETag());
+        assertEquals("max-age=5", response.getHeaders().getCacheControl());
+        verify(employeeService, times(1)).getHighestSalaryOfEmployees();
+    }
+
+    @Test
+    @DisplayName("Test getHighestSalaryOfEmployees - A newer dataset version answers 200")
+    void testGetHighestSalaryOfEmployees_Modified() throws Exception {
+        // When
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employees/highestSalary");
+        withRequest(request);
+        when(employeeService.getDatasetVersion()).thenReturn(completedFuture(OptionalLong.of(7)));
+        when(employeeService.getHighestSalaryOfEmployees()).thenReturn(completedFuture(100000));
+        request.addHeader(
+                HttpHeaders.IF_NONE_MATCH,
+                await(employeeController.getHighestSalaryOfEmployees()).getHeaders().getETag());
+        when(employeeService.getDatasetVersion()).thenReturn(completedFuture(OptionalLong.of(8)));
+
+        // Then
+        ResponseEntity<Integer> response = await(employeeController.getHighestSalaryOfEmployees());
+
+        // Assertions
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(100000, response.getBody());
+        assertTrue(response.getHeaders().getETag().startsWith("\"8-"));
+    }
+
+    @Test
+    @DisplayName("Test updateEmployee - If-Match version is passed on and the new version returned as ETag")
+    void testUpdateEmployee_Success() throws Exception {
+        // Given
+        EmployeePatch patch = new EmployeePatch(null, 120000, null, null);
+        employee.setSalary(120000);
+        employee.setVersion(4L);
+
+        // When
+        when(employeeService.updateEmployee(employee.getId().toString(), patch, 3L))
+                .thenReturn(completedFuture(employee));
+
+        // Then
+        ResponseEntity<EmployeeResponse> response =
+                await(employeeController.updateEmployee(employee.getId().toString(), patch, "\"3\""));
+
+        // Assertions
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+        assertEquals(120000, response.getBody().getSalary());
+    }
+
+    @Test
+    @DisplayName("Test updateEmployee - A version conflict and a malformed If-Match are rethrown")
+    void testUpdateEmployee_Conflict() {
+        // Given
+        EmployeePatch patch = new EmployeePatch(null, 120000, null, null);
+        String id = employee.getId().toString();
+
+        // When
+        when(employeeService.updateEmployee(id, patch, 3L))
+                .thenReturn(CompletableFuture.failedFuture(new EmployeeVersionConflictException("stale", 5)));
+
+        // Then
+        EmployeeVersionConflictException conflict = assertThrows(
+                EmployeeVersionConflictException.class, () -> await(employeeController.updateEmployee(id, patch, "3")));
+        assertThrows(
+                IllegalArgumentException.class, () -> await(employeeController.updateEmployee(id, patch, "W/\"3\"")));
+
+        // Assertions
+        assertEquals(5, conflict.getCurrentVersion());
+    }
+
+    @Test
+    @DisplayName("Test replaceEmployee - Sends the full input as the patch and rejects an incomplete one")
+    void testReplaceEmployee() throws Exception {
+        // Given
+        String id = employee.getId().toString();
+        employee.setVersion(2L);
+
+        // When
+        when(employeeService.updateEmployee(id, EmployeePatch.replacing(employeeInput), null))
+                .thenReturn(completedFuture(employee));
+
+        // Then
+        ResponseEntity<EmployeeResponse> response = await(employeeController.replaceEmployee(id, employeeInput, null));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> await(employeeController.replaceEmployee(
+                        id, new EmployeeInput("Swapnil Patil", null, 30, "QA"), "*")));
+
+        // Assertions
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"2\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    @DisplayName("Test bulkUpdateEmployees - Returns the report of the one upstream bulk update")
+    void testBulkUpdateEmployees() throws Exception {
+        // Given
+        EmployeeBulkUpdate update = new EmployeeBulkUpdate("title = 'Software Engineer'", "salary = salary * 1.04");
+        BulkUpdateReport report =
+                new BulkUpdateReport("hash index title = 'Software Engineer'", 12, 12, 40, 52, 1, 12000.0);
+
+        // When
+        when(employeeService.bulkUpdateEmployees(update.getWhere(), update.getSet()))
+                .thenReturn(completedFuture(report));
+
+        // Then
+        ResponseEntity<BulkUpdateReport> response = await(employeeController.bulkUpdateEmployees(update));
+
+        // Assertions
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(report, response.getBody());
+        verify(employeeService, times(1)).bulkUpdateEmployees(update.getWhere(), update.getSet());
+    }
+
+    private static void withRequest(MockHttpServletRequest request) {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static void withIdempotencyKey(String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(IdempotencyTable.HEADER, key);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private static <T> T await(CompletableFuture<T> response) throws Exception {
+        try {
+            return response.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private EmployeeController controller(Duration requestTimeout) {
+        return new EmployeeController(employeeService, createEmployeeRequests, httpCachePolicy, requestTimeout);
+    }
 }
@@ -0,0 +1,22 @@
+package com.reliaquest.api.integration;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+/*
+ * Employee API handlers answer with a future, so MockMvc dispatches the request a second time once it completes to
+ * write the response. A request handled without starting async processing is returned as it is.
+ */
+final class AsyncDispatch {
+
+    private AsyncDispatch() {}
+
+    static ResultActions perform(MockMvc mockMvc, RequestBuilder request) throws Exception {
+        final var actions = mockMvc.perform(request);
+        final var result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+}
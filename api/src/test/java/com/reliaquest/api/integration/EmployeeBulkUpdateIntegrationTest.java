@@ -0,0 +1,166 @@
+package com.reliaquest.api.integration;
+
+import static com.reliaquest.api.integration.AsyncDispatch.perform;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeBulkUpdate;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.query.EmployeeQuery;
+import com.reliaquest.server.service.query.UpdateExpression;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeBulkUpdateIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockEmployeeService mockEmployeeService;
+
+    @Test
+    @DisplayName("Integration: Bulk update - a raise moves salaries, versions and the salary index in one step")
+    void testBulkRaise() throws Exception {
+        List<MockEmployee> employees = createEmployees("Bulk Raise Tester", 700_000_000, 3);
+        final long before = mockEmployeeService.snapshot().sequence();
+
+        perform(mockMvc, post("/api/v1/employees/bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new EmployeeBulkUpdate("title = 'bulk raise tester'", "salary = salary * 1.04"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(3))
+                .andExpect(jsonPath("$.plan").value("hash index title = 'bulk raise tester'"))
+                .andExpect(jsonPath("$.fromVersion").value(before))
+                .andExpect(jsonPath("$.toVersion").value(before + 1));
+
+        for (MockEmployee created : employees) {
+            MockEmployee current = mockEmployeeService.findById(created.getId()).orElseThrow();
+            int raised = (int) Math.round(created.getSalary() * 1.04);
+            assertEquals(raised, current.getSalary());
+            assertEquals(2, current.getVersion());
+            // The salary index holds the new salary only.
+            assertEquals(
+                    List.of(current),
+                    mockEmployeeService.findBySalaryRange(raised, raised, null, 10).employees());
+            assertTrue(mockEmployeeService
+                    .findBySalaryRange(created.getSalary(), created.getSalary(), null, 10)
+                    .employees()
+                    .isEmpty());
+        }
+        assertEquals(before + 1, mockEmployeeService.snapshot().sequence());
+        // One event for the whole update, which a replica replays rather than receiving every row.
+        List<EmployeeChangeEvent> changes =
+                mockEmployeeService.getChangesSince(before).orElseThrow();
+        assertEquals(1, changes.size());
+        assertEquals(EmployeeChangeEvent.Type.BULK_UPDATED, changes.get(0).type());
+        assertEquals("salary = salary * 1.04", changes.get(0).bulkUpdate().set());
+    }
+
+    @Test
+    @DisplayName("Integration: Bulk update - one invalid row rejects the whole update and malformed updates get 400")
+    void testBulkUpdateRejected() throws Exception {
+        List<MockEmployee> employees = createEmployees("Bulk Reject Tester", 710_000_000, 2);
+        final long before = mockEmployeeService.snapshot().sequence();
+
+        // 70 + 10 is over the maximum age for both rows.
+        perform(mockMvc, post("/api/v1/employees/bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EmployeeBulkUpdate(
+                                "title = 'Bulk Reject Tester'", "age = age + 10, title = 'Rejected'"))))
+                .andExpect(status().isBadRequest());
+        perform(mockMvc, post("/api/v1/employees/bulk-update")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new EmployeeBulkUpdate("title = 'Bulk Reject Tester'", "id = 'x'"))))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(before, mockEmployeeService.snapshot().sequence());
+        assertEquals(employees.size(), mockEmployeeService.findByTitle("Bulk Reject Tester").size());
+        for (MockEmployee created : employees) {
+            assertEquals(created, mockEmployeeService.findById(created.getId()).orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("Integration: Bulk update - concurrent readers see all of an update or none of it")
+    void testBulkUpdateAtomicForReaders() {
+        final int rows = 2000;
+        final int updates = 5;
+        final String title = "Bulk Atomic Tester";
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+            input.setName(title + " " + i);
+            input.setSalary(720_000_000);
+            input.setAge(40);
+            input.setTitle(title);
+            employees.add(mockEmployeeService.newEmployee(input));
+        }
+        mockEmployeeService.insertAll(employees);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < updates; i++) {
+                mockEmployeeService.bulkUpdate(
+                        EmployeeQuery.parseWhere("title = '" + title + "'"),
+                        UpdateExpression.parse("salary = salary + 1"));
+            }
+        });
+        while (!writer.isDone()) {
+            // Every row has the same salary after each update, whichever updates a reader sees.
+            assertEquals(1, salaries(mockEmployeeService.getMockEmployees(), title).size());
+            assertEquals(rows, mockEmployeeService.findByTitle(title).size());
+            assertTrue(salaries(mockEmployeeService.findTopBySalary(1000), title).size() <= 1);
+            List<MockEmployee> range = mockEmployeeService
+                    .findBySalaryRange(720_000_000, 720_000_000 + updates, null, 1000)
+                    .employees();
+            assertEquals(1000, range.size());
+            assertEquals(1, salaries(range, title).size());
+        }
+        writer.join();
+
+        assertEquals(Set.of(720_000_000 + updates), salaries(mockEmployeeService.findByTitle(title), title));
+    }
+
+    private static Set<Integer> salaries(List<MockEmployee> employees, String title) {
+        return employees.stream()
+                .filter(employee -> title.equals(employee.getTitle()))
+                .map(MockEmployee::getSalary)
+                .collect(Collectors.toSet());
+    }
+
+    private List<MockEmployee> createEmployees(String title, int baseSalary, int count) {
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+            input.setName(title + " " + i);
+            input.setSalary(baseSalary + i * 1_000_001);
+            input.setAge(70);
+            input.setTitle(title);
+            employees.add(mockEmployeeService.create(input));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.integration;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeChangeStreamIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MockEmployeeService mockEmployeeService;
+
+    @Autowired
+    private EmployeeChangeLog employeeChangeLog;
+
+    @Test
+    @DisplayName("Integration: Change stream - replays changes after since, then streams new ones")
+    void testChangeStream() throws Exception {
+        MockEmployee replayed = createEmployee("Stream Tester Replayed");
+        long since = employeeChangeLog.currentSequence() - 1;
+
+        MockHttpServletResponse response = mockMvc.perform(
+                        get("/api/v1/employee/changes/stream").param("since", String.valueOf(since)))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+        MockEmployee streamed = createEmployee("Stream Tester Streamed");
+
+        assertTrue(awaitContent(response, "id:" + (since + 2)));
+        String content = response.getContentAsString();
+        assertTrue(content.contains("id:" + (since + 1)));
+        assertTrue(content.contains("event:CREATED"));
+        assertTrue(content.indexOf(replayed.getId().toString()) < content.indexOf(streamed.getId().toString()));
+    }
+
+    @Test
+    @DisplayName("Integration: Change stream - a sequence from another epoch gets 410")
+    void testChangeStreamOtherEpoch() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/changes/stream").param("since", "0").param("epoch", "other"))
+                .andExpect(status().isGone());
+    }
+
+    private MockEmployee createEmployee(String name) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(60000);
+        input.setAge(30);
+        input.setTitle("Stream Tester");
+        return mockEmployeeService.create(input);
+    }
+
+    private static boolean awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (response.getContentAsString().contains(expected)) {
+                return true;
+            }
+            Thread.sleep(10);
+        }
+        return false;
+    }
+}
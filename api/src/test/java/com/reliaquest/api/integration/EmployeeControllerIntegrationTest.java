@@ -1,5 +1,6 @@
 package com.reliaquest.api.integration;
 
+import static com.reliaquest.api.integration.AsyncDispatch.perform;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -18,6 +20,8 @@ import org.springframework.test.web.servlet.MockMvc;
 @AutoConfigureMockMvc
 class EmployeeControllerIntegrationTest {
 
+    private static final String SMILE_FIRST = "application/x-jackson-smile, application/json;q=0.9";
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -27,16 +31,48 @@ class EmployeeControllerIntegrationTest {
     @Test
     @DisplayName("Integration: Get all employees")
     void testGetAllEmployees() throws Exception {
-        mockMvc.perform(get("/api/v1/employees").contentType(MediaType.APPLICATION_JSON))
+        perform(mockMvc, get("/api/v1/employees").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").exists());
     }
 
+    @Test
+    @DisplayName("Integration: Get all employees - projected to the requested fields")
+    void testGetAllEmployees_Projected() throws Exception {
+        perform(mockMvc, get("/api/v1/employees").param("fields", "id,name").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].name").exists())
+                .andExpect(jsonPath("$[0].salary").doesNotExist())
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Integration: Get all employees - Smile and CBOR are negotiated through Accept")
+    void testGetAllEmployees_BinaryFormats() throws Exception {
+        perform(mockMvc, get("/api/v1/employees").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR));
+        // The Accept header the shard and replica client sends.
+        perform(mockMvc, get("/api/v1/employee").header(HttpHeaders.ACCEPT, SMILE_FIRST))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"));
+    }
+
+    @Test
+    @DisplayName("Integration: Get all employees - unknown projection field")
+    void testGetAllEmployees_UnknownField() throws Exception {
+        perform(mockMvc, get("/api/v1/employees")
+                        .param("fields", "name,password")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Integration: Create employee - success")
     void testCreateEmployee_Success() throws Exception {
         EmployeeInput input = new EmployeeInput("Swapnil Patil", 50000, 30, "Developer");
-        mockMvc.perform(post("/api/v1/employees")
+        perform(mockMvc, post("/api/v1/employees")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input)))
                 .andExpect(status().isCreated())
@@ -47,14 +83,14 @@ class EmployeeControllerIntegrationTest {
     @DisplayName("Integration: Get employee by id - not found")
     void testGetEmployeeById_NotFound() throws Exception {
         String randomId = UUID.randomUUID().toString();
-        mockMvc.perform(get("/api/v1/employees/" + randomId).contentType(MediaType.APPLICATION_JSON))
+        perform(mockMvc, get("/api/v1/employees/" + randomId).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
     }
 
     @Test
     @DisplayName("Integration: Get top 10 highest earning employee names")
     void testGetTop10HighestEarningEmployeeNames() throws Exception {
-        mockMvc.perform(get("/api/v1/employees/top10HighestEarningEmployeeNames")
+        perform(mockMvc, get("/api/v1/employees/top10HighestEarningEmployeeNames")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0]").exists());
@@ -65,7 +101,7 @@ class EmployeeControllerIntegrationTest {
     void testDeleteEmployeeById() throws Exception {
         // First create an employee to ensure the id exists
         EmployeeInput input = new EmployeeInput("Swapnil Patil", 60000, 28, "QA Engineer");
-        String response = mockMvc.perform(post("/api/v1/employees")
+        String response = perform(mockMvc, post("/api/v1/employees")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input)))
                 .andExpect(status().isCreated())
@@ -75,7 +111,7 @@ class EmployeeControllerIntegrationTest {
         String id = objectMapper.readTree(response).get("id").asText();
 
         // Delete the created employee
-        mockMvc.perform(delete("/api/v1/employees/" + id).contentType(MediaType.APPLICATION_JSON))
+        perform(mockMvc, delete("/api/v1/employees/" + id).contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().string("Swapnil Patil"));
     }
@@ -86,18 +122,18 @@ class EmployeeControllerIntegrationTest {
         // Create two employees with different salaries
         EmployeeInput input1 = new EmployeeInput("Amay", 70000, 32, "Engineer");
         EmployeeInput input2 = new EmployeeInput("Sharma", 90000, 40, "Manager");
-        mockMvc.perform(post("/api/v1/employees")
+        perform(mockMvc, post("/api/v1/employees")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input1)))
                 .andExpect(status().isCreated());
 
-        mockMvc.perform(post("/api/v1/employees")
+        perform(mockMvc, post("/api/v1/employees")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(input2)))
                 .andExpect(status().isCreated());
 
         // Now check response for highest salary
-        mockMvc.perform(get("/api/v1/employees/highestSalary").contentType(MediaType.APPLICATION_JSON))
+        perform(mockMvc, get("/api/v1/employees/highestSalary").contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
     }
 }
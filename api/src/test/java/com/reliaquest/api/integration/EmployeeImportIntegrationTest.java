@@ -0,0 +1,77 @@
+package com.reliaquest.api.integration;
+
+import static com.reliaquest.api.integration.AsyncDispatch.perform;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Small chunks so that rows are split across several parse tasks.
+@SpringBootTest(properties = "mock.employees.import.chunk-size=64")
+@AutoConfigureMockMvc
+class EmployeeImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("Integration: Import - CSV rows are imported and searchable")
+    void testImportCsv() throws Exception {
+        String csv = "title,name,age,salary\n"
+                + "Engineer,Csv Import One,30,100000\n"
+                + "\"Manager, Sales\",\"Csv Import \"\"Two\"\"\",45,120000\n";
+
+        mockMvc.perform(post("/api/v1/employee/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rows").value(2))
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.rejected").value(0));
+
+        perform(mockMvc, get("/api/v1/employees/search/{searchString}", "Csv Import")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    @DisplayName("Integration: Import - invalid NDJSON rows are rejected with their line numbers")
+    void testImportNdjsonRejectsInvalidRows() throws Exception {
+        String ndjson = "{\"name\":\"Ndjson Import One\",\"salary\":90000,\"age\":28,\"title\":\"Analyst\"}\n"
+                + "\n"
+                + "{\"name\":\"Ndjson Import Two\",\"salary\":90000,\"age\":12,\"title\":\"Analyst\"}\n"
+                + "not json\n"
+                + "{\"name\":\"Ndjson Import Three\",\"salary\":95000,\"age\":33,\"title\":\"Analyst\"}";
+
+        mockMvc.perform(post("/api/v1/employee/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.rows").value(4))
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.rejected").value(2))
+                .andExpect(jsonPath("$.data.errors[0].line").value(3))
+                .andExpect(jsonPath("$.data.errors[1].line").value(4));
+    }
+
+    @Test
+    @DisplayName("Integration: Import - a CSV without the required header is a bad request")
+    void testImportCsvWithoutHeader() throws Exception {
+        mockMvc.perform(post("/api/v1/employee/import").contentType("text/csv").content("Engineer,Csv,30,100000\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Integration: Import - other content types are unsupported")
+    void testImportUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/api/v1/employee/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.api.integration;
+
+import static com.reliaquest.api.integration.AsyncDispatch.perform;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeInput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeQueryIntegrationTest {
+
+    private static final String TITLE = "Query Planner Tester";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // The context and its store are shared with other test classes, so the employees are created once.
+    @BeforeEach
+    void createEmployees() throws Exception {
+        String existing = mockMvc.perform(get("/api/v1/employee/lookup/title/{title}", TITLE))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        if (objectMapper.readTree(existing).path("data").isEmpty()) {
+            for (int salary : new int[] {61000, 62000, 63000}) {
+                EmployeeInput input = new EmployeeInput("Planner Ann " + salary, salary, 30, TITLE);
+                perform(mockMvc, post("/api/v1/employees")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(input)))
+                        .andExpect(status().isCreated());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Integration: Query - filters, orders and explains through the api")
+    void testQueryEmployees() throws Exception {
+        perform(mockMvc, get("/api/v1/employees/query")
+                        .param("where", "title = 'query planner tester' and salary > 61500 and name ~ 'ann'")
+                        .param("orderBy", "salary desc")
+                        .param("explain", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.length()").value(2))
+                .andExpect(jsonPath("$.employees[0].salary").value(63000))
+                .andExpect(jsonPath("$.employees[1].salary").value(62000))
+                .andExpect(jsonPath("$.stats.plan").value(startsWith("hash index title")))
+                .andExpect(jsonPath("$.stats.rowsExamined").value(3))
+                .andExpect(jsonPath("$.stats.sorted").value(true));
+    }
+
+    @Test
+    @DisplayName("Integration: Query - stats are left out unless asked for")
+    void testQueryEmployees_WithoutExplain() throws Exception {
+        perform(mockMvc, get("/api/v1/employees/query")
+                        .param("where", "title = 'Query Planner Tester' or salary < 0")
+                        .param("limit", "2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.length()").value(2))
+                .andExpect(jsonPath("$.stats").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Integration: Query - the mock server lists every plan it considered")
+    void testMockServerQuery() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/query")
+                        .param("where", "salary >= 61000 and salary <= 63000 and title = 'Query Planner Tester'")
+                        .param("orderBy", "salary")
+                        .param("limit", "1")
+                        .param("explain", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.employees.length()").value(1))
+                .andExpect(jsonPath("$.data.employees[0].employee_salary").value(61000))
+                .andExpect(jsonPath("$.data.stats.considered.length()").value(3));
+    }
+
+    @Test
+    @DisplayName("Integration: Query - a malformed query is a bad request")
+    void testQueryEmployees_Malformed() throws Exception {
+        perform(mockMvc, get("/api/v1/employees/query")
+                        .param("where", "salary > 'high'")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/employee/query").param("where", "age = 30 and"))
+                .andExpect(status().isBadRequest());
+    }
+}
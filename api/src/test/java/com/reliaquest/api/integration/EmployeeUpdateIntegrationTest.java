@@ -0,0 +1,198 @@
+package com.reliaquest.api.integration;
+
+import static com.reliaquest.api.integration.AsyncDispatch.perform;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePatch;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeUpdateResult;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.UpdateMockEmployeeInput;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeUpdateIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockEmployeeService mockEmployeeService;
+
+    @Test
+    @DisplayName("Integration: Update - PATCH with If-Match bumps the version and a stale version gets 412")
+    void testPatchEmployee() throws Exception {
+        String id = createEmployee(new EmployeeInput("Update Tester Ann", 70000, 30, "Update Tester"));
+
+        perform(mockMvc, patch("/api/v1/employees/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new EmployeePatch(null, 75000, null, "Senior Update Tester"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.version").value(2))
+                .andExpect(jsonPath("$.salary").value(75000))
+                .andExpect(jsonPath("$.name").value("Update Tester Ann"));
+
+        perform(mockMvc, patch("/api/v1/employees/{id}", id)
+                        .header(HttpHeaders.IF_MATCH, "\"1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EmployeePatch(null, 1, null, null))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.currentVersion").value(2));
+
+        // The title index moved with the update.
+        mockMvc.perform(get("/api/v1/employee/lookup/title/{title}", "Senior Update Tester"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(id))
+                .andExpect(jsonPath("$.data[0].employee_version").value(2));
+        mockMvc.perform(get("/api/v1/employee/lookup/title/{title}", "Update Tester"))
+                .andExpect(jsonPath("$.data.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Integration: Update - PUT replaces every field and the mock server answers with an ETag")
+    void testPutEmployee() throws Exception {
+        String id = createEmployee(new EmployeeInput("Replace Tester Bo", 50000, 40, "Replace Tester"));
+
+        perform(mockMvc, put("/api/v1/employees/{id}", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new EmployeeInput("Replace Tester Bea", 55000, 41, "Replace Tester"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Replace Tester Bea"))
+                .andExpect(jsonPath("$.age").value(41))
+                .andExpect(jsonPath("$.version").value(2));
+
+        mockMvc.perform(get("/api/v1/employee/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+        perform(mockMvc, patch("/api/v1/employees/{id}", "7b9b1e3c-2123-4f91-9b0c-e801632b0e22")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EmployeePatch(null, 1, null, null))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Integration: Update - concurrent compare-and-set increments are neither lost nor double-indexed")
+    void testConcurrentUpdates() throws Exception {
+        final int writers = 8;
+        final int increments = 50;
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+            input.setName("Contended Tester " + i);
+            input.setSalary(900_000_000 + i * 1_000_000);
+            input.setAge(30);
+            input.setTitle("Contended Tester");
+            employees.add(mockEmployeeService.create(input));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<CompletableFuture<Void>> done = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                MockEmployee target = employees.get(w % employees.size());
+                done.add(CompletableFuture.runAsync(() -> incrementSalary(target, increments), executor));
+            }
+            CompletableFuture.allOf(done.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        for (MockEmployee created : employees) {
+            MockEmployee current = mockEmployeeService.findById(created.getId()).orElseThrow();
+            int updates = writers / employees.size() * increments;
+            assertEquals(created.getSalary() + updates, current.getSalary());
+            assertEquals(1 + updates, current.getVersion());
+            // Exactly one salary index entry, at the final salary.
+            assertEquals(
+                    List.of(current),
+                    mockEmployeeService
+                            .findBySalaryRange(created.getSalary(), created.getSalary() + updates, null, 1000)
+                            .employees());
+        }
+    }
+
+    @Test
+    @DisplayName("Integration: Update - index readers see an employee exactly once while its keys move")
+    void testIndexReadsDuringUpdates() throws Exception {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName("Moving Tester");
+        input.setSalary(910_000_000);
+        input.setAge(30);
+        input.setTitle("Moving Tester Even");
+        MockEmployee created = mockEmployeeService.create(input);
+
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> {
+            for (int i = 1; i <= 500; i++) {
+                String title = i % 2 == 0 ? "Moving Tester Even" : "Moving Tester Odd";
+                mockEmployeeService.update(
+                        created.getId(), new UpdateMockEmployeeInput(null, 910_000_000 + i % 2, null, title), null);
+            }
+        });
+        while (!writer.isDone()) {
+            assertEquals(
+                    1,
+                    mockEmployeeService
+                            .findBySalaryRange(910_000_000, 910_000_001, null, 10)
+                            .employees()
+                            .size());
+            assertEquals(
+                    1,
+                    mockEmployeeService.findTopBySalary(1000).stream()
+                            .filter(employee -> employee.getId().equals(created.getId()))
+                            .count());
+        }
+        writer.join();
+        assertEquals(1, mockEmployeeService.findByTitle("Moving Tester Even").size());
+        assertEquals(0, mockEmployeeService.findByTitle("Moving Tester Odd").size());
+    }
+
+    private void incrementSalary(MockEmployee target, int increments) {
+        for (int done = 0; done < increments; ) {
+            MockEmployee current = mockEmployeeService.findById(target.getId()).orElseThrow();
+            EmployeeUpdateResult result = mockEmployeeService.update(
+                    current.getId(),
+                    new UpdateMockEmployeeInput(null, current.getSalary() + 1, null, null),
+                    current.getVersion());
+            if (result.status() == EmployeeUpdateResult.Status.UPDATED) {
+                done++;
+            }
+        }
+    }
+
+    private String createEmployee(EmployeeInput input) throws Exception {
+        String created = perform(mockMvc, post("/api/v1/employees")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(input)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(created).path("id").asText();
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.api.integration;
+
+import static com.reliaquest.api.integration.AsyncDispatch.perform;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.web.fault.FaultInjectionFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Faults on the mock server's routes only; the api calls its embedded store in-process and is unaffected.
+@SpringBootTest(
+        properties = {
+            "mock.faults.enabled=true",
+            "mock.faults.rules[0].path=/api/v1/employee/salary/highest",
+            "mock.faults.rules[0].error-rate=1",
+            "mock.faults.rules[0].error-status=503",
+            "mock.faults.rules[1].path=/api/v1/employee/salary/top",
+            "mock.faults.rules[1].throttle.limit=2",
+            "mock.faults.rules[1].throttle.window=PT1H",
+            "mock.faults.rules[2].path=/api/v1/employee/snapshot",
+            "mock.faults.rules[2].latency.distribution=fixed",
+            "mock.faults.rules[2].latency.median=PT0.001S",
+            "mock.faults.rules[2].slow-body.chunk-size=64",
+            "mock.faults.rules[2].slow-body.chunk-delay=PT0.001S"
+        })
+@AutoConfigureMockMvc
+class FaultInjectionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Integration: Fault injection - error rate answers with the injected status")
+    void testErrorRate() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/salary/highest"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value(FaultInjectionFilter.INJECTED_ERROR));
+        perform(mockMvc, get("/api/v1/employees/highestSalary").contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Integration: Fault injection - requests over the throttle limit get 429 with Retry-After")
+    void testThrottleLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/salary/top")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/employee/salary/top")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/employee/salary/top"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    @DisplayName("Integration: Fault injection - slow body still delivers the whole response")
+    void testSlowBody() throws Exception {
+        String body = mockMvc.perform(get("/api/v1/employee/snapshot"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(
+                objectMapper.readTree(body).path("data").path("employees").size(),
+                objectMapper
+                        .readTree(mockMvc.perform(get("/api/v1/employee"))
+                                .andReturn()
+                                .getResponse()
+                                .getContentAsString())
+                        .path("data")
+                        .size());
+    }
+}
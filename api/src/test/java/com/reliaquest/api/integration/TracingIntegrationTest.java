@@ -0,0 +1,103 @@
+package com.reliaquest.api.integration;
+
+import static com.reliaquest.api.integration.AsyncDispatch.perform;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.server.trace.FinishedSpan;
+import com.reliaquest.server.trace.InMemoryTraceExporter;
+import com.reliaquest.server.trace.RecordedTrace;
+import com.reliaquest.server.trace.TraceContext;
+import com.reliaquest.server.trace.TraceExporter;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Every trace is slow enough to keep, so each request's spans can be inspected.
+@SpringBootTest(properties = "tracing.slow-threshold=PT0S")
+@AutoConfigureMockMvc
+class TracingIntegrationTest {
+
+    private static final String CALLER_TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TraceExporter traceExporter;
+
+    @Test
+    @DisplayName("Integration: Create employee - continues the caller's trace through service and upstream attempt")
+    void testCreateEmployee_ContinuesTrace() throws Exception {
+        EmployeeInput input = new EmployeeInput("Swapnil Patil", 50000, 30, "Developer");
+        String traceparent = perform(mockMvc, post("/api/v1/employees")
+                        .header(TraceContext.HEADER, "00-" + CALLER_TRACE_ID + "-" + CALLER_SPAN_ID + "-01")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(input)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getHeader(TraceContext.HEADER);
+
+        TraceContext root = TraceContext.parse(traceparent).orElseThrow();
+        Map<String, FinishedSpan> spans = spansByName(trace(CALLER_TRACE_ID));
+
+        assertEquals(CALLER_TRACE_ID, root.traceId());
+        assertEquals(CALLER_SPAN_ID, spans.get("POST /api/v1/employees").parentSpanId());
+        assertEquals(root.spanId(), spans.get("POST /api/v1/employees").spanId());
+        assertEquals(root.spanId(), spans.get("EmployeeService.createEmployee").parentSpanId());
+        assertEquals(
+                spans.get("EmployeeService.createEmployee").spanId(),
+                spans.get("upstream employeeApiWrite").parentSpanId());
+        assertEquals(spans.get("upstream employeeApiWrite").spanId(), spans.get("attempt 1").parentSpanId());
+        assertEquals(201, spans.get("POST /api/v1/employees").attributes().get("http.status"));
+    }
+
+    @Test
+    @DisplayName("Integration: Get top 10 highest earning employee names - malformed traceparent starts a new trace")
+    void testGetTop10HighestEarningEmployeeNames_NewTrace() throws Exception {
+        String traceparent = perform(mockMvc, get("/api/v1/employees/top10HighestEarningEmployeeNames")
+                        .header(TraceContext.HEADER, "00-" + CALLER_TRACE_ID + "-not-a-span-01")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(TraceContext.HEADER);
+
+        TraceContext root = TraceContext.parse(traceparent).orElseThrow();
+        Map<String, FinishedSpan> spans = spansByName(trace(root.traceId()));
+
+        assertNotEquals(CALLER_TRACE_ID, root.traceId());
+        assertNull(spans.get("GET /api/v1/employees/top10HighestEarningEmployeeNames").parentSpanId());
+        assertEquals(root.spanId(), spans.get("EmployeeService.getTop10HighestEarningEmployeeNames").parentSpanId());
+    }
+
+    private RecordedTrace trace(String traceId) {
+        return assertInstanceOf(InMemoryTraceExporter.class, traceExporter).getTraces().stream()
+                .filter(trace -> trace.traceId().equals(traceId))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Map<String, FinishedSpan> spansByName(RecordedTrace trace) {
+        return trace.spans().stream()
+                .collect(Collectors.toMap(FinishedSpan::name, Function.identity(), (first, ignored) -> first));
+    }
+}
@@ -0,0 +1,84 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long THRESHOLD = Duration.ofMillis(100).toNanos();
+
+    @Test
+    @DisplayName("Test tryAcquire - Rejects calls over the limit")
+    void testTryAcquire_RejectsOverLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD, 0.5);
+
+        // Then
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        // Assertions
+        assertEquals(2, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Test release - Throttled call halves the limit")
+    void testRelease_ThrottledDecreases() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, THRESHOLD, 0.5);
+
+        // When
+        limiter.tryAcquire();
+        limiter.release(0, true);
+
+        // Assertions
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Test release - Slow call decreases the limit but not below min")
+    void testRelease_SlowCallRespectsMin() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 10, THRESHOLD, 0.5);
+
+        // When
+        limiter.tryAcquire();
+        limiter.release(THRESHOLD * 2, false);
+
+        // Assertions
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Test release - Fast calls at the limit grow it additively")
+    void testRelease_FastCallsIncrease() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD, 0.5);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(0, false);
+            limiter.release(0, false);
+        }
+
+        // Assertions
+        assertTrue(limiter.getLimit() > 2);
+    }
+
+    @Test
+    @DisplayName("Test constructor - Invalid limits")
+    void testConstructor_InvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(0, 1, 10, THRESHOLD, 0.5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(2, 1, 10, THRESHOLD, 1.0));
+    }
+}
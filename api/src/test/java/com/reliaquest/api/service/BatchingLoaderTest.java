@@ -0,0 +1,182 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+// The window is closed by running the scheduled dispatch by hand, so no test depends on timing.
+class BatchingLoaderTest {
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    @Mock
+    private ScheduledFuture<?> scheduledDispatch;
+
+    private final List<Runnable> dispatches = new ArrayList<>();
+    private final List<List<String>> batches = new ArrayList<>();
+    private final List<CompletableFuture<Map<String, Integer>>> results = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(scheduler.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class)))
+                .thenAnswer(invocation -> {
+                    dispatches.add(invocation.getArgument(0));
+                    return scheduledDispatch;
+                });
+    }
+
+    @Test
+    @DisplayName("Test load - Loads within one window make one batch, and a repeated key shares its load")
+    void testLoad_OneBatchPerWindow() {
+        // Given
+        BatchingLoader<String, Integer> loader = loader(10);
+
+        // When
+        CompletableFuture<Optional<Integer>> first = loader.load("a");
+        CompletableFuture<Optional<Integer>> second = loader.load("b");
+        CompletableFuture<Optional<Integer>> repeated = loader.load("a");
+        dispatches.get(0).run();
+        results.get(0).complete(Map.of("a", 1));
+
+        // Assertions
+        verify(scheduler).schedule(any(Runnable.class), eq(Duration.ofMillis(5).toNanos()), eq(TimeUnit.NANOSECONDS));
+        assertEquals(1, dispatches.size());
+        assertEquals(List.of(List.of("a", "b")), batches);
+        assertEquals(Optional.of(1), first.join());
+        assertEquals(Optional.empty(), second.join());
+        assertEquals(Optional.of(1), repeated.join());
+    }
+
+    @Test
+    @DisplayName("Test load - A full batch is dispatched at once and the next load opens a new window")
+    void testLoad_MaxBatchSize() {
+        // Given
+        BatchingLoader<String, Integer> loader = loader(2);
+
+        // When
+        loader.load("a");
+        loader.load("a");
+        loader.load("b");
+        loader.load("c");
+
+        // Assertions
+        assertEquals(List.of(List.of("a", "b")), batches);
+        verify(scheduledDispatch).cancel(false);
+        assertEquals(2, dispatches.size());
+
+        dispatches.get(1).run();
+        assertEquals(List.of(List.of("a", "b"), List.of("c")), batches);
+    }
+
+    @Test
+    @DisplayName("Test loadMany - Found values by key across batches, in key order")
+    void testLoadMany_AcrossBatches() {
+        // Given
+        BatchingLoader<String, Integer> loader = loader(2);
+
+        // When
+        CompletableFuture<Map<String, Integer>> loaded = loader.loadMany(List.of("c", "a", "c", "b"));
+        results.get(0).complete(Map.of("a", 1, "c", 3));
+        dispatches.get(1).run();
+        results.get(1).complete(Map.of("b", 2));
+
+        // Assertions
+        assertEquals(List.of(List.of("c", "a"), List.of("b")), batches);
+        assertEquals(List.of("c", "a", "b"), List.copyOf(loaded.join().keySet()));
+        assertEquals(Map.of("a", 1, "b", 2, "c", 3), loaded.join());
+    }
+
+    @Test
+    @DisplayName("Test load - A failed batch fails every load in it")
+    void testLoad_FailureFansOut() {
+        // Given
+        BatchingLoader<String, Integer> loader = loader(10);
+        IllegalStateException failure = new IllegalStateException("upstream down");
+
+        // When
+        CompletableFuture<Optional<Integer>> first = loader.load("a");
+        CompletableFuture<Map<String, Integer>> many = loader.loadMany(List.of("a", "b"));
+        dispatches.get(0).run();
+        results.get(0).completeExceptionally(failure);
+
+        // Assertions
+        assertSame(failure, assertThrows(CompletionException.class, first::join).getCause());
+        assertSame(failure, assertThrows(CompletionException.class, many::join).getCause());
+    }
+
+    @Test
+    @DisplayName("Test load - A batch function that throws fails the batch, and the next batch is unaffected")
+    void testLoad_BatchFunctionThrows() {
+        // Given
+        BatchingLoader<String, Integer> loader = new BatchingLoader<>(
+                keys -> {
+                    if (keys.contains("bad")) {
+                        throw new IllegalArgumentException("bad key");
+                    }
+                    return CompletableFuture.completedFuture(Map.of("good", 1));
+                },
+                10,
+                Duration.ZERO,
+                scheduler);
+
+        // When
+        CompletableFuture<Optional<Integer>> bad = loader.load("bad");
+        CompletableFuture<Optional<Integer>> good = loader.load("good");
+
+        // Assertions
+        assertInstanceOf(IllegalArgumentException.class, assertThrows(CompletionException.class, bad::join).getCause());
+        assertEquals(Optional.of(1), good.join());
+        assertTrue(dispatches.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test constructor - Rejects a non-positive batch size and a negative window")
+    void testConstructor_Validation() {
+        // Assertions
+        assertThrows(IllegalArgumentException.class, () -> new BatchingLoader<String, Integer>(
+                keys -> CompletableFuture.completedFuture(Map.of()), 0, Duration.ZERO, scheduler));
+        assertThrows(IllegalArgumentException.class, () -> new BatchingLoader<String, Integer>(
+                keys -> CompletableFuture.completedFuture(Map.of()), 1, Duration.ofMillis(-1), scheduler));
+    }
+
+    /*
+     * A loader with a 5 ms window whose batches are recorded and completed by the test.
+     */
+    private BatchingLoader<String, Integer> loader(int maxBatchSize) {
+        return new BatchingLoader<>(
+                keys -> {
+                    batches.add(keys);
+                    final var result = new CompletableFuture<Map<String, Integer>>();
+                    results.add(result);
+                    return result;
+                },
+                maxBatchSize,
+                Duration.ofMillis(5),
+                scheduler);
+    }
+}
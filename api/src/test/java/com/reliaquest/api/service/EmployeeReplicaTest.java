@@ -0,0 +1,159 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class EmployeeReplicaTest {
+
+    @Mock
+    private MockEmployeeService mockEmployeeService;
+
+    private final UpstreamFixture upstream = new UpstreamFixture();
+
+    private final EmployeeChangeLog employeeChangeLog = new EmployeeChangeLog(100, 10);
+
+    private EmployeeReplica employeeReplica;
+
+    private MockEmployee swapnil;
+    private MockEmployee prerana;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeReplica = new EmployeeReplica(mockEmployeeService, upstream.upstreamCallExecutor(), List.of());
+        swapnil = new MockEmployee(UUID.randomUUID(), "Swapnil Patil", 100000, 30, "Developer", "swapnil@company.com");
+        prerana = new MockEmployee(UUID.randomUUID(), "Prerana Patil", 200000, 28, "Lead", "prerana@company.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    @DisplayName("Test current - Bootstraps once then follows the change stream")
+    void testCurrent_BootstrapThenStream() {
+        // Given
+        followChangeLog();
+        when(mockEmployeeService.snapshot()).thenReturn(new EmployeeSnapshot(0, List.of(swapnil)));
+        List<MockEmployee> bootstrapped = employeeReplica.current().join();
+
+        // When
+        employeeChangeLog.append(EmployeeChangeEvent.Type.CREATED, prerana);
+        employeeChangeLog.append(EmployeeChangeEvent.Type.DELETED, swapnil);
+
+        // Then
+        List<MockEmployee> updated = employeeReplica.current().join();
+        List<MockEmployee> unchanged = employeeReplica.current().join();
+
+        // Assertions
+        assertEquals(List.of(swapnil), bootstrapped);
+        assertEquals(List.of(prerana), updated);
+        assertEquals(List.of(prerana), unchanged);
+        assertEquals(2L, employeeReplica.currentVersion().join());
+        verify(mockEmployeeService, times(1)).snapshot();
+        verify(mockEmployeeService, never()).getChangesSince(anyLong());
+    }
+
+    @Test
+    @DisplayName("Test current - A dropped subscription catches up with the delta and subscribes again")
+    void testCurrent_DroppedCatchesUp() {
+        // Given
+        final List<Runnable> drops = new ArrayList<>();
+        when(mockEmployeeService.subscribeChanges(anyLong(), any(), any())).thenAnswer(invocation -> {
+            drops.add(invocation.getArgument(2));
+            return Optional.of((Runnable) () -> {});
+        });
+        when(mockEmployeeService.snapshot()).thenReturn(new EmployeeSnapshot(3, List.of(swapnil)));
+        when(mockEmployeeService.getChangesSince(3))
+                .thenReturn(Optional.of(List.of(
+                        new EmployeeChangeEvent(4, EmployeeChangeEvent.Type.CREATED, prerana),
+                        new EmployeeChangeEvent(5, EmployeeChangeEvent.Type.DELETED, swapnil))));
+        employeeReplica.current().join();
+
+        // When
+        drops.get(0).run();
+        when(mockEmployeeService.currentSequence()).thenReturn(5L);
+
+        // Then
+        List<MockEmployee> result = employeeReplica.current().join();
+
+        // Assertions
+        assertEquals(List.of(prerana), result);
+        verify(mockEmployeeService, times(1)).snapshot();
+        verify(mockEmployeeService).subscribeChanges(eq(3L), any(), any());
+        verify(mockEmployeeService).subscribeChanges(eq(5L), any(), any());
+    }
+
+    @Test
+    @DisplayName("Test current - Re-bootstraps when changes were evicted")
+    void testCurrent_EvictedChanges() {
+        // When
+        when(mockEmployeeService.snapshot())
+                .thenReturn(new EmployeeSnapshot(1, List.of(swapnil)))
+                .thenReturn(new EmployeeSnapshot(20_000, List.of()));
+        when(mockEmployeeService.getChangesSince(1)).thenReturn(Optional.empty());
+
+        // Then
+        employeeReplica.current().join();
+        List<MockEmployee> result = employeeReplica.current().join();
+
+        // Assertions
+        assertTrue(result.isEmpty());
+        verify(mockEmployeeService, times(2)).snapshot();
+    }
+
+    @Test
+    @DisplayName("Test current - A bulk update arrives as one event and is replayed over the local copy")
+    void testCurrent_BulkUpdateReplayed() {
+        // Given
+        ReplicaChangeListener listener = mock(ReplicaChangeListener.class);
+        employeeReplica = new EmployeeReplica(mockEmployeeService, upstream.upstreamCallExecutor(), List.of(listener));
+        followChangeLog();
+        when(mockEmployeeService.snapshot()).thenReturn(new EmployeeSnapshot(0, List.of(swapnil, prerana)));
+        employeeReplica.current().join();
+
+        // When
+        long sequence = employeeChangeLog.reserve(1);
+        employeeChangeLog.publish(
+                EmployeeChangeEvent.bulkUpdated(sequence, "title = 'Developer'", "salary = salary * 1.04"));
+
+        // Then
+        List<MockEmployee> result = employeeReplica.current().join();
+
+        // Assertions
+        assertEquals(List.of(swapnil.toBuilder().salary(104000).version(2).build(), prerana), result);
+        verify(listener).onBulkUpdate(any());
+    }
+
+    private void followChangeLog() {
+        when(mockEmployeeService.currentSequence()).thenAnswer(invocation -> employeeChangeLog.currentSequence());
+        when(mockEmployeeService.subscribeChanges(anyLong(), any(), any()))
+                .thenAnswer(invocation -> employeeChangeLog.subscribe(
+                        invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+    }
+}
@@ -1,26 +1,53 @@
 package com.reliaquest.api.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.EmployeeVersionConflictException;
 import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeePageResponse;
+import com.reliaquest.api.model.EmployeePatch;
+import com.reliaquest.api.model.EmployeeQueryResponse;
 import com.reliaquest.api.model.EmployeeResponse;
 import com.reliaquest.api.translator.EmployeeTranslator;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQueryResult;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.EmployeeUpdateResult;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.UpdateMockEmployeeInput;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import com.reliaquest.server.service.query.EmployeeQuery;
+import com.reliaquest.server.service.query.Predicate;
+import com.reliaquest.server.service.query.QueryField;
+import com.reliaquest.server.service.query.UpdateExpression;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -37,7 +64,12 @@ class EmployeeServiceImplTest {
     @Mock
     private EmployeeInput employeeInput;
 
-    @InjectMocks
+    private final UpstreamFixture upstream = new UpstreamFixture();
+
+    private final UpstreamCallExecutor upstreamCallExecutor = upstream.upstreamCallExecutor();
+
+    private final ParallelQueryExecutor parallelQueryExecutor = new ParallelQueryExecutor(2, 1);
+
     private EmployeeServiceImpl employeeService;
 
     private MockEmployee mockEmployee;
@@ -49,6 +81,16 @@ class EmployeeServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        NameSearchCache nameSearchCache = new NameSearchCache(100);
+        employeeService = new EmployeeServiceImpl(
+                mockEmployeeService,
+                objectMapper,
+                employeeTranslator,
+                upstreamCallExecutor,
+                new EmployeeReplica(mockEmployeeService, upstreamCallExecutor, List.of(nameSearchCache)),
+                nameSearchCache,
+                parallelQueryExecutor,
+                upstream.batchingLoaderFactory());
         mockEmployee =
                 new MockEmployee(UUID.randomUUID(), "Swapnil Patil", 100000, 30, "Developer", "swapnil@company.com");
         employeeInput = new EmployeeInput("Swapnil Patil", 100000, 30, "Developer");
@@ -72,15 +114,22 @@ class EmployeeServiceImplTest {
         deleteMockEmployeeInput = new DeleteMockEmployeeInput();
     }
 
+    @AfterEach
+    void tearDown() {
+        parallelQueryExecutor.shutdown();
+        upstream.close();
+    }
+
     @Test
     @DisplayName("Test getAllEmployees - Success")
     void testGetAllEmployees_Success() {
         // When
-        when(mockEmployeeService.getMockEmployees()).thenReturn(Collections.singletonList(mockEmployee));
+        when(mockEmployeeService.snapshot())
+                .thenReturn(new EmployeeSnapshot(0, Collections.singletonList(mockEmployee)));
         when(employeeTranslator.convertToEmployee(mockEmployee)).thenReturn(employee);
 
         // Then
-        List<EmployeeResponse> result = employeeService.fetchAllEmployees();
+        List<EmployeeResponse> result = employeeService.fetchAllEmployees().join();
 
         // Assertions
         assertEquals(1, result.size());
@@ -91,24 +140,83 @@ class EmployeeServiceImplTest {
     @DisplayName("Test getAllEmployees - Empty")
     void testGetAllEmployees_Empty() {
         // When
-        when(mockEmployeeService.getMockEmployees()).thenReturn(Collections.emptyList());
+        when(mockEmployeeService.snapshot()).thenReturn(new EmployeeSnapshot(0, Collections.emptyList()));
 
         // Then
-        List<EmployeeResponse> result = employeeService.fetchAllEmployees();
+        List<EmployeeResponse> result = employeeService.fetchAllEmployees().join();
 
         // Assertions
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    @DisplayName("Test getDatasetVersion - Is the sequence the replica has caught up to")
+    void testGetDatasetVersion() {
+        // When
+        when(mockEmployeeService.snapshot())
+                .thenReturn(new EmployeeSnapshot(4, Collections.singletonList(mockEmployee)));
+        when(mockEmployeeService.getChangesSince(4)).thenReturn(Optional.of(List.of()));
+
+        // Then
+        OptionalLong bootstrapped = employeeService.getDatasetVersion().join();
+        OptionalLong caughtUp = employeeService.getDatasetVersion().join();
+
+        // Assertions
+        assertEquals(OptionalLong.of(4), bootstrapped);
+        assertEquals(OptionalLong.of(4), caughtUp);
+        verify(mockEmployeeService, times(1)).snapshot();
+    }
+
+    @Test
+    @DisplayName("Test getDatasetVersion - A full-list read in the same request reuses its sync")
+    void testGetDatasetVersion_SyncReused() {
+        // Given
+        when(mockEmployeeService.snapshot())
+                .thenReturn(new EmployeeSnapshot(4, Collections.singletonList(mockEmployee)));
+        when(mockEmployeeService.getChangesSince(4)).thenReturn(Optional.of(List.of()));
+        when(employeeTranslator.convertToEmployee(mockEmployee)).thenReturn(employee);
+        employeeService.getDatasetVersion().join();
+
+        // When
+        VersionToken.bind(new VersionToken(0));
+        try {
+            // Then
+            OptionalLong version = employeeService.getDatasetVersion().join();
+            List<EmployeeResponse> result = employeeService.fetchAllEmployees().join();
+
+            // Assertions
+            assertEquals(OptionalLong.of(4), version);
+            assertEquals(1, result.size());
+            verify(mockEmployeeService, times(1)).getChangesSince(4);
+        } finally {
+            VersionToken.unbind();
+        }
+    }
+
+    @Test
+    @DisplayName("Test getAllEmployees - Upstream failure falls back after retries")
+    void testGetAllEmployees_FallbackAfterRetries() {
+        // When
+        when(mockEmployeeService.snapshot()).thenThrow(new IllegalStateException("upstream down"));
+
+        // Then
+        List<EmployeeResponse> result = employeeService.fetchAllEmployees().join();
+
+        // Assertions
+        assertTrue(result.isEmpty());
+        verify(mockEmployeeService, times(3)).snapshot();
+    }
+
     @Test
     @DisplayName("Test getEmployeesByNameSearch - Success")
     void testGetEmployeesByNameSearch_Success() {
         // When
-        when(mockEmployeeService.getMockEmployees()).thenReturn(Collections.singletonList(mockEmployee));
+        when(mockEmployeeService.snapshot())
+                .thenReturn(new EmployeeSnapshot(0, Collections.singletonList(mockEmployee)));
         when(employeeTranslator.convertToEmployee(mockEmployee)).thenReturn(employee);
 
         // Then
-        List<EmployeeResponse> result = employeeService.getEmployeesByNameSearch("Swapnil");
+        List<EmployeeResponse> result = employeeService.getEmployeesByNameSearch("Swapnil").join();
 
         // Assertions
         assertEquals(1, result.size());
@@ -119,10 +227,10 @@ class EmployeeServiceImplTest {
     @DisplayName("Test getEmployeesByNameSearch - Empty")
     void testGetEmployeesByNameSearch_Empty() {
         // When
-        when(mockEmployeeService.getMockEmployees()).thenReturn(Collections.emptyList());
+        when(mockEmployeeService.snapshot()).thenReturn(new EmployeeSnapshot(0, Collections.emptyList()));
 
         // Then
-        List<EmployeeResponse> result = employeeService.getEmployeesByNameSearch("Borse");
+        List<EmployeeResponse> result = employeeService.getEmployeesByNameSearch("Borse").join();
 
         // Assertions
         assertTrue(result.isEmpty());
@@ -135,17 +243,74 @@ class EmployeeServiceImplTest {
         UUID id = mockEmployee.getId();
 
         // When
-        when(mockEmployeeService.getMockEmployees()).thenReturn(Collections.singletonList(mockEmployee));
+        when(mockEmployeeService.findByIds(List.of(id))).thenReturn(Collections.singletonList(mockEmployee));
         when(employeeTranslator.convertToEmployee(mockEmployee)).thenReturn(employee);
 
         // Then
-        EmployeeResponse result = employeeService.getEmployeeById(id.toString());
+        EmployeeResponse result = employeeService.getEmployeeById(id.toString()).join();
 
         // Assertions
         assertNotNull(result);
         assertEquals("Swapnil Patil", result.getName());
     }
 
+    @Test
+    @DisplayName("Test getEmployeeById - Concurrent lookups share one upstream batch")
+    void testGetEmployeeById_Batched() {
+        // Given
+        MockEmployee other =
+                new MockEmployee(UUID.randomUUID(), "Prerana Borse", 90000, 28, "Analyst", "prerana@company.com");
+
+        // When
+        when(mockEmployeeService.findByIds(List.of(mockEmployee.getId(), other.getId())))
+                .thenReturn(List.of(mockEmployee, other));
+        when(employeeTranslator.convertToEmployee(mockEmployee)).thenReturn(employee);
+        CompletableFuture<EmployeeResponse> first = employeeService.getEmployeeById(mockEmployee.getId().toString());
+        CompletableFuture<EmployeeResponse> second = employeeService.getEmployeeById(other.getId().toString());
+
+        // Then
+        first.join();
+        second.join();
+
+        // Assertions
+        verify(mockEmployeeService, times(1)).findByIds(any());
+    }
+
+    @Test
+    @DisplayName("Test getEmployeesByIds - Found employees in request order")
+    void testGetEmployeesByIds_Success() {
+        // Given
+        UUID unknown = UUID.randomUUID();
+
+        // When
+        when(mockEmployeeService.findByIds(List.of(unknown, mockEmployee.getId())))
+                .thenReturn(List.of(mockEmployee));
+        when(employeeTranslator.convertToEmployee(mockEmployee)).thenReturn(employee);
+
+        // Then
+        List<EmployeeResponse> result = employeeService
+                .getEmployeesByIds(List.of(unknown.toString(), mockEmployee.getId().toString()))
+                .join();
+
+        // Assertions
+        assertEquals(List.of(employee), result);
+    }
+
+    @Test
+    @DisplayName("Test getEmployeesByIds - Invalid ids rejected before any lookup")
+    void testGetEmployeesByIds_Invalid() {
+        // Then
+        Exception empty =
+                assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeesByIds(List.of()));
+        Exception malformed = assertThrows(
+                IllegalArgumentException.class, () -> employeeService.getEmployeesByIds(List.of("invalid-uuid")));
+
+        // Assertions
+        assertTrue(empty.getMessage().startsWith("Employee ids must be a non-empty list"));
+        assertEquals("Invalid employee ID format", malformed.getMessage());
+        verify(mockEmployeeService, never()).findByIds(any());
+    }
+
     @Test
     @DisplayName("Test getEmployeeById - Invalid UUID")
     void testGetEmployeeById_InvalidUUID() {
@@ -164,24 +329,125 @@ class EmployeeServiceImplTest {
         UUID id = UUID.randomUUID();
 
         // When
-        when(mockEmployeeService.getMockEmployees()).thenReturn(Collections.emptyList());
+        when(mockEmployeeService.findByIds(List.of(id))).thenReturn(Collections.emptyList());
 
         // Then
-        Exception ex = assertThrows(IllegalArgumentException.class, () -> {
-            employeeService.getEmployeeById(id.toString());
+        Exception ex = assertThrows(CompletionException.class, () -> {
+            employeeService.getEmployeeById(id.toString()).join();
         });
 
         // Assertions
-        assertTrue(ex.getMessage().contains("Employee not found for ID"));
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        assertTrue(ex.getCause().getMessage().contains("Employee not found for ID"));
+    }
+
+    @Test
+    @DisplayName("Test autocompleteEmployees - Success")
+    void testAutocompleteEmployees_Success() {
+        // When
+        when(mockEmployeeService.autocomplete("swa", 5)).thenReturn(Collections.singletonList(mockEmployee));
+        when(employeeTranslator.convertToEmployee(mockEmployee)).thenReturn(employee);
+
+        // Then
+        List<EmployeeResponse> result = employeeService.autocompleteEmployees("swa", 5).join();
+
+        // Assertions
+        assertEquals(1, result.size());
+        assertEquals("Swapnil Patil", result.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Test autocompleteEmployees - Blank prefix")
+    void testAutocompleteEmployees_BlankPrefix() {
+        // Then
+        Exception ex =
+                assertThrows(IllegalArgumentException.class, () -> employeeService.autocompleteEmployees(" ", 5));
+
+        // Assertions
+        assertEquals("Autocomplete prefix is blank", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Test getEmployeesBySalaryRange - Success")
+    void testGetEmployeesBySalaryRange_Success() {
+        // Given
+        EmployeePage page = new EmployeePage(Collections.singletonList(mockEmployee), "next");
+        EmployeePageResponse pageResponse = new EmployeePageResponse(Collections.singletonList(employee), "next");
+
+        // When
+        when(mockEmployeeService.findBySalaryRange(50000, 150000, null, 10)).thenReturn(page);
+        when(employeeTranslator.convertToEmployeePage(page)).thenReturn(pageResponse);
+
+        // Then
+        EmployeePageResponse result = employeeService
+                .getEmployeesBySalaryRange(50000, 150000, null, 10)
+                .join();
+
+        // Assertions
+        assertEquals(1, result.getEmployees().size());
+        assertEquals("next", result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test getEmployeesByAgeRange - Inverted range")
+    void testGetEmployeesByAgeRange_InvertedRange() {
+        // Then
+        Exception ex = assertThrows(
+                IllegalArgumentException.class, () -> employeeService.getEmployeesByAgeRange(40, 30, null, 10));
+
+        // Assertions
+        assertEquals("Range minimum must not exceed maximum", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Test getEmployeesByAgeRange - Invalid limit")
+    void testGetEmployeesByAgeRange_InvalidLimit() {
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> employeeService.getEmployeesByAgeRange(20, 30, null, 0));
+    }
+
+    @Test
+    @DisplayName("Test queryEmployees - Success")
+    void testQueryEmployees_Success() {
+        // Given
+        EmployeeQueryResult queryResult = new EmployeeQueryResult(Collections.singletonList(mockEmployee), null);
+        EmployeeQueryResponse queryResponse = new EmployeeQueryResponse(Collections.singletonList(employee), null);
+        ArgumentCaptor<EmployeeQuery> query = ArgumentCaptor.forClass(EmployeeQuery.class);
+
+        // When
+        when(mockEmployeeService.query(any(EmployeeQuery.class), eq(false))).thenReturn(queryResult);
+        when(employeeTranslator.convertToEmployeeQueryResponse(queryResult)).thenReturn(queryResponse);
+
+        // Then
+        EmployeeQueryResponse result = employeeService
+                .queryEmployees("title = 'Engineer' and salary > 50000", "salary desc", 10, false)
+                .join();
+
+        // Assertions
+        assertEquals(1, result.getEmployees().size());
+        verify(mockEmployeeService).query(query.capture(), eq(false));
+        assertEquals(QueryField.SALARY, query.getValue().orderBy());
+        assertTrue(query.getValue().descending());
+        assertEquals(10, query.getValue().limit());
+    }
+
+    @Test
+    @DisplayName("Test queryEmployees - Malformed query")
+    void testQueryEmployees_MalformedQuery() {
+        // Then
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> employeeService.queryEmployees("salary > 'high'", null, 10, false));
+        verify(mockEmployeeService, never()).query(any(), anyBoolean());
     }
 
     @Test
     @DisplayName("Test getHighestSalaryOfEmployees - Success")
     void testGetHighestSalaryOfEmployees() {
         // When
-        when(mockEmployeeService.getMockEmployees()).thenReturn(Arrays.asList(mockEmployee));
+        when(mockEmployeeService.snapshot()).thenReturn(new EmployeeSnapshot(0, Arrays.asList(mockEmployee)));
         // Then
-        Integer result = employeeService.getHighestSalaryOfEmployees();
+        Integer result = employeeService.getHighestSalaryOfEmployees().join();
 
         // Assertions
         assertEquals(100000, result);
@@ -191,10 +457,10 @@ class EmployeeServiceImplTest {
     @DisplayName("Test getHighestSalaryOfEmployees - Empty")
     void testGetHighestSalaryOfEmployees_Empty() {
         // When
-        when(mockEmployeeService.getMockEmployees()).thenReturn(Collections.emptyList());
+        when(mockEmployeeService.snapshot()).thenReturn(new EmployeeSnapshot(0, Collections.emptyList()));
 
         // Then
-        Integer result = employeeService.getHighestSalaryOfEmployees();
+        Integer result = employeeService.getHighestSalaryOfEmployees().join();
         // Assertions
         assertEquals(0, result);
     }
@@ -206,9 +472,9 @@ class EmployeeServiceImplTest {
         MockEmployee emp2 =
                 new MockEmployee(UUID.randomUUID(), "Prerana Patil", 200000, 28, "Lead", "prerana@company.com");
         // When
-        when(mockEmployeeService.getMockEmployees()).thenReturn(Arrays.asList(mockEmployee, emp2));
+        when(mockEmployeeService.snapshot()).thenReturn(new EmployeeSnapshot(0, Arrays.asList(mockEmployee, emp2)));
         // Then
-        List<String> result = employeeService.getTop10HighestEarningEmployeeNames();
+        List<String> result = employeeService.getTop10HighestEarningEmployeeNames().join();
 
         // Assertions
         assertEquals(2, result.size());
@@ -223,11 +489,11 @@ class EmployeeServiceImplTest {
         UUID id = mockEmployee.getId();
 
         // When
-        when(mockEmployeeService.getMockEmployees()).thenReturn(Collections.singletonList(mockEmployee));
+        when(mockEmployeeService.findByIds(List.of(id))).thenReturn(Collections.singletonList(mockEmployee));
         when(objectMapper.convertValue(mockEmployee, DeleteMockEmployeeInput.class))
                 .thenReturn(deleteMockEmployeeInput);
         // Then
-        String result = employeeService.deleteEmployeeById(id.toString());
+        String result = employeeService.deleteEmployeeById(id.toString()).join();
 
         // Assertions
         assertEquals("Swapnil Patil", result);
@@ -250,13 +516,15 @@ class EmployeeServiceImplTest {
         // Given
         UUID id = UUID.randomUUID();
         // When
-        when(mockEmployeeService.getMockEmployees()).thenReturn(Collections.emptyList());
+        when(mockEmployeeService.findByIds(List.of(id))).thenReturn(Collections.emptyList());
         // Then
-        Exception ex =
-                assertThrows(IllegalArgumentException.class, () -> employeeService.deleteEmployeeById(id.toString()));
+        Exception ex = assertThrows(
+                CompletionException.class,
+                () -> employeeService.deleteEmployeeById(id.toString()).join());
 
         // Assertions
-        assertTrue(ex.getMessage().contains("Employee not found for ID"));
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+        assertTrue(ex.getCause().getMessage().contains("Employee not found for ID"));
     }
 
     @Test
@@ -265,17 +533,55 @@ class EmployeeServiceImplTest {
         // When
         when(objectMapper.convertValue(employeeInput, CreateMockEmployeeInput.class))
                 .thenReturn(createMockEmployeeInput);
-        when(mockEmployeeService.create(createMockEmployeeInput)).thenReturn(mockEmployee);
+        when(mockEmployeeService.create(eq(createMockEmployeeInput), anyString())).thenReturn(mockEmployee);
         when(employeeTranslator.convertToEmployee(mockEmployee)).thenReturn(employee);
 
         // Then
-        EmployeeResponse result = employeeService.createEmployee(employeeInput);
+        EmployeeResponse result = employeeService.createEmployee(employeeInput).join();
 
         // Assertions
         assertNotNull(result);
         assertEquals("Swapnil Patil", result.getName());
     }
 
+    @Test
+    @DisplayName("Test createEmployee - Retried attempts reuse one idempotency key")
+    void testCreateEmployee_RetriesReuseIdempotencyKey() {
+        // When
+        when(objectMapper.convertValue(employeeInput, CreateMockEmployeeInput.class))
+                .thenReturn(createMockEmployeeInput);
+        when(mockEmployeeService.create(eq(createMockEmployeeInput), anyString()))
+                .thenThrow(new IllegalStateException("response lost"))
+                .thenReturn(mockEmployee);
+        when(employeeTranslator.convertToEmployee(mockEmployee)).thenReturn(employee);
+
+        // Then
+        EmployeeResponse result = employeeService.createEmployee(employeeInput).join();
+
+        // Assertions
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(mockEmployeeService, times(2)).create(eq(createMockEmployeeInput), keys.capture());
+        assertEquals(keys.getAllValues().get(0), keys.getAllValues().get(1));
+        assertNotNull(result);
+    }
+
+    @Test
+    @DisplayName("Test createEmployee - Client idempotency key is passed upstream")
+    void testCreateEmployee_ClientIdempotencyKey() {
+        // When
+        when(objectMapper.convertValue(employeeInput, CreateMockEmployeeInput.class))
+                .thenReturn(createMockEmployeeInput);
+        when(mockEmployeeService.create(createMockEmployeeInput, "order-42")).thenReturn(mockEmployee);
+        when(employeeTranslator.convertToEmployee(mockEmployee)).thenReturn(employee);
+
+        // Then
+        EmployeeResponse result = employeeService.createEmployee(employeeInput, "order-42").join();
+
+        // Assertions
+        assertEquals("Swapnil Patil", result.getName());
+        verify(mockEmployeeService).create(createMockEmployeeInput, "order-42");
+    }
+
     @Test
     @DisplayName("Test createEmployee - Null Input")
     void testCreateEmployee_NullInput() {
@@ -301,4 +607,123 @@ class EmployeeServiceImplTest {
         // Assertions
         assertEquals("Salary must be positive", ex.getMessage());
     }
+
+    @Test
+    @DisplayName("Test updateEmployee - Compare-and-set on the expected version")
+    void testUpdateEmployee_Success() {
+        // Given
+        EmployeePatch patch = new EmployeePatch(null, 120000, null, null);
+        UpdateMockEmployeeInput input = new UpdateMockEmployeeInput(null, 120000, null, null);
+        MockEmployee updated = mockEmployee.updatedWith(input);
+
+        // When
+        when(objectMapper.convertValue(patch, UpdateMockEmployeeInput.class)).thenReturn(input);
+        when(mockEmployeeService.update(mockEmployee.getId(), input, 1L))
+                .thenReturn(EmployeeUpdateResult.updated(updated));
+        when(employeeTranslator.convertToEmployee(updated)).thenReturn(employee);
+
+        // Then
+        EmployeeResponse result = employeeService
+                .updateEmployee(mockEmployee.getId().toString(), patch, 1L)
+                .join();
+
+        // Assertions
+        assertEquals(employee, result);
+        assertEquals(2, updated.getVersion());
+        verify(mockEmployeeService).update(mockEmployee.getId(), input, 1L);
+    }
+
+    @Test
+    @DisplayName("Test updateEmployee - Stale version is a conflict carrying the current version")
+    void testUpdateEmployee_VersionConflict() {
+        // Given
+        EmployeePatch patch = new EmployeePatch(null, 120000, null, null);
+        UpdateMockEmployeeInput input = new UpdateMockEmployeeInput(null, 120000, null, null);
+        MockEmployee current = mockEmployee.toBuilder().version(3).build();
+
+        // When
+        when(objectMapper.convertValue(patch, UpdateMockEmployeeInput.class)).thenReturn(input);
+        when(mockEmployeeService.update(mockEmployee.getId(), input, 1L))
+                .thenReturn(EmployeeUpdateResult.versionMismatch(current));
+
+        // Then
+        Exception ex = assertThrows(
+                CompletionException.class,
+                () -> employeeService
+                        .updateEmployee(mockEmployee.getId().toString(), patch, 1L)
+                        .join());
+
+        // Assertions
+        EmployeeVersionConflictException conflict =
+                assertInstanceOf(EmployeeVersionConflictException.class, ex.getCause());
+        assertEquals(3, conflict.getCurrentVersion());
+    }
+
+    @Test
+    @DisplayName("Test updateEmployee - Unknown id and empty patch are rejected")
+    void testUpdateEmployee_NotFoundAndEmptyPatch() {
+        // Given
+        EmployeePatch patch = new EmployeePatch("Prerana Patil", null, null, null);
+        UpdateMockEmployeeInput input = new UpdateMockEmployeeInput("Prerana Patil", null, null, null);
+        UUID id = UUID.randomUUID();
+
+        // When
+        when(objectMapper.convertValue(patch, UpdateMockEmployeeInput.class)).thenReturn(input);
+        when(mockEmployeeService.update(id, input, null)).thenReturn(EmployeeUpdateResult.notFound());
+
+        // Then
+        Exception notFound = assertThrows(
+                CompletionException.class,
+                () -> employeeService.updateEmployee(id.toString(), patch, null).join());
+        Exception empty = assertThrows(
+                IllegalArgumentException.class,
+                () -> employeeService.updateEmployee(id.toString(), new EmployeePatch(), null));
+
+        // Assertions
+        assertInstanceOf(IllegalArgumentException.class, notFound.getCause());
+        assertEquals("Employee update has no fields.", empty.getMessage());
+    }
+
+    @Test
+    @DisplayName("Test bulkUpdateEmployees - One upstream write with the parsed predicate and update")
+    void testBulkUpdateEmployees_Success() {
+        // Given
+        BulkUpdateReport report = new BulkUpdateReport("hash index title = 'Developer'", 1, 1, 7, 8, 0, 1000.0);
+        ArgumentCaptor<Predicate> where = ArgumentCaptor.forClass(Predicate.class);
+        ArgumentCaptor<UpdateExpression> set = ArgumentCaptor.forClass(UpdateExpression.class);
+
+        // When
+        when(mockEmployeeService.bulkUpdate(any(Predicate.class), any(UpdateExpression.class)))
+                .thenReturn(report);
+
+        // Then
+        BulkUpdateReport result = employeeService
+                .bulkUpdateEmployees("title = 'developer'", "salary = salary * 1.04, title = 'Senior Developer'")
+                .join();
+
+        // Assertions
+        assertEquals(report, result);
+        verify(mockEmployeeService, times(1)).bulkUpdate(where.capture(), set.capture());
+        assertTrue(where.getValue().test(mockEmployee));
+        MockEmployee updated = set.getValue().apply(mockEmployee);
+        assertEquals(104000, updated.getSalary());
+        assertEquals("Senior Developer", updated.getTitle());
+        assertEquals(2, updated.getVersion());
+    }
+
+    @Test
+    @DisplayName("Test bulkUpdateEmployees - Malformed, unsettable and out-of-range updates are rejected")
+    void testBulkUpdateEmployees_Invalid() {
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> employeeService.bulkUpdateEmployees(null, "salary ="));
+        assertThrows(
+                IllegalArgumentException.class, () -> employeeService.bulkUpdateEmployees(null, "email = 'x@y.z'"));
+        assertThrows(
+                IllegalArgumentException.class, () -> employeeService.bulkUpdateEmployees(null, "salary = age * 2"));
+        assertThrows(IllegalArgumentException.class, () -> employeeService.bulkUpdateEmployees(null, "age = 90"));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> UpdateExpression.parse("age = age + 50").apply(mockEmployee));
+        verify(mockEmployeeService, never()).bulkUpdate(any(), any());
+    }
 }
@@ -0,0 +1,146 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeStageEventTest {
+
+    @Test
+    @DisplayName("Test record - Returns the stage result and records its sizes while enabled")
+    void testRecord_RecordsSizes() throws Exception {
+        // When
+        List<RecordedEvent> events;
+        List<Integer> evens;
+        try (Recording recording = new Recording()) {
+            recording.enable(EmployeeStageEvent.NAME);
+            recording.start();
+            evens = EmployeeStageEvent.record(
+                    "search",
+                    EmployeeStageEvent.Stage.FILTER,
+                    4,
+                    () -> List.of(1, 2, 3, 4).stream().filter(i -> i % 2 == 0).toList(),
+                    List::size);
+            recording.stop();
+            events = read(recording);
+        }
+
+        // Then
+        RecordedEvent event = events.get(0);
+
+        // Assertions
+        assertEquals(List.of(2, 4), evens);
+        assertEquals(1, events.size());
+        assertEquals("search", event.getString("operation"));
+        assertEquals("FILTER", event.getString("stage"));
+        assertEquals(4, event.getInt("datasetSize"));
+        assertEquals(2, event.getInt("resultSize"));
+        assertFalse(event.getBoolean("failed"));
+    }
+
+    @Test
+    @DisplayName("Test recordAsync - Records the rows asked for and the rows the future completed with")
+    void testRecordAsync_RecordsSizes() throws Exception {
+        // When
+        List<RecordedEvent> events;
+        CompletableFuture<List<Integer>> fetched;
+        try (Recording recording = new Recording()) {
+            recording.enable(EmployeeStageEvent.NAME);
+            recording.start();
+            fetched = EmployeeStageEvent.recordAsync(
+                    "getEmployeesByIds",
+                    EmployeeStageEvent.Stage.FETCH,
+                    3,
+                    () -> CompletableFuture.completedFuture(List.of(1, 2)),
+                    List::size);
+            recording.stop();
+            events = read(recording);
+        }
+
+        // Then
+        RecordedEvent event = events.get(0);
+
+        // Assertions
+        assertEquals(List.of(1, 2), fetched.join());
+        assertEquals("getEmployeesByIds", event.getString("operation"));
+        assertEquals(3, event.getInt("datasetSize"));
+        assertEquals(2, event.getInt("resultSize"));
+        assertFalse(event.getBoolean("failed"));
+    }
+
+    @Test
+    @DisplayName("Test recordAsync - Records a failed future as a failed stage")
+    void testRecordAsync_RecordsFailure() throws Exception {
+        // When
+        List<RecordedEvent> events;
+        CompletableFuture<List<Integer>> fetched;
+        try (Recording recording = new Recording()) {
+            recording.enable(EmployeeStageEvent.NAME);
+            recording.start();
+            fetched = EmployeeStageEvent.recordAsync(
+                    "fetchAllEmployees",
+                    EmployeeStageEvent.Stage.FETCH,
+                    0,
+                    () -> CompletableFuture.failedFuture(new IllegalStateException("upstream down")),
+                    List::size);
+            recording.stop();
+            events = read(recording);
+        }
+
+        // Then
+        RecordedEvent event = events.get(0);
+
+        // Assertions
+        assertTrue(fetched.isCompletedExceptionally());
+        assertEquals("FETCH", event.getString("stage"));
+        assertEquals(0, event.getInt("resultSize"));
+        assertTrue(event.getBoolean("failed"));
+    }
+
+    @Test
+    @DisplayName("Test record - Runs the stage without recording when no recording is enabled")
+    void testRecord_Disabled() {
+        // When
+        List<Integer> translated = EmployeeStageEvent.record(
+                "search", EmployeeStageEvent.Stage.TRANSLATE, 3, () -> List.of(1, 2, 3), List::size);
+
+        // Then
+        IllegalStateException thrown = assertThrows(
+                IllegalStateException.class,
+                () -> EmployeeStageEvent.record(
+                        "search",
+                        EmployeeStageEvent.Stage.SORT,
+                        3,
+                        () -> {
+                            throw new IllegalStateException("boom");
+                        },
+                        ignored -> 0));
+
+        // Assertions
+        assertEquals(List.of(1, 2, 3), translated);
+        assertEquals("boom", thrown.getMessage());
+    }
+
+    private static List<RecordedEvent> read(Recording recording) throws Exception {
+        Path dump = Files.createTempFile("employee-stage", ".jfr");
+        try {
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump).stream()
+                    .filter(event -> event.getEventType().getName().equals(EmployeeStageEvent.NAME))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class HttpEmployeeNodeTest {
+
+    private static final String SMILE = "application/x-jackson-smile";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private MockEmployee swapnil;
+
+    @BeforeEach
+    void setUp() {
+        swapnil = new MockEmployee(UUID.randomUUID(), "Swapnil Patil", 100000, 30, "Developer", "swapnil@company.com");
+    }
+
+    @Test
+    @DisplayName("Test findAll - Asks for Smile and decodes a Smile answer")
+    void testFindAll_Smile() throws Exception {
+        // Given
+        byte[] body = new ObjectMapper(new SmileFactory()).writeValueAsBytes(Response.handledWith(List.of(swapnil)));
+        HttpEmployeeNode node = node(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, SMILE)
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                .build());
+
+        // Then
+        List<MockEmployee> result = node.findAll().join();
+
+        // Assertions
+        assertEquals(List.of(swapnil), result);
+        assertEquals(HttpEmployeeNode.ACCEPT, requests.get(0).headers().getFirst(HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    @DisplayName("Test findAll - A JSON answer is still decoded")
+    void testFindAll_JsonFallback() throws Exception {
+        // Given
+        HttpEmployeeNode node = node(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(objectMapper.writeValueAsString(Response.handledWith(List.of(swapnil))))
+                .build());
+
+        // Then
+        List<MockEmployee> result = node.findAll().join();
+
+        // Assertions
+        assertEquals(List.of(swapnil), result);
+    }
+
+    private HttpEmployeeNode node(ClientResponse answer) {
+        WebClient.Builder webClientBuilder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            return Mono.just(answer);
+        });
+        return HttpEmployeeNode.create(webClientBuilder, objectMapper, "http://shard");
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LeastOutstandingBalancerTest {
+
+    @Test
+    @DisplayName("Test acquire - Picks the node with the fewest requests in flight")
+    void testAcquire_LeastOutstanding() {
+        // When
+        LeastOutstandingBalancer<String> balancer = new LeastOutstandingBalancer<>(List.of("a", "b", "c"));
+        int first = balancer.acquire();
+        int second = balancer.acquire();
+        int third = balancer.acquire();
+        balancer.release(second);
+
+        // Then
+        int next = balancer.acquire();
+
+        // Assertions
+        assertEquals(3, List.of(first, second, third).stream().distinct().count());
+        assertEquals(second, next);
+        assertEquals(1, balancer.getOutstanding(first));
+    }
+
+    @Test
+    @DisplayName("Test constructor - Requires at least one node")
+    void testConstructor_Empty() {
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> new LeastOutstandingBalancer<>(List.of()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.model.SearchCacheStatsResponse;
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NameSearchCacheTest {
+
+    private NameSearchCache nameSearchCache;
+
+    private MockEmployee swapnil;
+
+    @BeforeEach
+    void setUp() {
+        nameSearchCache = new NameSearchCache(100);
+        swapnil = new MockEmployee(UUID.randomUUID(), "Swapnil Patil", 100000, 30, "Developer", "swapnil@company.com");
+    }
+
+    @Test
+    @DisplayName("Test get - Records hits and misses")
+    void testGet_HitsAndMisses() {
+        // When
+        nameSearchCache.put("patil", List.of(new EmployeeResponse()), nameSearchCache.generation());
+
+        // Then
+        boolean hit = nameSearchCache.get("patil").isPresent();
+        boolean miss = nameSearchCache.get("borse").isPresent();
+
+        // Assertions
+        assertTrue(hit);
+        assertFalse(miss);
+        assertEquals(1, nameSearchCache.stats().getHitCount());
+        assertEquals(1, nameSearchCache.stats().getMissCount());
+    }
+
+    @Test
+    @DisplayName("Test onChange - Invalidates only keys contained in the changed name")
+    void testOnChange_InvalidatesMatchingKeys() {
+        // When
+        long generation = nameSearchCache.generation();
+        nameSearchCache.put("patil", List.of(), generation);
+        nameSearchCache.put("swap", List.of(), generation);
+        nameSearchCache.put("borse", List.of(), generation);
+
+        // Then
+        nameSearchCache.onChange(new EmployeeChangeEvent(1, EmployeeChangeEvent.Type.CREATED, swapnil));
+
+        // Assertions
+        assertTrue(nameSearchCache.get("patil").isEmpty());
+        assertTrue(nameSearchCache.get("swap").isEmpty());
+        assertTrue(nameSearchCache.get("borse").isPresent());
+        assertEquals(2, nameSearchCache.stats().getInvalidationCount());
+    }
+
+    @Test
+    @DisplayName("Test put - Result computed across an invalidation is not cached")
+    void testPut_StaleGenerationDropped() {
+        // When
+        long generation = nameSearchCache.generation();
+        nameSearchCache.onChange(new EmployeeChangeEvent(1, EmployeeChangeEvent.Type.DELETED, swapnil));
+
+        // Then
+        nameSearchCache.put("borse", List.of(), generation);
+
+        // Assertions
+        assertTrue(nameSearchCache.get("borse").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test put - Size bound evicts entries")
+    void testPut_EvictsBeyondMaximumSize() {
+        // When
+        NameSearchCache smallCache = new NameSearchCache(2);
+        for (int i = 0; i < 10; i++) {
+            smallCache.put("key" + i, List.of(), smallCache.generation());
+        }
+
+        // Then
+        SearchCacheStatsResponse stats = smallCache.stats();
+
+        // Assertions
+        assertTrue(stats.getSize() <= 2);
+        assertTrue(stats.getEvictionCount() >= 8);
+    }
+}
@@ -0,0 +1,100 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ParallelQueryExecutorTest {
+
+    private ParallelQueryExecutor parallelQueryExecutor;
+
+    private List<Integer> rows;
+
+    @BeforeEach
+    void setUp() {
+        parallelQueryExecutor = new ParallelQueryExecutor(4, 16);
+        Random random = new Random(42);
+        rows = IntStream.range(0, 1000).map(i -> random.nextInt(200)).boxed().toList();
+    }
+
+    @AfterEach
+    void tearDown() {
+        parallelQueryExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test filter - Matches the sequential filter in view order")
+    void testFilter_MatchesSequential() {
+        // When
+        List<Integer> matches = parallelQueryExecutor.filter(rows, value -> value % 7 == 0);
+
+        // Then
+        List<Integer> expected = rows.stream().filter(value -> value % 7 == 0).toList();
+
+        // Assertions
+        assertEquals(expected, matches);
+    }
+
+    @Test
+    @DisplayName("Test max - Returns the first largest row and empty for an empty view")
+    void testMax_FirstLargestRow() {
+        // When
+        List<int[]> pairs = IntStream.range(0, 100).mapToObj(i -> new int[] {i % 10, i}).toList();
+
+        // Then
+        int[] max = parallelQueryExecutor.max(pairs, Comparator.comparingInt(pair -> pair[0])).orElseThrow();
+
+        // Assertions
+        assertEquals(9, max[0]);
+        assertEquals(9, max[1]);
+        assertTrue(parallelQueryExecutor.max(List.<Integer>of(), Integer::compare).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test topK - Matches a stable descending sort cut at k")
+    void testTopK_MatchesStableSort() {
+        // When
+        List<int[]> pairs = IntStream.range(0, rows.size())
+                .mapToObj(i -> new int[] {rows.get(i), i})
+                .toList();
+        Comparator<int[]> bySalary = Comparator.comparingInt(pair -> pair[0]);
+
+        // Then
+        List<int[]> top = parallelQueryExecutor.topK(pairs, 25, bySalary);
+        List<int[]> expected = pairs.stream().sorted(bySalary.reversed()).limit(25).toList();
+
+        // Assertions
+        assertEquals(25, top.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[1], top.get(i)[1]);
+        }
+    }
+
+    @Test
+    @DisplayName("Test topK - Returns every row when k exceeds the view and nothing when k is zero")
+    void testTopK_SmallViews() {
+        // When
+        List<Integer> all = parallelQueryExecutor.topK(List.of(3, 1, 2), 10, Integer::compare);
+        List<Integer> none = parallelQueryExecutor.topK(rows, 0, Integer::compare);
+
+        // Assertions
+        assertEquals(List.of(3, 2, 1), all);
+        assertTrue(none.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test constructor - Rejects a non-positive chunk size")
+    void testConstructor_InvalidChunkSize() {
+        // Assertions
+        assertThrows(IllegalArgumentException.class, () -> new ParallelQueryExecutor(2, 0));
+    }
+}
@@ -0,0 +1,144 @@
+package com.reliaquest.api.service;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.translator.EmployeeTranslator;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+class ReplicatedEmployeeServiceTest {
+
+    @Mock
+    private HttpEmployeeNode primary;
+
+    @Mock
+    private HttpEmployeeNode replica;
+
+    @Mock
+    private EmployeeServiceImpl employeeServiceImpl;
+
+    private final UpstreamFixture upstream = new UpstreamFixture();
+
+    private ReplicatedEmployeeService employeeService;
+
+    private MockEmployee swapnil;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeService = new ReplicatedEmployeeService(
+                primary,
+                new LeastOutstandingBalancer<>(List.of(replica)),
+                upstream.upstreamCallExecutor(),
+                new EmployeeTranslator(),
+                // As configured by Spring Boot, which ignores EmployeeInput's derived validationError property.
+                new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES),
+                employeeServiceImpl,
+                upstream.batchingLoaderFactory());
+        swapnil = new MockEmployee(UUID.randomUUID(), "Swapnil Patil", 100000, 30, "Developer", "swapnil@company.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        VersionToken.unbind();
+        upstream.close();
+    }
+
+    @Test
+    @DisplayName("Test fetchAllEmployees - Served by a replica with the request's minimum version")
+    void testFetchAllEmployees_FromReplica() {
+        // When
+        VersionToken.bind(new VersionToken(7));
+        when(replica.findAll(7)).thenReturn(completedFuture(List.of(swapnil)));
+
+        // Then
+        List<EmployeeResponse> result = employeeService.fetchAllEmployees().join();
+
+        // Assertions
+        assertEquals(1, result.size());
+        verify(primary, never()).findAll(any(Long.class));
+    }
+
+    @Test
+    @DisplayName("Test fetchAllEmployees - Lagging replica falls back to the primary")
+    void testFetchAllEmployees_LaggingReplica() {
+        // When
+        VersionToken.bind(new VersionToken(9));
+        when(replica.findAll(9)).thenReturn(failedFuture(HttpClientErrorException.create(
+                HttpStatus.PRECONDITION_FAILED, "Precondition Failed", new HttpHeaders(), new byte[0], null)));
+        when(primary.findAll(9)).thenReturn(completedFuture(List.of(swapnil)));
+
+        // Then
+        List<EmployeeResponse> result = employeeService.fetchAllEmployees().join();
+
+        // Assertions
+        assertEquals("Swapnil Patil", result.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("Test getEmployeeById - Concurrent lookups share one batch at the highest minimum version")
+    void testGetEmployeeById_BatchedAtHighestVersion() {
+        // Given
+        MockEmployee prerana =
+                new MockEmployee(UUID.randomUUID(), "Prerana Borse", 90000, 28, "Analyst", "prerana@company.com");
+
+        // When
+        when(replica.findByIds(List.of(swapnil.getId(), prerana.getId()), 5))
+                .thenReturn(completedFuture(List.of(prerana, swapnil)));
+        VersionToken.bind(new VersionToken(3));
+        CompletableFuture<EmployeeResponse> first = employeeService.getEmployeeById(swapnil.getId().toString());
+        VersionToken.bind(new VersionToken(5));
+        CompletableFuture<EmployeeResponse> second = employeeService.getEmployeeById(prerana.getId().toString());
+
+        // Then
+        EmployeeResponse firstResult = first.join();
+        EmployeeResponse secondResult = second.join();
+
+        // Assertions
+        assertEquals("Swapnil Patil", firstResult.getName());
+        assertEquals("Prerana Borse", secondResult.getName());
+        verify(replica, times(1)).findByIds(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Test createEmployee - Written to the primary and its version recorded in the token")
+    void testCreateEmployee_RecordsVersion() {
+        // When
+        VersionToken token = new VersionToken(0);
+        VersionToken.bind(token);
+        when(primary.createVersioned(any(), any())).thenReturn(completedFuture(new Versioned<>(swapnil, 12)));
+
+        // Then
+        EmployeeResponse result = employeeService
+                .createEmployee(new EmployeeInput("Swapnil Patil", 100000, 30, "Developer"))
+                .join();
+
+        // Assertions
+        assertEquals("Swapnil Patil", result.getName());
+        assertEquals(OptionalLong.of(12), token.getObserved());
+    }
+}
@@ -0,0 +1,278 @@
+package com.reliaquest.api.service;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeePageResponse;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.translator.EmployeeTranslator;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.ShardSettings;
+import com.reliaquest.server.service.index.NameTrieIndex;
+import com.reliaquest.server.service.index.SortedFieldIndex;
+import com.reliaquest.server.service.shard.ConsistentHashRing;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class ShardedEmployeeServiceTest {
+
+    @Mock
+    private EmployeeShard firstShard;
+
+    @Mock
+    private EmployeeShard secondShard;
+
+    @Mock
+    private EmployeeServiceImpl employeeServiceImpl;
+
+    private final ConsistentHashRing shardRing = new ConsistentHashRing(2, 128);
+
+    private final UpstreamFixture upstream = new UpstreamFixture();
+
+    private ShardedEmployeeService employeeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeService = new ShardedEmployeeService(
+                List.of(firstShard, secondShard),
+                shardRing,
+                NameTrieIndex.Rank.SALARY,
+                upstream.upstreamCallExecutor(),
+                new EmployeeTranslator(),
+                new ObjectMapper(),
+                employeeServiceImpl,
+                upstream.batchingLoaderFactory());
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    @DisplayName("Test getEmployeeById - Routed to the owning shard only")
+    void testGetEmployeeById_RoutedToOwner() {
+        // Given
+        UUID id = idOwnedBy(1);
+        MockEmployee employee = new MockEmployee(id, "Prerana Patil", 200000, 28, "Lead", "prerana@company.com");
+
+        // When
+        when(secondShard.findByIds(List.of(id))).thenReturn(completedFuture(List.of(employee)));
+
+        // Then
+        EmployeeResponse result = employeeService.getEmployeeById(id.toString()).join();
+
+        // Assertions
+        assertEquals("Prerana Patil", result.getName());
+        verify(firstShard, never()).findByIds(any());
+    }
+
+    @Test
+    @DisplayName("Test getEmployeesByIds - One batch per owning shard, results in request order")
+    void testGetEmployeesByIds_OneBatchPerShard() {
+        // Given
+        UUID first = idOwnedBy(0);
+        UUID second = idOwnedBy(1);
+        UUID third = idOwnedBy(0);
+        UUID unknown = idOwnedBy(1);
+
+        // When
+        when(firstShard.findByIds(List.of(first, third)))
+                .thenReturn(completedFuture(List.of(employee(third, "C"), employee(first, "A"))));
+        when(secondShard.findByIds(List.of(second, unknown)))
+                .thenReturn(completedFuture(List.of(employee(second, "B"))));
+
+        // Then
+        List<EmployeeResponse> result = employeeService
+                .getEmployeesByIds(List.of(first.toString(), second.toString(), third.toString(), unknown.toString()))
+                .join();
+
+        // Assertions
+        assertEquals(List.of("A", "B", "C"), result.stream().map(EmployeeResponse::getName).toList());
+        verify(firstShard, times(1)).findByIds(any());
+        verify(secondShard, times(1)).findByIds(any());
+    }
+
+    @Test
+    @DisplayName("Test getTop10HighestEarningEmployeeNames - Merges each shard's top earners")
+    void testGetTop10_MergesPartials() {
+        // When
+        when(firstShard.findTopBySalary(10))
+                .thenReturn(completedFuture(List.of(employee("A", 900), employee("C", 500))));
+        when(secondShard.findTopBySalary(10))
+                .thenReturn(completedFuture(List.of(employee("B", 700), employee("D", 100))));
+
+        // Then
+        List<String> result = employeeService.getTop10HighestEarningEmployeeNames().join();
+
+        // Assertions
+        assertEquals(List.of("A", "B", "C", "D"), result);
+    }
+
+    @Test
+    @DisplayName("Test getHighestSalaryOfEmployees - Max of shard maxima, empty shards ignored")
+    void testGetHighestSalary_MaxOfShards() {
+        // When
+        when(firstShard.findHighestSalary()).thenReturn(completedFuture(Optional.empty()));
+        when(secondShard.findHighestSalary()).thenReturn(completedFuture(Optional.of(420000)));
+
+        // Then
+        Integer result = employeeService.getHighestSalaryOfEmployees().join();
+
+        // Assertions
+        assertEquals(420000, result);
+    }
+
+    @Test
+    @DisplayName("Test getEmployeesByNameSearch - Concatenates matches from every shard")
+    void testGetEmployeesByNameSearch_Scatter() {
+        // When
+        when(firstShard.searchByName("patil")).thenReturn(completedFuture(List.of(employee("Swapnil Patil", 100))));
+        when(secondShard.searchByName("patil")).thenReturn(completedFuture(List.of(employee("Prerana Patil", 200))));
+
+        // Then
+        List<EmployeeResponse> result = employeeService.getEmployeesByNameSearch("patil").join();
+
+        // Assertions
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    @DisplayName("Test getEmployeesBySalaryRange - Merges shard pages in order and resumes every shard from the cursor")
+    void testGetEmployeesBySalaryRange_MergesPages() {
+        // Given
+        MockEmployee a = employee("A", 100);
+        MockEmployee b = employee("B", 200);
+        MockEmployee c = employee("C", 300);
+        MockEmployee d = employee("D", 400);
+        String cursor = SortedFieldIndex.cursorAfter(200, b.getId());
+
+        // When
+        when(firstShard.findBySalaryRange(50, null, null, 2))
+                .thenReturn(completedFuture(new EmployeePage(List.of(a, c), "first")));
+        when(secondShard.findBySalaryRange(50, null, null, 2))
+                .thenReturn(completedFuture(new EmployeePage(List.of(b, d), null)));
+        when(firstShard.findBySalaryRange(50, null, cursor, 2))
+                .thenReturn(completedFuture(new EmployeePage(List.of(c), null)));
+        when(secondShard.findBySalaryRange(50, null, cursor, 2))
+                .thenReturn(completedFuture(new EmployeePage(List.of(d), null)));
+
+        // Then
+        EmployeePageResponse first = employeeService.getEmployeesBySalaryRange(50, null, null, 2).join();
+        EmployeePageResponse second = employeeService
+                .getEmployeesBySalaryRange(50, null, first.getNextCursor(), 2)
+                .join();
+
+        // Assertions
+        assertEquals(List.of("A", "B"), names(first.getEmployees()));
+        assertEquals(cursor, first.getNextCursor());
+        assertEquals(List.of("C", "D"), names(second.getEmployees()));
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test getEmployeesByAgeRange - Equal ages are ordered by id across shards")
+    void testGetEmployeesByAgeRange_TiesById() {
+        // Given
+        UUID low = new UUID(0, 1);
+        UUID middle = new UUID(0, 2);
+        UUID high = new UUID(0, 3);
+
+        // When
+        when(firstShard.findByAgeRange(30, 30, null, 10))
+                .thenReturn(completedFuture(new EmployeePage(List.of(employee(low, "A"), employee(high, "C")), null)));
+        when(secondShard.findByAgeRange(30, 30, null, 10))
+                .thenReturn(completedFuture(new EmployeePage(List.of(employee(middle, "B")), null)));
+
+        // Then
+        EmployeePageResponse result = employeeService.getEmployeesByAgeRange(30, 30, null, 10).join();
+
+        // Assertions
+        assertEquals(List.of("A", "B", "C"), names(result.getEmployees()));
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Test autocompleteEmployees - Keeps the best completions of every shard in rank order")
+    void testAutocompleteEmployees_MergesByRank() {
+        // When
+        when(firstShard.autocomplete("an", 3))
+                .thenReturn(
+                        completedFuture(List.of(employee("Ann", 900), employee("Anna", 500), employee("Andy", 100))));
+        when(secondShard.autocomplete("an", 3))
+                .thenReturn(completedFuture(List.of(employee("Ana", 700), employee("Anil", 600))));
+
+        // Then
+        List<EmployeeResponse> result = employeeService.autocompleteEmployees("an", 3).join();
+
+        // Assertions
+        assertEquals(List.of("Ann", "Ana", "Anil"), names(result));
+    }
+
+    @Test
+    @DisplayName("Test queryEmployees - Rejected while sharded")
+    void testQueryEmployees_Unsupported() {
+        // Then
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> employeeService.queryEmployees("salary > 0", null, 10, false));
+    }
+
+    @Test
+    @DisplayName("Test checkShardSettings - A shard with other settings is refused, an unreachable one is skipped")
+    void testCheckShardSettings() {
+        // When
+        when(firstShard.getShardSettings()).thenReturn(failedFuture(new IllegalStateException("Connection refused")));
+        when(secondShard.getShardSettings())
+                .thenReturn(completedFuture(new ShardSettings(1, 2, 128, NameTrieIndex.Rank.SALARY)));
+
+        // Then
+        employeeService.checkShardSettings();
+
+        // Assertions
+        when(secondShard.getShardSettings())
+                .thenReturn(completedFuture(new ShardSettings(0, 1, 128, NameTrieIndex.Rank.SALARY)));
+        assertThrows(IllegalStateException.class, () -> employeeService.checkShardSettings());
+        when(secondShard.getShardSettings())
+                .thenReturn(completedFuture(new ShardSettings(1, 2, 128, NameTrieIndex.Rank.NAME)));
+        assertThrows(IllegalStateException.class, () -> employeeService.checkShardSettings());
+    }
+
+    private static List<String> names(List<EmployeeResponse> employees) {
+        return employees.stream().map(EmployeeResponse::getName).toList();
+    }
+
+    private UUID idOwnedBy(int shard) {
+        UUID id;
+        do {
+            id = UUID.randomUUID();
+        } while (shardRing.shardFor(id) != shard);
+        return id;
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 30, "Developer", name + "@company.com");
+    }
+
+    private static MockEmployee employee(UUID id, String name) {
+        return new MockEmployee(id, name, 100, 30, "Developer", name + "@company.com");
+    }
+}
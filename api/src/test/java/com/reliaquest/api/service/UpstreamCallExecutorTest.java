@@ -0,0 +1,195 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.constants.EmployeeConstant;
+import com.reliaquest.api.exception.ServiceOverloadedException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+// Attempts queue on a list the test drains by hand, so a call stays in flight for as long as a test needs it to.
+class UpstreamCallExecutorTest {
+
+    private final UpstreamFixture upstream = new UpstreamFixture();
+    private final List<Runnable> queued = new ArrayList<>();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    @DisplayName("Test read - A call over the bulkhead is shed at once with a 503 cause and never reaches upstream")
+    void testRead_BulkheadFull() {
+        // Given
+        Bulkhead readBulkhead = Bulkhead.of(
+                "employeeApiRead",
+                BulkheadConfig.custom()
+                        .maxConcurrentCalls(1)
+                        .maxWaitDuration(Duration.ZERO)
+                        .build());
+        UpstreamCallExecutor executor = upstream.upstreamCallExecutor(
+                retry(), readBulkhead, new AdaptiveConcurrencyLimiter(20, 4, 200, Long.MAX_VALUE, 0.9), queued::add);
+
+        // When
+        CompletableFuture<Integer> inFlight = executor.read(upstreamCalls::incrementAndGet);
+        CompletableFuture<Integer> shed = executor.read(upstreamCalls::incrementAndGet);
+        queued.forEach(Runnable::run);
+        CompletableFuture<Integer> afterRelease = executor.read(upstreamCalls::incrementAndGet);
+        queued.get(1).run();
+
+        // Assertions
+        ServiceOverloadedException overloaded = assertInstanceOf(ServiceOverloadedException.class, failure(shed));
+        assertEquals(EmployeeConstant.BULKHEAD_FULL + "employeeApiRead", overloaded.getMessage());
+        assertEquals(1, inFlight.join());
+        assertEquals(2, afterRelease.join());
+        assertEquals(2, queued.size());
+        assertEquals(1, readBulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    @Test
+    @DisplayName("Test read - A call over the concurrency limit is shed and hands back its bulkhead permit")
+    void testRead_ConcurrencyLimitReached() {
+        // Given
+        Bulkhead readBulkhead = Bulkhead.ofDefaults("employeeApiRead");
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, Long.MAX_VALUE, 0.9);
+        UpstreamCallExecutor executor = upstream.upstreamCallExecutor(retry(), readBulkhead, limiter, queued::add);
+        int permits = readBulkhead.getMetrics().getMaxAllowedConcurrentCalls();
+
+        // When
+        CompletableFuture<Integer> inFlight = executor.read(upstreamCalls::incrementAndGet);
+        CompletableFuture<Integer> shed = executor.read(upstreamCalls::incrementAndGet);
+        int availableWhileInFlight = readBulkhead.getMetrics().getAvailableConcurrentCalls();
+        queued.forEach(Runnable::run);
+
+        // Assertions
+        ServiceOverloadedException overloaded = assertInstanceOf(ServiceOverloadedException.class, failure(shed));
+        assertEquals(EmployeeConstant.CONCURRENCY_LIMIT_REACHED, overloaded.getMessage());
+        assertEquals(permits - 1, availableWhileInFlight);
+        assertEquals(1, inFlight.join());
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(permits, readBulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+
+    /*
+     * The in-process MockEmployeeService never answers 429, so the throttling path is driven through HttpEmployeeNode,
+     * the client the replicated and remote-sharded topologies call upstream with.
+     */
+    @Test
+    @DisplayName("Test readAsync - A 429 from an HTTP node is retried and shrinks the adaptive concurrency limit")
+    void testReadAsync_ThrottledByHttpNode() {
+        // Given
+        Deque<ClientResponse> answers = new ArrayDeque<>(List.of(
+                ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS).build(),
+                ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body("{\"data\":91000}")
+                        .build()));
+        List<URI> requested = new ArrayList<>();
+        HttpEmployeeNode node = new HttpEmployeeNode(WebClient.builder()
+                .baseUrl("http://mock-server")
+                .exchangeFunction(request -> {
+                    requested.add(request.url());
+                    return Mono.just(answers.removeFirst());
+                })
+                .build());
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, Long.MAX_VALUE, 0.5);
+        UpstreamCallExecutor executor = upstream.upstreamCallExecutor(
+                retry(), Bulkhead.ofDefaults("employeeApiRead"), limiter, Runnable::run);
+
+        // When
+        Optional<Integer> highest = executor.readAsync(node::findHighestSalary).join();
+
+        // Assertions
+        URI highestSalary = URI.create("http://mock-server/api/v1/employee/salary/highest");
+        assertEquals(Optional.of(91000), highest);
+        assertEquals(10, limiter.getLimit());
+        assertEquals(List.of(highestSalary, highestSalary), requested);
+    }
+
+    @Test
+    @DisplayName("Test readAsync - Calls to a non-blocking node stay in flight without holding an upstream thread")
+    void testReadAsync_InFlightBeyondUpstreamThreads() {
+        // Given
+        List<Sinks.One<ClientResponse>> answers = new ArrayList<>();
+        HttpEmployeeNode node = new HttpEmployeeNode(WebClient.builder()
+                .baseUrl("http://mock-server")
+                .exchangeFunction(request -> {
+                    Sinks.One<ClientResponse> answer = Sinks.one();
+                    answers.add(answer);
+                    return answer.asMono();
+                })
+                .build());
+        Bulkhead readBulkhead = Bulkhead.of(
+                "employeeApiRead",
+                BulkheadConfig.custom()
+                        .maxConcurrentCalls(100)
+                        .maxWaitDuration(Duration.ZERO)
+                        .build());
+        UpstreamCallExecutor executor = upstream.upstreamCallExecutor(
+                retry(), readBulkhead, new AdaptiveConcurrencyLimiter(100, 4, 200, Long.MAX_VALUE, 0.9), queued::add);
+
+        // When
+        List<CompletableFuture<Optional<Integer>>> calls = IntStream.range(0, 50)
+                .mapToObj(call -> executor.readAsync(node::findHighestSalary))
+                .toList();
+        int inFlight = answers.size();
+        answers.forEach(answer -> answer.tryEmitValue(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"data\":91000}")
+                .build()));
+        boolean completedBeforePool = calls.stream().anyMatch(CompletableFuture::isDone);
+        List.copyOf(queued).forEach(Runnable::run);
+
+        // Assertions
+        assertEquals(50, inFlight);
+        assertFalse(completedBeforePool);
+        assertTrue(calls.stream().allMatch(call -> call.join().equals(Optional.of(91000))));
+    }
+
+    /*
+     * The employeeApi retry as application.yml configures it, with a short wait: only a 429 is retried.
+     */
+    private static Retry retry() {
+        return Retry.of(
+                "employeeApi",
+                RetryConfig.custom()
+                        .maxAttempts(3)
+                        .waitDuration(Duration.ofMillis(1))
+                        .retryExceptions(HttpClientErrorException.TooManyRequests.class)
+                        .build());
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        return assertThrows(CompletionException.class, future::join).getCause();
+    }
+}
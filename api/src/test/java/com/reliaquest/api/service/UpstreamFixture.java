@@ -0,0 +1,41 @@
+package com.reliaquest.api.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.retry.Retry;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * The upstream call executor and batching loader factory the service tests build their services with. Attempts run
+ * on the calling thread unless a test passes its own executor; retries and batch dispatches share one scheduler,
+ * which {@link #close} shuts down.
+ */
+final class UpstreamFixture implements AutoCloseable {
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    UpstreamCallExecutor upstreamCallExecutor() {
+        return upstreamCallExecutor(
+                Retry.ofDefaults("employeeApi"),
+                Bulkhead.ofDefaults("employeeApiRead"),
+                new AdaptiveConcurrencyLimiter(20, 4, 200, Long.MAX_VALUE, 0.9),
+                Runnable::run);
+    }
+
+    UpstreamCallExecutor upstreamCallExecutor(
+            Retry retry, Bulkhead readBulkhead, AdaptiveConcurrencyLimiter limiter, Executor upstreamExecutor) {
+        return new UpstreamCallExecutor(
+                retry, readBulkhead, Bulkhead.ofDefaults("employeeApiWrite"), limiter, upstreamExecutor, scheduler);
+    }
+
+    BatchingLoaderFactory batchingLoaderFactory() {
+        return new BatchingLoaderFactory(100, Duration.ofMillis(20), scheduler);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
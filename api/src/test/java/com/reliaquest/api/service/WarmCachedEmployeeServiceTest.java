@@ -0,0 +1,84 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.model.EmployeeResponse;
+import com.reliaquest.api.translator.EmployeeTranslator;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class WarmCachedEmployeeServiceTest {
+
+    @Mock
+    private EmployeeService delegate;
+
+    @Mock
+    private WarmEmployeeCache firstShard;
+
+    @Mock
+    private WarmEmployeeCache secondShard;
+
+    @Mock
+    private EmployeeTranslator employeeTranslator;
+
+    private WarmCachedEmployeeService employeeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        employeeService =
+                new WarmCachedEmployeeService(delegate, List.of(firstShard, secondShard), employeeTranslator);
+    }
+
+    @Test
+    @DisplayName("Test aggregates - Highest salary and top earners are computed across every cache")
+    void testAggregates_AcrossCaches() {
+        // When
+        when(firstShard.employees(0)).thenReturn(CompletableFuture.completedFuture(List.of(employee("Swapnil", 100))));
+        when(secondShard.employees(0)).thenReturn(CompletableFuture.completedFuture(List.of(employee("Prerana", 200))));
+
+        // Then
+        Integer highest = employeeService.getHighestSalaryOfEmployees().join();
+        List<String> top = employeeService.getTop10HighestEarningEmployeeNames().join();
+
+        // Assertions
+        assertEquals(200, highest);
+        assertEquals(List.of("Prerana", "Swapnil"), top);
+        verify(delegate, never()).getHighestSalaryOfEmployees();
+    }
+
+    @Test
+    @DisplayName("Test createEmployee - A write through the api invalidates every cache")
+    void testCreateEmployee_Invalidates() {
+        // Given
+        EmployeeInput input = new EmployeeInput("Swapnil Patil", 100000, 30, "Developer");
+        when(delegate.createEmployee(input, null))
+                .thenReturn(CompletableFuture.completedFuture(new EmployeeResponse()));
+
+        // When
+        employeeService.createEmployee(input, null).join();
+
+        // Assertions
+        verify(firstShard).invalidate();
+        verify(secondShard).invalidate();
+        verify(firstShard, never()).employees(anyLong());
+        verify(employeeTranslator, never()).convertToEmployee(any());
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 30, "Developer", name + "@company.com");
+    }
+}
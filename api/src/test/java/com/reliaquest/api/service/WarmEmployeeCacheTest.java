@@ -0,0 +1,125 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.WarmSnapshotFile;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class WarmEmployeeCacheTest {
+
+    private static final Duration MAX_AGE = Duration.ofHours(1);
+
+    @Mock
+    private HttpEmployeeNode node;
+
+    @TempDir
+    private Path dir;
+
+    private final UpstreamFixture upstream = new UpstreamFixture();
+
+    private WarmSnapshotFile file;
+
+    private MockEmployee swapnil;
+    private MockEmployee prerana;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        file = new WarmSnapshotFile(dir.resolve("primary-0.snapshot"), new ObjectMapper());
+        swapnil = new MockEmployee(UUID.randomUUID(), "Swapnil Patil", 100000, 30, "Developer", "swapnil@company.com");
+        prerana = new MockEmployee(UUID.randomUUID(), "Prerana Patil", 200000, 28, "Lead", "prerana@company.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.close();
+    }
+
+    @Test
+    @DisplayName("Test employees - A restarted api serves its file at once and revalidates it with the delta")
+    void testEmployees_WarmFileRevalidated() throws Exception {
+        // Given
+        file.write(new EmployeeSnapshot("epoch-1", 3, List.of(swapnil)));
+        CompletableFuture<Optional<List<EmployeeChangeEvent>>> delta = new CompletableFuture<>();
+        when(node.changesSince(3, "epoch-1")).thenReturn(delta);
+        when(node.changesSince(4, "epoch-1")).thenReturn(CompletableFuture.completedFuture(Optional.of(List.of())));
+        WarmEmployeeCache cache = cache();
+
+        // When
+        List<MockEmployee> warm = cache.employees(0).join();
+        delta.complete(Optional.of(List.of(new EmployeeChangeEvent(4, EmployeeChangeEvent.Type.CREATED, prerana))));
+        cache.invalidate();
+
+        // Then
+        List<MockEmployee> revalidated = cache.employees(0).join();
+
+        // Assertions
+        assertEquals(List.of(swapnil), warm);
+        assertEquals(List.of(swapnil, prerana), revalidated);
+        assertEquals(4, file.load(MAX_AGE).orElseThrow().sequence());
+        verify(node, never()).snapshot();
+    }
+
+    @Test
+    @DisplayName("Test employees - A 410 from a restarted server reloads the full snapshot")
+    void testEmployees_GoneReloadsSnapshot() throws Exception {
+        // Given
+        file.write(new EmployeeSnapshot("epoch-1", 3, List.of(swapnil)));
+        when(node.changesSince(3, "epoch-1")).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        when(node.snapshot())
+                .thenReturn(CompletableFuture.completedFuture(new EmployeeSnapshot("epoch-2", 7, List.of(prerana))));
+        WarmEmployeeCache cache = cache();
+
+        // Then
+        List<MockEmployee> result = cache.employees(7).join();
+
+        // Assertions
+        assertEquals(List.of(prerana), result);
+        assertEquals("epoch-2", file.load(MAX_AGE).orElseThrow().epoch());
+    }
+
+    @Test
+    @DisplayName("Test employees - Without a file the first read loads one snapshot and later reads reuse it")
+    void testEmployees_ColdStart() {
+        // Given
+        when(node.snapshot())
+                .thenReturn(CompletableFuture.completedFuture(new EmployeeSnapshot("epoch-1", 2, List.of(swapnil))));
+        WarmEmployeeCache cache = cache();
+
+        // Then
+        List<MockEmployee> first = cache.employees(0).join();
+        List<MockEmployee> second = cache.employees(0).join();
+
+        // Assertions
+        assertEquals(List.of(swapnil), first);
+        assertEquals(List.of(swapnil), second);
+        assertFalse(file.load(MAX_AGE).isEmpty());
+        verify(node, times(1)).snapshot();
+    }
+
+    private WarmEmployeeCache cache() {
+        return new WarmEmployeeCache(
+                node, upstream.upstreamCallExecutor(), file, MAX_AGE, Duration.ofHours(1), Duration.ZERO);
+    }
+}
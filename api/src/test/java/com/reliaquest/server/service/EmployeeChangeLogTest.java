@@ -0,0 +1,258 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.MockEmployee;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeChangeLogTest {
+
+    private EmployeeChangeLog employeeChangeLog;
+
+    @BeforeEach
+    void setUp() {
+        employeeChangeLog = new EmployeeChangeLog(5, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeChangeLog.shutdown();
+    }
+
+    @Test
+    @DisplayName("Test subscribe - Replays retained events, then delivers new ones in order")
+    void testSubscribe_ReplayThenLive() throws Exception {
+        // Given
+        append(3);
+        List<Long> received = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(5);
+
+        // When
+        employeeChangeLog
+                .subscribe(1, event -> {
+                    received.add(event.sequence());
+                    delivered.countDown();
+                }, () -> {})
+                .orElseThrow();
+        append(3);
+
+        // Then
+        boolean done = delivered.await(5, TimeUnit.SECONDS);
+
+        // Assertions
+        assertTrue(done);
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), received);
+    }
+
+    @Test
+    @DisplayName("Test subscribe - Evicted history or a sequence ahead of the log cannot be subscribed to")
+    void testSubscribe_Unavailable() {
+        // Given
+        append(7);
+
+        // Assertions
+        assertTrue(employeeChangeLog.subscribe(0, event -> {}, () -> {}).isEmpty());
+        assertTrue(employeeChangeLog.subscribe(8, event -> {}, () -> {}).isEmpty());
+        assertTrue(employeeChangeLog.subscribe(2, event -> {}, () -> {}).isPresent());
+    }
+
+    @Test
+    @DisplayName("Test subscribe - A blocked subscriber holds up no append and is dropped once its buffer overflows")
+    void testSubscribe_SlowSubscriberDropped() throws Exception {
+        // Given
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch dropped = new CountDownLatch(1);
+        employeeChangeLog
+                .subscribe(0, event -> {
+                    blocked.countDown();
+                    await(release);
+                }, dropped::countDown)
+                .orElseThrow();
+        append(1);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+        // When
+        long start = System.nanoTime();
+        append(4);
+        long elapsed = System.nanoTime() - start;
+
+        // Then
+        boolean wasDropped = dropped.await(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        // Assertions
+        assertTrue(wasDropped);
+        assertTrue(elapsed < Duration.ofSeconds(1).toNanos());
+        assertEquals(0, employeeChangeLog.subscriberCount());
+        assertEquals(5, employeeChangeLog.currentSequence());
+    }
+
+    @Test
+    @DisplayName("Test subscribe - The returned handle unsubscribes")
+    void testSubscribe_Unsubscribe() throws Exception {
+        // Given
+        List<Long> received = new CopyOnWriteArrayList<>();
+        CountDownLatch first = new CountDownLatch(1);
+        Runnable unsubscribe = employeeChangeLog
+                .subscribe(0, event -> {
+                    received.add(event.sequence());
+                    first.countDown();
+                }, () -> {})
+                .orElseThrow();
+        append(1);
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+
+        // When
+        unsubscribe.run();
+        append(2);
+
+        // Assertions
+        assertEquals(0, employeeChangeLog.subscriberCount());
+        assertEquals(List.of(1L), received);
+    }
+
+    @Test
+    @DisplayName("Test appendReplicated - A gap in the sequence is refused")
+    void testAppendReplicated_Gap() {
+        // Given
+        append(1);
+        MockEmployee employee = employee();
+
+        // Assertions
+        assertThrows(
+                IllegalStateException.class,
+                () -> employeeChangeLog.appendReplicated(
+                        new EmployeeChangeEvent(3, EmployeeChangeEvent.Type.CREATED, employee)));
+        employeeChangeLog.appendReplicated(new EmployeeChangeEvent(2, EmployeeChangeEvent.Type.CREATED, employee));
+        assertEquals(2, employeeChangeLog.currentSequence());
+    }
+
+    @Test
+    @DisplayName("Test publish - An event reserved later waits for the earlier one and then both are in, in order")
+    void testPublish_OutOfOrder() {
+        // Given
+        long first = employeeChangeLog.reserve(1);
+        long second = employeeChangeLog.reserve(1);
+
+        // When
+        employeeChangeLog.publish(new EmployeeChangeEvent(second, EmployeeChangeEvent.Type.CREATED, employee()));
+        long beforeFirst = employeeChangeLog.currentSequence();
+        employeeChangeLog.publish(new EmployeeChangeEvent(first, EmployeeChangeEvent.Type.CREATED, employee()));
+
+        // Assertions
+        assertEquals(0, beforeFirst);
+        assertEquals(2, employeeChangeLog.reservedSequence());
+        assertEquals(2, employeeChangeLog.currentSequence());
+        assertEquals(
+                List.of(1L, 2L),
+                employeeChangeLog.since(0).orElseThrow().stream()
+                        .map(EmployeeChangeEvent::sequence)
+                        .toList());
+    }
+
+    @Test
+    @DisplayName("Test append - Concurrent appends end up as one gapless, ordered log")
+    void testAppend_Concurrent() throws Exception {
+        // Given
+        EmployeeChangeLog log = new EmployeeChangeLog(1000, 1000);
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+
+        // When
+        for (int writer = 0; writer < 4; writer++) {
+            writers.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 250; i++) {
+                    log.append(EmployeeChangeEvent.Type.CREATED, employee());
+                }
+            }));
+        }
+        CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Then
+        List<Long> sequences = log.since(0).orElseThrow().stream()
+                .map(EmployeeChangeEvent::sequence)
+                .toList();
+        log.shutdown();
+
+        // Assertions
+        assertEquals(1000, log.currentSequence());
+        assertEquals(LongStream.rangeClosed(1, 1000).boxed().toList(), sequences);
+    }
+
+    @Test
+    @DisplayName("Test awaitSequence - Returns once the sequence is reached by an append or a reset")
+    void testAwaitSequence_Reached() throws Exception {
+        // Given
+        append(1);
+        CompletableFuture<Boolean> appended = CompletableFuture.supplyAsync(() -> await(2));
+        CompletableFuture<Boolean> reset = CompletableFuture.supplyAsync(() -> await(10));
+
+        // When
+        append(1);
+        employeeChangeLog.reset("primary", 10);
+
+        // Assertions
+        assertTrue(employeeChangeLog.awaitSequence(1, Duration.ZERO));
+        assertTrue(appended.get(5, TimeUnit.SECONDS));
+        assertTrue(reset.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Test awaitSequence - Gives up after the timeout when the sequence is not reached")
+    void testAwaitSequence_TimesOut() throws Exception {
+        // Given
+        append(1);
+
+        // When
+        long start = System.nanoTime();
+        boolean reached = employeeChangeLog.awaitSequence(2, Duration.ofMillis(50));
+        long elapsed = System.nanoTime() - start;
+
+        // Assertions
+        assertFalse(reached);
+        assertTrue(elapsed >= Duration.ofMillis(50).toNanos());
+    }
+
+    private void append(int count) {
+        for (int i = 0; i < count; i++) {
+            employeeChangeLog.append(EmployeeChangeEvent.Type.CREATED, employee());
+        }
+    }
+
+    private static MockEmployee employee() {
+        return new MockEmployee(UUID.randomUUID(), "Change Log Tester", 50000, 30, "Tester", "tester@company.com");
+    }
+
+    private boolean await(long target) {
+        try {
+            return employeeChangeLog.awaitSequence(target, Duration.ofSeconds(5));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
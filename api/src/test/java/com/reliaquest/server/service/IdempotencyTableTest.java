@@ -0,0 +1,134 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+// Entries expire on the injected clock, which only moves when a test advances it.
+class IdempotencyTableTest {
+
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final AtomicLong clock = new AtomicLong(Long.MAX_VALUE - Duration.ofMinutes(1).toNanos());
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    @DisplayName("Test submit - A duplicate in flight or within the ttl shares the first result")
+    void testSubmit_SharesResult() {
+        // Given
+        IdempotencyTable<String> table = new IdempotencyTable<>(10, TTL, clock::get);
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<String> first = table.submit("key", "body", () -> {
+            runs.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> inFlight = table.submit("key", "body", this::run);
+        pending.complete("created");
+        advance(TTL.minusNanos(1));
+        CompletableFuture<String> beforeExpiry = table.submit("key", "body", this::run);
+
+        // Assertions
+        assertSame(first, inFlight);
+        assertSame(first, beforeExpiry);
+        assertEquals("created", beforeExpiry.join());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("Test submit - A key is forgotten once its ttl has passed, counted across a clock wrap")
+    void testSubmit_TtlExpiry() {
+        // Given
+        IdempotencyTable<String> table = new IdempotencyTable<>(10, TTL, clock::get);
+        table.execute("first", "body", this::runNow);
+        advance(Duration.ofMinutes(1));
+        table.execute("second", "body", this::runNow);
+
+        // When
+        advance(TTL.minus(Duration.ofMinutes(1)));
+        int afterFirstExpires = table.size();
+        String rerun = table.execute("first", "body", this::runNow);
+        advance(Duration.ofMinutes(1));
+        int afterSecondExpires = table.size();
+
+        // Assertions
+        assertEquals(1, afterFirstExpires);
+        assertEquals("run 3", rerun);
+        assertEquals(1, afterSecondExpires);
+        assertEquals("run 3", table.execute("first", "body", this::runNow));
+        assertEquals(3, runs.get());
+    }
+
+    @Test
+    @DisplayName("Test submit - Beyond maxEntries the oldest key is dropped first")
+    void testSubmit_MaxEntries() {
+        // Given
+        IdempotencyTable<String> table = new IdempotencyTable<>(2, TTL, clock::get);
+
+        // When
+        table.execute("a", "body", this::runNow);
+        table.execute("b", "body", this::runNow);
+        table.execute("c", "body", this::runNow);
+        String keptB = table.execute("b", "body", this::runNow);
+        String evictedA = table.execute("a", "body", this::runNow);
+        String evictedB = table.execute("b", "body", this::runNow);
+
+        // Assertions
+        assertEquals("run 2", keptB);
+        assertEquals("run 4", evictedA);
+        assertEquals("run 5", evictedB);
+        assertEquals(2, table.size());
+        assertEquals(2, table.getMaxEntries());
+    }
+
+    @Test
+    @DisplayName("Test execute - A different request under a known key is rejected, and a failed one can be retried")
+    void testExecute_MismatchAndFailure() {
+        // Given
+        IdempotencyTable<String> table = new IdempotencyTable<>(10, TTL, clock::get);
+        table.execute("key", "body", this::runNow);
+
+        // When
+        IllegalArgumentException mismatch = assertThrows(
+                IllegalArgumentException.class, () -> table.execute("key", "other body", this::runNow));
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> table.execute(
+                "failing", "body", () -> {
+                    throw new IllegalStateException("upstream down");
+                }));
+        String retried = table.execute("failing", "body", this::runNow);
+
+        // Assertions
+        assertEquals("Idempotency-Key key was already used for a different request", mismatch.getMessage());
+        assertEquals("upstream down", failure.getMessage());
+        assertEquals("run 2", retried);
+    }
+
+    @Test
+    @DisplayName("Test constructor - Rejects a non-positive size or ttl")
+    void testConstructor_Validation() {
+        // Assertions
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyTable<String>(0, TTL));
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyTable<String>(1, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> new IdempotencyTable<String>(1, Duration.ofSeconds(-1)));
+    }
+
+    private CompletableFuture<String> run() {
+        return CompletableFuture.completedFuture(runNow());
+    }
+
+    private String runNow() {
+        return "run " + runs.incrementAndGet();
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+}
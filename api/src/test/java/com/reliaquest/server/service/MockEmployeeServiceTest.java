@@ -0,0 +1,342 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.UpdateMockEmployeeInput;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import com.reliaquest.server.service.query.EmployeeQuery;
+import com.reliaquest.server.service.query.UpdateExpression;
+import com.reliaquest.server.service.shard.ConsistentHashRing;
+import com.reliaquest.server.service.shard.EmployeeIdGenerator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    private EmployeeChangeLog employeeChangeLog;
+    private ForkJoinPool bulkUpdatePool;
+    private MockEmployeeService mockEmployeeService;
+
+    @BeforeEach
+    void setUp() {
+        employeeChangeLog = new EmployeeChangeLog(100, 10);
+        bulkUpdatePool = new ForkJoinPool(2);
+        mockEmployeeService = newService(employeeChangeLog, bulkUpdatePool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        employeeChangeLog.shutdown();
+        bulkUpdatePool.shutdownNow();
+    }
+
+    /*
+     * An empty store wired the way ServerConfiguration wires it, shared with the other store tests in this package.
+     */
+    static MockEmployeeService newService(EmployeeChangeLog employeeChangeLog, ForkJoinPool bulkUpdatePool) {
+        return newService(employeeChangeLog, bulkUpdatePool, new IdempotencyTable<>(100, Duration.ofHours(1)));
+    }
+
+    static MockEmployeeService newService(
+            EmployeeChangeLog employeeChangeLog,
+            ForkJoinPool bulkUpdatePool,
+            IdempotencyTable<MockEmployee> createRequests) {
+        final var service = new MockEmployeeService(
+                new Faker(),
+                new ArrayList<>(),
+                employeeChangeLog,
+                new ServerConfiguration(null, null).employeeIndexes("salary", 20),
+                new EmployeeIdGenerator(new ConsistentHashRing(1, 8), 0),
+                createRequests,
+                bulkUpdatePool);
+        service.indexMockEmployees();
+        return service;
+    }
+
+    @Test
+    @DisplayName("Test applyReplicated - Creates, updates and deletes are applied with the primary's sequence")
+    void testApplyReplicated_InOrder() {
+        // Given
+        MockEmployee created = employee("Replica Tester", 50000);
+        MockEmployee updated = created.toBuilder().salary(60000).version(2).build();
+
+        // When
+        mockEmployeeService.applyReplicated(new EmployeeChangeEvent(1, EmployeeChangeEvent.Type.CREATED, created));
+        mockEmployeeService.applyReplicated(new EmployeeChangeEvent(2, EmployeeChangeEvent.Type.UPDATED, updated));
+
+        // Then
+        MockEmployee current = mockEmployeeService.findById(created.getId()).orElseThrow();
+
+        // Assertions
+        assertEquals(updated, current);
+        assertEquals(List.of(updated), mockEmployeeService.findByName("replica tester"));
+        assertEquals(
+                List.of(updated),
+                mockEmployeeService.findBySalaryRange(60000, 60000, null, 10).employees());
+        assertEquals(2, employeeChangeLog.currentSequence());
+
+        mockEmployeeService.applyReplicated(new EmployeeChangeEvent(3, EmployeeChangeEvent.Type.DELETED, updated));
+        assertTrue(mockEmployeeService.findById(created.getId()).isEmpty());
+        assertTrue(mockEmployeeService.findByName("replica tester").isEmpty());
+        assertEquals(3, employeeChangeLog.currentSequence());
+    }
+
+    @Test
+    @DisplayName("Test applyReplicated - A change already applied is skipped")
+    void testApplyReplicated_Duplicate() {
+        // Given
+        MockEmployee created = employee("Replica Tester", 50000);
+        mockEmployeeService.applyReplicated(new EmployeeChangeEvent(1, EmployeeChangeEvent.Type.CREATED, created));
+
+        // When
+        mockEmployeeService.applyReplicated(new EmployeeChangeEvent(
+                1, EmployeeChangeEvent.Type.UPDATED, created.toBuilder().salary(1).build()));
+
+        // Assertions
+        assertEquals(created, mockEmployeeService.findById(created.getId()).orElseThrow());
+        assertEquals(1, employeeChangeLog.currentSequence());
+    }
+
+    @Test
+    @DisplayName("Test applyReplicated - A gap in the sequence is refused before the store changes")
+    void testApplyReplicated_GapLeavesStore() {
+        // Given
+        MockEmployee existing = employee("Replica Tester", 50000);
+        mockEmployeeService.resetTo(new EmployeeSnapshot("primary", 5, List.of(existing)));
+        MockEmployee created = employee("Replica Gap Tester", 70000);
+        MockEmployee updated = existing.toBuilder().salary(80000).version(2).build();
+
+        // Assertions
+        assertThrows(
+                IllegalStateException.class,
+                () -> mockEmployeeService.applyReplicated(
+                        new EmployeeChangeEvent(7, EmployeeChangeEvent.Type.CREATED, created)));
+        assertThrows(
+                IllegalStateException.class,
+                () -> mockEmployeeService.applyReplicated(
+                        new EmployeeChangeEvent(7, EmployeeChangeEvent.Type.UPDATED, updated)));
+        assertThrows(
+                IllegalStateException.class,
+                () -> mockEmployeeService.applyReplicated(
+                        new EmployeeChangeEvent(7, EmployeeChangeEvent.Type.DELETED, existing)));
+        assertEquals(List.of(existing), mockEmployeeService.getMockEmployees());
+        assertEquals(List.of(existing), mockEmployeeService.findByName("replica tester"));
+        assertTrue(mockEmployeeService.findByName("replica gap tester").isEmpty());
+        assertTrue(mockEmployeeService
+                .findBySalaryRange(70000, 80000, null, 10)
+                .employees()
+                .isEmpty());
+        assertEquals(5, employeeChangeLog.currentSequence());
+    }
+
+    @Test
+    @DisplayName("Test applyReplicated - Deleting an employee this replica never had still advances the sequence")
+    void testApplyReplicated_DeleteUnknown() {
+        // When
+        mockEmployeeService.applyReplicated(
+                new EmployeeChangeEvent(1, EmployeeChangeEvent.Type.DELETED, employee("Replica Tester", 50000)));
+
+        // Assertions
+        assertTrue(mockEmployeeService.getMockEmployees().isEmpty());
+        assertEquals(1, employeeChangeLog.currentSequence());
+    }
+
+    @Test
+    @DisplayName("Test delete - Among employees sharing a name, the one holding it longest is deleted first")
+    void testDelete_OldestNameHolderFirst() {
+        // Given
+        MockEmployee first = mockEmployeeService.create(input("Shared Name"));
+        MockEmployee second = mockEmployeeService.create(input("Shared Name"));
+        MockEmployee third = mockEmployeeService.create(input("Other Name"));
+        // The third becomes the newest holder of the name; updating the first keeps its place.
+        mockEmployeeService.update(third.getId(), rename("shared name"), null);
+        mockEmployeeService.update(first.getId(), rename("Shared Name"), null);
+        DeleteMockEmployeeInput delete = new DeleteMockEmployeeInput();
+        delete.setName("SHARED NAME");
+
+        // When
+        boolean firstDeleted = mockEmployeeService.delete(delete);
+        boolean secondDeleted = mockEmployeeService.delete(delete);
+
+        // Assertions
+        assertTrue(firstDeleted);
+        assertTrue(secondDeleted);
+        assertTrue(mockEmployeeService.findById(first.getId()).isEmpty());
+        assertTrue(mockEmployeeService.findById(second.getId()).isEmpty());
+        assertEquals(List.of(third.getId()), ids(mockEmployeeService.findByName("shared name")));
+    }
+
+    @Test
+    @DisplayName("Test insertAll - A batch is stored and logged as consecutive creates, in order")
+    void testInsertAll_ConsecutiveCreates() {
+        // Given
+        mockEmployeeService.create(input("Before Batch"));
+        List<MockEmployee> batch = List.of(
+                mockEmployeeService.newEmployee(input("Batch One")),
+                mockEmployeeService.newEmployee(input("Batch Two")),
+                mockEmployeeService.newEmployee(input("Batch Three")));
+
+        // When
+        mockEmployeeService.insertAll(batch);
+
+        // Then
+        List<EmployeeChangeEvent> logged = employeeChangeLog.since(1).orElseThrow();
+
+        // Assertions
+        assertEquals(List.of(2L, 3L, 4L), logged.stream().map(EmployeeChangeEvent::sequence).toList());
+        assertEquals(batch, logged.stream().map(EmployeeChangeEvent::employee).toList());
+        assertTrue(logged.stream().allMatch(event -> event.type() == EmployeeChangeEvent.Type.CREATED));
+        assertEquals(batch.get(1), mockEmployeeService.findByName("Batch Two").get(0));
+        assertEquals(4, mockEmployeeService.getMockEmployees().size());
+    }
+
+    @Test
+    @DisplayName("Test bulkUpdate - More rows than the change log holds are one event, which a replica replays")
+    void testBulkUpdate_OneEventReplayed() throws Exception {
+        // Given
+        List<MockEmployee> batch = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            batch.add(mockEmployeeService.newEmployee(input("Bulk Tester " + i)));
+        }
+        mockEmployeeService.insertAll(batch);
+        CreateMockEmployeeInput bystander = input("Bulk Bystander");
+        bystander.setTitle("Bystander");
+        MockEmployee other = mockEmployeeService.create(bystander);
+        EmployeeSnapshot before = mockEmployeeService.snapshot();
+        List<EmployeeChangeEvent> streamed = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        AtomicBoolean dropped = new AtomicBoolean();
+        employeeChangeLog
+                .subscribe(before.sequence(), event -> {
+                    streamed.add(event);
+                    delivered.countDown();
+                }, () -> dropped.set(true))
+                .orElseThrow();
+        EmployeeChangeLog replicaLog = new EmployeeChangeLog(100, 10);
+        MockEmployeeService replica = newService(replicaLog, bulkUpdatePool);
+        replica.enterReplicaMode();
+        replica.resetTo(before);
+
+        // When
+        BulkUpdateReport report = mockEmployeeService.bulkUpdate(
+                EmployeeQuery.parseWhere("title = 'Delete Tester'"),
+                UpdateExpression.parse("salary = salary * 1.04, title = 'Raised'"));
+        List<EmployeeChangeEvent> changes =
+                mockEmployeeService.getChangesSince(before.sequence()).orElseThrow();
+        changes.forEach(replica::applyReplicated);
+
+        // Then
+        boolean received = delivered.await(5, TimeUnit.SECONDS);
+        replicaLog.shutdown();
+
+        // Assertions
+        assertEquals(250, report.updated());
+        assertEquals(before.sequence() + 1, report.toVersion());
+        assertEquals(1, changes.size());
+        assertEquals(EmployeeChangeEvent.Type.BULK_UPDATED, changes.get(0).type());
+        assertTrue(received);
+        assertFalse(dropped.get());
+        assertEquals(changes, streamed);
+        assertEquals(
+                new HashSet<>(mockEmployeeService.getMockEmployees()), new HashSet<>(replica.getMockEmployees()));
+        assertEquals(250, replica.findByTitle("Raised").size());
+        assertEquals(52000, replica.findByTitle("Raised").get(0).getSalary());
+        assertEquals(other, replica.findById(other.getId()).orElseThrow());
+        assertEquals(report.toVersion(), replicaLog.currentSequence());
+    }
+
+    @Test
+    @DisplayName("Test create - A repeated idempotency key returns the first employee until its ttl passes")
+    void testCreate_IdempotencyKey() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        mockEmployeeService = newService(
+                employeeChangeLog, bulkUpdatePool, new IdempotencyTable<>(100, Duration.ofMinutes(5), clock::get));
+
+        // When
+        MockEmployee first = mockEmployeeService.create(input("Key Tester"), "key");
+        clock.addAndGet(Duration.ofMinutes(5).minusNanos(1).toNanos());
+        MockEmployee retried = mockEmployeeService.create(input("Key Tester"), "key");
+        IllegalArgumentException reused = assertThrows(
+                IllegalArgumentException.class, () -> mockEmployeeService.create(input("Other Tester"), "key"));
+        clock.addAndGet(1);
+        MockEmployee afterExpiry = mockEmployeeService.create(input("Key Tester"), "key");
+
+        // Assertions
+        assertSame(first, retried);
+        assertEquals("Idempotency-Key key was already used for a different request", reused.getMessage());
+        assertNotEquals(first.getId(), afterExpiry.getId());
+        assertEquals(2, mockEmployeeService.findByName("key tester").size());
+        assertEquals(2, employeeChangeLog.currentSequence());
+    }
+
+    @Test
+    @DisplayName("Test findBySalaryRange - Creates, raises and deletes are reflected in the next range read")
+    void testFindBySalaryRange_FollowsWrites() {
+        // Given
+        MockEmployee ann = mockEmployeeService.create(input("Range Ann"));
+        MockEmployee bo = mockEmployeeService.create(input("Range Bo"));
+        UpdateMockEmployeeInput raise = new UpdateMockEmployeeInput();
+        raise.setSalary(90000);
+        DeleteMockEmployeeInput delete = new DeleteMockEmployeeInput();
+        delete.setName("Range Ann");
+
+        // When
+        List<MockEmployee> created = mockEmployeeService.findBySalaryRange(50000, 50000, null, 10).employees();
+        MockEmployee raised = mockEmployeeService.update(bo.getId(), raise, null).employee();
+        mockEmployeeService.delete(delete);
+
+        // Assertions
+        assertEquals(ids(List.of(ann, bo)).stream().sorted().toList(), ids(created));
+        assertTrue(mockEmployeeService.findBySalaryRange(null, 89999, null, 10).employees().isEmpty());
+        assertEquals(List.of(raised), mockEmployeeService.findBySalaryRange(90000, null, null, 10).employees());
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(50000);
+        input.setAge(30);
+        input.setTitle("Delete Tester");
+        return input;
+    }
+
+    private static UpdateMockEmployeeInput rename(String name) {
+        UpdateMockEmployeeInput input = new UpdateMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+
+    private static List<UUID> ids(List<MockEmployee> employees) {
+        return employees.stream().map(MockEmployee::getId).toList();
+    }
+
+    static MockEmployee employee(String name, int salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 30, "Replica Tester", "replica@company.com");
+    }
+}
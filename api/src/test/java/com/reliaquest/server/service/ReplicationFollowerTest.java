@@ -0,0 +1,221 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReplicationFollowerTest {
+
+    private static final String PRIMARY_EPOCH = "primary";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // What the fake primary serves: snapshots in turn (the last one repeats), and its change log under its epoch.
+    private final List<EmployeeSnapshot> snapshots = new CopyOnWriteArrayList<>();
+    private final List<EmployeeChangeEvent> changes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger snapshotRequests = new AtomicInteger();
+    private final List<String> streamRequests = new CopyOnWriteArrayList<>();
+    private final CountDownLatch closeStreams = new CountDownLatch(1);
+
+    @TempDir
+    private Path directory;
+
+    private HttpServer primary;
+    private ExecutorService primaryExecutor;
+    private EmployeeChangeLog employeeChangeLog;
+    private ForkJoinPool bulkUpdatePool;
+    private MockEmployeeService mockEmployeeService;
+    private ReplicationFollower follower;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        primaryExecutor = Executors.newCachedThreadPool();
+        primary = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        primary.setExecutor(primaryExecutor);
+        primary.createContext("/api/v1/employee/snapshot", this::serveSnapshot);
+        primary.createContext("/api/v1/employee/changes/stream", this::serveStream);
+        primary.start();
+
+        employeeChangeLog = new EmployeeChangeLog(100, 10);
+        bulkUpdatePool = new ForkJoinPool(2);
+        mockEmployeeService = MockEmployeeServiceTest.newService(employeeChangeLog, bulkUpdatePool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (follower != null) {
+            follower.stop();
+        }
+        closeStreams.countDown();
+        primary.stop(0);
+        primaryExecutor.shutdownNow();
+        employeeChangeLog.shutdown();
+        bulkUpdatePool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Test follow - Loads the primary's snapshot, then applies its change stream")
+    void testFollow_SnapshotThenStream() throws Exception {
+        // Given
+        MockEmployee existing = MockEmployeeServiceTest.employee("Follower Tester", 50000);
+        MockEmployee created = MockEmployeeServiceTest.employee("Follower Created", 60000);
+        MockEmployee updated = existing.toBuilder().salary(55000).version(2).build();
+        snapshots.add(new EmployeeSnapshot("primary", 2, List.of(existing)));
+        changes.add(new EmployeeChangeEvent(3, EmployeeChangeEvent.Type.CREATED, created));
+        changes.add(new EmployeeChangeEvent(4, EmployeeChangeEvent.Type.UPDATED, updated));
+
+        // When
+        startFollower();
+
+        // Then
+        boolean caughtUp = employeeChangeLog.awaitSequence(4, Duration.ofSeconds(5));
+
+        // Assertions
+        assertTrue(caughtUp);
+        assertEquals(created, mockEmployeeService.findById(created.getId()).orElseThrow());
+        assertEquals(updated, mockEmployeeService.findById(existing.getId()).orElseThrow());
+        assertEquals("primary", employeeChangeLog.currentEpoch());
+        assertEquals(1, snapshotRequests.get());
+        assertEquals("since=2&epoch=primary", streamRequests.get(0));
+    }
+
+    @Test
+    @DisplayName("Test follow - A gap in the stream reloads the snapshot without applying the change after it")
+    void testFollow_GapReloadsSnapshot() throws Exception {
+        // Given
+        MockEmployee existing = MockEmployeeServiceTest.employee("Follower Tester", 50000);
+        MockEmployee skipped = MockEmployeeServiceTest.employee("Follower Skipped", 60000);
+        MockEmployee created = MockEmployeeServiceTest.employee("Follower Created", 70000);
+        snapshots.add(new EmployeeSnapshot("primary", 2, List.of(existing)));
+        snapshots.add(new EmployeeSnapshot("primary", 4, List.of(existing, skipped, created)));
+        // Change 3 is missing from the stream.
+        changes.add(new EmployeeChangeEvent(4, EmployeeChangeEvent.Type.CREATED, created));
+
+        // When
+        startFollower();
+
+        // Then
+        boolean caughtUp = employeeChangeLog.awaitSequence(4, Duration.ofSeconds(5));
+
+        // Assertions
+        assertTrue(caughtUp);
+        assertEquals(2, snapshotRequests.get());
+        assertEquals(3, mockEmployeeService.getMockEmployees().size());
+        assertTrue(mockEmployeeService.findById(skipped.getId()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Test follow - A warm snapshot from an epoch the primary no longer has falls back to a full snapshot")
+    void testFollow_EpochMismatchReloadsSnapshot() throws Exception {
+        // Given
+        Path warmSnapshotFile = directory.resolve("replica.snapshot");
+        MockEmployee warm = MockEmployeeServiceTest.employee("Follower Warm", 40000);
+        new WarmSnapshotFile(warmSnapshotFile, objectMapper)
+                .write(new EmployeeSnapshot("restarted-primary", 5, List.of(warm)));
+        MockEmployee existing = MockEmployeeServiceTest.employee("Follower Tester", 50000);
+        MockEmployee created = MockEmployeeServiceTest.employee("Follower Created", 60000);
+        snapshots.add(new EmployeeSnapshot(PRIMARY_EPOCH, 7, List.of(existing)));
+        changes.add(new EmployeeChangeEvent(8, EmployeeChangeEvent.Type.CREATED, created));
+
+        // When
+        follower = follower(warmSnapshotFile.toString());
+        follower.enterReplicaMode();
+        boolean servedWarm = mockEmployeeService.findById(warm.getId()).isPresent();
+        follower.start();
+
+        // Then
+        boolean caughtUp = employeeChangeLog.awaitSequence(8, Duration.ofSeconds(5));
+
+        // Assertions
+        assertTrue(servedWarm);
+        assertTrue(caughtUp);
+        assertEquals(List.of("since=5&epoch=restarted-primary", "since=7&epoch=primary"), streamRequests);
+        assertEquals(1, snapshotRequests.get());
+        assertEquals(PRIMARY_EPOCH, employeeChangeLog.currentEpoch());
+        assertTrue(mockEmployeeService.findById(warm.getId()).isEmpty());
+        assertEquals(created, mockEmployeeService.findById(created.getId()).orElseThrow());
+    }
+
+    private void startFollower() {
+        follower = follower("");
+        follower.enterReplicaMode();
+        follower.start();
+    }
+
+    private ReplicationFollower follower(String warmSnapshotFile) {
+        return new ReplicationFollower(
+                mockEmployeeService,
+                employeeChangeLog,
+                objectMapper,
+                "http://localhost:" + primary.getAddress().getPort(),
+                Duration.ofMillis(50),
+                warmSnapshotFile,
+                Duration.ofHours(24),
+                Duration.ofSeconds(10));
+    }
+
+    private void serveSnapshot(HttpExchange exchange) throws IOException {
+        final var served = snapshots.get(Math.min(snapshotRequests.getAndIncrement(), snapshots.size() - 1));
+        final var body = objectMapper.writeValueAsBytes(Response.handledWith(served));
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /*
+     * Sends the changes after since, then holds the stream open like the primary's SSE endpoint until the test ends.
+     * A stream of another epoch is answered 410, as by a primary that has restarted since.
+     */
+    private void serveStream(HttpExchange exchange) throws IOException {
+        final var query = exchange.getRequestURI().getRawQuery();
+        streamRequests.add(query);
+        if (!query.endsWith("epoch=" + PRIMARY_EPOCH)) {
+            exchange.sendResponseHeaders(410, -1);
+            exchange.close();
+            return;
+        }
+        final long since = Long.parseLong(query.replaceAll(".*since=(\\d+).*", "$1"));
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try (var out = exchange.getResponseBody()) {
+            for (EmployeeChangeEvent change : changes) {
+                if (change.sequence() > since) {
+                    final var event = "id:" + change.sequence() + "\nevent:" + change.type() + "\ndata:"
+                            + objectMapper.writeValueAsString(change) + "\n\n";
+                    out.write(event.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            out.flush();
+            closeStreams.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class WarmSnapshotFileTest {
+
+    @TempDir
+    private Path directory;
+
+    private Path path;
+    private WarmSnapshotFile warmSnapshotFile;
+    private EmployeeSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        path = directory.resolve("replica").resolve("employees.snapshot");
+        warmSnapshotFile = new WarmSnapshotFile(path, new ObjectMapper());
+        MockEmployee swapnil =
+                new MockEmployee(UUID.randomUUID(), "Swapnil Patil", 100000, 30, "Developer", "swapnil@company.com");
+        snapshot = new EmployeeSnapshot(UUID.randomUUID().toString(), 42, List.of(swapnil));
+    }
+
+    @Test
+    @DisplayName("Test load - Returns the snapshot that was written, with its epoch and sequence")
+    void testLoad_RoundTrip() throws Exception {
+        // When
+        warmSnapshotFile.write(snapshot);
+
+        // Then
+        assertEquals(snapshot, warmSnapshotFile.load(Duration.ofHours(1)).orElseThrow());
+        assertTrue(Files.notExists(path.resolveSibling("employees.snapshot.tmp")));
+    }
+
+    @Test
+    @DisplayName("Test load - Ignores a missing, corrupt or expired file")
+    void testLoad_Unusable() throws Exception {
+        // Missing
+        assertTrue(warmSnapshotFile.load(Duration.ofHours(1)).isEmpty());
+
+        // Expired
+        warmSnapshotFile.write(snapshot);
+        Thread.sleep(5);
+        assertTrue(warmSnapshotFile.load(Duration.ofMillis(1)).isEmpty());
+
+        // Corrupt
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 2] ^= 0x20;
+        Files.write(path, bytes);
+        assertTrue(warmSnapshotFile.load(Duration.ofHours(1)).isEmpty());
+
+        // Truncated
+        Files.write(path, new byte[] {0x57, 0x4D});
+        assertTrue(warmSnapshotFile.load(Duration.ofHours(1)).isEmpty());
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.server.service.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CsvRowReaderTest {
+
+    @Test
+    @DisplayName("Test split - Quoted fields keep commas and doubled quotes, unquoted fields are stripped")
+    void testSplit_Quoting() {
+        // Assertions
+        assertEquals(List.of("a", "b, c", "say \"hi\"", ""), CsvRowReader.split(" a ,\"b, c\",\"say \"\"hi\"\"\","));
+        assertEquals(List.of("", ""), CsvRowReader.split(","));
+        assertEquals(List.of("x"), CsvRowReader.split("\"x\""));
+        assertEquals(
+                "Unterminated quoted field",
+                assertThrows(IllegalArgumentException.class, () -> CsvRowReader.split("a,\"b"))
+                        .getMessage());
+    }
+
+    @Test
+    @DisplayName("Test read - Columns are found by header name in any order and case, extra columns ignored")
+    void testRead_ColumnsByHeader() {
+        // Given
+        CsvRowReader reader = new CsvRowReader("Title,Extra,NAME,age,Salary");
+
+        // When
+        CreateMockEmployeeInput input = reader.read("\"Lead, \"\"Ops\"\"\",ignored,Ann Lee,30,50000");
+
+        // Assertions
+        assertEquals("Lead, \"Ops\"", input.getTitle());
+        assertEquals("Ann Lee", input.getName());
+        assertEquals(30, input.getAge());
+        assertEquals(50000, input.getSalary());
+    }
+
+    @Test
+    @DisplayName("Test read - Missing header columns, short rows and bad numbers are rejected")
+    void testRead_MissingColumns() {
+        // Given
+        CsvRowReader reader = new CsvRowReader("name,salary,age,title");
+
+        // Assertions
+        assertEquals(
+                "CSV header must name the columns [name, salary, age, title] but was [name, salary, age]",
+                assertThrows(IllegalArgumentException.class, () -> new CsvRowReader("name,salary,age"))
+                        .getMessage());
+        assertThrows(IllegalArgumentException.class, () -> new CsvRowReader(null));
+        assertEquals(
+                "Expected at least 4 columns but found 3",
+                assertThrows(IllegalArgumentException.class, () -> reader.read("Ann,50000,30"))
+                        .getMessage());
+        assertEquals(
+                "salary is not a whole number: 5e4",
+                assertThrows(IllegalArgumentException.class, () -> reader.read("Ann,5e4,30,Lead"))
+                        .getMessage());
+        // An empty number is left for validation to reject.
+        assertNull(reader.read("Ann,,30,Lead").getSalary());
+    }
+}
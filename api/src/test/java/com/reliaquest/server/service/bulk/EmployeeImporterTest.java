@@ -0,0 +1,138 @@
+package com.reliaquest.server.service.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class EmployeeImporterTest {
+
+    @Mock
+    private MockEmployeeService mockEmployeeService;
+
+    private final List<List<MockEmployee>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(mockEmployeeService.newEmployee(any())).thenAnswer(invocation -> {
+            CreateMockEmployeeInput input = invocation.getArgument(0);
+            return new MockEmployee(
+                    UUID.randomUUID(),
+                    input.getName(),
+                    input.getSalary(),
+                    input.getAge(),
+                    input.getTitle(),
+                    "import@company.com");
+        });
+        doAnswer(invocation -> batches.add(List.copyOf(invocation.<List<MockEmployee>>getArgument(0))))
+                .when(mockEmployeeService)
+                .insertAll(any());
+    }
+
+    @Test
+    @DisplayName("Test importFrom - A CSV with a byte order mark, CRLF lines and quoted fields is read in small chunks")
+    void testImportFrom_CsvWithByteOrderMark() throws Exception {
+        // Given
+        String csv = "\uFEFFTitle,Name,Salary,Age,Ignored\r\n"
+                + "Engineer,\"Lee, Ann\",50000,30,x\r\n"
+                + "\"Lead \"\"Ops\"\"\",Bo,60000,40\r\n"
+                + "Engineer,Cy,abc,30\r\n"
+                + "Engineer,Di\r\n"
+                + "\r\n"
+                + "Engineer,Ed,70000,\r\n";
+
+        // When
+        ImportReport report = importer(8).importFrom(input(csv), ImportFormat.CSV, progress -> {});
+
+        // Then
+        List<MockEmployee> imported = batches.stream().flatMap(List::stream).toList();
+
+        // Assertions
+        assertEquals(List.of("Lee, Ann", "Bo"), imported.stream().map(MockEmployee::getName).toList());
+        assertEquals("Lead \"Ops\"", imported.get(1).getTitle());
+        assertEquals(5, report.rows());
+        assertEquals(2, report.imported());
+        assertEquals(3, report.rejected());
+        assertEquals(csv.getBytes(StandardCharsets.UTF_8).length, report.bytes());
+        assertEquals(
+                List.of(
+                        new ImportReport.RowError(4, "salary is not a whole number: abc"),
+                        new ImportReport.RowError(5, "Expected at least 4 columns but found 2")),
+                report.errors().subList(0, 2));
+        assertEquals(7, report.errors().get(2).line());
+        assertTrue(report.errors().get(2).message().startsWith("age "));
+    }
+
+    @Test
+    @DisplayName("Test importFrom - A CSV header missing a column fails the import before any row is read")
+    void testImportFrom_MissingColumn() {
+        // Given
+        String csv = "\uFEFFname,salary,age\nAnn,50000,30\n";
+
+        // When
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> importer(1024).importFrom(input(csv), ImportFormat.CSV, progress -> {}));
+
+        // Assertions
+        assertEquals(
+                "CSV header must name the columns [name, salary, age, title] but was [name, salary, age]",
+                thrown.getMessage());
+        verify(mockEmployeeService, never()).insertAll(any());
+    }
+
+    @Test
+    @DisplayName("Test importFrom - Each import runs on its own pool, so the importer can be reused")
+    void testImportFrom_Repeated() throws Exception {
+        // Given
+        EmployeeImporter importer = importer(16);
+        String ndjson = "{\"name\":\"Ann\",\"salary\":50000,\"age\":30,\"title\":\"Lead\"}\n"
+                + "{\"name\":\"Bo\",\"salary\":60000,\"age\":40,\"title\":\"Engineer\"}\n";
+
+        // When
+        ImportReport first = importer.importFrom(input(ndjson), ImportFormat.NDJSON, progress -> {});
+        ImportReport second = importer.importFrom(input(ndjson), ImportFormat.NDJSON, progress -> {});
+
+        // Assertions
+        assertEquals(2, first.imported());
+        assertEquals(2, second.imported());
+        assertEquals(4, batches.stream().mapToInt(List::size).sum());
+    }
+
+    private EmployeeImporter importer(int chunkSize) {
+        return new EmployeeImporter(
+                mockEmployeeService,
+                new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                2,
+                chunkSize,
+                10,
+                Duration.ofHours(1));
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
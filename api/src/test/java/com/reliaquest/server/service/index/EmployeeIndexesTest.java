@@ -0,0 +1,72 @@
+package com.reliaquest.server.service.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeIndexesTest {
+
+    private final HashFieldIndex names = HashFieldIndex.caseFolded("name", MockEmployee::getName);
+    private final SortedFieldIndex<Integer> salaries =
+            new SortedFieldIndex<>("salary", MockEmployee::getSalary, Integer::valueOf);
+    private final NameTrieIndex autocomplete =
+            new NameTrieIndex("autocomplete", MockEmployee::getName, NameTrieIndex.Rank.SALARY, 5);
+    private final EmployeeIndexes indexes = new EmployeeIndexes(List.of(names, salaries, autocomplete));
+
+    @Test
+    @DisplayName("Test add and remove - Every declared index is kept in step")
+    void testAddRemove_EveryIndex() {
+        // Given
+        MockEmployee employee = HashFieldIndexTest.employee("Ann Lee", "a@company.com");
+
+        // When
+        indexes.add(employee);
+
+        // Assertions
+        assertEquals(List.of(employee.getId()), names.lookup("ann lee"));
+        assertEquals(1, salaries.count(50000, 50000, 10));
+        assertEquals(List.of(employee), autocomplete.complete("lee", 5));
+
+        indexes.remove(employee);
+        assertTrue(names.lookup("ann lee").isEmpty());
+        assertEquals(0, salaries.count(null, null, 10));
+        assertTrue(autocomplete.complete("lee", 5).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test affectedBy - Only the indexes whose key or rank changes")
+    void testAffectedBy() {
+        // Given
+        MockEmployee employee = HashFieldIndexTest.employee("Ann Lee", "a@company.com");
+
+        // Assertions
+        assertEquals(
+                List.of(salaries, autocomplete),
+                indexes.affectedBy(employee, employee.toBuilder().salary(60000).build()));
+        assertEquals(
+                List.of(names, autocomplete),
+                indexes.affectedBy(employee, employee.toBuilder().name("Ann Leigh").build()));
+        assertTrue(indexes
+                .affectedBy(employee, employee.toBuilder().age(40).build())
+                .isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test lookup by name - Typed access checks the kind, and names are unique")
+    void testLookupByName() {
+        // Assertions
+        assertEquals(names, indexes.hash("name"));
+        assertEquals(salaries, indexes.<Integer>sorted("salary"));
+        assertEquals(autocomplete, indexes.trie("autocomplete"));
+        assertThrows(IllegalArgumentException.class, () -> indexes.hash("salary"));
+        assertThrows(IllegalArgumentException.class, () -> indexes.sorted("name"));
+        assertThrows(IllegalArgumentException.class, () -> indexes.trie("email"));
+        assertThrows(IllegalArgumentException.class, () -> new EmployeeIndexes(List.of(names, names)));
+        assertEquals(3, indexes.stats().size());
+    }
+}
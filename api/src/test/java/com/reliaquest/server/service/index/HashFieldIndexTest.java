@@ -0,0 +1,98 @@
+package com.reliaquest.server.service.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HashFieldIndexTest {
+
+    private final HashFieldIndex names = HashFieldIndex.caseFolded("name", MockEmployee::getName);
+    private final HashFieldIndex emails = HashFieldIndex.exact("email", MockEmployee::getEmail);
+
+    @Test
+    @DisplayName("Test lookup - Case-folded keys ignore case, exact keys do not")
+    void testLookup_Normalization() {
+        // Given
+        MockEmployee employee = employee("Ann Lee", "Ann@company.com");
+        names.add(employee);
+        emails.add(employee);
+
+        // Assertions
+        assertEquals(List.of(employee.getId()), names.lookup("ANN LEE"));
+        assertEquals(List.of(employee.getId()), emails.lookup("Ann@company.com"));
+        assertTrue(emails.lookup("ann@company.com").isEmpty());
+        assertTrue(names.lookup(null).isEmpty());
+        assertTrue(names.holds(employee, "ann lee"));
+        assertFalse(emails.holds(employee, "ann@company.com"));
+    }
+
+    @Test
+    @DisplayName("Test lookup - Ids come back in the order they took the value, oldest first")
+    void testLookup_InsertionOrder() {
+        // Given
+        MockEmployee first = employee("Ann Lee", "a@company.com");
+        MockEmployee second = employee("Ann Lee", "b@company.com");
+        MockEmployee third = employee("Bo", "c@company.com");
+        names.add(first);
+        names.add(second);
+        names.add(third);
+        MockEmployee renamed = third.toBuilder().name("ann lee").version(2).build();
+
+        // When
+        // A rename makes the employee the newest holder of its new name.
+        names.add(renamed);
+        names.remove(third);
+        // An update keeping the name adds the same entry again, which keeps its place.
+        names.add(first.toBuilder().salary(1).version(2).build());
+
+        // Assertions
+        assertEquals(List.of(first.getId(), second.getId(), third.getId()), names.lookup("Ann Lee"));
+        assertEquals(3, names.count("ann lee"));
+        assertTrue(names.lookup("bo").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test remove - Removing the last id drops the key")
+    void testRemove_DropsEmptyKey() {
+        // Given
+        MockEmployee first = employee("Ann Lee", "a@company.com");
+        MockEmployee second = employee("Ann Lee", "b@company.com");
+        names.add(first);
+        names.add(second);
+
+        // When
+        names.remove(first);
+
+        // Then
+        IndexStats partial = names.stats();
+        names.remove(second);
+
+        // Assertions
+        assertEquals(1, partial.keys());
+        assertEquals(1, partial.entries());
+        assertEquals(0, names.stats().keys());
+        assertEquals(0, names.count("ann lee"));
+    }
+
+    @Test
+    @DisplayName("Test isAffectedBy - Only a change to the normalized key affects the index")
+    void testIsAffectedBy() {
+        // Given
+        MockEmployee employee = employee("Ann Lee", "a@company.com");
+
+        // Assertions
+        assertFalse(names.isAffectedBy(employee, employee.toBuilder().name("ANN LEE").build()));
+        assertTrue(names.isAffectedBy(employee, employee.toBuilder().name("Ann Leigh").build()));
+        assertFalse(names.isAffectedBy(employee, employee.toBuilder().salary(1).build()));
+    }
+
+    static MockEmployee employee(String name, String email) {
+        return new MockEmployee(UUID.randomUUID(), name, 50000, 30, "Tester", email);
+    }
+}
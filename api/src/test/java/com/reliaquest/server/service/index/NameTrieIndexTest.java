@@ -0,0 +1,180 @@
+package com.reliaquest.server.service.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class NameTrieIndexTest {
+
+    private static final String[] NAMES = {"Ann", "Anna", "Annie", "Andy", "Bill", "Bo", "Bob", "Bobby"};
+
+    private NameTrieIndex trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new NameTrieIndex("autocomplete", MockEmployee::getName, NameTrieIndex.Rank.SALARY, 3);
+    }
+
+    @Test
+    @DisplayName("Test complete - Matches the start of any word or of the whole name, best salaries first")
+    void testComplete_RankedByWordPrefix() {
+        // Given
+        MockEmployee annLee = employee("Ann Lee", 100);
+        MockEmployee lena = employee("Lena Anders", 300);
+        MockEmployee annabel = employee("Annabel", 200);
+        MockEmployee bob = employee("Bob", 900);
+        List.of(annLee, lena, annabel, bob).forEach(trie::add);
+
+        // Assertions
+        assertEquals(List.of(lena, annabel, annLee), trie.complete("AN", 10));
+        assertEquals(List.of(lena, annabel), trie.complete("an", 2));
+        assertEquals(List.of(annLee), trie.complete("ann l", 10));
+        assertEquals(List.of(lena, annLee), trie.complete("le", 10));
+        assertTrue(trie.complete("x", 10).isEmpty());
+        assertTrue(trie.complete(" ", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test complete - A full cache is rebuilt after a removal and still holds the best remaining")
+    void testComplete_RebuiltAfterRemoval() {
+        // Given
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            employees.add(employee("Anna " + i, i * 100));
+        }
+        employees.forEach(trie::add);
+
+        // When
+        trie.remove(employees.get(5));
+        trie.remove(employees.get(3));
+
+        // Assertions
+        assertEquals(List.of(employees.get(4), employees.get(2), employees.get(1)), trie.complete("ann", 3));
+        assertEquals(List.of(employees.get(0)), trie.complete("anna 1", 3));
+    }
+
+    @Test
+    @DisplayName("Test add - A newer version replaces the older one, and removing the older version keeps the newer")
+    void testAdd_NewerVersionReplaces() {
+        // Given
+        MockEmployee original = employee("Ann Lee", 100);
+        MockEmployee raised = original.toBuilder().salary(500).version(2).build();
+        MockEmployee other = employee("Anna", 300);
+        trie.add(original);
+        trie.add(other);
+
+        // When
+        trie.add(raised);
+        trie.remove(original);
+
+        // Assertions
+        assertEquals(List.of(raised, other), trie.complete("ann", 3));
+        assertEquals(List.of(raised), trie.complete("lee", 3));
+    }
+
+    @Test
+    @DisplayName("Test remove - Emptied nodes are pruned and single-child nodes merged back into their child")
+    void testRemove_PrunesAndCompacts() {
+        // Given
+        NameTrieIndex fresh = new NameTrieIndex("fresh", MockEmployee::getName, NameTrieIndex.Rank.SALARY, 3);
+        MockEmployee annabel = employee("Annabel", 100);
+        fresh.add(annabel);
+        MockEmployee ann = employee("Ann", 200);
+        MockEmployee anna = employee("Anna", 300);
+        trie.add(ann);
+        trie.add(anna);
+        trie.add(annabel);
+
+        // When
+        trie.remove(anna);
+        trie.remove(ann);
+
+        // Assertions
+        assertEquals(fresh.stats().type(), trie.stats().type());
+        assertEquals(1, trie.stats().keys());
+        assertEquals(List.of(annabel), trie.complete("an", 3));
+        assertEquals(List.of(annabel), trie.complete("annabel", 3));
+
+        trie.remove(annabel);
+        assertEquals("trie (1 nodes)", trie.stats().type());
+        assertTrue(trie.complete("a", 3).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test complete - Top results match a full scan after random inserts, updates and deletes")
+    void testComplete_MatchesScanAfterChurn() {
+        // Given
+        Random random = new Random(7);
+        List<MockEmployee> live = new ArrayList<>();
+
+        // When
+        for (int step = 0; step < 2000; step++) {
+            int action = random.nextInt(3);
+            if (action == 0 || live.isEmpty()) {
+                MockEmployee added = employee(
+                        NAMES[random.nextInt(NAMES.length)] + " " + NAMES[random.nextInt(NAMES.length)],
+                        random.nextInt(1000) + 1);
+                trie.add(added);
+                live.add(added);
+            } else if (action == 1) {
+                MockEmployee removed = live.remove(random.nextInt(live.size()));
+                trie.remove(removed);
+            } else {
+                int index = random.nextInt(live.size());
+                MockEmployee before = live.get(index);
+                MockEmployee after = before.toBuilder()
+                        .salary(random.nextInt(1000) + 1)
+                        .version(before.getVersion() + 1)
+                        .build();
+                trie.add(after);
+                trie.remove(before);
+                live.set(index, after);
+            }
+            if (step % 50 == 0) {
+                for (String prefix : List.of("a", "an", "ann", "b", "bo", "bob", "bill a")) {
+                    assertEquals(scan(live, prefix), trie.complete(prefix, 3), "prefix " + prefix + " at " + step);
+                }
+            }
+        }
+
+        // Assertions
+        for (MockEmployee employee : List.copyOf(live)) {
+            trie.remove(employee);
+        }
+        assertEquals("trie (1 nodes)", trie.stats().type());
+    }
+
+    private static List<MockEmployee> scan(List<MockEmployee> employees, String prefix) {
+        Comparator<MockEmployee> rank = NameTrieIndex.Rank.SALARY.getComparator();
+        return employees.stream()
+                .filter(employee -> {
+                    String name = employee.getName().toLowerCase(Locale.ROOT);
+                    if (name.startsWith(prefix)) {
+                        return true;
+                    }
+                    for (String word : name.split("\\s+")) {
+                        if (word.startsWith(prefix)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                })
+                .sorted(rank)
+                .limit(3)
+                .toList();
+    }
+
+    private static MockEmployee employee(String name, int salary) {
+        return new MockEmployee(UUID.randomUUID(), name, salary, 30, "Tester", "tester@company.com");
+    }
+}
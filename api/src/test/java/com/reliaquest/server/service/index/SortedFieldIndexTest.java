@@ -0,0 +1,152 @@
+package com.reliaquest.server.service.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SortedFieldIndexTest {
+
+    private final SortedFieldIndex<Integer> salaries =
+            new SortedFieldIndex<>("salary", MockEmployee::getSalary, Integer::valueOf);
+    private final Map<UUID, MockEmployee> store = new HashMap<>();
+
+    @Test
+    @DisplayName("Test range - Both bounds are inclusive and either may be left open")
+    void testRange_Bounds() {
+        // Given
+        List<MockEmployee> employees = List.of(
+                indexed(employee(1000)), indexed(employee(2000)), indexed(employee(3000)), indexed(employee(4000)));
+
+        // Assertions
+        assertEquals(employees.subList(1, 3), range(2000, 3000, null, 10).employees());
+        assertEquals(employees.subList(0, 2), range(null, 2000, null, 10).employees());
+        assertEquals(employees.subList(2, 4), range(2500, null, null, 10).employees());
+        assertEquals(employees, range(null, null, null, 10).employees());
+        assertTrue(range(3000, 2000, null, 10).employees().isEmpty());
+        assertTrue(range(4001, null, null, 10).employees().isEmpty());
+        assertEquals(3, salaries.count(2000, null, 10));
+        assertEquals(2, salaries.count(null, null, 2));
+        assertEquals(
+                List.of(employees.get(2), employees.get(1)),
+                salaries.employees(2000, 3000, true, store::get).toList());
+        assertEquals(List.of(employees.get(3), employees.get(2)), salaries.highest(2, store::get));
+    }
+
+    @Test
+    @DisplayName("Test range - Pages over equal keys follow id order and return every employee exactly once")
+    void testRange_PagingAcrossEqualKeys() {
+        // Given
+        List<MockEmployee> expected = new ArrayList<>();
+        expected.add(indexed(employee(1000)));
+        for (int i = 0; i < 5; i++) {
+            expected.add(indexed(employee(3000)));
+        }
+        expected.add(indexed(employee(5000)));
+        expected.sort(Comparator.comparing(MockEmployee::getSalary).thenComparing(MockEmployee::getId));
+
+        // When
+        List<MockEmployee> paged = new ArrayList<>();
+        List<String> cursors = new ArrayList<>();
+        String cursor = null;
+        do {
+            IndexPage page = range(null, null, cursor, 2);
+            paged.addAll(page.employees());
+            cursor = page.nextCursor();
+            cursors.add(cursor);
+        } while (cursor != null);
+
+        // Assertions
+        assertEquals(expected, paged);
+        assertEquals(4, cursors.size());
+        MockEmployee lastOfSecondPage = expected.get(3);
+        assertEquals(SortedFieldIndex.cursorAfter(3000, lastOfSecondPage.getId()), cursors.get(1));
+    }
+
+    @Test
+    @DisplayName("Test range - A cursor is the url-safe key and id of the last entry, checked against the bounds")
+    void testRange_CursorEncoding() {
+        // Given
+        MockEmployee low = indexed(employee(1000));
+        MockEmployee middle = indexed(employee(2000));
+        MockEmployee high = indexed(employee(3000));
+
+        // When
+        String cursor = range(null, null, null, 1).nextCursor();
+
+        // Assertions
+        assertEquals(
+                "1000|" + low.getId(),
+                new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        assertEquals(List.of(middle), range(null, null, cursor, 1).employees());
+        // A cursor below the lower bound does not widen the range.
+        assertEquals(List.of(middle, high), range(2000, null, cursor, 10).employees());
+        String afterMiddle = SortedFieldIndex.cursorAfter(2000, middle.getId());
+        assertEquals(List.of(high), range(null, 3000, afterMiddle, 10).employees());
+        assertNull(range(null, null, afterMiddle, 1).nextCursor());
+        assertEquals(
+                "Invalid cursor for index salary",
+                assertThrows(IllegalArgumentException.class, () -> range(null, null, "not a cursor", 1))
+                        .getMessage());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> range(null, null, SortedFieldIndex.cursorAfter("abc", low.getId()), 1));
+    }
+
+    @Test
+    @DisplayName("Test range - Added and removed employees show at once, and stale entries are skipped")
+    void testRange_ConsistentWithWrites() {
+        // Given
+        MockEmployee kept = indexed(employee(2000));
+        MockEmployee deleted = indexed(employee(2500));
+        MockEmployee raised = indexed(employee(1500));
+        MockEmployee afterRaise = raised.toBuilder().salary(3000).version(2).build();
+
+        // When
+        // An update adds the new entry and swaps the record before it removes the old entry.
+        salaries.add(afterRaise);
+        store.put(raised.getId(), afterRaise);
+        List<MockEmployee> midUpdate = range(null, null, null, 10).employees();
+        long midUpdateCount = salaries.count(null, null, 10);
+        salaries.remove(raised);
+        // A delete drops the record before the entry.
+        store.remove(deleted.getId());
+        List<MockEmployee> midDelete = range(null, null, null, 10).employees();
+        salaries.remove(deleted);
+        MockEmployee created = indexed(employee(1000));
+
+        // Assertions
+        assertEquals(List.of(kept, deleted, afterRaise), midUpdate);
+        assertEquals(4, midUpdateCount);
+        assertEquals(List.of(kept, afterRaise), midDelete);
+        assertEquals(List.of(created, kept, afterRaise), range(null, null, null, 10).employees());
+        assertEquals(List.of(created, kept), range(null, 2000, null, 10).employees());
+        assertEquals(3, salaries.stats().entries());
+    }
+
+    private MockEmployee indexed(MockEmployee employee) {
+        store.put(employee.getId(), employee);
+        salaries.add(employee);
+        return employee;
+    }
+
+    private IndexPage range(Integer from, Integer to, String cursor, int limit) {
+        return salaries.range(from, to, cursor, limit, store::get);
+    }
+
+    private static MockEmployee employee(int salary) {
+        return new MockEmployee(UUID.randomUUID(), "Sorted Tester", salary, 30, "Tester", "sorted@company.com");
+    }
+}
@@ -0,0 +1,151 @@
+package com.reliaquest.server.service.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.EmployeeQueryResult;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.QueryStats;
+import com.reliaquest.server.service.index.EmployeeIndexes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmployeeQueryPlannerTest {
+
+    // Employee i (1 to 10) earns 1000 * i and is 20 + i years old; only employee 5 is a Manager.
+    private final List<MockEmployee> employees = new ArrayList<>();
+    private EmployeeQueryPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeIndexes indexes = new ServerConfiguration(null, null).employeeIndexes("salary", 20);
+        Map<UUID, MockEmployee> employeesById = new LinkedHashMap<>();
+        for (int i = 1; i <= 10; i++) {
+            MockEmployee employee = new MockEmployee(
+                    UUID.randomUUID(),
+                    "Employee " + i,
+                    1000 * i,
+                    20 + i,
+                    i == 5 ? "Manager" : "Engineer",
+                    "employee" + i + "@company.com");
+            employees.add(employee);
+            employeesById.put(employee.getId(), employee);
+            indexes.add(employee);
+        }
+        planner = new EmployeeQueryPlanner(indexes, employeesById);
+    }
+
+    @Test
+    @DisplayName("Test execute - An equality on a hash-indexed field reads its bucket")
+    void testExecute_HashLookup() {
+        // When
+        EmployeeQueryResult result = execute("salary > 0 and name = 'employee 3'", null, 10);
+
+        // Assertions
+        assertEquals("hash index name = 'employee 3'", result.stats().plan());
+        assertEquals(1, result.stats().rowsExamined());
+        assertEquals(List.of(employee(3)), result.employees());
+        assertEquals(
+                List.of(
+                        new QueryStats.Candidate("full scan", 10),
+                        new QueryStats.Candidate("hash index name = 'employee 3'", 1),
+                        new QueryStats.Candidate("sorted index salary [1, +inf]", 2)),
+                result.stats().considered());
+    }
+
+    @Test
+    @DisplayName("Test execute - A narrow range beats a wide hash bucket, and a range as wide as the store loses")
+    void testExecute_RangeOrFullScan() {
+        // When
+        EmployeeQueryResult narrow = execute("title = 'engineer' and salary >= 7000 and salary < 9000", null, 10);
+        EmployeeQueryResult wide = execute("salary >= 1000", null, 10);
+
+        // Assertions
+        assertEquals("sorted index salary [7000, 8999]", narrow.stats().plan());
+        assertEquals(2, narrow.stats().rowsExamined());
+        assertEquals(List.of(employee(7), employee(8)), narrow.employees());
+        assertEquals("full scan", wide.stats().plan());
+        assertEquals(10, wide.stats().rowsExamined());
+    }
+
+    @Test
+    @DisplayName("Test execute - A disjunction of indexable operands reads their union, each employee once")
+    void testExecute_Union() {
+        // When
+        EmployeeQueryResult union = execute("age <= 22 or salary <= 3000 or name = 'Employee 10'", null, 10);
+        EmployeeQueryResult unindexable = execute("name = 'Employee 1' or name ~ 'employee'", null, 10);
+
+        // Assertions
+        assertEquals(
+                "union of (sorted index age [-inf, 22]; sorted index salary [-inf, 3000]; "
+                        + "hash index name = 'Employee 10')",
+                union.stats().plan());
+        assertEquals(6, union.stats().estimatedRows());
+        assertEquals(4, union.stats().rowsExamined());
+        assertEquals(4, union.stats().rowsMatched());
+        assertEquals(List.of(employee(1), employee(2), employee(3), employee(10)), sortedBySalary(union));
+        assertEquals("full scan", unindexable.stats().plan());
+    }
+
+    @Test
+    @DisplayName("Test execute - Bounds no value can meet read no rows")
+    void testExecute_EmptyBounds() {
+        // When
+        EmployeeQueryResult overflow = execute("salary > 2147483647", null, 10);
+        EmployeeQueryResult underflow = execute("age < -2147483648", null, 10);
+        EmployeeQueryResult crossed = execute("age > 30 and age < 25", null, 10);
+
+        // Assertions
+        assertEquals("no rows: salary out of range", overflow.stats().plan());
+        assertEquals("no rows: age out of range", underflow.stats().plan());
+        assertEquals("no rows: age [31, 24]", crossed.stats().plan());
+        assertEquals(0, overflow.stats().rowsExamined());
+        assertTrue(crossed.employees().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test execute - An index in the requested order stops at the limit, other paths sort every match")
+    void testExecute_EarlyStop() {
+        // When
+        EmployeeQueryResult unfiltered = execute(null, "salary desc", 2);
+        EmployeeQueryResult range = execute("salary >= 5000 and salary < 9000", "salary", 2);
+        EmployeeQueryResult hash = execute("title = 'Engineer'", "age desc", 3);
+
+        // Assertions
+        assertEquals("sorted index salary [-inf, +inf] descending", unfiltered.stats().plan());
+        assertEquals(2, unfiltered.stats().rowsExamined());
+        assertFalse(unfiltered.stats().sorted());
+        assertEquals(List.of(employee(10), employee(9)), unfiltered.employees());
+
+        assertEquals("sorted index salary [5000, 8999] ascending", range.stats().plan());
+        assertEquals(2, range.stats().rowsExamined());
+        assertEquals(List.of(employee(5), employee(6)), range.employees());
+
+        assertEquals("hash index title = 'Engineer'", hash.stats().plan());
+        assertTrue(hash.stats().sorted());
+        assertEquals(9, hash.stats().rowsExamined());
+        assertEquals(List.of(employee(10), employee(9), employee(8)), hash.employees());
+    }
+
+    private EmployeeQueryResult execute(String where, String orderBy, int limit) {
+        return planner.execute(EmployeeQuery.parse(where, orderBy, limit), true);
+    }
+
+    private MockEmployee employee(int number) {
+        return employees.get(number - 1);
+    }
+
+    private static List<MockEmployee> sortedBySalary(EmployeeQueryResult result) {
+        return result.employees().stream()
+                .sorted(QueryField.SALARY.ordering())
+                .toList();
+    }
+}
@@ -0,0 +1,99 @@
+package com.reliaquest.server.service.query;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QueryParserTest {
+
+    private static final Predicate AGE_OVER_30 = comparison(QueryField.AGE, Predicate.Operator.GT, 30);
+    private static final Predicate SALARY_UNDER_10 = comparison(QueryField.SALARY, Predicate.Operator.LT, 10);
+    private static final Predicate NAMED_ANN = comparison(QueryField.NAME, Predicate.Operator.EQ, "Ann");
+
+    @Test
+    @DisplayName("Test parse - And binds tighter than or, and parentheses override it")
+    void testParse_Precedence() {
+        // Assertions
+        assertEquals(
+                new Predicate.Or(List.of(AGE_OVER_30, new Predicate.And(List.of(SALARY_UNDER_10, NAMED_ANN)))),
+                parse("age > 30 or salary < 10 and name = 'Ann'"));
+        assertEquals(
+                new Predicate.And(List.of(new Predicate.Or(List.of(AGE_OVER_30, SALARY_UNDER_10)), NAMED_ANN)),
+                parse("(age > 30 or salary < 10) and name = 'Ann'"));
+        assertEquals(AGE_OVER_30, parse(" ( ( age>30 ) ) "));
+    }
+
+    @Test
+    @DisplayName("Test parse - Nested conjunctions and disjunctions are flattened, mixed ones are kept")
+    void testParse_Flattening() {
+        // Assertions
+        assertEquals(
+                new Predicate.And(List.of(AGE_OVER_30, SALARY_UNDER_10, NAMED_ANN)),
+                parse("age > 30 and (salary < 10 and name = 'Ann')"));
+        assertEquals(
+                new Predicate.Or(List.of(AGE_OVER_30, SALARY_UNDER_10, NAMED_ANN)),
+                parse("(age > 30 or salary < 10) or name = 'Ann'"));
+        assertEquals(
+                new Predicate.And(List.of(AGE_OVER_30, new Predicate.Or(List.of(SALARY_UNDER_10, NAMED_ANN)))),
+                parse("age > 30 and (salary < 10 or name = 'Ann')"));
+    }
+
+    @Test
+    @DisplayName("Test parse - Operators, quoted strings and numbers are read whole")
+    void testParse_Literals() {
+        // Assertions
+        assertEquals(comparison(QueryField.AGE, Predicate.Operator.LE, -3), parse("age<=-3"));
+        assertEquals(comparison(QueryField.AGE, Predicate.Operator.NE, 3), parse("AGE != 3"));
+        assertEquals(comparison(QueryField.NAME, Predicate.Operator.EQ, "O'Brien"), parse("name = 'O''Brien'"));
+        assertEquals(comparison(QueryField.TITLE, Predicate.Operator.CONTAINS, "or"), parse("title ~ 'OR'"));
+        assertEquals(comparison(QueryField.NAME, Predicate.Operator.EQ, " a and b "), parse("name = ' a and b '"));
+        assertEquals("name = 'O''Brien'", parse("name = 'O''Brien'").toString());
+        assertNull(EmployeeQuery.parseWhere("  "));
+    }
+
+    @Test
+    @DisplayName("Test parse - Keywords are case-insensitive and only match whole words")
+    void testParse_KeywordBoundaries() {
+        // Assertions
+        assertEquals(new Predicate.Or(List.of(AGE_OVER_30, SALARY_UNDER_10)), parse("age > 30 OR salary < 10"));
+        assertEquals(new Predicate.And(List.of(AGE_OVER_30, SALARY_UNDER_10)), parse("age > 30 And salary < 10"));
+        assertError("Unexpected 'a' at position 9 of query", "age > 30 andy = 2");
+        assertError("Unexpected 'O' at position 9 of query", "age > 30 ORDER = 2");
+        assertError("Unexpected 'o' at position 9 of query", "age > 30 or2 salary < 10");
+    }
+
+    @Test
+    @DisplayName("Test parse - Errors name the position where parsing stopped")
+    void testParse_ErrorPositions() {
+        // Assertions
+        assertError("Expected a number or a quoted string at position 5 of query", "age >");
+        assertError("Expected one of = != < <= > >= ~ at position 4 of query", "age ! 3");
+        assertError("Expected a field name at position 0 of query", "= 3");
+        assertError("Unexpected ')' at position 8 of query", "age = 1 )");
+        assertError("Expected ')' at position 8 of query", "(age = 1");
+        assertError("Number out of range at position 9 of query", "salary = 99999999999");
+        assertError("Unterminated string at position 16 of query", "name = 'O''Brien");
+        assertError("Operator > does not apply to name", "name > 3");
+        assertError("Expected a quoted string to compare with title", "title = 3");
+        assertError("Invalid employee id 'x'", "id = 'x'");
+        IllegalArgumentException update = assertThrows(
+                IllegalArgumentException.class, () -> new QueryParser("salary + 1", "update").parseAssignments());
+        assertEquals("Expected '=' at position 7 of update", update.getMessage());
+    }
+
+    private static Predicate parse(String where) {
+        return EmployeeQuery.parseWhere(where);
+    }
+
+    private static void assertError(String message, String where) {
+        assertEquals(message, assertThrows(IllegalArgumentException.class, () -> parse(where)).getMessage());
+    }
+
+    private static Predicate comparison(QueryField field, Predicate.Operator operator, Object value) {
+        return new Predicate.Comparison(field, operator, value);
+    }
+}
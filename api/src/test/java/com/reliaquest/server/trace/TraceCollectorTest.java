@@ -0,0 +1,206 @@
+package com.reliaquest.server.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TraceCollectorTest {
+
+    private static final TraceContext CALLER = new TraceContext("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7");
+
+    private InMemoryTraceExporter exporter;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new InMemoryTraceExporter(10);
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Test tail sampling - A trace at or over the slow threshold is kept with all its spans")
+    void testTailSampling_SlowKept() {
+        // Given
+        TraceCollector collector = collector(Duration.ZERO);
+        Span root = collector.startRoot("GET /employees", CALLER);
+
+        // When
+        try (var ignored = root.activate()) {
+            Span.startChild("EmployeeService.getAllEmployees").end();
+        }
+        root.end();
+
+        // Then
+        RecordedTrace trace = exporter.getTraces().get(0);
+        Map<String, FinishedSpan> spans = spansByName(trace);
+
+        // Assertions
+        assertEquals(1, collector.getKeptCount());
+        assertEquals(0, collector.getDroppedCount());
+        assertEquals("api", trace.service());
+        assertEquals(CALLER.traceId(), trace.traceId());
+        assertFalse(trace.failed());
+        assertEquals(CALLER.spanId(), spans.get("GET /employees").parentSpanId());
+        assertEquals(root.getContext().spanId(), spans.get("EmployeeService.getAllEmployees").parentSpanId());
+        assertEquals("GET /employees", trace.spans().get(1).name());
+    }
+
+    @Test
+    @DisplayName("Test tail sampling - A fast trace is dropped unless one of its spans failed")
+    void testTailSampling_FastDroppedUnlessFailed() {
+        // Given
+        TraceCollector collector = collector(Duration.ofHours(1));
+        Span fast = collector.startRoot("GET /employees", null);
+        Span failing = collector.startRoot("POST /employees", null);
+
+        // When
+        fast.end();
+        failing.child("upstream employeeApiWrite").fail("HTTP 503").end();
+        failing.end();
+
+        // Then
+        List<RecordedTrace> traces = exporter.getTraces();
+
+        // Assertions
+        assertEquals(1, collector.getKeptCount());
+        assertEquals(1, collector.getDroppedCount());
+        assertEquals(1, traces.size());
+        assertEquals(failing.getContext().traceId(), traces.get(0).traceId());
+        assertTrue(traces.get(0).failed());
+        assertNull(spansByName(traces.get(0)).get("POST /employees").parentSpanId());
+        assertEquals("HTTP 503", spansByName(traces.get(0)).get("upstream employeeApiWrite").error());
+    }
+
+    @Test
+    @DisplayName("Test tail sampling - Spans ending after their root, and repeated ends, are dropped")
+    void testTailSampling_LateSpansDropped() {
+        // Given
+        TraceCollector collector = collector(Duration.ZERO);
+        Span root = collector.startRoot("GET /employees", null);
+        Span late = root.child("late");
+
+        // When
+        root.end();
+        root.end();
+        late.fail("too late").end();
+
+        // Assertions
+        assertEquals(1, collector.getKeptCount());
+        assertEquals(1, exporter.getTraces().size());
+        assertEquals(1, exporter.getTraces().get(0).spans().size());
+        assertFalse(exporter.getTraces().get(0).failed());
+    }
+
+    @Test
+    @DisplayName("Test startRoot - Disabled, nothing is traced or exported")
+    void testStartRoot_Disabled() {
+        // Given
+        TraceCollector collector = new TraceCollector(exporter, Duration.ZERO, "api", false);
+
+        // When
+        Span root = collector.startRoot("GET /employees", CALLER);
+        try (var ignored = root.activate()) {
+            assertSame(Span.NOOP, Span.startChild("EmployeeService.getAllEmployees"));
+        }
+        root.end();
+
+        // Assertions
+        assertSame(Span.NOOP, root);
+        assertFalse(root.isRecording());
+        assertTrue(exporter.getTraces().isEmpty());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new TraceCollector(exporter, Duration.ofMillis(-1), "api", true));
+    }
+
+    @Test
+    @DisplayName("Test propagation - Wrapped work and async spans on another thread join the caller's trace")
+    void testPropagation_AcrossThreads() throws Exception {
+        // Given
+        TraceCollector collector = collector(Duration.ZERO);
+        Span root = collector.startRoot("GET /employees", null);
+
+        // When
+        CompletableFuture<Boolean> result;
+        try (var ignored = root.activate()) {
+            CompletableFuture.runAsync(root.wrap(() -> Span.startChild("wrapped").end()), executor)
+                    .get(5, TimeUnit.SECONDS);
+            result = Span.trace(
+                    "async", () -> CompletableFuture.supplyAsync(() -> Span.current().isRecording(), executor));
+        }
+        boolean tracedOnExecutor = result.get(5, TimeUnit.SECONDS);
+        root.end();
+
+        // Then
+        Map<String, FinishedSpan> spans = spansByName(exporter.getTraces().get(0));
+
+        // Assertions
+        assertEquals(root.getContext().spanId(), spans.get("wrapped").parentSpanId());
+        assertEquals(root.getContext().spanId(), spans.get("async").parentSpanId());
+        // The supplier ran on a thread with no span bound; only wrap carries the span across.
+        assertFalse(tracedOnExecutor);
+        assertSame(Span.NOOP, Span.current());
+    }
+
+    @Test
+    @DisplayName("Test trace - A failed future fails its span, and resume binds the caller's span to continuations")
+    void testTrace_FailureAndResume() throws Exception {
+        // Given
+        TraceCollector collector = collector(Duration.ofHours(1));
+        Span root = collector.startRoot("POST /employees", null);
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        // When
+        CompletableFuture<String> failed;
+        CompletableFuture<String> resumedIn;
+        try (var ignored = root.activate()) {
+            failed = Span.trace(
+                    "upstream", () -> CompletableFuture.failedFuture(new IllegalStateException("unavailable")));
+            resumedIn = Span.resume(upstream).thenApply(value -> Span.current().getContext().spanId());
+        }
+        executor.submit(() -> upstream.complete("done")).get(5, TimeUnit.SECONDS);
+        root.end();
+
+        // Then
+        ExecutionException thrown = assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        RecordedTrace trace = exporter.getTraces().get(0);
+
+        // Assertions
+        assertTrue(trace.failed());
+        assertEquals("IllegalStateException: unavailable", spansByName(trace).get("upstream").error());
+        assertTrue(thrown.getCause() instanceof IllegalStateException);
+        assertEquals(root.getContext().spanId(), resumedIn.get(5, TimeUnit.SECONDS));
+    }
+
+    private TraceCollector collector(Duration slowThreshold) {
+        return new TraceCollector(exporter, slowThreshold, "api", true);
+    }
+
+    private static Map<String, FinishedSpan> spansByName(RecordedTrace trace) {
+        return trace.spans().stream()
+                .collect(Collectors.toMap(FinishedSpan::name, Function.identity(), (first, ignored) -> first));
+    }
+}
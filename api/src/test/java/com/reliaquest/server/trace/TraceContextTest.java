@@ -0,0 +1,75 @@
+package com.reliaquest.server.trace;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TraceContextTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SPAN_ID = "00f067aa0ba902b7";
+
+    @Test
+    @DisplayName("Test parse - A well-formed traceparent gives its trace and parent ids, whatever its flags")
+    void testParse_WellFormed() {
+        // When
+        TraceContext sampled = TraceContext.parse("00-" + TRACE_ID + "-" + SPAN_ID + "-01").orElseThrow();
+        TraceContext unsampled = TraceContext.parse(" 00-" + TRACE_ID + "-" + SPAN_ID + "-00 ").orElseThrow();
+
+        // Assertions
+        assertEquals(new TraceContext(TRACE_ID, SPAN_ID), sampled);
+        assertEquals(sampled, unsampled);
+    }
+
+    @Test
+    @DisplayName("Test parse - Malformed headers and all-zero ids are ignored")
+    void testParse_Ignored() {
+        // Assertions
+        assertTrue(TraceContext.parse(null).isEmpty());
+        assertTrue(TraceContext.parse("").isEmpty());
+        assertTrue(TraceContext.parse("01-" + TRACE_ID + "-" + SPAN_ID + "-01").isEmpty());
+        assertTrue(TraceContext.parse("00-" + TRACE_ID.toUpperCase() + "-" + SPAN_ID + "-01")
+                .isEmpty());
+        assertTrue(TraceContext.parse("00-" + TRACE_ID + "-" + SPAN_ID.substring(1) + "-01")
+                .isEmpty());
+        assertTrue(TraceContext.parse("00-" + TRACE_ID + "-" + SPAN_ID).isEmpty());
+        assertTrue(TraceContext.parse("00-" + "0".repeat(32) + "-" + SPAN_ID + "-01")
+                .isEmpty());
+        assertTrue(TraceContext.parse("00-" + TRACE_ID + "-" + "0".repeat(16) + "-01")
+                .isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test toTraceparent - A child keeps the trace id and round-trips through the header")
+    void testToTraceparent_ChildRoundTrips() {
+        // Given
+        TraceContext parent = new TraceContext(TRACE_ID, SPAN_ID);
+
+        // When
+        TraceContext child = parent.newChild();
+        TraceContext parsed = TraceContext.parse(child.toTraceparent()).orElseThrow();
+
+        // Assertions
+        assertEquals(TRACE_ID, child.traceId());
+        assertNotEquals(SPAN_ID, child.spanId());
+        assertEquals(child, parsed);
+        assertTrue(child.toTraceparent().endsWith("-01"));
+    }
+
+    @Test
+    @DisplayName("Test newTrace - New ids are valid, non-zero and distinct")
+    void testNewTrace() {
+        // When
+        TraceContext first = TraceContext.newTrace();
+        TraceContext second = TraceContext.newTrace();
+
+        // Assertions
+        assertEquals(first, TraceContext.parse(first.toTraceparent()).orElseThrow());
+        assertEquals(32, first.traceId().length());
+        assertEquals(16, first.spanId().length());
+        assertNotEquals(first.traceId(), second.traceId());
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ReplicaConsistencyInterceptorTest {
+
+    private EmployeeChangeLog employeeChangeLog;
+    private ReplicaConsistencyInterceptor interceptor;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        employeeChangeLog = new EmployeeChangeLog(10, 10);
+        employeeChangeLog.reset("primary", 5);
+        interceptor = new ReplicaConsistencyInterceptor(employeeChangeLog, Duration.ofMillis(50));
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Test preHandle - A read reports the version it is served at")
+    void testPreHandle_ReportsVersion() throws Exception {
+        // When
+        boolean proceed = interceptor.preHandle(get(null), response, null);
+
+        // Assertions
+        assertTrue(proceed);
+        assertEquals("5", response.getHeader(ReplicaConsistencyInterceptor.VERSION_HEADER));
+    }
+
+    @Test
+    @DisplayName("Test preHandle - A read waits for minVersion to be applied")
+    void testPreHandle_WaitsForMinVersion() throws Exception {
+        // Given
+        interceptor = new ReplicaConsistencyInterceptor(employeeChangeLog, Duration.ofSeconds(5));
+
+        // When
+        CompletableFuture<Boolean> proceed = CompletableFuture.supplyAsync(() -> {
+            try {
+                return interceptor.preHandle(get("6"), response, null);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        employeeChangeLog.appendReplicated(new EmployeeChangeEvent(
+                6,
+                EmployeeChangeEvent.Type.CREATED,
+                new MockEmployee(UUID.randomUUID(), "Replica Tester", 50000, 30, "Tester", "replica@company.com")));
+
+        // Assertions
+        assertTrue(proceed.get(5, TimeUnit.SECONDS));
+        assertEquals("6", response.getHeader(ReplicaConsistencyInterceptor.VERSION_HEADER));
+    }
+
+    @Test
+    @DisplayName("Test preHandle - A minVersion not applied within the catch-up timeout gets 412")
+    void testPreHandle_NotCaughtUp() throws Exception {
+        // When
+        boolean proceed = interceptor.preHandle(get("6"), response, null);
+
+        // Assertions
+        assertFalse(proceed);
+        assertEquals(HttpStatus.PRECONDITION_FAILED.value(), response.getStatus());
+        assertNull(response.getHeader(ReplicaConsistencyInterceptor.VERSION_HEADER));
+    }
+
+    @Test
+    @DisplayName("Test preHandle - A minVersion that is not a number gets 400")
+    void testPreHandle_BadMinVersion() throws Exception {
+        // When
+        boolean proceed = interceptor.preHandle(get("latest"), response, null);
+
+        // Assertions
+        assertFalse(proceed);
+        assertEquals(HttpStatus.BAD_REQUEST.value(), response.getStatus());
+    }
+
+    @Test
+    @DisplayName("Test preHandle - Writes are passed through untouched")
+    void testPreHandle_IgnoresWrites() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/employee");
+        request.setParameter(ReplicaConsistencyInterceptor.MIN_VERSION_PARAM, "latest");
+
+        // When
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        // Assertions
+        assertTrue(proceed);
+        assertNull(response.getHeader(ReplicaConsistencyInterceptor.VERSION_HEADER));
+    }
+
+    private static MockHttpServletRequest get(String minVersion) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        if (minVersion != null) {
+            request.setParameter(ReplicaConsistencyInterceptor.MIN_VERSION_PARAM, minVersion);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,99 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.trace.InMemoryTraceExporter;
+import com.reliaquest.server.trace.RecordedTrace;
+import com.reliaquest.server.trace.Span;
+import com.reliaquest.server.trace.TraceCollector;
+import com.reliaquest.server.trace.TraceContext;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class TracingFilterTest {
+
+    private static final String CALLER_TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+
+    private InMemoryTraceExporter exporter;
+    private TracingFilter filter;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        exporter = new InMemoryTraceExporter(10);
+        // Fast traces are dropped, so only failed requests are exported.
+        filter = new TracingFilter(new TraceCollector(exporter, Duration.ofHours(1), "mock", true));
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    @DisplayName("Test doFilter - Continues the caller's trace and returns the root span's context")
+    void testDoFilter_ContinuesCallerTrace() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader(TraceContext.HEADER, "00-" + CALLER_TRACE_ID + "-" + CALLER_SPAN_ID + "-01");
+        AtomicReference<Span> handlerSpan = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, response, (req, res) -> {
+            handlerSpan.set(Span.current());
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        });
+
+        // Then
+        TraceContext root = TraceContext.parse(response.getHeader(TraceContext.HEADER)).orElseThrow();
+        RecordedTrace trace = exporter.getTraces().get(0);
+
+        // Assertions
+        assertEquals(CALLER_TRACE_ID, root.traceId());
+        assertNotEquals(CALLER_SPAN_ID, root.spanId());
+        assertEquals(root, handlerSpan.get().getContext());
+        assertEquals(CALLER_TRACE_ID, trace.traceId());
+        assertEquals(CALLER_SPAN_ID, trace.spans().get(0).parentSpanId());
+        assertEquals("HTTP 503", trace.spans().get(0).error());
+        assertEquals(503, trace.spans().get(0).attributes().get("http.status"));
+    }
+
+    @Test
+    @DisplayName("Test doFilter - A malformed traceparent starts a new trace, and a fast success is dropped")
+    void testDoFilter_NewTraceDropped() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.addHeader(TraceContext.HEADER, "00-" + CALLER_TRACE_ID + "-not-a-span-01");
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        TraceContext root = TraceContext.parse(response.getHeader(TraceContext.HEADER)).orElseThrow();
+
+        // Assertions
+        assertNotEquals(CALLER_TRACE_ID, root.traceId());
+        assertTrue(exporter.getTraces().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Test doFilter - Disabled tracing sends no traceparent")
+    void testDoFilter_Disabled() throws Exception {
+        // Given
+        filter = new TracingFilter(new TraceCollector(exporter, Duration.ZERO, "mock", false));
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee"), response, new MockFilterChain());
+
+        // Assertions
+        assertNull(response.getHeader(TraceContext.HEADER));
+        assertTrue(exporter.getTraces().isEmpty());
+    }
+}
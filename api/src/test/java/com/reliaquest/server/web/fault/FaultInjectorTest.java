@@ -0,0 +1,263 @@
+package com.reliaquest.server.web.fault;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+// Time only moves when a test advances the clock, and every random draw comes from a fixed seed.
+class FaultInjectorTest {
+
+    private static final String PATH = "/api/v1/employee/search";
+    private static final FaultProfile.Latency NO_LATENCY = latency(FaultProfile.Distribution.NONE, 0, 0, null, null);
+    private static final FaultProfile.Throttle NO_THROTTLE =
+            new FaultProfile.Throttle(0, Duration.ofSeconds(1), null, Duration.ZERO);
+
+    // Starts well away from zero so that windows and periods are seen to count from the injector's creation.
+    private final AtomicLong clock = new AtomicLong(Duration.ofHours(3).toNanos() + 123);
+
+    @Test
+    @DisplayName("Test decide - At most limit requests pass per fixed window, the rest wait for the next one")
+    void testDecide_FixedWindowLimit() {
+        // Given
+        FaultProfile.Throttle limit = new FaultProfile.Throttle(2, Duration.ofSeconds(1), null, Duration.ZERO);
+        FaultInjector injector = injector(rule("/api/**", null, NO_LATENCY, 0, limit));
+
+        // When
+        FaultInjector.Fault first = decide(injector);
+        FaultInjector.Fault second = decide(injector);
+        FaultInjector.Fault third = decide(injector);
+        advance(Duration.ofMillis(300));
+        FaultInjector.Fault later = decide(injector);
+        advance(Duration.ofMillis(700));
+        FaultInjector.Fault nextWindow = decide(injector);
+
+        // Assertions
+        assertFalse(first.throttled());
+        assertFalse(second.throttled());
+        assertTrue(third.throttled());
+        assertEquals(Duration.ofSeconds(1), third.retryAfter());
+        assertTrue(later.throttled());
+        assertEquals(Duration.ofMillis(700), later.retryAfter());
+        assertFalse(nextWindow.throttled());
+    }
+
+    @Test
+    @DisplayName("Test decide - Every request in the last duration of each period is throttled until it ends")
+    void testDecide_PeriodicBursts() {
+        // Given
+        FaultProfile.Throttle bursts =
+                new FaultProfile.Throttle(0, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofSeconds(2));
+        FaultInjector injector = injector(rule("/api/**", null, NO_LATENCY, 0, bursts));
+
+        // When
+        FaultInjector.Fault start = decide(injector);
+        advance(Duration.ofSeconds(8).minusNanos(1));
+        FaultInjector.Fault beforeBurst = decide(injector);
+        advance(Duration.ofNanos(1));
+        FaultInjector.Fault burstStart = decide(injector);
+        advance(Duration.ofMillis(1500));
+        FaultInjector.Fault burstEnd = decide(injector);
+        advance(Duration.ofMillis(500));
+        FaultInjector.Fault nextPeriod = decide(injector);
+
+        // Assertions
+        assertFalse(start.throttled());
+        assertFalse(beforeBurst.throttled());
+        assertTrue(burstStart.throttled());
+        assertEquals(Duration.ofSeconds(2), burstStart.retryAfter());
+        assertTrue(burstEnd.throttled());
+        assertEquals(Duration.ofMillis(500), burstEnd.retryAfter());
+        assertFalse(nextPeriod.throttled());
+    }
+
+    @Test
+    @DisplayName("Test decide - Draws depend only on the seed, the rule and the request's position among its matches")
+    void testDecide_PerRuleSeeding() {
+        // Given
+        FaultProfile.Latency uniform = latency(FaultProfile.Distribution.UNIFORM, 0, 0, null, 1000L);
+        List<FaultProfile.Rule> rules = List.of(
+                rule("/api/v1/employee/*", "GET", uniform, 0.5, NO_THROTTLE),
+                rule("/api/v1/employee/**", null, uniform, 0.5, NO_THROTTLE));
+        FaultInjector injector = new FaultInjector(new FaultProfile(true, 7, rules), clock::get);
+        FaultInjector interleaved = new FaultInjector(new FaultProfile(true, 7, rules), clock::get);
+        FaultInjector reseeded = new FaultInjector(new FaultProfile(true, 8, rules), clock::get);
+
+        // When
+        List<FaultInjector.Fault> gets = IntStream.range(0, 20)
+                .mapToObj(i -> injector.decide("GET", PATH).orElseThrow())
+                .toList();
+        List<FaultInjector.Fault> posts = IntStream.range(0, 20)
+                .mapToObj(i -> injector.decide("POST", PATH).orElseThrow())
+                .toList();
+        // The same requests arriving in a different order, with clock time passing in between.
+        List<FaultInjector.Fault> interleavedGets = IntStream.range(0, 20)
+                .mapToObj(i -> {
+                    interleaved.decide("POST", PATH);
+                    advance(Duration.ofMillis(37));
+                    return interleaved.decide("get", PATH).orElseThrow();
+                })
+                .toList();
+        List<FaultInjector.Fault> reseededGets = IntStream.range(0, 20)
+                .mapToObj(i -> reseeded.decide("GET", PATH).orElseThrow())
+                .toList();
+
+        // Assertions
+        assertEquals(gets, interleavedGets);
+        assertNotEquals(gets, posts);
+        assertNotEquals(gets, reseededGets);
+        assertTrue(gets.stream().anyMatch(fault -> fault.errorStatus() == 503));
+        assertTrue(gets.stream().anyMatch(fault -> fault.errorStatus() == 0));
+        assertTrue(gets.stream().allMatch(fault -> fault.delayNanos() >= 0 && fault.delayNanos() < 1_000_000_000L));
+    }
+
+    @Test
+    @DisplayName("Test decide - The first matching rule wins, and a disabled profile or no match injects nothing")
+    void testDecide_Matching() {
+        // Given
+        FaultProfile.Latency fixed = latency(FaultProfile.Distribution.FIXED, 0, 250, null, null);
+        List<FaultProfile.Rule> rules = List.of(
+                rule("/api/v1/employee/{id}", "DELETE", NO_LATENCY, 1, NO_THROTTLE),
+                rule("/api/v1/employee/**", null, fixed, 0, NO_THROTTLE));
+        FaultInjector injector = new FaultInjector(new FaultProfile(true, 42, rules), clock::get);
+        FaultInjector disabled = new FaultInjector(new FaultProfile(false, 42, rules), clock::get);
+
+        // When
+        Optional<FaultInjector.Fault> delete = injector.decide("DELETE", "/api/v1/employee/abc");
+        Optional<FaultInjector.Fault> get = injector.decide("GET", "/api/v1/employee/abc");
+        Optional<FaultInjector.Fault> unmatched = injector.decide("GET", "/health");
+
+        // Assertions
+        assertEquals(Optional.of(new FaultInjector.Fault(false, null, 0, 503, rules.get(0).slowBody())), delete);
+        assertEquals(Duration.ofMillis(250).toNanos(), get.orElseThrow().delayNanos());
+        assertEquals(0, get.orElseThrow().errorStatus());
+        assertTrue(unmatched.isEmpty());
+        assertTrue(injector.isEnabled());
+        assertFalse(disabled.isEnabled());
+        assertTrue(disabled.decide("DELETE", "/api/v1/employee/abc").isEmpty());
+        assertFalse(new FaultInjector(new FaultProfile(true, 42, List.of()), clock::get).isEnabled());
+    }
+
+    @Test
+    @DisplayName("Test sampleNanos - Each distribution has the configured floor, median, tail and cap")
+    void testSampleNanos_Distributions() {
+        // Given
+        FaultProfile.Latency uniform = latency(FaultProfile.Distribution.UNIFORM, 100, 0, null, 300L);
+        FaultProfile.Latency exponential = latency(FaultProfile.Distribution.EXPONENTIAL, 50, 100, null, null);
+        FaultProfile.Latency lognormal = latency(FaultProfile.Distribution.LOGNORMAL, 0, 100, 1000L, null);
+        FaultProfile.Latency capped = latency(FaultProfile.Distribution.LOGNORMAL, 0, 100, 1000L, 400L);
+
+        // When
+        long[] uniformDraws = sample(uniform);
+        long[] exponentialDraws = sample(exponential);
+        long[] lognormalDraws = sample(lognormal);
+        long[] cappedDraws = sample(capped);
+
+        // Assertions
+        assertEquals(0, latency(FaultProfile.Distribution.NONE, 10, 20, null, null).sampleNanos(random()));
+        assertEquals(millis(20), latency(FaultProfile.Distribution.FIXED, 10, 20, null, null).sampleNanos(random()));
+        assertEquals(millis(15), latency(FaultProfile.Distribution.FIXED, 10, 20, null, 15L).sampleNanos(random()));
+        assertTrue(uniformDraws[0] >= millis(100) && uniformDraws[uniformDraws.length - 1] < millis(300));
+        assertNear(millis(200), percentile(uniformDraws, 0.5), 0.05);
+        assertTrue(exponentialDraws[0] >= millis(50));
+        assertNear(millis(150), percentile(exponentialDraws, 0.5), 0.05);
+        assertNear(millis(100), percentile(lognormalDraws, 0.5), 0.05);
+        assertNear(millis(1000), percentile(lognormalDraws, 0.99), 0.1);
+        assertEquals(millis(400), cappedDraws[cappedDraws.length - 1]);
+        assertEquals(percentile(lognormalDraws, 0.5), percentile(cappedDraws, 0.5));
+    }
+
+    @Test
+    @DisplayName("Test FaultProfile - Rules, latencies and throttles reject settings they cannot honour")
+    void testFaultProfile_Validation() {
+        // Assertions
+        assertThrows(IllegalArgumentException.class, () -> rule("/**", null, NO_LATENCY, 1.5, NO_THROTTLE));
+        assertThrows(IllegalArgumentException.class, () -> new FaultProfile.Rule(
+                "/**", null, NO_LATENCY, 0, 302, NO_THROTTLE, new FaultProfile.SlowBody(0, Duration.ZERO)));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> latency(FaultProfile.Distribution.UNIFORM, 0, 0, null, null));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> latency(FaultProfile.Distribution.LOGNORMAL, 0, 100, 50L, null));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new FaultProfile.Throttle(1, Duration.ZERO, null, Duration.ZERO));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new FaultProfile.Throttle(
+                        0, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(2)));
+    }
+
+    private FaultInjector injector(FaultProfile.Rule rule) {
+        return new FaultInjector(new FaultProfile(true, 42, List.of(rule)), clock::get);
+    }
+
+    private static FaultInjector.Fault decide(FaultInjector injector) {
+        return injector.decide("GET", PATH).orElseThrow();
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    private static FaultProfile.Rule rule(
+            String path,
+            String method,
+            FaultProfile.Latency latency,
+            double errorRate,
+            FaultProfile.Throttle throttle) {
+        return new FaultProfile.Rule(
+                path, method, latency, errorRate, 503, throttle, new FaultProfile.SlowBody(0, Duration.ZERO));
+    }
+
+    private static FaultProfile.Latency latency(
+            FaultProfile.Distribution distribution, long minMillis, long medianMillis, Long p99Millis, Long maxMillis) {
+        return new FaultProfile.Latency(
+                distribution,
+                Duration.ofMillis(minMillis),
+                Duration.ofMillis(medianMillis),
+                p99Millis == null ? null : Duration.ofMillis(p99Millis),
+                maxMillis == null ? null : Duration.ofMillis(maxMillis));
+    }
+
+    private static SplittableRandom random() {
+        return new SplittableRandom(42);
+    }
+
+    /*
+     * 20,000 sorted draws from one seeded generator.
+     */
+    private static long[] sample(FaultProfile.Latency latency) {
+        SplittableRandom random = random();
+        long[] draws = new long[20_000];
+        Arrays.setAll(draws, i -> latency.sampleNanos(random));
+        Arrays.sort(draws);
+        return draws;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        return sorted[(int) (quantile * (sorted.length - 1))];
+    }
+
+    private static long millis(long millis) {
+        return Duration.ofMillis(millis).toNanos();
+    }
+
+    private static void assertNear(long expected, long actual, double tolerance) {
+        assertTrue(
+                Math.abs(actual - expected) <= expected * tolerance,
+                () -> "Expected " + actual + " to be within " + tolerance + " of " + expected);
+    }
+}
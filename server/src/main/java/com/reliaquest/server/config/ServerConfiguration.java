@@ -1,43 +1,104 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.IdempotencyTable;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.ReplicationFollower;
+import com.reliaquest.server.service.index.EmployeeIndexes;
+import com.reliaquest.server.service.index.HashFieldIndex;
+import com.reliaquest.server.service.index.NameTrieIndex;
+import com.reliaquest.server.service.index.SortedFieldIndex;
+import com.reliaquest.server.service.shard.ConsistentHashRing;
+import com.reliaquest.server.service.shard.EmployeeIdGenerator;
+import com.reliaquest.server.trace.FileTraceExporter;
+import com.reliaquest.server.trace.InMemoryTraceExporter;
+import com.reliaquest.server.trace.TraceCollector;
+import com.reliaquest.server.trace.TraceExporter;
+import com.reliaquest.server.web.FieldProjection;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import com.reliaquest.server.web.ReplicaConsistencyInterceptor;
+import com.reliaquest.server.web.fault.FaultProfile;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(FaultProfile.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
+    public static final String EMAIL_INDEX = "email";
+    public static final String NAME_INDEX = "name";
+    public static final String TITLE_INDEX = "title";
+    public static final String SALARY_INDEX = "salary";
+    public static final String AGE_INDEX = "age";
+    public static final String AUTOCOMPLETE_INDEX = "autocomplete";
+
+    private final ReplicaConsistencyInterceptor replicaConsistencyInterceptor;
+
+    private final FaultProfile faultProfile;
+
+    /*
+     * In the lazy fast-start profile the dataset is still generated (and logged) at startup, so the first request does
+     * not pay for Faker and every instance starts with its data in place.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerMockEmployees() {
+        return LazyInitializationExcludeFilter.forBeanTypes(MockEmployeeService.class);
+    }
 
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
+    /*
+     * With mock.employees.shard.count above one, this instance holds only the employees whose ids hash to its index.
+     */
+    @Bean
+    public EmployeeIdGenerator employeeIdGenerator(
+            @Value("${mock.employees.shard.index:0}") int shardIndex,
+            @Value("${mock.employees.shard.count:1}") int shardCount,
+            @Value("${mock.employees.shard.virtual-nodes:128}") int virtualNodes) {
+        return new EmployeeIdGenerator(new ConsistentHashRing(shardCount, virtualNodes), shardIndex);
+    }
+
     /*
      * This list is modifiable by design for CRUD operations.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    public List<MockEmployee> mockEmployees(
+            Faker faker, EmployeeIdGenerator employeeIdGenerator, @Value("${mock.employees.max:20}") int maxEmployees) {
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
+                Field.field("id", employeeIdGenerator::next),
                 Field.field("name", () -> faker.name().fullName()),
                 Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
                 Field.field("age", () -> faker.number().numberBetween(16, 70)),
@@ -45,15 +106,116 @@ public class ServerConfiguration implements WebMvcConfigurer {
                 Field.field(
                         "email",
                         () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
+                                faker.twitter().userName().toLowerCase())),
+                Field.field("version", () -> 1L));
         return IntStream.rangeClosed(1, maxEmployees)
                 .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
                 .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /*
+     * Creates remembered by Idempotency-Key, so a client retrying after a lost response gets the original employee.
+     */
+    @Bean
+    public IdempotencyTable<MockEmployee> createRequests(
+            @Value("${mock.employees.idempotency.max-entries:10000}") int maxEntries,
+            @Value("${mock.employees.idempotency.ttl:PT24H}") Duration ttl) {
+        return new IdempotencyTable<>(maxEntries, ttl);
+    }
+
+    /*
+     * Secondary indexes maintained by MockEmployeeService; declare further hash or sorted indexes here.
+     */
+    @Bean
+    public EmployeeIndexes employeeIndexes(
+            @Value("${mock.employees.autocomplete.rank:salary}") String autocompleteRank,
+            @Value("${mock.employees.autocomplete.max-results:20}") int autocompleteMaxResults) {
+        return new EmployeeIndexes(List.of(
+                HashFieldIndex.exact(EMAIL_INDEX, MockEmployee::getEmail),
+                HashFieldIndex.caseFolded(NAME_INDEX, MockEmployee::getName),
+                HashFieldIndex.caseFolded(TITLE_INDEX, MockEmployee::getTitle),
+                new SortedFieldIndex<>(SALARY_INDEX, MockEmployee::getSalary, Integer::valueOf),
+                new SortedFieldIndex<>(AGE_INDEX, MockEmployee::getAge, Integer::valueOf),
+                new NameTrieIndex(
+                        AUTOCOMPLETE_INDEX,
+                        MockEmployee::getName,
+                        NameTrieIndex.Rank.valueOf(autocompleteRank.toUpperCase(Locale.ROOT)),
+                        autocompleteMaxResults)));
+    }
+
+    /*
+     * Computes and indexes the rows of bulk updates; a parallelism of 0 uses every available processor.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool bulkUpdatePool(@Value("${mock.employees.bulk-update.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+     * Kept traces go to memory by default, or with tracing.exporter=file to tracing.file as JSON lines.
+     */
+    @Bean
+    public TraceExporter traceExporter(
+            @Value("${tracing.exporter:memory}") String exporter,
+            @Value("${tracing.file:traces.jsonl}") Path file,
+            @Value("${tracing.memory.max-traces:1000}") int maxTraces,
+            ObjectMapper objectMapper) {
+        return switch (exporter.toLowerCase(Locale.ROOT)) {
+            case "memory" -> new InMemoryTraceExporter(maxTraces);
+            case "file" -> {
+                log.info("Writing kept traces to {}", file.toAbsolutePath());
+                yield new FileTraceExporter(file, objectMapper);
+            }
+            default -> throw new IllegalStateException("tracing.exporter must be memory or file, not " + exporter);
+        };
+    }
+
+    /*
+     * Tail sampling: a request's trace is kept only if it took at least tracing.slow-threshold or something in it
+     * failed.
+     */
+    @Bean
+    public TraceCollector traceCollector(
+            TraceExporter traceExporter,
+            @Value("${tracing.slow-threshold:PT0.5S}") Duration slowThreshold,
+            @Value("${spring.application.name:mock-employee-api}") String service,
+            @Value("${tracing.enabled:true}") boolean enabled) {
+        return new TraceCollector(traceExporter, slowThreshold, service, enabled);
+    }
+
+    /*
+     * Lets MockEmployeeFieldProjection trim MockEmployee with ?fields=; every other write serializes all properties.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer mockEmployeeProjectionMixIn() {
+        return builder -> builder.mixIn(MockEmployee.class, FieldProjection.Projectable.class)
+                .filters(FieldProjection.serializeAll());
+    }
+
+    /*
+     * Binary alternatives to JSON, selected through Accept and Content-Type. They replace the classpath defaults in
+     * place, so JSON stays first and remains the default format.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        // A fault profile replaces the random limit with its own, reproducible 429 schedule. Replicas following this
+        // instance are never limited, so a throttled snapshot or change stream cannot leave them behind.
+        if (!faultProfile.enabled()) {
+            registry.addInterceptor(new RandomRequestLimitInterceptor())
+                    .excludePathPatterns(ReplicationFollower.REPLICATION_PATHS);
+        }
+        registry.addInterceptor(replicaConsistencyInterceptor)
+                .addPathPatterns("/api/v1/employee", "/api/v1/employee/**");
     }
 }
@@ -0,0 +1,31 @@
+package com.reliaquest.server.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/*
+ * Lets a training run (the cdsArchive Gradle task) start the application and exit as soon as it is ready. The flag is
+ * read at runtime rather than through a condition, because conditions are frozen when the context is AOT-processed.
+ */
+@Slf4j
+@Component
+public class StartupExitListener implements ApplicationListener<ApplicationReadyEvent> {
+
+    private final boolean exitOnReady;
+
+    public StartupExitListener(@Value("${startup.exit-on-ready:false}") boolean exitOnReady) {
+        this.exitOnReady = exitOnReady;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (exitOnReady) {
+            log.info("Application ready, exiting as requested by startup.exit-on-ready");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
@@ -1,51 +1,321 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.server.model.BulkUpdateMockEmployeeInput;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQueryResult;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.EmployeeUpdateResult;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.ShardSettings;
+import com.reliaquest.server.model.UpdateMockEmployeeInput;
+import com.reliaquest.server.service.EmployeeChangeLog;
+import com.reliaquest.server.service.IdempotencyTable;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import com.reliaquest.server.service.bulk.EmployeeImporter;
+import com.reliaquest.server.service.bulk.ImportFormat;
+import com.reliaquest.server.service.bulk.ImportReport;
+import com.reliaquest.server.service.index.IndexStats;
+import com.reliaquest.server.service.query.EmployeeQuery;
+import com.reliaquest.server.service.query.UpdateExpression;
+import com.reliaquest.server.web.EmployeeETags;
+import com.reliaquest.server.web.ReplicaConsistencyInterceptor;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+@Slf4j
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    private static final String CHANGES_EVICTED = "Requested changes are no longer retained, re-read the employee list.";
+    private static final String VERSION_MISMATCH = "Employee changed since the If-Match version; re-read and retry.";
+
     private final MockEmployeeService mockEmployeeService;
+    private final EmployeeChangeLog employeeChangeLog;
+    private final EmployeeImporter employeeImporter;
+
+    @Value("${mock.employees.change-log.stream-timeout:PT30M}")
+    private Duration streamTimeout;
 
     @GetMapping()
     public Response<List<MockEmployee>> getEmployees() {
         return Response.handledWith(mockEmployeeService.getMockEmployees());
     }
 
+    @GetMapping("/snapshot")
+    public Response<EmployeeSnapshot> getSnapshot() {
+        return Response.handledWith(mockEmployeeService.snapshot());
+    }
+
+    @GetMapping("/search")
+    public Response<List<MockEmployee>> searchEmployeesByName(@RequestParam("fragment") String fragment) {
+        return Response.handledWith(mockEmployeeService.searchByName(fragment));
+    }
+
+    @GetMapping("/salary/top")
+    public Response<List<MockEmployee>> getTopEmployeesBySalary(
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return Response.handledWith(mockEmployeeService.findTopBySalary(limit));
+    }
+
+    @GetMapping("/salary/highest")
+    public Response<Integer> getHighestSalary() {
+        return Response.handledWith(mockEmployeeService.findHighestSalary().orElse(null));
+    }
+
+    /*
+     * A reader that passes the epoch its sequence came from gets 410 when this store no longer has that history.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<Response<List<EmployeeChangeEvent>>> getChanges(
+            @RequestParam("since") long since, @RequestParam(name = "epoch", required = false) String epoch) {
+        if (!isCurrentEpoch(epoch)) {
+            return ResponseEntity.status(HttpStatus.GONE).body(Response.error(CHANGES_EVICTED));
+        }
+        return mockEmployeeService
+                .getChangesSince(since)
+                .map(changes -> ResponseEntity.ok(Response.handledWith(changes)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).body(Response.error(CHANGES_EVICTED)));
+    }
+
+    @GetMapping(path = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestParam(name = "since", required = false) Long since,
+            @RequestParam(name = "epoch", required = false) String epoch) {
+        if (!isCurrentEpoch(epoch)) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        final var emitter = new SseEmitter(streamTimeout.toMillis());
+        final var start = since != null ? since : employeeChangeLog.currentSequence();
+        // A subscriber dropped for falling behind is closed cleanly; the client resumes from its last event id.
+        final var unsubscribe = employeeChangeLog.subscribe(start, event -> send(emitter, event), emitter::complete);
+        if (unsubscribe.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        emitter.onCompletion(unsubscribe.get());
+        emitter.onTimeout(unsubscribe.get());
+        emitter.onError(ignored -> unsubscribe.get().run());
+        return ResponseEntity.ok(emitter);
+    }
+
+    @GetMapping("/range/salary")
+    public Response<EmployeePage> getEmployeesBySalaryRange(
+            @RequestParam(name = "min", required = false) Integer min,
+            @RequestParam(name = "max", required = false) Integer max,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        return Response.handledWith(mockEmployeeService.findBySalaryRange(min, max, cursor, limit));
+    }
+
+    @GetMapping("/range/age")
+    public Response<EmployeePage> getEmployeesByAgeRange(
+            @RequestParam(name = "min", required = false) Integer min,
+            @RequestParam(name = "max", required = false) Integer max,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        return Response.handledWith(mockEmployeeService.findByAgeRange(min, max, cursor, limit));
+    }
+
+    /*
+     * Filters with the where language of EmployeeQuery, e.g. where=title = 'Engineer' and salary > 100000.
+     */
+    @GetMapping("/query")
+    public Response<EmployeeQueryResult> queryEmployees(
+            @RequestParam(name = "where", required = false) String where,
+            @RequestParam(name = "orderBy", required = false) String orderBy,
+            @RequestParam(name = "limit", defaultValue = "100") int limit,
+            @RequestParam(name = "explain", defaultValue = "false") boolean explain) {
+        return Response.handledWith(mockEmployeeService.query(EmployeeQuery.parse(where, orderBy, limit), explain));
+    }
+
+    @GetMapping("/lookup/email/{email}")
+    public Response<List<MockEmployee>> getEmployeesByEmail(@PathVariable("email") String email) {
+        return Response.handledWith(mockEmployeeService.findByEmail(email));
+    }
+
+    @GetMapping("/lookup/name/{name}")
+    public Response<List<MockEmployee>> getEmployeesByName(@PathVariable("name") String name) {
+        return Response.handledWith(mockEmployeeService.findByName(name));
+    }
+
+    @GetMapping("/lookup/title/{title}")
+    public Response<List<MockEmployee>> getEmployeesByTitle(@PathVariable("title") String title) {
+        return Response.handledWith(mockEmployeeService.findByTitle(title));
+    }
+
+    @GetMapping("/autocomplete")
+    public Response<List<MockEmployee>> autocomplete(
+            @RequestParam("prefix") String prefix, @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return Response.handledWith(mockEmployeeService.autocomplete(prefix, limit));
+    }
+
+    @GetMapping("/indexes")
+    public Response<List<IndexStats>> getIndexStats() {
+        return Response.handledWith(mockEmployeeService.getIndexStats());
+    }
+
+    @GetMapping("/shard")
+    public Response<ShardSettings> getShardSettings() {
+        return Response.handledWith(mockEmployeeService.getShardSettings());
+    }
+
+    @GetMapping("/batch")
+    public Response<List<MockEmployee>> getEmployeesByIds(@RequestParam("ids") List<UUID> uuids) {
+        return Response.handledWith(mockEmployeeService.findByIds(uuids));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
         return mockEmployeeService
                 .findById(uuid)
-                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .map(employee -> ResponseEntity.ok()
+                        .eTag(EmployeeETags.of(employee.getVersion()))
+                        .body(Response.handledWith(employee)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
+    /*
+     * Writes report the change-log version they produced (or a later one); reading with minVersion set to it from any
+     * replica observes the write.
+     */
     @PostMapping()
-    public Response<MockEmployee> createEmployee(@Valid @RequestBody CreateMockEmployeeInput input) {
-        return Response.handledWith(mockEmployeeService.create(input));
+    public ResponseEntity<Response<MockEmployee>> createEmployee(
+            @Valid @RequestBody CreateMockEmployeeInput input,
+            @RequestHeader(value = IdempotencyTable.HEADER, required = false) String idempotencyKey) {
+        final var employee = mockEmployeeService.create(input, idempotencyKey);
+        return versioned(Response.handledWith(employee));
+    }
+
+    /*
+     * Streams a CSV or NDJSON body into the store without buffering it; progress is logged while the import runs and
+     * the response reports the outcome with the first rejected rows.
+     */
+    @PostMapping(path = "/import", consumes = {ImportFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Response<ImportReport>> importEmployees(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        final var report = employeeImporter.importFrom(
+                body,
+                ImportFormat.forMediaType(MediaType.parseMediaType(contentType)),
+                progress -> log.info(
+                        "Imported {} of {} rows ({} rows/s)",
+                        progress.imported(),
+                        progress.rows(),
+                        Math.round(progress.rowsPerSecond())));
+        log.info("Imported {} employees, rejected {} rows", report.imported(), report.rejected());
+        return versioned(Response.handledWith(report));
+    }
+
+    /*
+     * Changes every employee matching the where clause as one all-or-nothing write; the response reports the plan used
+     * and the versions the store moved between.
+     */
+    @PostMapping("/bulk-update")
+    public ResponseEntity<Response<BulkUpdateReport>> bulkUpdateEmployees(
+            @Valid @RequestBody BulkUpdateMockEmployeeInput input) {
+        final var report = mockEmployeeService.bulkUpdate(
+                EmployeeQuery.parseWhere(input.getWhere()), UpdateExpression.parse(input.getSet()));
+        log.info(
+                "Bulk updated {} employees in {} ms ({} rows/s)",
+                report.updated(),
+                report.elapsedMillis(),
+                Math.round(report.rowsPerSecond()));
+        return versioned(Response.handledWith(report));
+    }
+
+    /*
+     * Replaces the employee's name, salary, age and title; with If-Match, only if it is still at that version.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> replaceEmployee(
+            @PathVariable("id") UUID uuid,
+            @Valid @RequestBody CreateMockEmployeeInput input,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return updated(mockEmployeeService.update(
+                uuid, UpdateMockEmployeeInput.replacing(input), EmployeeETags.parseIfMatch(ifMatch)));
+    }
+
+    /*
+     * Changes only the fields present in the body. A stale If-Match gets 412 with the current employee and its ETag.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Response<MockEmployee>> updateEmployee(
+            @PathVariable("id") UUID uuid,
+            @Valid @RequestBody UpdateMockEmployeeInput input,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return updated(mockEmployeeService.update(uuid, input, EmployeeETags.parseIfMatch(ifMatch)));
     }
 
     @DeleteMapping()
-    public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
-        return Response.handledWith(mockEmployeeService.delete(input));
+    public ResponseEntity<Response<Boolean>> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
+        final var deleted = mockEmployeeService.delete(input);
+        return versioned(Response.handledWith(deleted));
+    }
+
+    private ResponseEntity<Response<MockEmployee>> updated(EmployeeUpdateResult result) {
+        return switch (result.status()) {
+            case UPDATED -> ResponseEntity.ok()
+                    .eTag(EmployeeETags.of(result.employee().getVersion()))
+                    .header(
+                            ReplicaConsistencyInterceptor.VERSION_HEADER,
+                            String.valueOf(employeeChangeLog.reservedSequence()))
+                    .body(Response.handledWith(result.employee()));
+            case VERSION_MISMATCH -> ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(EmployeeETags.of(result.employee().getVersion()))
+                    .body(new Response<>(result.employee(), Response.Status.ERROR, VERSION_MISMATCH));
+            case NOT_FOUND -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled());
+        };
+    }
+
+    /*
+     * The reserved sequence: the log may not have reached this write yet while an earlier one is still publishing.
+     */
+    private <T> ResponseEntity<T> versioned(T body) {
+        final var version = String.valueOf(employeeChangeLog.reservedSequence());
+        return ResponseEntity.ok().header(ReplicaConsistencyInterceptor.VERSION_HEADER, version).body(body);
+    }
+
+    private boolean isCurrentEpoch(String epoch) {
+        return epoch == null || epoch.equals(employeeChangeLog.currentEpoch());
+    }
+
+    private static void send(SseEmitter emitter, EmployeeChangeEvent event) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.sequence()))
+                    .name(event.type().name())
+                    .data(event));
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping change stream subscriber: {}", ex.getMessage());
+            emitter.completeWithError(ex);
+        }
     }
 }
@@ -0,0 +1,21 @@
+package com.reliaquest.server.model;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/*
+ * A bulk update: the employees to change, as an EmployeeQuery where clause (all of them when null), and the changes,
+ * as an UpdateExpression.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateMockEmployeeInput {
+
+    private String where;
+
+    @NotBlank
+    private String set;
+}
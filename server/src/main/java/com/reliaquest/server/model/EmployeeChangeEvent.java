@@ -0,0 +1,32 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/*
+ * An UPDATED event carries the whole employee as it is after the update. A BULK_UPDATED event carries no employee, only
+ * the bulk update's where clause and set: replayed over the same records they give the same new records, versions
+ * included, so an update of millions of rows is one event rather than one per row.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeChangeEvent(long sequence, Type type, MockEmployee employee, BulkUpdate bulkUpdate) {
+
+    public EmployeeChangeEvent(long sequence, Type type, MockEmployee employee) {
+        this(sequence, type, employee, null);
+    }
+
+    public static EmployeeChangeEvent bulkUpdated(long sequence, String where, String set) {
+        return new EmployeeChangeEvent(sequence, Type.BULK_UPDATED, null, new BulkUpdate(where, set));
+    }
+
+    /*
+     * The where clause is null when the update matched every employee.
+     */
+    public record BulkUpdate(String where, String set) {}
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        BULK_UPDATED
+    }
+}
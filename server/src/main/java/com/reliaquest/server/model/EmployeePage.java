@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/*
+ * One page of an index-ordered result; pass nextCursor back to continue, null when there are no more.
+ */
+public record EmployeePage(List<MockEmployee> employees, String nextCursor) {}
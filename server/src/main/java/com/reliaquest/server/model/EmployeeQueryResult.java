@@ -0,0 +1,10 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+
+/*
+ * The employees matching a query, up to its limit; stats only when the caller asked for them.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeQueryResult(List<MockEmployee> employees, QueryStats stats) {}
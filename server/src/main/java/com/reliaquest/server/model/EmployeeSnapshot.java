@@ -0,0 +1,20 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import java.util.List;
+
+/*
+ * Consistent copy of the store; the change log continues from sequence + 1 within the same epoch.
+ */
+public record EmployeeSnapshot(String epoch, long sequence, List<MockEmployee> employees) {
+
+    @JsonCreator
+    public EmployeeSnapshot {}
+
+    /*
+     * A snapshot outside any known history; loading it starts a new epoch.
+     */
+    public EmployeeSnapshot(long sequence, List<MockEmployee> employees) {
+        this(null, sequence, employees);
+    }
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.server.model;
+
+/*
+ * The outcome of a compare-and-set update: the updated employee, or the current one when its version did not match.
+ */
+public record EmployeeUpdateResult(Status status, MockEmployee employee) {
+
+    public static EmployeeUpdateResult updated(MockEmployee employee) {
+        return new EmployeeUpdateResult(Status.UPDATED, employee);
+    }
+
+    public static EmployeeUpdateResult versionMismatch(MockEmployee current) {
+        return new EmployeeUpdateResult(Status.VERSION_MISMATCH, current);
+    }
+
+    public static EmployeeUpdateResult notFound() {
+        return new EmployeeUpdateResult(Status.NOT_FOUND, null);
+    }
+
+    public enum Status {
+        UPDATED,
+        VERSION_MISMATCH,
+        NOT_FOUND
+    }
+}
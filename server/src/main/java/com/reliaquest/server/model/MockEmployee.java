@@ -6,9 +6,11 @@ import java.util.UUID;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.NonNull;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 @Builder(toBuilder = true)
 @JsonNaming(MockEmployee.PrefixNamingStrategy.class)
@@ -21,14 +23,39 @@ public class MockEmployee {
     private String title;
     private String email;
 
+    // Starts at 1 and is raised by every update; compared against If-Match for compare-and-set updates.
+    private long version;
+
+    public MockEmployee(UUID id, String name, Integer salary, Integer age, String title, String email) {
+        this(id, name, salary, age, title, email, 1);
+    }
+
     public static MockEmployee from(@NonNull String email, @NonNull CreateMockEmployeeInput input) {
+        return from(UUID.randomUUID(), email, input);
+    }
+
+    public static MockEmployee from(@NonNull UUID id, @NonNull String email, @NonNull CreateMockEmployeeInput input) {
         return MockEmployee.builder()
-                .id(UUID.randomUUID())
+                .id(id)
                 .email(email)
                 .name(input.getName())
                 .salary(input.getSalary())
                 .age(input.getAge())
                 .title(input.getTitle())
+                .version(1)
+                .build();
+    }
+
+    /*
+     * A copy with the input's non-null fields applied and the next version; the id and email never change.
+     */
+    public MockEmployee updatedWith(@NonNull UpdateMockEmployeeInput input) {
+        return toBuilder()
+                .name(input.getName() != null ? input.getName() : name)
+                .salary(input.getSalary() != null ? input.getSalary() : salary)
+                .age(input.getAge() != null ? input.getAge() : age)
+                .title(input.getTitle() != null ? input.getTitle() : title)
+                .version(version + 1)
                 .build();
     }
 
@@ -0,0 +1,22 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/*
+ * How an employee query ran: the access path chosen and the alternatives it was picked from, with their estimated
+ * candidate rows; rows read from the chosen path, rows that passed the filter and rows returned; whether the matches
+ * had to be sorted in memory; and the time spent planning and executing.
+ */
+public record QueryStats(
+        String plan,
+        long estimatedRows,
+        List<Candidate> considered,
+        long rowsExamined,
+        long rowsMatched,
+        long rowsReturned,
+        boolean sorted,
+        long planningMicros,
+        long executionMicros) {
+
+    public record Candidate(String path, long estimatedRows) {}
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import com.reliaquest.server.service.index.NameTrieIndex;
+
+/*
+ * What the api must agree on with a shard to route ids to it and merge its results: its place on the hash ring and
+ * its autocomplete order. An unsharded instance is shard 0 of 1.
+ */
+public record ShardSettings(int index, int count, int virtualNodes, NameTrieIndex.Rank autocompleteRank) {}
@@ -0,0 +1,40 @@
+package com.reliaquest.server.model;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/*
+ * The fields to change in an update; null fields keep their current value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateMockEmployeeInput {
+
+    private static final String NOT_BLANK = "(?s).*\\S.*";
+
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    private String name;
+
+    @Positive private Integer salary;
+
+    @Min(16)
+    @Max(75)
+    private Integer age;
+
+    @Pattern(regexp = NOT_BLANK, message = "must not be blank")
+    private String title;
+
+    /*
+     * A full replacement, as sent with PUT.
+     */
+    public static UpdateMockEmployeeInput replacing(@NonNull CreateMockEmployeeInput input) {
+        return new UpdateMockEmployeeInput(input.getName(), input.getSalary(), input.getAge(), input.getTitle());
+    }
+}
@@ -0,0 +1,399 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.MockEmployee;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ordered, sequence-numbered log of create, update and delete events. Only the most recent {@code capacity} events are
+ * retained; a reader asking for changes older than that must re-bootstrap from a snapshot.
+ *
+ * <p>Appends take no lock. A sequence number is reserved with one atomic increment, and the event is handed over with
+ * it; whichever thread next holds the log's lock, or gets it without waiting, moves the log forward over every event
+ * whose predecessors are all in. Readers therefore only ever see a gapless, ordered log.
+ *
+ * <p>Subscribers never run under the log's lock: each has its own queue of at most {@code subscriberBuffer} events,
+ * delivered in order by its own sender task, and a subscriber that falls further behind than that is dropped.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeLog {
+
+    private final int capacity;
+    private final int subscriberBuffer;
+    private final Deque<EmployeeChangeEvent> events = new ArrayDeque<>();
+    private final List<Subscription> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders =
+            Executors.newCachedThreadPool(new CustomizableThreadFactory("change-log-subscriber-"));
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Notified whenever the sequence moves; awaitSequence waits on it without holding the lock.
+    private final Object advanced = new Object();
+
+    // Handed out to appends; ahead of sequence while their events wait in handedOver for an earlier one.
+    private final AtomicLong reserved = new AtomicLong();
+    private final Map<Long, EmployeeChangeEvent> handedOver = new ConcurrentHashMap<>();
+
+    private volatile long sequence;
+    private String epoch = UUID.randomUUID().toString();
+
+    public EmployeeChangeLog(
+            @Value("${mock.employees.change-log.capacity:10000}") int capacity,
+            @Value("${mock.employees.change-log.subscriber-buffer:1000}") int subscriberBuffer) {
+        if (subscriberBuffer < 1) {
+            throw new IllegalArgumentException("Subscriber buffer must be at least 1, not " + subscriberBuffer);
+        }
+        this.capacity = capacity;
+        this.subscriberBuffer = subscriberBuffer;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(Subscription::close);
+        senders.shutdownNow();
+    }
+
+    public EmployeeChangeEvent append(EmployeeChangeEvent.Type type, MockEmployee employee) {
+        final var event = new EmployeeChangeEvent(reserve(1), type, employee);
+        publish(event);
+        return event;
+    }
+
+    /**
+     * The first of {@code count} consecutive sequence numbers, each of which must then be published exactly once: the
+     * log stops at the first one that is not. A writer reserves before the change becomes visible to other writers, so
+     * any later change to the same record is logged after it.
+     */
+    public long reserve(int count) {
+        return reserved.addAndGet(count) - count + 1;
+    }
+
+    /*
+     * Hands over a reserved event without waiting; it is in the log once every earlier one is.
+     */
+    public void publish(EmployeeChangeEvent event) {
+        handedOver.put(event.sequence(), event);
+        if (lock.tryLock()) {
+            unlock();
+        }
+    }
+
+    /*
+     * Replica side: the primary's sequence number is kept, so versions mean the same on every instance. Replicas take
+     * no local writes, so nothing else is reserved meanwhile.
+     */
+    public void appendReplicated(EmployeeChangeEvent event) {
+        lock();
+        try {
+            if (event.sequence() != sequence + 1) {
+                throw new IllegalStateException(
+                        "Replicated change " + event.sequence() + " does not follow sequence " + sequence);
+            }
+            reserved.set(event.sequence());
+            record(event);
+            signalAdvanced();
+        } finally {
+            unlock();
+        }
+    }
+
+    /*
+     * Replica side, after loading a snapshot: history before it is not available here. The primary's epoch is adopted,
+     * or a new one started when the snapshot has none.
+     */
+    public void reset(String snapshotEpoch, long snapshotSequence) {
+        lock();
+        try {
+            events.clear();
+            handedOver.clear();
+            epoch = snapshotEpoch != null ? snapshotEpoch : UUID.randomUUID().toString();
+            reserved.set(snapshotSequence);
+            sequence = snapshotSequence;
+            signalAdvanced();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Runs {@code action} while the log does not move: events published meanwhile go in after it. A copy of the store
+     * taken here is consistent with the current sequence only while no write is between its reservation and its
+     * publication, which the caller ensures.
+     */
+    public <T> T atomically(Supplier<T> action) {
+        lock();
+        try {
+            return action.get();
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Waits up to {@code timeout} for this log to reach {@code target}; false if it did not.
+     */
+    public boolean awaitSequence(long target, Duration timeout) throws InterruptedException {
+        final var deadline = System.nanoTime() + timeout.toNanos();
+        if (currentSequence() >= target) {
+            return true;
+        }
+        synchronized (advanced) {
+            while (sequence < target) {
+                final var remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(advanced, remaining);
+            }
+            return true;
+        }
+    }
+
+    public long currentSequence() {
+        lock();
+        try {
+            return sequence;
+        } finally {
+            unlock();
+        }
+    }
+
+    /*
+     * At least the sequence of every write that has returned. The log reaches it once the writes still between their
+     * reservation and their publication are in, so it is the version to hand to a client after a write.
+     */
+    public long reservedSequence() {
+        return reserved.get();
+    }
+
+    /**
+     * Identifies this history. A new store starts a new epoch, so a sequence number read from a previous store is not
+     * mistaken for a position in this one.
+     */
+    public String currentEpoch() {
+        lock();
+        try {
+            return epoch;
+        } finally {
+            unlock();
+        }
+    }
+
+    /*
+     * Empty when events after the given sequence have already been evicted, or when the reader is ahead of this log
+     * because it followed an earlier epoch.
+     */
+    public Optional<List<EmployeeChangeEvent>> since(long since) {
+        lock();
+        try {
+            if (since > sequence) {
+                return Optional.empty();
+            }
+            if (since == sequence) {
+                return Optional.of(List.of());
+            }
+            if (events.isEmpty() || events.getFirst().sequence() > since + 1) {
+                return Optional.empty();
+            }
+            final var delta = new ArrayList<EmployeeChangeEvent>((int) (sequence - since));
+            for (EmployeeChangeEvent event : events) {
+                if (event.sequence() > since) {
+                    delta.add(event);
+                }
+            }
+            return Optional.of(delta);
+        } finally {
+            unlock();
+        }
+    }
+
+    /**
+     * Replays retained events after {@code since} and then delivers every new event, in order, until the returned
+     * handle is run. Delivery happens on a sender thread of its own, so a slow subscriber holds up nobody else; one
+     * that falls more than {@code subscriberBuffer} events behind is unsubscribed and {@code onDropped} is run.
+     */
+    public Optional<Runnable> subscribe(long since, Consumer<EmployeeChangeEvent> subscriber, Runnable onDropped) {
+        lock();
+        try {
+            final var replay = since(since);
+            if (replay.isEmpty()) {
+                return Optional.empty();
+            }
+            final var subscription = new Subscription(replay.get(), subscriber, onDropped);
+            subscribers.add(subscription);
+            subscription.schedule();
+            log.debug("Change log subscriber added at sequence {}", sequence);
+            return Optional.of(subscription::close);
+        } finally {
+            unlock();
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /*
+     * Every hold of the lock starts by taking in the events handed over so far, so a reader sees every append that
+     * returned before it.
+     */
+    private void lock() {
+        lock.lock();
+        advance();
+    }
+
+    /*
+     * An event handed over while the lock was held, by a thread whose tryLock failed, is taken in here: the holder
+     * looks again after letting go, and takes the lock back if it can.
+     */
+    private void unlock() {
+        do {
+            advance();
+            lock.unlock();
+        } while (handedOver.containsKey(sequence + 1) && lock.tryLock());
+    }
+
+    /*
+     * Called with the lock held.
+     */
+    private void advance() {
+        EmployeeChangeEvent event;
+        boolean moved = false;
+        while ((event = handedOver.remove(sequence + 1)) != null) {
+            record(event);
+            moved = true;
+        }
+        if (moved) {
+            signalAdvanced();
+        }
+    }
+
+    private void signalAdvanced() {
+        synchronized (advanced) {
+            advanced.notifyAll();
+        }
+    }
+
+    private void record(EmployeeChangeEvent event) {
+        sequence = event.sequence();
+        events.addLast(event);
+        if (events.size() > capacity) {
+            events.removeFirst();
+        }
+        for (Subscription subscription : subscribers) {
+            subscription.offer(event);
+        }
+    }
+
+    /**
+     * One subscriber's pending events. Appends only enqueue; at most one sender task at a time drains the queue, so
+     * events reach the subscriber in sequence order.
+     */
+    private final class Subscription {
+
+        // Retained events from before the subscription, delivered first; read by the sender only.
+        private final List<EmployeeChangeEvent> replay;
+        private final Consumer<EmployeeChangeEvent> subscriber;
+        private final Runnable onDropped;
+        private final Queue<EmployeeChangeEvent> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private int replayed;
+        private volatile boolean closed;
+
+        private Subscription(
+                List<EmployeeChangeEvent> replay, Consumer<EmployeeChangeEvent> subscriber, Runnable onDropped) {
+            this.replay = replay;
+            this.subscriber = subscriber;
+            this.onDropped = onDropped;
+        }
+
+        /*
+         * Called with the log's lock held, so it must never block.
+         */
+        private void offer(EmployeeChangeEvent event) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > subscriberBuffer) {
+                log.warn("Dropping change log subscriber more than {} events behind", subscriberBuffer);
+                close();
+                run(onDropped);
+                return;
+            }
+            pending.add(event);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!closed && sending.compareAndSet(false, true)) {
+                run(this::send);
+            }
+        }
+
+        private void send() {
+            do {
+                while (!closed && replayed < replay.size()) {
+                    deliver(replay.get(replayed++));
+                }
+                EmployeeChangeEvent event;
+                while (!closed && (event = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    deliver(event);
+                }
+                sending.set(false);
+                // An event offered after the last poll but before the flag was cleared is picked up here.
+            } while (!closed && !pending.isEmpty() && sending.compareAndSet(false, true));
+        }
+
+        private void deliver(EmployeeChangeEvent event) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException ex) {
+                log.warn("Change log subscriber failed, unsubscribing: {}", ex.getMessage());
+                close();
+            }
+        }
+
+        private void run(Runnable task) {
+            try {
+                senders.execute(task);
+            } catch (RejectedExecutionException ex) {
+                // Shutting down.
+                close();
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.server.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a change to the mock employee store. It is only written while a recording that enables
+ * {@value #NAME} is running; otherwise begin, end and commit are no-ops.
+ */
+@Name(EmployeeMutationEvent.NAME)
+@Label("Employee Mutation")
+@Category({"ReliaQuest", "Mock Employee API"})
+@Description("A create, update, delete or replicated change to the mock employee store")
+@StackTrace(false)
+public class EmployeeMutationEvent extends Event {
+
+    public static final String NAME = "com.reliaquest.server.EmployeeMutation";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Dataset Size")
+    @Description("Employees in the store before the change")
+    int datasetSize;
+
+    @Label("Result Size")
+    @Description("Employees added, updated, removed or loaded by the change")
+    int resultSize;
+
+    public static EmployeeMutationEvent start() {
+        final var event = new EmployeeMutationEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String operation, int datasetSize, int resultSize) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.datasetSize = datasetSize;
+            this.resultSize = resultSize;
+            commit();
+        }
+    }
+}
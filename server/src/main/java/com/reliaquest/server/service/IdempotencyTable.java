@@ -0,0 +1,126 @@
+package com.reliaquest.server.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Remembers the outcome of writes by their {@value #HEADER} so a retried or pipelined duplicate gets the original
+ * result instead of running again. The first request for a key runs the operation; any request with that key arriving
+ * while it is in flight, or within {@code ttl} of it starting, shares its future.
+ *
+ * <p>A key is only reusable for the same request: a different request body under a known key is rejected. Failed
+ * operations are forgotten so the client can retry them. The table holds at most {@code maxEntries} keys and drops the
+ * oldest first.
+ */
+public class IdempotencyTable<V> {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    @Getter
+    private final int maxEntries;
+
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+
+    // Insertion order is also expiry order, since every entry lives for the same ttl.
+    private final LinkedHashMap<String, Entry<V>> entries = new LinkedHashMap<>();
+
+    public IdempotencyTable(int maxEntries, @NonNull Duration ttl) {
+        this(maxEntries, ttl, System::nanoTime);
+    }
+
+    public IdempotencyTable(int maxEntries, @NonNull Duration ttl, @NonNull LongSupplier nanoTime) {
+        if (maxEntries < 1 || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Idempotency table needs a positive size and ttl");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+    }
+
+    public CompletableFuture<V> submit(
+            @NonNull String key, @NonNull Object request, @NonNull Supplier<CompletableFuture<V>> operation) {
+        final CompletableFuture<V> result;
+        synchronized (this) {
+            final var now = nanoTime.getAsLong();
+            expire(now);
+            final var existing = entries.get(key);
+            if (existing != null) {
+                if (!existing.request().equals(request)) {
+                    throw new IllegalArgumentException(
+                            HEADER + " " + key + " was already used for a different request");
+                }
+                return existing.result();
+            }
+            result = new CompletableFuture<>();
+            entries.put(key, new Entry<>(request, result, now + ttlNanos));
+            final var oldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries) {
+                oldest.next();
+                oldest.remove();
+            }
+        }
+        // The operation runs outside the lock so one slow write does not hold up unrelated keys.
+        CompletableFuture<V> started;
+        try {
+            started = operation.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((value, ex) -> {
+            if (ex != null) {
+                forget(key, result);
+                result.completeExceptionally(ex);
+            } else {
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+
+    /*
+     * Synchronous form for callers that run the write on their own thread; failures are rethrown unwrapped.
+     */
+    public V execute(@NonNull String key, @NonNull Object request, @NonNull Supplier<V> operation) {
+        try {
+            return submit(key, request, () -> CompletableFuture.completedFuture(operation.get())).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public synchronized int size() {
+        expire(nanoTime.getAsLong());
+        return entries.size();
+    }
+
+    private synchronized void forget(String key, CompletableFuture<V> result) {
+        final var entry = entries.get(key);
+        if (entry != null && entry.result() == result) {
+            entries.remove(key);
+        }
+    }
+
+    private void expire(long now) {
+        final Iterator<Map.Entry<String, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().expiresAt() - now > 0) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    private record Entry<V>(Object request, CompletableFuture<V> result, long expiresAt) {}
+}
@@ -3,56 +3,629 @@ package com.reliaquest.server.service;
 import com.reliaquest.server.config.ServerConfiguration;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQueryResult;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.EmployeeUpdateResult;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.ShardSettings;
+import com.reliaquest.server.model.UpdateMockEmployeeInput;
+import com.reliaquest.server.service.bulk.BulkUpdateReport;
+import com.reliaquest.server.service.index.EmployeeIndex;
+import com.reliaquest.server.service.index.EmployeeIndexes;
+import com.reliaquest.server.service.index.IndexStats;
+import com.reliaquest.server.service.index.SortedFieldIndex;
+import com.reliaquest.server.service.query.BulkUpdateReplay;
+import com.reliaquest.server.service.query.EmployeeQuery;
+import com.reliaquest.server.service.query.EmployeeQueryPlanner;
+import com.reliaquest.server.service.query.Predicate;
+import com.reliaquest.server.service.query.UpdateExpression;
+import com.reliaquest.server.service.shard.EmployeeIdGenerator;
+import jakarta.annotation.PostConstruct;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import org.springframework.stereotype.Service;
 
+/**
+ * The mock employee store: a concurrent map from id to an immutable-by-convention record, plus secondary indexes and
+ * a change log. Reads of one record never lock, and reads spanning several records only share the store lock.
+ * Updates to different employees never wait for each other:
+ *
+ * <ul>
+ *   <li>A record is replaced with a compare-and-set on the map, and its change-log event takes its sequence number
+ *       with one atomic increment; neither step holds a lock shared with writers of other employees.
+ *   <li>Writers of one employee take turns on the record's own lock. Index entries are kept per value and id, so the
+ *       next writer must not start before the previous one has removed the entries its record no longer holds.
+ *   <li>Creates, deletes and replicated changes are also serialized by this service's lock, which updates never
+ *       take. Single-employee writes share the store lock; a bulk update and a snapshot hold it exclusively, so a
+ *       snapshot never catches a write between its publication and its sequence number.
+ * </ul>
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MockEmployeeService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private static final String READ_ONLY_REPLICA = "This instance is a read-only replica, send writes to the primary";
+
     private final Faker faker;
 
-    @Getter
+    // Seed data, moved into employeesById at startup; the map is the store from then on.
     private final List<MockEmployee> mockEmployees;
 
+    private final EmployeeChangeLog employeeChangeLog;
+
+    private final EmployeeIndexes employeeIndexes;
+
+    private final EmployeeIdGenerator employeeIdGenerator;
+
+    private final IdempotencyTable<MockEmployee> createRequests;
+
+    private final ForkJoinPool bulkUpdatePool;
+
+    private final Map<UUID, MockEmployee> employeesById = new ConcurrentHashMap<>();
+
+    // Taken before any record lock: shared by single-employee writes and multi-record reads, exclusive for bulk
+    // updates.
+    private final ReadWriteLock storeLock = new ReentrantReadWriteLock();
+
+    private volatile boolean readOnly;
+
+    @PostConstruct
+    synchronized void indexMockEmployees() {
+        mockEmployees.forEach(employee -> {
+            employeesById.put(employee.getId(), employee);
+            employeeIndexes.add(employee);
+        });
+        log.debug("Indexed {} employees", employeesById.size());
+    }
+
+    public List<MockEmployee> getMockEmployees() {
+        return read(() -> List.copyOf(employeesById.values()));
+    }
+
+    public EmployeeSnapshot snapshot() {
+        storeLock.writeLock().lock();
+        try {
+            return employeeChangeLog.atomically(() -> new EmployeeSnapshot(
+                    employeeChangeLog.currentEpoch(),
+                    employeeChangeLog.currentSequence(),
+                    List.copyOf(employeesById.values())));
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    public Optional<List<EmployeeChangeEvent>> getChangesSince(long since) {
+        return employeeChangeLog.since(since);
+    }
+
+    /*
+     * At least the version of every write that has returned, which the change log reaches once the writes still
+     * publishing their events are in.
+     */
+    public long currentSequence() {
+        return employeeChangeLog.reservedSequence();
+    }
+
+    /*
+     * In-process followers of the change log, see EmployeeChangeLog#subscribe. Empty when the changes after since have
+     * already been evicted.
+     */
+    public Optional<Runnable> subscribeChanges(
+            long since, Consumer<EmployeeChangeEvent> subscriber, Runnable onDropped) {
+        return employeeChangeLog.subscribe(since, subscriber, onDropped);
+    }
+
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return Optional.ofNullable(employeesById.get(uuid));
+    }
+
+    /*
+     * Found employees in the order of their first requested id; unknown and repeated ids are skipped.
+     */
+    public List<MockEmployee> findByIds(@NonNull Collection<UUID> uuids) {
+        if (uuids.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " ids can be looked up at once");
+        }
+        return read(() -> new LinkedHashSet<>(uuids)
+                .stream()
+                .map(employeesById::get)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    public EmployeePage findBySalaryRange(Integer minSalary, Integer maxSalary, String cursor, int limit) {
+        return findByRange(
+                employeeIndexes.sorted(ServerConfiguration.SALARY_INDEX), minSalary, maxSalary, cursor, limit);
+    }
+
+    public EmployeePage findByAgeRange(Integer minAge, Integer maxAge, String cursor, int limit) {
+        return findByRange(employeeIndexes.sorted(ServerConfiguration.AGE_INDEX), minAge, maxAge, cursor, limit);
+    }
+
+    public List<MockEmployee> findByEmail(@NonNull String email) {
+        return findByIndex(ServerConfiguration.EMAIL_INDEX, email);
+    }
+
+    public List<MockEmployee> findByName(@NonNull String name) {
+        return findByIndex(ServerConfiguration.NAME_INDEX, name);
+    }
+
+    public List<MockEmployee> findByTitle(@NonNull String title) {
+        return findByIndex(ServerConfiguration.TITLE_INDEX, title);
+    }
+
+    public List<MockEmployee> searchByName(@NonNull String fragment) {
+        final var needle = fragment.toLowerCase(Locale.ROOT);
+        return read(() -> employeesById.values().stream()
+                .filter(employee -> employee.getName().toLowerCase(Locale.ROOT).contains(needle))
+                .toList());
+    }
+
+    public List<MockEmployee> findTopBySalary(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        final var index = employeeIndexes.<Integer>sorted(ServerConfiguration.SALARY_INDEX);
+        return read(() -> index.highest(limit, employeesById::get));
+    }
+
+    public Optional<Integer> findHighestSalary() {
+        return findTopBySalary(1).stream().findFirst().map(MockEmployee::getSalary);
+    }
+
+    public List<MockEmployee> autocomplete(@NonNull String prefix, int limit) {
+        final var trie = employeeIndexes.trie(ServerConfiguration.AUTOCOMPLETE_INDEX);
+        if (limit < 1 || limit > trie.getMaxResults()) {
+            throw new IllegalArgumentException("Autocomplete limit must be between 1 and " + trie.getMaxResults());
+        }
+        return read(() -> trie.complete(prefix, limit).stream()
+                .map(employee -> employeesById.get(employee.getId()))
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    /*
+     * Runs the query on the access path its planner estimates to read the fewest rows; stats are only gathered when
+     * explain is set.
+     */
+    public EmployeeQueryResult query(@NonNull EmployeeQuery query, boolean explain) {
+        return read(() -> new EmployeeQueryPlanner(employeeIndexes, employeesById).execute(query, explain));
+    }
+
+    public List<IndexStats> getIndexStats() {
+        return employeeIndexes.stats();
+    }
+
+    public ShardSettings getShardSettings() {
+        final var ring = employeeIdGenerator.getRing();
+        return new ShardSettings(
+                employeeIdGenerator.getShardIndex(),
+                ring.getShardCount(),
+                ring.getVirtualNodes(),
+                employeeIndexes.trie(ServerConfiguration.AUTOCOMPLETE_INDEX).getRank());
+    }
+
+    /*
+     * A repeated idempotency key returns the employee created under it instead of adding another one.
+     */
+    public MockEmployee create(@NonNull CreateMockEmployeeInput input, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return create(input);
+        }
+        return createRequests.execute(idempotencyKey, input, () -> create(input));
+    }
+
+    public synchronized MockEmployee create(@NonNull CreateMockEmployeeInput input) {
+        if (readOnly) {
+            throw new UnsupportedOperationException(READ_ONLY_REPLICA);
+        }
+        final var event = EmployeeMutationEvent.start();
+        final var datasetSize = employeesById.size();
+        final var mockEmployee = newEmployee(input);
+        storeLock.readLock().lock();
+        try {
+            final long sequence = employeeChangeLog.reserve(1);
+            insert(mockEmployee, () -> employeeChangeLog.publish(
+                    new EmployeeChangeEvent(sequence, EmployeeChangeEvent.Type.CREATED, mockEmployee)));
+        } finally {
+            storeLock.readLock().unlock();
+        }
+        log.debug("Added employee: {}", mockEmployee);
+        event.finish("create", datasetSize, 1);
+        return mockEmployee;
     }
 
-    public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
+    /*
+     * An employee for the input with an id owned by this shard and a generated email, not yet stored. Safe to call
+     * from several threads, so bulk imports can prepare rows in parallel.
+     */
+    public MockEmployee newEmployee(@NonNull CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                employeeIdGenerator.next(),
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
-        log.debug("Added employee: {}", mockEmployee);
-        return mockEmployee;
     }
 
-    public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+    /*
+     * Stores prepared employees as one batch: indexed, given consecutive sequence numbers, then added to the store and
+     * logged as creates in order, with other creates and deletes held off until the whole batch is in.
+     */
+    public synchronized void insertAll(@NonNull List<MockEmployee> employees) {
+        if (readOnly) {
+            throw new UnsupportedOperationException(READ_ONLY_REPLICA);
+        }
+        final var event = EmployeeMutationEvent.start();
+        final var datasetSize = employeesById.size();
+        storeLock.readLock().lock();
+        try {
+            employees.forEach(employeeIndexes::add);
+            final long first = employeeChangeLog.reserve(employees.size());
+            employees.forEach(employee -> employeesById.put(employee.getId(), employee));
+            for (int i = 0; i < employees.size(); i++) {
+                employeeChangeLog.publish(
+                        new EmployeeChangeEvent(first + i, EmployeeChangeEvent.Type.CREATED, employees.get(i)));
+            }
+        } finally {
+            storeLock.readLock().unlock();
+        }
+        log.debug("Inserted {} employees", employees.size());
+        event.finish("insert", datasetSize, employees.size());
+    }
+
+    /*
+     * Deletes by name. When several employees share it, the one that has held the name longest goes first, in the
+     * order the name index keeps.
+     */
+    public synchronized boolean delete(@NonNull DeleteMockEmployeeInput input) {
+        if (readOnly) {
+            throw new UnsupportedOperationException(READ_ONLY_REPLICA);
+        }
+        final var event = EmployeeMutationEvent.start();
+        final var datasetSize = employeesById.size();
+        storeLock.readLock().lock();
+        try {
+            while (true) {
+                final var mockEmployee = findByName(input.getName()).stream().findFirst();
+                if (mockEmployee.isEmpty()) {
+                    event.finish("delete", datasetSize, 0);
+                    return false;
+                }
+                final var employee = mockEmployee.get();
+                synchronized (employee) {
+                    // An update may have replaced the record since the lookup; look again.
+                    if (employeesById.get(employee.getId()) == employee) {
+                        remove(employee, () -> employeeChangeLog.append(EmployeeChangeEvent.Type.DELETED, employee));
+                        log.debug("Removed employee: {}", employee);
+                        event.finish("delete", datasetSize, 1);
+                        return true;
+                    }
+                }
+            }
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Applies the input's non-null fields and raises the version. With expectedVersion set, the update is a
+     * compare-and-set: it only applies if the employee is still at that version. Besides the shared store lock, an
+     * update holds only the employee's own lock; it publishes and logs the new record without any lock shared with
+     * updates to other employees.
+     */
+    public EmployeeUpdateResult update(
+            @NonNull UUID uuid, @NonNull UpdateMockEmployeeInput input, Long expectedVersion) {
+        if (readOnly) {
+            throw new UnsupportedOperationException(READ_ONLY_REPLICA);
+        }
+        final var event = EmployeeMutationEvent.start();
+        final var datasetSize = employeesById.size();
+        storeLock.readLock().lock();
+        try {
+            while (true) {
+                final var current = employeesById.get(uuid);
+                if (current == null) {
+                    event.finish("update", datasetSize, 0);
+                    return EmployeeUpdateResult.notFound();
+                }
+                synchronized (current) {
+                    if (employeesById.get(uuid) != current) {
+                        continue;
+                    }
+                    if (expectedVersion != null && current.getVersion() != expectedVersion) {
+                        event.finish("update", datasetSize, 0);
+                        return EmployeeUpdateResult.versionMismatch(current);
+                    }
+                    final var updated = current.updatedWith(input);
+                    replace(
+                            current,
+                            updated,
+                            () -> employeeChangeLog.append(EmployeeChangeEvent.Type.UPDATED, updated));
+                    log.debug("Updated employee: {}", updated);
+                    event.finish("update", datasetSize, 1);
+                    return EmployeeUpdateResult.updated(updated);
+                }
+            }
+        } finally {
+            storeLock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Applies set to every employee matching where, or to every employee when where is null. The matches are found
+     * on the cheapest access path, and their new records computed and their index entries moved, in parallel on the
+     * bulk update pool. The records are published in one change-log step under a single BULK_UPDATED event carrying
+     * where and set, however many rows change: the version moves from fromVersion to fromVersion + 1, snapshots and
+     * version headers see all of the update or none of it, and the log and its subscribers' buffers hold one event
+     * rather than one per row. If any new record would break a field's constraints, nothing changes. Single-employee
+     * writes, and reads spanning several records, wait until the whole update is in.
+     */
+    public BulkUpdateReport bulkUpdate(Predicate where, @NonNull UpdateExpression set) {
+        if (readOnly) {
+            throw new UnsupportedOperationException(READ_ONLY_REPLICA);
+        }
+        final String whereClause = where != null ? where.toString() : null;
+        return bulkUpdate(
+                where,
+                set,
+                "bulk-update",
+                () -> employeeChangeLog.publish(EmployeeChangeEvent.bulkUpdated(
+                        employeeChangeLog.reserve(1), whereClause, set.toString())));
+    }
+
+    /*
+     * The primary's bulk update and a replica's replay of its event; append logs the event once the records are in.
+     */
+    private BulkUpdateReport bulkUpdate(Predicate where, UpdateExpression set, String operation, Runnable append) {
+        final var event = EmployeeMutationEvent.start();
+        final long start = System.nanoTime();
+        storeLock.writeLock().lock();
+        try {
+            final var datasetSize = employeesById.size();
+            final long fromVersion = employeeChangeLog.currentSequence();
+            final var selection = new EmployeeQueryPlanner(employeeIndexes, employeesById).select(where);
+            final var rejected = new AtomicReference<IllegalArgumentException>();
+            final List<BulkChange> changes = onBulkUpdatePool(() -> selection
+                    .employees()
+                    .parallel()
+                    .filter(ignored -> rejected.get() == null)
+                    .map(employee -> change(employee, set, rejected))
+                    .filter(Objects::nonNull)
+                    .toList());
+            if (rejected.get() != null) {
+                event.finish(operation, datasetSize, 0);
+                throw rejected.get();
+            }
+            onBulkUpdatePool(() -> changes.parallelStream()
+                    .forEach(change -> change.affected().forEach(index -> index.add(change.after()))));
+            final long toVersion = employeeChangeLog.atomically(() -> {
+                onBulkUpdatePool(() -> changes.parallelStream()
+                        .forEach(change -> employeesById.put(change.after().getId(), change.after())));
+                // A replica logs the event even if nothing changed, so its sequence keeps following the primary's.
+                if (!changes.isEmpty() || readOnly) {
+                    append.run();
+                }
+                return employeeChangeLog.currentSequence();
+            });
+            onBulkUpdatePool(() -> changes.parallelStream()
+                    .forEach(change -> change.affected().forEach(index -> index.remove(change.before()))));
+            final long elapsedNanos = System.nanoTime() - start;
+            log.debug("Bulk updated {} employees: set {} on {}", changes.size(), set, selection.plan());
+            event.finish(operation, datasetSize, changes.size());
+            return new BulkUpdateReport(
+                    selection.plan(),
+                    selection.estimatedRows(),
+                    changes.size(),
+                    fromVersion,
+                    toVersion,
+                    elapsedNanos / 1_000_000,
+                    changes.size() * 1e9 / Math.max(elapsedNanos, 1));
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * Replica mode: local writes are refused and the store only changes through the two methods below.
+     */
+    public void enterReplicaMode() {
+        readOnly = true;
+    }
+
+    public synchronized void resetTo(@NonNull EmployeeSnapshot snapshot) {
+        final var event = EmployeeMutationEvent.start();
+        final var datasetSize = employeesById.size();
+        storeLock.writeLock().lock();
+        try {
+            employeesById.values().forEach(employeeIndexes::remove);
+            employeeChangeLog.atomically(() -> {
+                employeesById.clear();
+                snapshot.employees().forEach(employee -> employeesById.put(employee.getId(), employee));
+                employeeChangeLog.reset(snapshot.epoch(), snapshot.sequence());
+                return snapshot;
+            });
+            snapshot.employees().forEach(employeeIndexes::add);
+        } finally {
+            storeLock.writeLock().unlock();
+        }
+        log.info("Loaded {} employees at sequence {}", employeesById.size(), snapshot.sequence());
+        event.finish("reset", datasetSize, employeesById.size());
+    }
+
+    /*
+     * Changes already applied are skipped. A change that does not directly follow the applied sequence is refused
+     * before the store is touched, so the caller can reload a snapshot without the store having moved ahead of it.
+     */
+    public synchronized void applyReplicated(@NonNull EmployeeChangeEvent change) {
+        final long applied = employeeChangeLog.currentSequence();
+        if (change.sequence() <= applied) {
+            return;
+        }
+        if (change.sequence() != applied + 1) {
+            throw new IllegalStateException(
+                    "Replicated change " + change.sequence() + " does not follow sequence " + applied);
+        }
+        if (change.type() == EmployeeChangeEvent.Type.BULK_UPDATED) {
+            try {
+                final var replay = BulkUpdateReplay.of(change.bulkUpdate());
+                bulkUpdate(
+                        replay.where(),
+                        replay.set(),
+                        "replicate-bulk-update",
+                        () -> employeeChangeLog.appendReplicated(change));
+            } catch (IllegalArgumentException ex) {
+                // The primary applied it to the same records, so this store has drifted; the caller reloads.
+                throw new IllegalStateException(
+                        "Cannot replay bulk update " + change.sequence() + ": " + ex.getMessage(), ex);
+            }
+            return;
+        }
+        final var event = EmployeeMutationEvent.start();
+        final var datasetSize = employeesById.size();
+        final var previous = employeesById.get(change.employee().getId());
+        final Runnable append = () -> employeeChangeLog.appendReplicated(change);
+        storeLock.readLock().lock();
+        try {
+            if (previous == null) {
+                if (change.type() == EmployeeChangeEvent.Type.DELETED) {
+                    append.run();
+                } else {
+                    insert(change.employee(), append);
+                }
+            } else {
+                synchronized (previous) {
+                    if (change.type() == EmployeeChangeEvent.Type.DELETED) {
+                        remove(previous, append);
+                    } else {
+                        replace(previous, change.employee(), append);
+                    }
+                }
+            }
+        } finally {
+            storeLock.readLock().unlock();
+        }
+        event.finish("replicate-" + change.type().name().toLowerCase(Locale.ROOT), datasetSize, 1);
+    }
+
+    /*
+     * The employee's change under set; a rejected change is recorded, the first one winning, and yields null.
+     */
+    private BulkChange change(
+            MockEmployee employee, UpdateExpression set, AtomicReference<IllegalArgumentException> rejected) {
+        try {
+            final var updated = set.apply(employee);
+            return new BulkChange(employee, updated, employeeIndexes.affectedBy(employee, updated));
+        } catch (IllegalArgumentException ex) {
+            rejected.compareAndSet(null, ex);
+            return null;
+        }
+    }
+
+    private <T> T onBulkUpdatePool(Callable<T> work) {
+        return bulkUpdatePool.submit(work).join();
+    }
+
+    private void onBulkUpdatePool(Runnable work) {
+        bulkUpdatePool.submit(work).join();
+    }
+
+    private <K extends Comparable<K>> EmployeePage findByRange(
+            SortedFieldIndex<K> index, K from, K to, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (from != null && to != null && from.compareTo(to) > 0) {
+            throw new IllegalArgumentException("Range minimum must not exceed maximum for " + index.getName());
+        }
+        final var page = read(() -> index.range(from, to, cursor, limit, employeesById::get));
+        return new EmployeePage(page.employees(), page.nextCursor());
+    }
+
+    /*
+     * An id is resolved after it was read from the index, so the record is checked again: an update may have replaced
+     * it in between, or may not have removed the entry of a value the record no longer holds yet.
+     */
+    private List<MockEmployee> findByIndex(String indexName, String value) {
+        final var index = employeeIndexes.hash(indexName);
+        return read(() -> index.lookup(value).stream()
+                .map(employeesById::get)
+                .filter(employee -> employee != null && index.holds(employee, value))
+                .toList());
+    }
+
+    /*
+     * Reads spanning several records share the store lock, so they see a bulk update entirely or not at all.
+     */
+    private <T> T read(Supplier<T> action) {
+        storeLock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            storeLock.readLock().unlock();
         }
+    }
+
+    /*
+     * A record's index entries are added before it is published and removed only after it is replaced or removed, so
+     * an index never misses a published record. Readers skip the entries whose record is gone or no longer holds the
+     * indexed value. A local create reserves its sequence number before calling this, so no update of the new record
+     * can be logged ahead of it.
+     */
+    private void insert(MockEmployee employee, Runnable append) {
+        employeeIndexes.add(employee);
+        employeesById.put(employee.getId(), employee);
+        append.run();
+    }
 
-        return false;
+    /*
+     * Callers hold the current record's lock; only the indexes whose key changed are touched. The new record's lock is
+     * held until its event has a sequence number and the old entries are gone, so the next writer of that employee is
+     * logged after this one and starts from clean indexes.
+     */
+    private void replace(MockEmployee current, MockEmployee updated, Runnable append) {
+        final var affected = employeeIndexes.affectedBy(current, updated);
+        synchronized (updated) {
+            affected.forEach(index -> index.add(updated));
+            if (!employeesById.replace(updated.getId(), current, updated)) {
+                throw new IllegalStateException("Employee " + updated.getId() + " changed while its lock was held");
+            }
+            append.run();
+            affected.forEach(index -> index.remove(current));
+        }
     }
+
+    /*
+     * Callers hold the record's lock.
+     */
+    private void remove(MockEmployee employee, Runnable append) {
+        employeesById.remove(employee.getId(), employee);
+        append.run();
+        employeeIndexes.remove(employee);
+    }
+
+    private record BulkChange(MockEmployee before, MockEmployee after, List<EmployeeIndex> affected) {}
 }
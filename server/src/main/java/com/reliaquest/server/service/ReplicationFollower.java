@@ -0,0 +1,238 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import com.reliaquest.server.model.Response;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns this instance into a read-only replica when {@code mock.employees.replication.primary-url} is set. The
+ * replica loads one snapshot from the primary and then follows its change stream, applying each event with the
+ * primary's sequence number. A dropped stream is resumed from the last applied version, and a stream the primary can
+ * no longer serve (410) or a gap in the sequence triggers a fresh snapshot.
+ *
+ * <p>With {@code mock.employees.replication.warm-snapshot.file} set, the replica also keeps its snapshot on disk. A
+ * restart loads it before accepting requests and resumes the change stream from its version, so the primary only
+ * sends the changes since; the stream carries the snapshot's epoch, and a primary that has restarted or evicted those
+ * changes answers 410, which falls back to a full snapshot as before.
+ */
+@Slf4j
+@Component
+public class ReplicationFollower {
+
+    private static final String PATH = "/api/v1/employee";
+    private static final String SNAPSHOT_PATH = PATH + "/snapshot";
+    private static final String STREAM_PATH = PATH + "/changes/stream";
+
+    // Requests a follower makes of its primary.
+    public static final String[] REPLICATION_PATHS = {SNAPSHOT_PATH, STREAM_PATH};
+    private static final TypeReference<Response<EmployeeSnapshot>> SNAPSHOT = new TypeReference<>() {};
+
+    private final MockEmployeeService mockEmployeeService;
+    private final EmployeeChangeLog employeeChangeLog;
+    private final ObjectMapper objectMapper;
+    private final String primaryUrl;
+    private final Duration reconnectDelay;
+    private final WarmSnapshotFile warmSnapshot;
+    private final Duration warmSnapshotMaxAge;
+    private final Duration warmSnapshotInterval;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    private volatile boolean running;
+    private Thread follower;
+    private boolean warmStarted;
+    private String persistedVersion;
+    private long persistedAt;
+
+    public ReplicationFollower(
+            MockEmployeeService mockEmployeeService,
+            EmployeeChangeLog employeeChangeLog,
+            ObjectMapper objectMapper,
+            @Value("${mock.employees.replication.primary-url:}") String primaryUrl,
+            @Value("${mock.employees.replication.reconnect-delay:PT1S}") Duration reconnectDelay,
+            @Value("${mock.employees.replication.warm-snapshot.file:}") String warmSnapshotFile,
+            @Value("${mock.employees.replication.warm-snapshot.max-age:PT24H}") Duration warmSnapshotMaxAge,
+            @Value("${mock.employees.replication.warm-snapshot.write-interval:PT10S}") Duration warmSnapshotInterval) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.employeeChangeLog = employeeChangeLog;
+        this.objectMapper = objectMapper;
+        this.primaryUrl = primaryUrl;
+        this.reconnectDelay = reconnectDelay;
+        this.warmSnapshot =
+                warmSnapshotFile.isBlank() ? null : new WarmSnapshotFile(Path.of(warmSnapshotFile), objectMapper);
+        this.warmSnapshotMaxAge = warmSnapshotMaxAge;
+        this.warmSnapshotInterval = warmSnapshotInterval;
+    }
+
+    /*
+     * Writes are refused from the moment the bean exists, before the web server accepts requests, and a warm snapshot
+     * is already being served by then.
+     */
+    @PostConstruct
+    void enterReplicaMode() {
+        if (primaryUrl.isBlank()) {
+            return;
+        }
+        mockEmployeeService.enterReplicaMode();
+        if (warmSnapshot != null) {
+            warmSnapshot.load(warmSnapshotMaxAge).ifPresent(snapshot -> {
+                mockEmployeeService.resetTo(snapshot);
+                warmStarted = true;
+                log.info("Serving warm snapshot at sequence {} until the primary confirms it", snapshot.sequence());
+            });
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (primaryUrl.isBlank()) {
+            return;
+        }
+        log.info("Replicating employees from primary {}", primaryUrl);
+        running = true;
+        follower = new Thread(this::follow, "replication-follower");
+        follower.setDaemon(true);
+        follower.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (follower != null) {
+            follower.interrupt();
+        }
+        if (!primaryUrl.isBlank()) {
+            persist();
+        }
+    }
+
+    private void follow() {
+        var bootstrapped = warmStarted;
+        while (running) {
+            try {
+                if (!bootstrapped) {
+                    bootstrap();
+                    bootstrapped = true;
+                }
+                bootstrapped = stream();
+            } catch (IllegalStateException ex) {
+                log.warn("Replication out of step, reloading snapshot: {}", ex.getMessage());
+                bootstrapped = false;
+            } catch (IOException | RuntimeException ex) {
+                log.warn("Replication from {} interrupted: {}", primaryUrl, ex.getMessage());
+                if (!pause()) {
+                    return;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void bootstrap() throws IOException, InterruptedException {
+        final var response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(primaryUrl + SNAPSHOT_PATH))
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != HttpStatus.OK.value()) {
+            throw new IOException("Snapshot request returned " + response.statusCode());
+        }
+        mockEmployeeService.resetTo(objectMapper.readValue(response.body(), SNAPSHOT).data());
+        persist();
+    }
+
+    /*
+     * Applies events until the stream ends; false when the primary has evicted the changes we need or no longer has the
+     * epoch they belong to.
+     */
+    private boolean stream() throws IOException, InterruptedException {
+        final var since = employeeChangeLog.currentSequence();
+        final var epoch = URLEncoder.encode(employeeChangeLog.currentEpoch(), StandardCharsets.UTF_8);
+        final var uri = URI.create(primaryUrl + STREAM_PATH + "?since=" + since + "&epoch=" + epoch);
+        final var response = httpClient.send(
+                HttpRequest.newBuilder(uri)
+                        .header("Accept", MediaType.TEXT_EVENT_STREAM_VALUE)
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofLines());
+        if (response.statusCode() == HttpStatus.GONE.value()) {
+            log.info("Primary no longer has changes after {} of epoch {}, reloading snapshot", since, epoch);
+            response.body().close();
+            return false;
+        }
+        if (response.statusCode() != HttpStatus.OK.value()) {
+            response.body().close();
+            throw new IOException("Change stream request returned " + response.statusCode());
+        }
+        try (var lines = response.body()) {
+            final var data = new StringBuilder();
+            final var iterator = lines.iterator();
+            while (running && iterator.hasNext()) {
+                final var line = iterator.next();
+                if (line.isEmpty() && !data.isEmpty()) {
+                    final var change = objectMapper.readValue(data.toString(), EmployeeChangeEvent.class);
+                    mockEmployeeService.applyReplicated(change);
+                    data.setLength(0);
+                    if (System.nanoTime() - persistedAt >= warmSnapshotInterval.toNanos()) {
+                        persist();
+                    }
+                } else if (line.startsWith("data:")) {
+                    data.append(line, line.startsWith("data: ") ? 6 : 5, line.length());
+                }
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Skipped when the store has not moved since the last write; a failed write leaves the previous file in place.
+     */
+    private synchronized void persist() {
+        if (warmSnapshot == null) {
+            return;
+        }
+        final var snapshot = mockEmployeeService.snapshot();
+        final var version = snapshot.epoch() + "/" + snapshot.sequence();
+        persistedAt = System.nanoTime();
+        if (version.equals(persistedVersion)) {
+            return;
+        }
+        try {
+            warmSnapshot.write(snapshot);
+            persistedVersion = version;
+        } catch (IOException ex) {
+            log.warn("Could not write warm snapshot: {}", ex.getMessage());
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(reconnectDelay.toMillis());
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.reliaquest.server.model.EmployeeSnapshot;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A replica's last known snapshot, kept in a memory-mapped file so a restarted replica can serve it at once and ask
+ * the primary only for the changes after it. The file holds a fixed header (magic, format, write time, payload length
+ * and CRC32C) followed by the snapshot as JSON. It is written to a sibling file first and moved into place, so a
+ * reader sees either the previous snapshot or the new one; a file that fails any check is ignored.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class WarmSnapshotFile {
+
+    private static final int MAGIC = 0x574D534E;
+    private static final int FORMAT = 1;
+    private static final int HEADER_BYTES = 24;
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    /*
+     * Empty when there is no usable snapshot: missing, unreadable, corrupt, or written longer than maxAge ago.
+     */
+    public Optional<EmployeeSnapshot> load(Duration maxAge) {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                log.warn("Ignoring warm snapshot {}: unexpected size {}", path, channel.size());
+                return Optional.empty();
+            }
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                log.warn("Ignoring warm snapshot {}: not a snapshot file of format {}", path, FORMAT);
+                return Optional.empty();
+            }
+            final var writtenAt = Instant.ofEpochMilli(buffer.getLong());
+            final int length = buffer.getInt();
+            final int checksum = buffer.getInt();
+            if (length != buffer.remaining() || checksum(buffer.slice()) != checksum) {
+                log.warn("Ignoring warm snapshot {}: truncated or corrupt", path);
+                return Optional.empty();
+            }
+            if (writtenAt.plus(maxAge).isBefore(Instant.now())) {
+                log.info("Ignoring warm snapshot {} written at {}, older than {}", path, writtenAt, maxAge);
+                return Optional.empty();
+            }
+            return Optional.of(
+                    objectMapper.readValue(new ByteBufferBackedInputStream(buffer.slice()), EmployeeSnapshot.class));
+        } catch (NoSuchFileException ex) {
+            return Optional.empty();
+        } catch (IOException ex) {
+            log.warn("Ignoring warm snapshot {}: {}", path, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public void write(@NonNull EmployeeSnapshot snapshot) throws IOException {
+        final byte[] payload = objectMapper.writeValueAsBytes(snapshot);
+        final var parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final var staging = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(
+                staging,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) payload.length);
+            buffer.putInt(MAGIC)
+                    .putInt(FORMAT)
+                    .putLong(System.currentTimeMillis())
+                    .putInt(payload.length)
+                    .putInt(checksum(ByteBuffer.wrap(payload)))
+                    .put(payload);
+            buffer.force();
+        }
+        Files.move(staging, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug(
+                "Wrote warm snapshot of {} employees at sequence {}", snapshot.employees().size(), snapshot.sequence());
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        final var crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
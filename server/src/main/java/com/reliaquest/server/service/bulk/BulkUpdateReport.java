@@ -0,0 +1,14 @@
+package com.reliaquest.server.service.bulk;
+
+/**
+ * Outcome of a bulk update: the access path that selected the employees and its estimated rows, the employees
+ * updated, and the change-log versions before and after, between which the update was published in one step.
+ */
+public record BulkUpdateReport(
+        String plan,
+        long estimatedRows,
+        long updated,
+        long fromVersion,
+        long toVersion,
+        long elapsedMillis,
+        double rowsPerSecond) {}
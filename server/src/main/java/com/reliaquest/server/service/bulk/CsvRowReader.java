@@ -0,0 +1,95 @@
+package com.reliaquest.server.service.bulk;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 style rows: comma separated, optionally double-quoted fields with {@code ""} for a quote. A quoted field
+ * cannot span lines. Columns are found by header name, other columns are ignored, and an empty number is left unset
+ * for validation to reject.
+ */
+class CsvRowReader implements ImportFormat.RowReader {
+
+    private static final List<String> COLUMNS = List.of("name", "salary", "age", "title");
+
+    private final int nameColumn;
+    private final int salaryColumn;
+    private final int ageColumn;
+    private final int titleColumn;
+    private final int width;
+
+    CsvRowReader(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import needs a header line");
+        }
+        final var names = split(header).stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .toList();
+        if (!names.containsAll(COLUMNS)) {
+            throw new IllegalArgumentException("CSV header must name the columns " + COLUMNS + " but was " + names);
+        }
+        this.nameColumn = names.indexOf("name");
+        this.salaryColumn = names.indexOf("salary");
+        this.ageColumn = names.indexOf("age");
+        this.titleColumn = names.indexOf("title");
+        this.width = Math.max(Math.max(nameColumn, salaryColumn), Math.max(ageColumn, titleColumn)) + 1;
+    }
+
+    @Override
+    public CreateMockEmployeeInput read(String line) {
+        final var fields = split(line);
+        if (fields.size() < width) {
+            throw new IllegalArgumentException("Expected at least " + width + " columns but found " + fields.size());
+        }
+        final var input = new CreateMockEmployeeInput();
+        input.setName(fields.get(nameColumn));
+        input.setSalary(number(fields.get(salaryColumn), "salary"));
+        input.setAge(number(fields.get(ageColumn), "age"));
+        input.setTitle(fields.get(titleColumn));
+        return input;
+    }
+
+    static List<String> split(String line) {
+        final var fields = new ArrayList<String>(COLUMNS.size());
+        final var field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().strip());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString().strip());
+        return fields;
+    }
+
+    private static Integer number(String value, String column) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(column + " is not a whole number: " + value);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.reliaquest.server.service.bulk;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/*
+ * Seeds the store from a file at startup, e.g. --mock.employees.import.file=employees.csv. The format follows the file
+ * extension (.csv or .ndjson) unless mock.employees.import.format names it. A failed import fails startup.
+ */
+@Slf4j
+@Component
+public class EmployeeImportRunner implements ApplicationRunner {
+
+    private final EmployeeImporter employeeImporter;
+    private final String file;
+    private final String format;
+
+    public EmployeeImportRunner(
+            EmployeeImporter employeeImporter,
+            @Value("${mock.employees.import.file:}") String file,
+            @Value("${mock.employees.import.format:}") String format) {
+        this.employeeImporter = employeeImporter;
+        this.file = file;
+        this.format = format;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (file.isBlank()) {
+            return;
+        }
+        final var path = Path.of(file);
+        final var importFormat =
+                format.isBlank() ? ImportFormat.forFile(path) : ImportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        log.info("Importing employees from {} as {}", path.toAbsolutePath(), importFormat);
+        final ImportReport report;
+        try (InputStream input = Files.newInputStream(path)) {
+            report = employeeImporter.importFrom(
+                    input,
+                    importFormat,
+                    progress -> log.info(
+                            "Imported {} of {} rows from {} ({} rows/s)",
+                            progress.imported(),
+                            progress.rows(),
+                            path.getFileName(),
+                            Math.round(progress.rowsPerSecond())));
+        }
+        log.info(
+                "Imported {} employees from {} in {} ms, rejected {} rows: {}",
+                report.imported(),
+                path.getFileName(),
+                report.elapsedMillis(),
+                report.rejected(),
+                report.errors());
+    }
+}
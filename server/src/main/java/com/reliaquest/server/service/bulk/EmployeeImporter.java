@@ -0,0 +1,268 @@
+package com.reliaquest.server.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams CSV or NDJSON employee rows into {@link MockEmployeeService}. The input is read in blocks of about
+ * {@code chunkSize} bytes, each cut after its last line break. Every chunk is parsed, validated against the
+ * {@link CreateMockEmployeeInput} constraints and given ids and emails on a worker pool started for the import, then
+ * inserted by the calling thread as one batch, in input order. At most two chunks per worker are in flight, so memory
+ * use does not grow with the input. No threads are held between imports.
+ *
+ * <p>Invalid rows are skipped and reported with their line numbers. An import is not atomic: rows inserted before a
+ * failure, such as a broken connection, stay in the store.
+ */
+@Component
+public class EmployeeImporter {
+
+    private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int threads;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final long progressIntervalNanos;
+
+    public EmployeeImporter(
+            MockEmployeeService mockEmployeeService,
+            ObjectMapper objectMapper,
+            Validator validator,
+            @Value("${mock.employees.import.parallelism:0}") int parallelism,
+            @Value("${mock.employees.import.chunk-size:1048576}") int chunkSize,
+            @Value("${mock.employees.import.max-reported-errors:100}") int maxReportedErrors,
+            @Value("${mock.employees.import.progress-interval:PT1S}") Duration progressInterval) {
+        if (chunkSize < 1 || maxReportedErrors < 0) {
+            throw new IllegalArgumentException("Import chunk size must be positive and reported errors not negative");
+        }
+        this.mockEmployeeService = mockEmployeeService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.progressIntervalNanos = progressInterval.toNanos();
+    }
+
+    /*
+     * Imports every row of the input, calling progress with the running totals at most once per progress interval.
+     */
+    public ImportReport importFrom(
+            @NonNull InputStream input, @NonNull ImportFormat format, @NonNull Consumer<ImportReport> progress)
+            throws IOException {
+        final var tally = new Tally(format.hasHeader() ? 2 : 1);
+        final Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+        final ExecutorService pool =
+                Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("employee-import-"));
+        try {
+            ImportFormat.RowReader rowReader = null;
+            byte[] carry = new byte[0];
+            boolean end = false;
+            while (!end) {
+                final var block = Arrays.copyOf(carry, Math.max(chunkSize, 2 * carry.length));
+                final int read = input.readNBytes(block, carry.length, block.length - carry.length);
+                final int length = carry.length + read;
+                end = length < block.length;
+                tally.bytes += read;
+                int from = 0;
+                int to = end ? length : lastLineEnd(block, length);
+                if (rowReader == null && (to > 0 || end)) {
+                    from = startsWith(block, length, BYTE_ORDER_MARK) ? BYTE_ORDER_MARK.length : 0;
+                    String header = null;
+                    if (format.hasHeader() && from < length) {
+                        final int headerEnd = lineEnd(block, from, to);
+                        header = line(block, from, headerEnd);
+                        from = Math.min(headerEnd + 1, to);
+                    }
+                    rowReader = format.rowReader(header, objectMapper);
+                }
+                if (to <= from) {
+                    // No complete row in the block yet: read on into a larger one.
+                    carry = Arrays.copyOfRange(block, from, length);
+                    continue;
+                }
+                final var reader = rowReader;
+                final int chunkFrom = from;
+                final int chunkTo = to;
+                inFlight.addLast(pool.submit(() -> parse(block, chunkFrom, chunkTo, reader)));
+                if (inFlight.size() >= 2 * threads) {
+                    insert(inFlight.removeFirst(), tally, progress);
+                }
+                carry = Arrays.copyOfRange(block, to, length);
+            }
+            while (!inFlight.isEmpty()) {
+                insert(inFlight.removeFirst(), tally, progress);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return tally.report();
+    }
+
+    private ParsedChunk parse(byte[] block, int from, int to, ImportFormat.RowReader rowReader) {
+        final var text = new String(block, from, to - from, StandardCharsets.UTF_8);
+        final var employees = new ArrayList<MockEmployee>();
+        final var errors = new ArrayList<ImportReport.RowError>();
+        int lines = 0;
+        int rows = 0;
+        int position = 0;
+        while (position < text.length()) {
+            final int lineBreak = text.indexOf('\n', position);
+            int lineEnd = lineBreak < 0 ? text.length() : lineBreak;
+            final int next = lineEnd + 1;
+            if (lineEnd > position && text.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            final var line = text.substring(position, lineEnd);
+            position = next;
+            lines++;
+            if (line.isBlank()) {
+                continue;
+            }
+            rows++;
+            try {
+                final var input = rowReader.read(line);
+                final var violations = validator.validate(input);
+                if (!violations.isEmpty()) {
+                    throw new IllegalArgumentException(describe(violations));
+                }
+                employees.add(mockEmployeeService.newEmployee(input));
+            } catch (IllegalArgumentException ex) {
+                // Line numbers are relative to the chunk until it is inserted.
+                errors.add(new ImportReport.RowError(lines - 1, ex.getMessage()));
+            }
+        }
+        return new ParsedChunk(employees, errors, lines, rows);
+    }
+
+    private void insert(Future<ParsedChunk> parsing, Tally tally, Consumer<ImportReport> progress) {
+        final ParsedChunk chunk;
+        try {
+            chunk = parsing.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing employees", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Failed to parse employee import chunk", ex.getCause());
+        }
+        if (!chunk.employees().isEmpty()) {
+            mockEmployeeService.insertAll(chunk.employees());
+        }
+        tally.add(chunk);
+        final long now = System.nanoTime();
+        if (now - tally.lastProgressNanos >= progressIntervalNanos) {
+            tally.lastProgressNanos = now;
+            progress.accept(tally.report());
+        }
+    }
+
+    private static String describe(Set<ConstraintViolation<CreateMockEmployeeInput>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /*
+     * The offset just past the last line break, or -1 if there is none.
+     */
+    private static int lastLineEnd(byte[] block, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (block[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int lineEnd(byte[] block, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (block[i] == '\n') {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private static String line(byte[] block, int from, int to) {
+        final int end = to > from && block[to - 1] == '\r' ? to - 1 : to;
+        return new String(block, from, end - from, StandardCharsets.UTF_8);
+    }
+
+    private static boolean startsWith(byte[] block, int length, byte[] prefix) {
+        return length >= prefix.length && Arrays.equals(block, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    private record ParsedChunk(
+            List<MockEmployee> employees, List<ImportReport.RowError> errors, int lines, int rows) {}
+
+    /*
+     * Running totals, only touched by the importing thread.
+     */
+    private final class Tally {
+
+        private final long startNanos = System.nanoTime();
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private long lastProgressNanos = startNanos;
+        private long nextLine;
+        private long bytes;
+        private long rows;
+        private long imported;
+        private long rejected;
+
+        Tally(long firstLine) {
+            this.nextLine = firstLine;
+        }
+
+        void add(ParsedChunk chunk) {
+            for (ImportReport.RowError error : chunk.errors()) {
+                if (errors.size() == maxReportedErrors) {
+                    break;
+                }
+                errors.add(new ImportReport.RowError(nextLine + error.line(), error.message()));
+            }
+            nextLine += chunk.lines();
+            rows += chunk.rows();
+            imported += chunk.employees().size();
+            rejected += chunk.errors().size();
+        }
+
+        ImportReport report() {
+            final long elapsedNanos = System.nanoTime() - startNanos;
+            return new ImportReport(
+                    bytes,
+                    rows,
+                    imported,
+                    rejected,
+                    elapsedNanos / 1_000_000,
+                    elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos,
+                    List.copyOf(errors));
+        }
+    }
+}
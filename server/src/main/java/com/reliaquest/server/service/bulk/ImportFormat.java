@@ -0,0 +1,77 @@
+package com.reliaquest.server.service.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.NonNull;
+import org.springframework.http.MediaType;
+
+/**
+ * Line-oriented formats accepted by {@link EmployeeImporter}. CSV starts with a header naming the {@code name},
+ * {@code salary}, {@code age} and {@code title} columns in any order; NDJSON has one JSON object per line with those
+ * properties.
+ */
+public enum ImportFormat {
+    CSV(ImportFormat.CSV_VALUE, ".csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON_VALUE, ".ndjson");
+
+    public static final String CSV_VALUE = "text/csv";
+
+    @Getter
+    private final String mediaType;
+
+    private final String extension;
+
+    ImportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public static ImportFormat forMediaType(@NonNull MediaType mediaType) {
+        return Arrays.stream(values())
+                .filter(format -> MediaType.parseMediaType(format.mediaType).isCompatibleWith(mediaType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Employees cannot be imported from " + mediaType));
+    }
+
+    public static ImportFormat forFile(@NonNull Path file) {
+        final var name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return Arrays.stream(values())
+                .filter(format -> name.endsWith(format.extension))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Cannot tell the import format of " + file));
+    }
+
+    public boolean hasHeader() {
+        return this == CSV;
+    }
+
+    /*
+     * A reader for the rows following the header line, which is null for formats without one.
+     */
+    RowReader rowReader(String header, ObjectMapper objectMapper) {
+        return switch (this) {
+            case CSV -> new CsvRowReader(header);
+            case NDJSON -> line -> {
+                try {
+                    return objectMapper.readValue(line, CreateMockEmployeeInput.class);
+                } catch (JsonProcessingException ex) {
+                    throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage());
+                }
+            };
+        };
+    }
+
+    /*
+     * Turns one non-blank line into an input, throwing IllegalArgumentException if the line cannot be read.
+     */
+    @FunctionalInterface
+    interface RowReader {
+
+        CreateMockEmployeeInput read(String line);
+    }
+}
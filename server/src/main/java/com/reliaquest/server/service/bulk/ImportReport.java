@@ -0,0 +1,19 @@
+package com.reliaquest.server.service.bulk;
+
+import java.util.List;
+
+/**
+ * Progress of an import so far, or its outcome once finished. Rows are the non-blank lines after any header; only the
+ * first rejected rows are listed in {@code errors}, {@code rejected} counts all of them.
+ */
+public record ImportReport(
+        long bytes,
+        long rows,
+        long imported,
+        long rejected,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<RowError> errors) {
+
+    public record RowError(long line, String message) {}
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.server.service.index;
+
+import com.reliaquest.server.model.MockEmployee;
+
+/**
+ * Secondary index over {@link MockEmployee}. The store changes one employee's entries at a time, holding that
+ * employee's record lock, so implementations must accept concurrent writes for different employees and support
+ * concurrent lock-free reads. An update adds the new record's entries before it removes the old record's.
+ */
+public interface EmployeeIndex {
+
+    String getName();
+
+    void add(MockEmployee employee);
+
+    void remove(MockEmployee employee);
+
+    IndexStats stats();
+
+    /**
+     * Whether updating an employee from {@code before} to {@code after} changes its entries here, so an update can
+     * leave the other indexes untouched. The default assumes it does.
+     */
+    default boolean isAffectedBy(MockEmployee before, MockEmployee after) {
+        return true;
+    }
+}
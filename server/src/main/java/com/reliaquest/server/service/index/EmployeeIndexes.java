@@ -0,0 +1,76 @@
+package com.reliaquest.server.service.index;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The set of secondary indexes declared for the mock employee store. An employee's entries are added before its
+ * record is published and removed after its record is replaced or removed, so no index ever misses a published record;
+ * readers check that the record an entry resolves to still holds the indexed value.
+ */
+public class EmployeeIndexes {
+
+    private final Map<String, EmployeeIndex> indexes = new LinkedHashMap<>();
+
+    public EmployeeIndexes(Collection<? extends EmployeeIndex> declared) {
+        for (EmployeeIndex index : declared) {
+            if (indexes.putIfAbsent(index.getName(), index) != null) {
+                throw new IllegalArgumentException("Duplicate employee index: " + index.getName());
+            }
+        }
+    }
+
+    public void add(MockEmployee employee) {
+        indexes.values().forEach(index -> index.add(employee));
+    }
+
+    public void remove(MockEmployee employee) {
+        indexes.values().forEach(index -> index.remove(employee));
+    }
+
+    /*
+     * The indexes an update from before to after has to touch.
+     */
+    public List<EmployeeIndex> affectedBy(MockEmployee before, MockEmployee after) {
+        return indexes.values().stream()
+                .filter(index -> index.isAffectedBy(before, after))
+                .toList();
+    }
+
+    public HashFieldIndex hash(String name) {
+        if (get(name) instanceof HashFieldIndex hash) {
+            return hash;
+        }
+        throw new IllegalArgumentException("No hash index named " + name);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <K extends Comparable<K>> SortedFieldIndex<K> sorted(String name) {
+        if (get(name) instanceof SortedFieldIndex<?> sorted) {
+            return (SortedFieldIndex<K>) sorted;
+        }
+        throw new IllegalArgumentException("No sorted index named " + name);
+    }
+
+    public NameTrieIndex trie(String name) {
+        if (get(name) instanceof NameTrieIndex trie) {
+            return trie;
+        }
+        throw new IllegalArgumentException("No trie index named " + name);
+    }
+
+    public List<IndexStats> stats() {
+        return indexes.values().stream().map(EmployeeIndex::stats).toList();
+    }
+
+    private EmployeeIndex get(String name) {
+        final var index = indexes.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown employee index: " + name);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,129 @@
+package com.reliaquest.server.service.index;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import lombok.Getter;
+
+/**
+ * Exact-match index from a string field to the ids holding that value, optionally case-folded. Lookups cost O(1)
+ * plus the number of matches, and return ids in the order they took the value, oldest first.
+ */
+public class HashFieldIndex implements EmployeeIndex {
+
+    // Approximate sizes: map node, per-key linked id set with its lock wrapper, linked set node, and a String header
+    // with its byte array.
+    private static final long MAP_NODE_BYTES = 32;
+    private static final long KEY_SET_BYTES = 112;
+    private static final long SET_NODE_BYTES = 40;
+    private static final long STRING_BYTES = 40;
+
+    @Getter
+    private final String name;
+
+    private final Function<MockEmployee, String> keyExtractor;
+    private final boolean caseFolded;
+    private final Map<String, Set<UUID>> entries = new ConcurrentHashMap<>();
+
+    private HashFieldIndex(String name, Function<MockEmployee, String> keyExtractor, boolean caseFolded) {
+        this.name = name;
+        this.keyExtractor = keyExtractor;
+        this.caseFolded = caseFolded;
+    }
+
+    public static HashFieldIndex exact(String name, Function<MockEmployee, String> keyExtractor) {
+        return new HashFieldIndex(name, keyExtractor, false);
+    }
+
+    public static HashFieldIndex caseFolded(String name, Function<MockEmployee, String> keyExtractor) {
+        return new HashFieldIndex(name, keyExtractor, true);
+    }
+
+    @Override
+    public void add(MockEmployee employee) {
+        final var key = normalize(keyExtractor.apply(employee));
+        if (key != null) {
+            entries.compute(key, (ignored, ids) -> {
+                final var bucket = ids != null ? ids : Collections.synchronizedSet(new LinkedHashSet<UUID>());
+                bucket.add(employee.getId());
+                return bucket;
+            });
+        }
+    }
+
+    @Override
+    public void remove(MockEmployee employee) {
+        final var key = normalize(keyExtractor.apply(employee));
+        if (key != null) {
+            entries.computeIfPresent(key, (ignored, ids) -> {
+                ids.remove(employee.getId());
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    @Override
+    public boolean isAffectedBy(MockEmployee before, MockEmployee after) {
+        return !Objects.equals(normalize(keyExtractor.apply(before)), normalize(keyExtractor.apply(after)));
+    }
+
+    /*
+     * Whether the employee's own value matches, with the same normalization as lookups.
+     */
+    public boolean holds(MockEmployee employee, String value) {
+        final var key = normalize(value);
+        return key != null && key.equals(normalize(keyExtractor.apply(employee)));
+    }
+
+    /*
+     * Buckets only change inside the map's compute, one writer per key at a time; the copy is taken under the bucket's
+     * lock, so it is never torn.
+     */
+    public List<UUID> lookup(String value) {
+        final var key = normalize(value);
+        if (key == null) {
+            return List.of();
+        }
+        return List.copyOf(entries.getOrDefault(key, Set.of()));
+    }
+
+    /*
+     * The number of ids holding the value, without copying them; used by the query planner to estimate selectivity.
+     */
+    public int count(String value) {
+        final var key = normalize(value);
+        if (key == null) {
+            return 0;
+        }
+        return entries.getOrDefault(key, Set.of()).size();
+    }
+
+    @Override
+    public IndexStats stats() {
+        long keys = 0;
+        long ids = 0;
+        long bytes = 0;
+        for (Map.Entry<String, Set<UUID>> entry : entries.entrySet()) {
+            keys++;
+            ids += entry.getValue().size();
+            bytes += MAP_NODE_BYTES + KEY_SET_BYTES + STRING_BYTES + entry.getKey().length();
+            bytes += SET_NODE_BYTES * entry.getValue().size();
+        }
+        return new IndexStats(name, caseFolded ? "hash (case-folded)" : "hash", keys, ids, bytes);
+    }
+
+    private String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        return caseFolded ? value.toLowerCase(Locale.ROOT) : value;
+    }
+}
@@ -0,0 +1,6 @@
+package com.reliaquest.server.service.index;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+public record IndexPage(List<MockEmployee> employees, String nextCursor) {}
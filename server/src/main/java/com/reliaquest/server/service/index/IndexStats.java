@@ -0,0 +1,6 @@
+package com.reliaquest.server.service.index;
+
+/*
+ * estimatedBytes is an approximation from typical 64-bit compressed-oops object sizes, not a heap measurement.
+ */
+public record IndexStats(String name, String type, long keys, long entries, long estimatedBytes) {}
@@ -0,0 +1,464 @@
+package com.reliaquest.server.service.index;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import lombok.Getter;
+
+/**
+ * Compact (radix) trie over case-folded name tokens, plus the whole folded name so multi-word prefixes match too.
+ * Every node caches the best {@code maxResults} employees of its subtree under the configured ranking, so a prefix
+ * lookup costs O(prefix length) plus copying the result.
+ *
+ * <p>Inserts update the caches along their path. A removal only marks the caches that held the removed employee as
+ * stale, and prunes or merges the nodes it leaves empty or with a single child, so the trie stays compact. A stale
+ * cache is rebuilt on the next lookup that reaches it from the node's own entries and its children's caches, which
+ * costs O(children * maxResults) per stale node on the path rather than a walk of the whole subtree.
+ *
+ * <p>An update adds the new record before it removes the old one. Adding replaces the entries and cached copies of an
+ * older version of the same employee, and removing only drops entries of the exact version removed, so keys the two
+ * versions share keep their entry throughout.
+ */
+public class NameTrieIndex implements EmployeeIndex {
+
+    // Approximate size of a node with its child arrays and cache, excluding label characters.
+    private static final long NODE_BYTES = 96;
+    private static final long REFERENCE_BYTES = 4;
+
+    @Getter
+    private final String name;
+
+    private final Function<MockEmployee, String> keyExtractor;
+
+    @Getter
+    private final Rank rank;
+
+    private final Comparator<MockEmployee> ranking;
+    private final int maxResults;
+    private final Node root = new Node("");
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public NameTrieIndex(String name, Function<MockEmployee, String> keyExtractor, Rank rank, int maxResults) {
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("Autocomplete result limit must be positive");
+        }
+        this.name = name;
+        this.keyExtractor = keyExtractor;
+        this.rank = rank;
+        this.ranking = rank.comparator;
+        this.maxResults = maxResults;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    @Override
+    public void add(MockEmployee employee) {
+        lock.writeLock().lock();
+        try {
+            keys(employee).forEach(key -> insert(key, employee));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(MockEmployee employee) {
+        lock.writeLock().lock();
+        try {
+            keys(employee).forEach(key -> delete(key, employee));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * The store resolves completions to its current records, so only a change to the name keys or the rank moves an
+     * employee here.
+     */
+    @Override
+    public boolean isAffectedBy(MockEmployee before, MockEmployee after) {
+        return !keys(before).equals(keys(after)) || ranking.compare(before, after) != 0;
+    }
+
+    /**
+     * Best-ranked employees having a name token, or the whole name, that starts with {@code prefix}.
+     */
+    public List<MockEmployee> complete(String prefix, int limit) {
+        final var key = fold(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            final var node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+            if (node.top != null) {
+                return first(node.top, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            final var node = find(key);
+            if (node == null) {
+                return List.of();
+            }
+            if (node.top == null) {
+                node.top = rebuildTop(node);
+            }
+            return first(node.top, limit);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public IndexStats stats() {
+        lock.readLock().lock();
+        try {
+            long nodes = 0;
+            long keys = 0;
+            long entries = 0;
+            long bytes = 0;
+            final var pending = new ArrayDeque<Node>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                final var node = pending.pop();
+                nodes++;
+                bytes += NODE_BYTES + node.label.length() + REFERENCE_BYTES * node.children.length;
+                bytes += node.top == null ? 0 : REFERENCE_BYTES * node.top.length;
+                if (node.terminals != null) {
+                    keys++;
+                    entries += node.terminals.size();
+                    bytes += REFERENCE_BYTES * node.terminals.size();
+                }
+                for (Node child : node.children) {
+                    pending.push(child);
+                }
+            }
+            return new IndexStats(name, "trie (" + nodes + " nodes)", keys, entries, bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void insert(String key, MockEmployee employee) {
+        var node = root;
+        var rest = key;
+        offer(node, employee);
+        while (!rest.isEmpty()) {
+            final var index = node.childIndex(rest.charAt(0));
+            if (index < 0) {
+                final var leaf = new Node(rest);
+                leaf.top = new MockEmployee[] {employee};
+                leaf.addTerminal(employee);
+                node.putChild(leaf);
+                return;
+            }
+            var child = node.children[index];
+            final var common = commonPrefixLength(child.label, rest);
+            if (common < child.label.length()) {
+                // Split the edge; the new inner node covers exactly the old child's subtree.
+                final var inner = new Node(child.label.substring(0, common));
+                inner.top = child.top == null ? null : child.top.clone();
+                child.label = child.label.substring(common);
+                inner.putChild(child);
+                node.children[index] = inner;
+                child = inner;
+            }
+            offer(child, employee);
+            node = child;
+            rest = rest.substring(common);
+        }
+        node.addTerminal(employee);
+    }
+
+    private void delete(String key, MockEmployee employee) {
+        final var path = new ArrayList<Node>();
+        var node = root;
+        var rest = key;
+        path.add(node);
+        while (!rest.isEmpty()) {
+            final var index = node.childIndex(rest.charAt(0));
+            if (index < 0 || !rest.startsWith(node.children[index].label)) {
+                return;
+            }
+            node = node.children[index];
+            rest = rest.substring(node.label.length());
+            path.add(node);
+        }
+        if (!node.removeTerminal(employee)) {
+            return;
+        }
+        for (Node onPath : path) {
+            if (onPath.top != null && holds(onPath.top, employee)) {
+                onPath.top = null;
+            }
+        }
+        for (int i = path.size() - 1; i > 0; i--) {
+            final var emptied = path.get(i);
+            final var parent = path.get(i - 1);
+            final var index = parent.childIndex(emptied.label.charAt(0));
+            if (emptied.terminals != null || emptied.children.length > 1) {
+                break;
+            }
+            if (emptied.children.length == 0) {
+                parent.removeChild(index);
+                continue;
+            }
+            // A node left with no key and one child only lengthens the path; its child takes its place. The child's
+            // cache covers the same subtree, so it stays valid.
+            final var only = emptied.children[0];
+            only.label = emptied.label + only.label;
+            parent.children[index] = only;
+            break;
+        }
+    }
+
+    private Node find(String key) {
+        var node = root;
+        var rest = key;
+        while (!rest.isEmpty()) {
+            final var index = node.childIndex(rest.charAt(0));
+            if (index < 0) {
+                return null;
+            }
+            final var child = node.children[index];
+            final var common = commonPrefixLength(child.label, rest);
+            if (common == rest.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            rest = rest.substring(common);
+        }
+        return node;
+    }
+
+    private void offer(Node node, MockEmployee employee) {
+        if (node.top == null) {
+            return;
+        }
+        var top = node.top;
+        final var cached = indexOf(top, employee);
+        if (cached >= 0) {
+            if (top[cached].getVersion() == employee.getVersion()) {
+                return;
+            }
+            top = without(top, cached);
+        }
+        var position = top.length;
+        while (position > 0 && ranking.compare(employee, top[position - 1]) < 0) {
+            position--;
+        }
+        if (cached >= 0 && position == top.length && node.top.length == maxResults) {
+            // A cached employee that now ranks last of a full cache may rank below one the cache never held.
+            node.top = null;
+            return;
+        }
+        if (position >= maxResults) {
+            return;
+        }
+        final var size = Math.min(top.length + 1, maxResults);
+        final var updated = new MockEmployee[size];
+        System.arraycopy(top, 0, updated, 0, position);
+        updated[position] = employee;
+        System.arraycopy(top, position, updated, position + 1, size - position - 1);
+        node.top = updated;
+    }
+
+    /*
+     * The best of the node's own entries and its children's caches, rebuilding stale children first: each child's cache
+     * holds the best of its subtree, so together they hold the best of this one. Mid-update, the subtree may hold two
+     * versions of one employee under different keys; only the newer is kept.
+     */
+    private MockEmployee[] rebuildTop(Node node) {
+        final var best = new TreeSet<>(ranking);
+        final var bestById = new HashMap<UUID, MockEmployee>();
+        if (node.terminals != null) {
+            node.terminals.forEach(employee -> keep(best, bestById, employee));
+        }
+        for (Node child : node.children) {
+            if (child.top == null) {
+                child.top = rebuildTop(child);
+            }
+            for (MockEmployee employee : child.top) {
+                keep(best, bestById, employee);
+            }
+        }
+        return best.toArray(MockEmployee[]::new);
+    }
+
+    private void keep(TreeSet<MockEmployee> best, Map<UUID, MockEmployee> bestById, MockEmployee employee) {
+        final var kept = bestById.get(employee.getId());
+        if (kept != null) {
+            if (kept.getVersion() >= employee.getVersion()) {
+                return;
+            }
+            best.remove(kept);
+        }
+        best.add(employee);
+        bestById.put(employee.getId(), employee);
+        if (best.size() > maxResults) {
+            bestById.remove(best.pollLast().getId());
+        }
+    }
+
+    private Set<String> keys(MockEmployee employee) {
+        final var folded = fold(keyExtractor.apply(employee));
+        final var keys = new LinkedHashSet<String>();
+        if (!folded.isEmpty()) {
+            keys.addAll(Arrays.asList(folded.split("\\s+")));
+            keys.add(folded);
+        }
+        return keys;
+    }
+
+    private static String fold(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<MockEmployee> first(MockEmployee[] top, int limit) {
+        return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+    }
+
+    private static MockEmployee[] without(MockEmployee[] employees, int index) {
+        final var remaining = new MockEmployee[employees.length - 1];
+        System.arraycopy(employees, 0, remaining, 0, index);
+        System.arraycopy(employees, index + 1, remaining, index, remaining.length - index);
+        return remaining;
+    }
+
+    /*
+     * Whether the array holds this version of the employee.
+     */
+    private static boolean holds(MockEmployee[] employees, MockEmployee employee) {
+        for (MockEmployee held : employees) {
+            if (held.getId().equals(employee.getId()) && held.getVersion() == employee.getVersion()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(MockEmployee[] employees, MockEmployee employee) {
+        for (int i = 0; i < employees.length; i++) {
+            if (employees[i].getId().equals(employee.getId())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int commonPrefixLength(String left, String right) {
+        final var max = Math.min(left.length(), right.length());
+        var i = 0;
+        while (i < max && left.charAt(i) == right.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Result order; results ranked on different stores merge into the same order with {@link #getComparator()}.
+     */
+    public enum Rank {
+        SALARY(Comparator.comparing(MockEmployee::getSalary, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(MockEmployee::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(MockEmployee::getId)),
+        NAME(Comparator.comparing(MockEmployee::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(MockEmployee::getId));
+
+        @Getter
+        private final Comparator<MockEmployee> comparator;
+
+        Rank(Comparator<MockEmployee> comparator) {
+            this.comparator = comparator;
+        }
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private String label;
+        private char[] firsts = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private List<MockEmployee> terminals;
+        // Best employees of this subtree in rank order; null when stale.
+        private MockEmployee[] top = new MockEmployee[0];
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private int childIndex(char first) {
+            return Arrays.binarySearch(firsts, first);
+        }
+
+        private void putChild(Node child) {
+            final var position = -childIndex(child.label.charAt(0)) - 1;
+            final var newFirsts = new char[firsts.length + 1];
+            final var newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            newFirsts[position] = child.label.charAt(0);
+            newChildren[position] = child;
+            System.arraycopy(firsts, position, newFirsts, position + 1, firsts.length - position);
+            System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        private void removeChild(int index) {
+            final var newFirsts = new char[firsts.length - 1];
+            final var newChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firsts, index + 1, newFirsts, index, firsts.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        private void addTerminal(MockEmployee employee) {
+            if (terminals == null) {
+                terminals = new ArrayList<>(1);
+            }
+            terminals.removeIf(t -> t.getId().equals(employee.getId()));
+            terminals.add(employee);
+        }
+
+        private boolean removeTerminal(MockEmployee employee) {
+            if (terminals == null
+                    || !terminals.removeIf(t ->
+                            t.getId().equals(employee.getId()) && t.getVersion() == employee.getVersion())) {
+                return false;
+            }
+            if (terminals.isEmpty()) {
+                terminals = null;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.reliaquest.server.service.index;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Ordered index over one {@link MockEmployee} field. Entries are ordered by field value and then by id, so equal
+ * values still have a stable position and a page can resume strictly after the last entry it returned. Range reads
+ * are lock-free and cost O(log n + k).
+ *
+ * <p>Reads resolve ids through the store and skip stale entries, whose record is gone or no longer has the entry's
+ * key: an update adds an employee's new entry before it removes the old one, so for a moment both are present.
+ */
+public class SortedFieldIndex<K extends Comparable<K>> implements EmployeeIndex {
+
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+    private static final char CURSOR_SEPARATOR = '|';
+    // Approximate size of a skip-list node, its entry record, amortised index levels and a boxed key.
+    private static final long ENTRY_BYTES = 80;
+
+    @Getter
+    private final String name;
+
+    private final Function<MockEmployee, K> keyExtractor;
+    private final Function<String, K> keyParser;
+    private final NavigableSet<Entry<K>> entries = new ConcurrentSkipListSet<>();
+
+    public SortedFieldIndex(String name, Function<MockEmployee, K> keyExtractor, Function<String, K> keyParser) {
+        this.name = name;
+        this.keyExtractor = keyExtractor;
+        this.keyParser = keyParser;
+    }
+
+    @Override
+    public void add(MockEmployee employee) {
+        final var key = keyExtractor.apply(employee);
+        if (key != null) {
+            entries.add(new Entry<>(key, employee.getId()));
+        }
+    }
+
+    @Override
+    public void remove(MockEmployee employee) {
+        final var key = keyExtractor.apply(employee);
+        if (key != null) {
+            entries.remove(new Entry<>(key, employee.getId()));
+        }
+    }
+
+    @Override
+    public boolean isAffectedBy(MockEmployee before, MockEmployee after) {
+        return !Objects.equals(keyExtractor.apply(before), keyExtractor.apply(after));
+    }
+
+    @Override
+    public IndexStats stats() {
+        final long size = entries.size();
+        return new IndexStats(name, "sorted", size, size, size * ENTRY_BYTES);
+    }
+
+    /**
+     * Employees whose key lies in {@code [from, to]}, either bound optional, starting after {@code cursor} when given.
+     * The returned cursor is {@code null} on the last page.
+     */
+    public IndexPage range(K from, K to, String cursor, int limit, Function<UUID, MockEmployee> resolver) {
+        Entry<K> lower = from == null ? null : new Entry<>(from, MIN_ID);
+        boolean lowerInclusive = true;
+        if (cursor != null && !cursor.isBlank()) {
+            final var after = decodeCursor(cursor);
+            if (lower == null || after.compareTo(lower) >= 0) {
+                lower = after;
+                lowerInclusive = false;
+            }
+        }
+        NavigableSet<Entry<K>> view = entries;
+        if (lower != null) {
+            view = view.tailSet(lower, lowerInclusive);
+        }
+        if (to != null) {
+            view = view.headSet(new Entry<>(to, MAX_ID), true);
+        }
+
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 64));
+        Entry<K> last = null;
+        String nextCursor = null;
+        for (Entry<K> entry : view) {
+            final var employee = resolve(entry, resolver);
+            if (employee == null) {
+                continue;
+            }
+            if (employees.size() == limit) {
+                nextCursor = encodeCursor(last);
+                break;
+            }
+            employees.add(employee);
+            last = entry;
+        }
+        return new IndexPage(employees, nextCursor);
+    }
+
+    /**
+     * Employees whose key lies in {@code [from, to]}, either bound optional, in key order or reversed. The stream reads
+     * the index lazily, so a consumer that stops early does not pay for the rest of the range.
+     */
+    public Stream<MockEmployee> employees(K from, K to, boolean descending, Function<UUID, MockEmployee> resolver) {
+        final var view = between(from, to);
+        return (descending ? view.descendingSet() : view)
+                .stream()
+                .map(entry -> resolve(entry, resolver))
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * The number of entries in {@code [from, to]}, counting no further than {@code cap}. A range is walked to count it,
+     * so the cap keeps an estimate from costing more than the cheapest alternative already found.
+     */
+    public long count(K from, K to, long cap) {
+        long count = 0;
+        final var iterator = between(from, to).iterator();
+        while (count < cap && iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * The {@code limit} employees with the highest keys, highest first.
+     */
+    public List<MockEmployee> highest(int limit, Function<UUID, MockEmployee> resolver) {
+        final var employees = new ArrayList<MockEmployee>(Math.min(limit, 64));
+        final var iterator = entries.descendingIterator();
+        while (employees.size() < limit && iterator.hasNext()) {
+            final var employee = resolve(iterator.next(), resolver);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    private NavigableSet<Entry<K>> between(K from, K to) {
+        NavigableSet<Entry<K>> view = entries;
+        if (from != null) {
+            view = view.tailSet(new Entry<>(from, MIN_ID), true);
+        }
+        if (to != null) {
+            view = view.headSet(new Entry<>(to, MAX_ID), true);
+        }
+        return view;
+    }
+
+    /*
+     * The entry's current record, or null when the entry is stale.
+     */
+    private MockEmployee resolve(Entry<K> entry, Function<UUID, MockEmployee> resolver) {
+        final var employee = resolver.apply(entry.id());
+        return employee != null && entry.key().equals(keyExtractor.apply(employee)) ? employee : null;
+    }
+
+    /**
+     * The cursor of a page ending at the employee with {@code key} and {@code id}. Entries are in the same order on
+     * every store, so the cursor resumes a range on any of them, such as every shard of a sharded store.
+     */
+    public static String cursorAfter(@NonNull Object key, @NonNull UUID id) {
+        final var raw = key.toString() + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String encodeCursor(Entry<K> entry) {
+        return cursorAfter(entry.key(), entry.id());
+    }
+
+    private Entry<K> decodeCursor(String cursor) {
+        try {
+            final var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final var separator = raw.lastIndexOf(CURSOR_SEPARATOR);
+            return new Entry<>(
+                    keyParser.apply(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor for index " + name);
+        }
+    }
+
+    private record Entry<K extends Comparable<K>>(K key, UUID id) implements Comparable<Entry<K>> {
+
+        @Override
+        public int compareTo(Entry<K> other) {
+            final var byKey = key.compareTo(other.key);
+            return byKey != 0 ? byKey : id.compareTo(other.id);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.reliaquest.server.service.query;
+
+import com.reliaquest.server.model.EmployeeChangeEvent;
+import com.reliaquest.server.model.MockEmployee;
+import lombok.NonNull;
+
+/**
+ * A bulk update read back from its change-log event, for a copy of the store to apply. The clauses were written by the
+ * primary from already parsed ones, so they are parsed again without the request length limits.
+ */
+public record BulkUpdateReplay(Predicate where, UpdateExpression set) {
+
+    public static BulkUpdateReplay of(@NonNull EmployeeChangeEvent.BulkUpdate bulkUpdate) {
+        return new BulkUpdateReplay(
+                bulkUpdate.where() != null ? new QueryParser(bulkUpdate.where()).parse() : null,
+                new UpdateExpression(new QueryParser(bulkUpdate.set(), "update").parseAssignments()));
+    }
+
+    /*
+     * The employee as the update left it, or the same record when the where clause does not match it.
+     */
+    public MockEmployee apply(@NonNull MockEmployee employee) {
+        return where == null || where.test(employee) ? set.apply(employee) : employee;
+    }
+}
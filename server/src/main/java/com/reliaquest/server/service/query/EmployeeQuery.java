@@ -0,0 +1,68 @@
+package com.reliaquest.server.service.query;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.Locale;
+import lombok.NonNull;
+
+/**
+ * A filter over the employee store with an optional ordering and a result limit. Without {@code orderBy} the order of
+ * the results is unspecified.
+ *
+ * <p>The {@code where} language:
+ *
+ * <pre>
+ * where      := or
+ * or         := and ( "or" and )*
+ * and        := term ( "and" term )*
+ * term       := "(" or ")" | field operator literal
+ * operator   := "=" | "!=" | "&lt;" | "&lt;=" | "&gt;" | "&gt;=" | "~"
+ * literal    := integer | 'quoted string'
+ * </pre>
+ *
+ * {@code ~} is a case-insensitive substring match; a quote inside a string is written twice. {@code orderBy} is a field
+ * name, optionally followed by {@code asc} or {@code desc}.
+ */
+public record EmployeeQuery(Predicate where, QueryField orderBy, boolean descending, int limit) {
+
+    public static final int MAX_WHERE_LENGTH = 2000;
+
+    public EmployeeQuery {
+        if (limit < 1 || limit > MockEmployeeService.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MockEmployeeService.MAX_PAGE_SIZE);
+        }
+    }
+
+    /*
+     * Parses the query parameters as the employee query endpoints receive them; where and orderBy may be null.
+     */
+    public static EmployeeQuery parse(String where, String orderBy, int limit) {
+        final var predicate = parseWhere(where);
+        if (orderBy == null || orderBy.isBlank()) {
+            return new EmployeeQuery(predicate, null, false, limit);
+        }
+        final var parts = orderBy.trim().split("\\s+");
+        final var direction = parts.length > 1 ? parts[1].toLowerCase(Locale.ROOT) : "asc";
+        if (parts.length > 2 || !(direction.equals("asc") || direction.equals("desc"))) {
+            throw new IllegalArgumentException("Invalid orderBy '" + orderBy + "', expected a field and asc or desc");
+        }
+        return new EmployeeQuery(predicate, QueryField.named(parts[0]), direction.equals("desc"), limit);
+    }
+
+    /*
+     * The predicate for a where clause, or null when it is missing or blank and so matches every employee.
+     */
+    public static Predicate parseWhere(String where) {
+        if (where == null || where.isBlank()) {
+            return null;
+        }
+        if (where.length() > MAX_WHERE_LENGTH) {
+            throw new IllegalArgumentException("Query is longer than " + MAX_WHERE_LENGTH + " characters");
+        }
+        return new QueryParser(where).parse();
+    }
+
+    public boolean matches(@NonNull MockEmployee employee) {
+        return where == null || where.test(employee);
+    }
+}
@@ -0,0 +1,424 @@
+package com.reliaquest.server.service.query;
+
+import com.reliaquest.server.model.EmployeeQueryResult;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.QueryStats;
+import com.reliaquest.server.service.index.EmployeeIndexes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Plans and runs an {@link EmployeeQuery} against the store's secondary indexes. Every access path the predicate
+ * allows is costed by the rows it would read: an id or hash lookup by its bucket size, a salary or age range by
+ * counting its index entries, a disjunction by the sum of its operands' cheapest paths, and a full scan by the store
+ * size. The cheapest path supplies the candidates and the whole predicate is checked against each of them.
+ *
+ * <p>When the chosen path, or a full scan replaced by a scan of the ordering field's index, already yields rows in the
+ * requested order, reading stops at the limit. Otherwise every match is collected and sorted.
+ */
+@RequiredArgsConstructor
+public class EmployeeQueryPlanner {
+
+    private final EmployeeIndexes employeeIndexes;
+    private final Map<UUID, MockEmployee> employeesById;
+
+    public EmployeeQueryResult execute(EmployeeQuery query, boolean explain) {
+        final long planningStart = System.nanoTime();
+        final long storeSize = employeesById.size();
+        final List<AccessPath> considered = considered(query.where(), storeSize);
+        AccessPath chosen = cheapest(considered);
+        boolean sorted = query.orderBy() != null;
+        if (sorted && chosen instanceof IndexRange range && range.field() == query.orderBy()) {
+            chosen = range.inOrder(query.descending());
+            sorted = false;
+        } else if (sorted && chosen instanceof FullScan && query.orderBy().getSortedIndex() != null) {
+            chosen = new IndexRange(query.orderBy(), null, null, storeSize).inOrder(query.descending());
+            considered.add(chosen);
+            sorted = false;
+        }
+        final long executionStart = System.nanoTime();
+
+        long examined = 0;
+        final var matches = new ArrayList<MockEmployee>();
+        final var candidates = chosen.candidates().iterator();
+        while (candidates.hasNext() && (sorted || matches.size() < query.limit())) {
+            final var candidate = candidates.next();
+            examined++;
+            if (query.matches(candidate)) {
+                matches.add(candidate);
+            }
+        }
+        final long matched = matches.size();
+        List<MockEmployee> employees = matches;
+        if (sorted) {
+            final var ordering = query.orderBy().ordering();
+            employees = matches.stream()
+                    .sorted(query.descending() ? ordering.reversed() : ordering)
+                    .limit(query.limit())
+                    .toList();
+        }
+        if (!explain) {
+            return new EmployeeQueryResult(employees, null);
+        }
+        final long end = System.nanoTime();
+        return new EmployeeQueryResult(
+                employees,
+                new QueryStats(
+                        chosen.describe(),
+                        chosen.estimate(),
+                        considered.stream()
+                                .map(path -> new QueryStats.Candidate(path.describe(), path.estimate()))
+                                .toList(),
+                        examined,
+                        matched,
+                        employees.size(),
+                        sorted,
+                        (executionStart - planningStart) / 1000,
+                        (end - executionStart) / 1000));
+    }
+
+    /*
+     * Every employee matching where (all of them when it is null), read from the access path estimated to read the
+     * fewest rows. The stream has no limit and no order, so it may be processed in parallel.
+     */
+    public Selection select(Predicate where) {
+        final var chosen = cheapest(considered(where, employeesById.size()));
+        final var candidates = chosen.candidates();
+        return new Selection(
+                chosen.describe(), chosen.estimate(), where == null ? candidates : candidates.filter(where::test));
+    }
+
+    private List<AccessPath> considered(Predicate where, long storeSize) {
+        final List<AccessPath> considered = new ArrayList<>();
+        considered.add(new FullScan(storeSize));
+        if (where != null) {
+            considered.addAll(alternatives(where, storeSize));
+        }
+        return considered;
+    }
+
+    /*
+     * The access paths that can serve the predicate on their own, apart from a full scan.
+     */
+    private List<AccessPath> alternatives(Predicate predicate, long storeSize) {
+        if (predicate instanceof Predicate.And and) {
+            return conjunction(and.operands(), storeSize);
+        }
+        if (predicate instanceof Predicate.Or or) {
+            return disjunction(or, storeSize);
+        }
+        return conjunction(List.of(predicate), storeSize);
+    }
+
+    private List<AccessPath> conjunction(List<Predicate> operands, long storeSize) {
+        final List<AccessPath> paths = new ArrayList<>();
+        final Map<QueryField, Bounds> ranges = new EnumMap<>(QueryField.class);
+        for (Predicate operand : operands) {
+            if (operand instanceof Predicate.Comparison comparison) {
+                final var field = comparison.field();
+                if (comparison.operator() == Predicate.Operator.EQ && field == QueryField.ID) {
+                    paths.add(new IdLookup((UUID) comparison.value()));
+                } else if (comparison.operator() == Predicate.Operator.EQ && field.getHashIndex() != null) {
+                    final var value = (String) comparison.value();
+                    paths.add(new HashLookup(
+                            field,
+                            value,
+                            employeeIndexes.hash(field.getHashIndex()).count(value)));
+                } else if (field.getSortedIndex() != null && comparison.operator() != Predicate.Operator.NE) {
+                    ranges.computeIfAbsent(field, ignored -> new Bounds())
+                            .narrow(comparison.operator(), (Integer) comparison.value());
+                }
+            } else if (operand instanceof Predicate.Or or) {
+                paths.addAll(disjunction(or, storeSize));
+            }
+        }
+        for (Map.Entry<QueryField, Bounds> range : ranges.entrySet()) {
+            final var bounds = range.getValue();
+            if (bounds.isEmpty()) {
+                paths.add(new Empty(range.getKey().getName() + " " + bounds));
+                continue;
+            }
+            // Counting stops where the range would no longer be the cheapest path.
+            final long cheapest = paths.stream().mapToLong(AccessPath::estimate).min().orElse(storeSize);
+            final long cap = Math.min(storeSize, cheapest) + 1;
+            final long count = employeeIndexes
+                    .<Integer>sorted(range.getKey().getSortedIndex())
+                    .count(bounds.from, bounds.to, cap);
+            paths.add(new IndexRange(range.getKey(), bounds.from, bounds.to, count));
+        }
+        return paths;
+    }
+
+    /*
+     * A union of each operand's cheapest path, if every operand has one and together they read less than the store.
+     */
+    private List<AccessPath> disjunction(Predicate.Or or, long storeSize) {
+        final List<AccessPath> operands = new ArrayList<>();
+        for (Predicate operand : or.operands()) {
+            final var alternatives = alternatives(operand, storeSize);
+            if (alternatives.isEmpty()) {
+                return List.of();
+            }
+            operands.add(cheapest(alternatives));
+        }
+        final var union = new Union(operands);
+        return union.estimate() < storeSize ? List.of(union) : List.of();
+    }
+
+    /*
+     * Ties go to the earlier path, so a full scan wins over an index path that would read as many rows.
+     */
+    private static AccessPath cheapest(List<AccessPath> paths) {
+        return paths.stream().min(Comparator.comparingLong(AccessPath::estimate)).orElseThrow();
+    }
+
+    private MockEmployee resolve(UUID id) {
+        return employeesById.get(id);
+    }
+
+    /**
+     * The employees an unlimited selection reads, with the access path they come from and its estimated rows.
+     */
+    public record Selection(String plan, long estimatedRows, Stream<MockEmployee> employees) {}
+
+    /**
+     * Inclusive integer bounds narrowed by every range comparison on one field of a conjunction.
+     */
+    private static final class Bounds {
+
+        private Integer from;
+        private Integer to;
+        private boolean empty;
+
+        void narrow(Predicate.Operator operator, int value) {
+            switch (operator) {
+                case EQ -> {
+                    raise(value);
+                    lower(value);
+                }
+                case GT -> {
+                    if (value == Integer.MAX_VALUE) {
+                        empty = true;
+                    } else {
+                        raise(value + 1);
+                    }
+                }
+                case GE -> raise(value);
+                case LT -> {
+                    if (value == Integer.MIN_VALUE) {
+                        empty = true;
+                    } else {
+                        lower(value - 1);
+                    }
+                }
+                case LE -> lower(value);
+                default -> throw new IllegalStateException("Not a range operator: " + operator);
+            }
+        }
+
+        boolean isEmpty() {
+            return empty || (from != null && to != null && from > to);
+        }
+
+        private void raise(int value) {
+            from = from == null ? value : Math.max(from, value);
+        }
+
+        private void lower(int value) {
+            to = to == null ? value : Math.min(to, value);
+        }
+
+        @Override
+        public String toString() {
+            if (empty) {
+                return "out of range";
+            }
+            return "[" + (from == null ? "-inf" : from) + ", " + (to == null ? "+inf" : to) + "]";
+        }
+    }
+
+    private interface AccessPath {
+
+        long estimate();
+
+        String describe();
+
+        Stream<MockEmployee> candidates();
+    }
+
+    private record Empty(String reason) implements AccessPath {
+
+        @Override
+        public long estimate() {
+            return 0;
+        }
+
+        @Override
+        public String describe() {
+            return "no rows: " + reason;
+        }
+
+        @Override
+        public Stream<MockEmployee> candidates() {
+            return Stream.empty();
+        }
+    }
+
+    private final class FullScan implements AccessPath {
+
+        private final long storeSize;
+
+        FullScan(long storeSize) {
+            this.storeSize = storeSize;
+        }
+
+        @Override
+        public long estimate() {
+            return storeSize;
+        }
+
+        @Override
+        public String describe() {
+            return "full scan";
+        }
+
+        @Override
+        public Stream<MockEmployee> candidates() {
+            return employeesById.values().stream();
+        }
+    }
+
+    private final class IdLookup implements AccessPath {
+
+        private final UUID id;
+
+        IdLookup(UUID id) {
+            this.id = id;
+        }
+
+        @Override
+        public long estimate() {
+            return 1;
+        }
+
+        @Override
+        public String describe() {
+            return "id lookup";
+        }
+
+        @Override
+        public Stream<MockEmployee> candidates() {
+            return Stream.ofNullable(resolve(id));
+        }
+    }
+
+    private final class HashLookup implements AccessPath {
+
+        private final QueryField field;
+        private final String value;
+        private final long count;
+
+        HashLookup(QueryField field, String value, long count) {
+            this.field = field;
+            this.value = value;
+            this.count = count;
+        }
+
+        @Override
+        public long estimate() {
+            return count;
+        }
+
+        @Override
+        public String describe() {
+            return "hash index " + field.getHashIndex() + " = '" + value + "'";
+        }
+
+        @Override
+        public Stream<MockEmployee> candidates() {
+            return employeeIndexes.hash(field.getHashIndex()).lookup(value).stream()
+                    .map(EmployeeQueryPlanner.this::resolve)
+                    .filter(Objects::nonNull);
+        }
+    }
+
+    private final class IndexRange implements AccessPath {
+
+        private final QueryField field;
+        private final Integer from;
+        private final Integer to;
+        private final long count;
+        private final Boolean descending;
+
+        IndexRange(QueryField field, Integer from, Integer to, long count) {
+            this(field, from, to, count, null);
+        }
+
+        private IndexRange(QueryField field, Integer from, Integer to, long count, Boolean descending) {
+            this.field = field;
+            this.from = from;
+            this.to = to;
+            this.count = count;
+            this.descending = descending;
+        }
+
+        QueryField field() {
+            return field;
+        }
+
+        /*
+         * The same range read in the field's order, which lets the query stop at its limit without sorting.
+         */
+        IndexRange inOrder(boolean descending) {
+            return new IndexRange(field, from, to, count, descending);
+        }
+
+        @Override
+        public long estimate() {
+            return count;
+        }
+
+        @Override
+        public String describe() {
+            final var range = "sorted index " + field.getSortedIndex() + " [" + (from == null ? "-inf" : from) + ", "
+                    + (to == null ? "+inf" : to) + "]";
+            return descending == null ? range : range + (descending ? " descending" : " ascending");
+        }
+
+        @Override
+        public Stream<MockEmployee> candidates() {
+            return employeeIndexes
+                    .<Integer>sorted(field.getSortedIndex())
+                    .employees(from, to, Boolean.TRUE.equals(descending), EmployeeQueryPlanner.this::resolve);
+        }
+    }
+
+    private record Union(List<AccessPath> operands) implements AccessPath {
+
+        @Override
+        public long estimate() {
+            return operands.stream().mapToLong(AccessPath::estimate).sum();
+        }
+
+        @Override
+        public String describe() {
+            return operands.stream().map(AccessPath::describe).collect(Collectors.joining("; ", "union of (", ")"));
+        }
+
+        /*
+         * An employee matched by several operands is read once.
+         */
+        @Override
+        public Stream<MockEmployee> candidates() {
+            return operands.stream().flatMap(AccessPath::candidates).distinct();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.reliaquest.server.service.query;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A parsed {@code where} clause: comparisons of one field with a literal, combined with {@code and} and {@code or}.
+ * A comparison on a missing field value is false.
+ */
+public sealed interface Predicate {
+
+    boolean test(MockEmployee employee);
+
+    record Comparison(QueryField field, Operator operator, Object value) implements Predicate {
+
+        /*
+         * Checks that the operator applies to the field and converts the literal to the field's type.
+         */
+        public Comparison(@NonNull QueryField field, @NonNull Operator operator, @NonNull Object value) {
+            this.field = field;
+            this.operator = operator;
+            this.value = convert(field, operator, value);
+        }
+
+        @Override
+        public boolean test(MockEmployee employee) {
+            final var actual = field.valueOf(employee);
+            if (actual == null) {
+                return false;
+            }
+            return switch (operator) {
+                case EQ -> matches(actual);
+                case NE -> !matches(actual);
+                case LT -> (Integer) actual < (Integer) value;
+                case LE -> (Integer) actual <= (Integer) value;
+                case GT -> (Integer) actual > (Integer) value;
+                case GE -> (Integer) actual >= (Integer) value;
+                case CONTAINS -> ((String) actual).toLowerCase(Locale.ROOT).contains((String) value);
+            };
+        }
+
+        @Override
+        public String toString() {
+            return field.getName() + " " + operator.getSymbol() + " "
+                    + (value instanceof Integer ? value : "'" + value.toString().replace("'", "''") + "'");
+        }
+
+        private boolean matches(Object actual) {
+            if (field.isCaseInsensitive()) {
+                return ((String) actual).equalsIgnoreCase((String) value);
+            }
+            return actual.equals(value);
+        }
+
+        private static Object convert(QueryField field, Operator operator, Object value) {
+            final boolean equality = operator == Operator.EQ || operator == Operator.NE;
+            final boolean allowed =
+                    switch (field.getKind()) {
+                        case ID -> equality;
+                        case TEXT -> equality || operator == Operator.CONTAINS;
+                        case NUMBER -> operator != Operator.CONTAINS;
+                    };
+            if (!allowed) {
+                throw new IllegalArgumentException(
+                        "Operator " + operator.getSymbol() + " does not apply to " + field.getName());
+            }
+            if (field.getKind() == QueryField.Kind.NUMBER) {
+                if (!(value instanceof Integer)) {
+                    throw new IllegalArgumentException("Expected a number to compare with " + field.getName());
+                }
+                return value;
+            }
+            if (!(value instanceof String text)) {
+                throw new IllegalArgumentException("Expected a quoted string to compare with " + field.getName());
+            }
+            if (field.getKind() == QueryField.Kind.ID) {
+                try {
+                    return UUID.fromString(text);
+                } catch (IllegalArgumentException ex) {
+                    throw new IllegalArgumentException("Invalid employee id '" + text + "'");
+                }
+            }
+            return operator == Operator.CONTAINS ? text.toLowerCase(Locale.ROOT) : text;
+        }
+    }
+
+    record And(List<Predicate> operands) implements Predicate {
+
+        public And {
+            operands = List.copyOf(operands);
+        }
+
+        @Override
+        public boolean test(MockEmployee employee) {
+            for (Predicate operand : operands) {
+                if (!operand.test(employee)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return operands.stream().map(Objects::toString).collect(Collectors.joining(" and ", "(", ")"));
+        }
+    }
+
+    record Or(List<Predicate> operands) implements Predicate {
+
+        public Or {
+            operands = List.copyOf(operands);
+        }
+
+        @Override
+        public boolean test(MockEmployee employee) {
+            for (Predicate operand : operands) {
+                if (operand.test(employee)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return operands.stream().map(Objects::toString).collect(Collectors.joining(" or ", "(", ")"));
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    enum Operator {
+        EQ("="),
+        NE("!="),
+        LT("<"),
+        LE("<="),
+        GT(">"),
+        GE(">="),
+        CONTAINS("~");
+
+        private final String symbol;
+    }
+}
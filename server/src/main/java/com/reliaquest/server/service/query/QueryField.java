@@ -0,0 +1,78 @@
+package com.reliaquest.server.service.query;
+
+import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Getter;
+
+/**
+ * The {@link MockEmployee} fields a query may filter and order on, with the index that can serve each of them. Text
+ * equality follows the matching index: name and title compare case-insensitively, email exactly.
+ */
+@Getter
+public enum QueryField {
+    ID("id", Kind.ID, false, null, null, MockEmployee::getId),
+    NAME("name", Kind.TEXT, true, ServerConfiguration.NAME_INDEX, null, MockEmployee::getName),
+    TITLE("title", Kind.TEXT, true, ServerConfiguration.TITLE_INDEX, null, MockEmployee::getTitle),
+    EMAIL("email", Kind.TEXT, false, ServerConfiguration.EMAIL_INDEX, null, MockEmployee::getEmail),
+    SALARY("salary", Kind.NUMBER, false, null, ServerConfiguration.SALARY_INDEX, MockEmployee::getSalary),
+    AGE("age", Kind.NUMBER, false, null, ServerConfiguration.AGE_INDEX, MockEmployee::getAge);
+
+    private final String name;
+    private final Kind kind;
+    private final boolean caseInsensitive;
+    private final String hashIndex;
+    private final String sortedIndex;
+    private final Function<MockEmployee, ?> extractor;
+
+    QueryField(
+            String name,
+            Kind kind,
+            boolean caseInsensitive,
+            String hashIndex,
+            String sortedIndex,
+            Function<MockEmployee, ?> extractor) {
+        this.name = name;
+        this.kind = kind;
+        this.caseInsensitive = caseInsensitive;
+        this.hashIndex = hashIndex;
+        this.sortedIndex = sortedIndex;
+        this.extractor = extractor;
+    }
+
+    public static QueryField named(String name) {
+        return Arrays.stream(values())
+                .filter(field -> field.name.equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown query field '" + name + "', expected any of "
+                        + Arrays.stream(values()).map(QueryField::getName).collect(Collectors.joining(", "))));
+    }
+
+    public Object valueOf(MockEmployee employee) {
+        return extractor.apply(employee);
+    }
+
+    /*
+     * Ascending by this field with missing values last, then by id so equal values keep the order of a sorted index.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparator<MockEmployee> ordering() {
+        final Comparator<Comparable> values = caseInsensitive
+                ? Comparator.comparing(value -> ((String) value).toLowerCase(Locale.ROOT))
+                : Comparator.naturalOrder();
+        final Comparator<MockEmployee> byField =
+                Comparator.comparing(employee -> (Comparable) valueOf(employee), Comparator.nullsLast(values));
+        return byField.thenComparing(MockEmployee::getId, Comparator.nullsLast(Comparator.<UUID>naturalOrder()));
+    }
+
+    public enum Kind {
+        ID,
+        TEXT,
+        NUMBER
+    }
+}
@@ -0,0 +1,219 @@
+package com.reliaquest.server.service.query;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive-descent parser for the {@link EmployeeQuery} {@code where} language and the {@link UpdateExpression}
+ * {@code set} language. Nested {@code and}s and {@code or}s are flattened, so the planner sees every operand of a
+ * conjunction side by side.
+ */
+class QueryParser {
+
+    private final String text;
+    private final String subject;
+    private int position;
+
+    QueryParser(String text) {
+        this(text, "query");
+    }
+
+    // Subject names the parsed text in error messages.
+    QueryParser(String text, String subject) {
+        this.text = text;
+        this.subject = subject;
+    }
+
+    Predicate parse() {
+        final var predicate = parseOr();
+        skipWhitespace();
+        if (position < text.length()) {
+            throw error("Unexpected '" + text.charAt(position) + "'");
+        }
+        return predicate;
+    }
+
+    List<UpdateExpression.Assignment> parseAssignments() {
+        final List<UpdateExpression.Assignment> assignments = new ArrayList<>();
+        do {
+            final var field = QueryField.named(identifier());
+            skipWhitespace();
+            if (!consume("=")) {
+                throw error("Expected '='");
+            }
+            skipWhitespace();
+            if (position < text.length() && Character.isLetter(text.charAt(position))) {
+                final var source = QueryField.named(identifier());
+                if (source != field) {
+                    throw error("A field can only be adjusted by its own value, not by " + source.getName());
+                }
+                final var adjustment = adjustment();
+                assignments.add(new UpdateExpression.Assignment(field, null, adjustment, decimal()));
+            } else {
+                assignments.add(new UpdateExpression.Assignment(field, literal(), null, null));
+            }
+            skipWhitespace();
+        } while (consume(","));
+        if (position < text.length()) {
+            throw error("Unexpected '" + text.charAt(position) + "'");
+        }
+        return assignments;
+    }
+
+    private Predicate parseOr() {
+        final List<Predicate> operands = new ArrayList<>();
+        do {
+            add(operands, parseAnd(), Predicate.Or.class);
+        } while (keyword("or"));
+        return operands.size() == 1 ? operands.get(0) : new Predicate.Or(operands);
+    }
+
+    private Predicate parseAnd() {
+        final List<Predicate> operands = new ArrayList<>();
+        do {
+            add(operands, parseTerm(), Predicate.And.class);
+        } while (keyword("and"));
+        return operands.size() == 1 ? operands.get(0) : new Predicate.And(operands);
+    }
+
+    private Predicate parseTerm() {
+        skipWhitespace();
+        if (consume("(")) {
+            final var inner = parseOr();
+            skipWhitespace();
+            if (!consume(")")) {
+                throw error("Expected ')'");
+            }
+            return inner;
+        }
+        final var field = QueryField.named(identifier());
+        final var operator = operator();
+        return new Predicate.Comparison(field, operator, literal());
+    }
+
+    private static void add(List<Predicate> operands, Predicate operand, Class<? extends Predicate> flattened) {
+        if (operand instanceof Predicate.And and && flattened == Predicate.And.class) {
+            operands.addAll(and.operands());
+        } else if (operand instanceof Predicate.Or or && flattened == Predicate.Or.class) {
+            operands.addAll(or.operands());
+        } else {
+            operands.add(operand);
+        }
+    }
+
+    private String identifier() {
+        skipWhitespace();
+        final int start = position;
+        while (position < text.length() && Character.isLetter(text.charAt(position))) {
+            position++;
+        }
+        if (position == start) {
+            throw error("Expected a field name");
+        }
+        return text.substring(start, position);
+    }
+
+    private Predicate.Operator operator() {
+        skipWhitespace();
+        // Two-character operators first, so "<=" is not read as "<".
+        for (String symbol : List.of("!=", "<=", ">=", "=", "<", ">", "~")) {
+            if (consume(symbol)) {
+                for (Predicate.Operator operator : Predicate.Operator.values()) {
+                    if (operator.getSymbol().equals(symbol)) {
+                        return operator;
+                    }
+                }
+            }
+        }
+        throw error("Expected one of = != < <= > >= ~");
+    }
+
+    private Object literal() {
+        skipWhitespace();
+        if (consume("'")) {
+            final var value = new StringBuilder();
+            while (position < text.length()) {
+                final char c = text.charAt(position++);
+                if (c != '\'') {
+                    value.append(c);
+                } else if (consume("'")) {
+                    value.append('\'');
+                } else {
+                    return value.toString();
+                }
+            }
+            throw error("Unterminated string");
+        }
+        final int start = position;
+        if (position < text.length() && text.charAt(position) == '-') {
+            position++;
+        }
+        while (position < text.length() && Character.isDigit(text.charAt(position))) {
+            position++;
+        }
+        final var number = text.substring(start, position);
+        try {
+            return Integer.valueOf(number);
+        } catch (NumberFormatException ex) {
+            position = start;
+            final var digits = number.replace("-", "");
+            throw error(digits.isEmpty() ? "Expected a number or a quoted string" : "Number out of range");
+        }
+    }
+
+    private UpdateExpression.Adjustment adjustment() {
+        skipWhitespace();
+        for (UpdateExpression.Adjustment adjustment : UpdateExpression.Adjustment.values()) {
+            if (consume(adjustment.getSymbol())) {
+                return adjustment;
+            }
+        }
+        throw error("Expected one of + - *");
+    }
+
+    private BigDecimal decimal() {
+        skipWhitespace();
+        final int start = position;
+        while (position < text.length()
+                && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+            position++;
+        }
+        try {
+            return new BigDecimal(text.substring(start, position));
+        } catch (NumberFormatException ex) {
+            position = start;
+            throw error("Expected a non-negative number");
+        }
+    }
+
+    private boolean keyword(String keyword) {
+        skipWhitespace();
+        final int end = position + keyword.length();
+        if (end <= text.length()
+                && text.regionMatches(true, position, keyword, 0, keyword.length())
+                && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)))) {
+            position = end;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean consume(String symbol) {
+        if (text.startsWith(symbol, position)) {
+            position += symbol.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " of " + subject);
+    }
+}
@@ -0,0 +1,169 @@
+package com.reliaquest.server.service.query;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.UpdateMockEmployeeInput;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The changes a bulk update makes to every employee it matches. The {@code set} language:
+ *
+ * <pre>
+ * set        := assignment ( "," assignment )*
+ * assignment := field "=" literal | field "=" field ( "+" | "-" | "*" ) number
+ * </pre>
+ *
+ * Name and title take a quoted string; salary and age take an integer, or an adjustment of their own current value,
+ * such as {@code salary = salary * 1.04}, rounded half up to a whole number. Every result must satisfy the
+ * {@link UpdateMockEmployeeInput} constraints, so a salary stays positive and an age between 16 and 75.
+ */
+public record UpdateExpression(List<Assignment> assignments) {
+
+    public static final int MAX_SET_LENGTH = 2000;
+
+    private static final int MIN_AGE = 16;
+    private static final int MAX_AGE = 75;
+
+    public UpdateExpression {
+        assignments = List.copyOf(assignments);
+        final var fields = EnumSet.noneOf(QueryField.class);
+        for (Assignment assignment : assignments) {
+            if (!fields.add(assignment.field())) {
+                throw new IllegalArgumentException("Field " + assignment.field().getName() + " is set more than once");
+            }
+        }
+    }
+
+    public static UpdateExpression parse(String set) {
+        if (set == null || set.isBlank()) {
+            throw new IllegalArgumentException("An update must set at least one field");
+        }
+        if (set.length() > MAX_SET_LENGTH) {
+            throw new IllegalArgumentException("Update is longer than " + MAX_SET_LENGTH + " characters");
+        }
+        return new UpdateExpression(new QueryParser(set, "update").parseAssignments());
+    }
+
+    /*
+     * The employee with every assignment applied, at its next version. Throws if a computed value breaks a field's
+     * constraints, before anything is stored.
+     */
+    public MockEmployee apply(@NonNull MockEmployee employee) {
+        final var input = new UpdateMockEmployeeInput();
+        for (Assignment assignment : assignments) {
+            final Object value;
+            try {
+                value = assignment.valueFor(employee);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException(
+                        "Cannot set " + assignment + " for employee " + employee.getId() + ": " + ex.getMessage(), ex);
+            }
+            switch (assignment.field()) {
+                case NAME -> input.setName((String) value);
+                case TITLE -> input.setTitle((String) value);
+                case SALARY -> input.setSalary((Integer) value);
+                case AGE -> input.setAge((Integer) value);
+                default -> throw new IllegalStateException("Not a settable field: " + assignment.field());
+            }
+        }
+        return employee.updatedWith(input);
+    }
+
+    @Override
+    public String toString() {
+        return assignments.stream().map(Assignment::toString).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Sets {@code field} to {@code value}, or, with an adjustment, to its current value adjusted by {@code operand}.
+     */
+    public record Assignment(QueryField field, Object value, Adjustment adjustment, BigDecimal operand) {
+
+        public Assignment {
+            if (field != QueryField.NAME
+                    && field != QueryField.TITLE
+                    && field != QueryField.SALARY
+                    && field != QueryField.AGE) {
+                throw new IllegalArgumentException(
+                        "Field " + field.getName() + " cannot be updated, only name, title, salary and age");
+            }
+            if (field.getKind() == QueryField.Kind.TEXT) {
+                if (!(value instanceof String text) || text.isBlank() || adjustment != null) {
+                    throw new IllegalArgumentException(field.getName() + " must be set to a non-blank quoted string");
+                }
+            } else if (adjustment == null) {
+                if (!(value instanceof Integer number)) {
+                    throw new IllegalArgumentException(field.getName() + " must be set to an integer");
+                }
+                check(field, number);
+            } else if (value != null || operand == null) {
+                throw new IllegalArgumentException(field.getName() + " must be set to a value or adjusted by one");
+            }
+        }
+
+        Object valueFor(MockEmployee employee) {
+            if (adjustment == null) {
+                return value;
+            }
+            final var current = (Integer) field.valueOf(employee);
+            if (current == null) {
+                // Nothing to adjust; the field stays missing.
+                return null;
+            }
+            final int adjusted;
+            try {
+                adjusted = adjustment
+                        .apply(BigDecimal.valueOf(current), operand)
+                        .setScale(0, RoundingMode.HALF_UP)
+                        .intValueExact();
+            } catch (ArithmeticException ex) {
+                throw new IllegalArgumentException(field.getName() + " is out of range", ex);
+            }
+            check(field, adjusted);
+            return adjusted;
+        }
+
+        @Override
+        public String toString() {
+            final var name = field.getName();
+            if (adjustment != null) {
+                return name + " = " + name + " " + adjustment.getSymbol() + " " + operand.toPlainString();
+            }
+            return name + " = " + (value instanceof Integer ? value : "'" + value.toString().replace("'", "''") + "'");
+        }
+
+        private static void check(QueryField field, int value) {
+            if (field == QueryField.SALARY && value <= 0) {
+                throw new IllegalArgumentException("salary must be positive, not " + value);
+            }
+            if (field == QueryField.AGE && (value < MIN_AGE || value > MAX_AGE)) {
+                throw new IllegalArgumentException(
+                        "age must be between " + MIN_AGE + " and " + MAX_AGE + ", not " + value);
+            }
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Adjustment {
+        ADD("+"),
+        SUBTRACT("-"),
+        MULTIPLY("*");
+
+        private final String symbol;
+
+        BigDecimal apply(BigDecimal current, BigDecimal operand) {
+            return switch (this) {
+                case ADD -> current.add(operand);
+                case SUBTRACT -> current.subtract(operand);
+                case MULTIPLY -> current.multiply(operand);
+            };
+        }
+    }
+}
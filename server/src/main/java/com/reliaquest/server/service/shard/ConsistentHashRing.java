@@ -0,0 +1,60 @@
+package com.reliaquest.server.service.shard;
+
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.UUID;
+import lombok.Getter;
+
+/**
+ * Maps employee ids to shard indexes. Each shard is placed on a 64-bit ring at a number of virtual-node points, and an
+ * id belongs to the shard owning the first point at or after the id's hash. Adding a shard therefore only moves the ids
+ * that land on its new points. The placement is a pure function of the shard count and virtual-node count, so the api
+ * and every server instance agree on it without coordination.
+ */
+public final class ConsistentHashRing {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    @Getter
+    private final int shardCount;
+
+    @Getter
+    private final int virtualNodes;
+
+    private final long[] points;
+    private final int[] owners;
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        if (shardCount < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("Shard and virtual node counts must be positive");
+        }
+        this.shardCount = shardCount;
+        this.virtualNodes = virtualNodes;
+        final var ring = new TreeMap<Long, Integer>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.putIfAbsent(mix((((long) shard << 32) | node) + GOLDEN_GAMMA), shard);
+            }
+        }
+        this.points = ring.keySet().stream().mapToLong(Long::longValue).toArray();
+        this.owners = ring.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public int shardFor(UUID id) {
+        final var hash = mix(id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32));
+        var index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /*
+     * SplitMix64 finalizer: spreads structured inputs (virtual node numbers, version-4 UUID bits) over the ring.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.server.service.shard;
+
+import java.util.UUID;
+import lombok.Getter;
+
+/**
+ * Issues random employee ids owned by this instance's shard, so that the api can route a point operation to the shard
+ * holding the employee from the id alone. Each draw lands on this shard with probability 1/N.
+ */
+public class EmployeeIdGenerator {
+
+    @Getter
+    private final ConsistentHashRing ring;
+
+    @Getter
+    private final int shardIndex;
+
+    public EmployeeIdGenerator(ConsistentHashRing ring, int shardIndex) {
+        if (shardIndex < 0 || shardIndex >= ring.getShardCount()) {
+            throw new IllegalArgumentException(
+                    "Shard index must be between 0 and " + (ring.getShardCount() - 1) + " but was " + shardIndex);
+        }
+        this.ring = ring;
+        this.shardIndex = shardIndex;
+    }
+
+    public UUID next() {
+        UUID id;
+        do {
+            id = UUID.randomUUID();
+        } while (!owns(id));
+        return id;
+    }
+
+    public boolean owns(UUID id) {
+        return ring.shardFor(id) == shardIndex;
+    }
+}
@@ -0,0 +1,45 @@
+package com.reliaquest.server.trace;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Appends each kept trace to a file as one line of JSON. A trace that cannot be written is logged and dropped.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FileTraceExporter implements TraceExporter {
+
+    @NonNull
+    private final Path file;
+
+    @NonNull
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void export(RecordedTrace trace) {
+        try {
+            final var line = objectMapper.writeValueAsString(trace) + System.lineSeparator();
+            synchronized (this) {
+                Files.writeString(
+                        file,
+                        line,
+                        StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not serialize trace {}: {}", trace.traceId(), ex.getMessage());
+        } catch (IOException ex) {
+            log.warn("Could not write trace {} to {}: {}", trace.traceId(), file, ex.getMessage());
+        }
+    }
+}
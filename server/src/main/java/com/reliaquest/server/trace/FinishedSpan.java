@@ -0,0 +1,16 @@
+package com.reliaquest.server.trace;
+
+import java.util.Map;
+
+/**
+ * An ended span as exported. Times are in microseconds; {@code error} is null unless the span failed.
+ */
+public record FinishedSpan(
+        String traceId,
+        String spanId,
+        String parentSpanId,
+        String name,
+        long startEpochMicros,
+        long durationMicros,
+        String error,
+        Map<String, Object> attributes) {}
@@ -0,0 +1,35 @@
+package com.reliaquest.server.trace;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Keeps the most recent kept traces in memory, dropping the oldest beyond {@code maxTraces}.
+ */
+public class InMemoryTraceExporter implements TraceExporter {
+
+    private final int maxTraces;
+    private final ArrayDeque<RecordedTrace> traces = new ArrayDeque<>();
+
+    public InMemoryTraceExporter(int maxTraces) {
+        if (maxTraces < 1) {
+            throw new IllegalArgumentException("Trace buffer must hold at least one trace");
+        }
+        this.maxTraces = maxTraces;
+    }
+
+    @Override
+    public synchronized void export(RecordedTrace trace) {
+        if (traces.size() == maxTraces) {
+            traces.removeFirst();
+        }
+        traces.addLast(trace);
+    }
+
+    /*
+     * Oldest first.
+     */
+    public synchronized List<RecordedTrace> getTraces() {
+        return List.copyOf(traces);
+    }
+}
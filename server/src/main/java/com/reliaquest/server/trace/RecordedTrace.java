@@ -0,0 +1,9 @@
+package com.reliaquest.server.trace;
+
+import java.util.List;
+
+/**
+ * The spans one process recorded for a trace it kept, in the order they ended; the local root span is last.
+ */
+public record RecordedTrace(
+        String service, String traceId, long durationMicros, boolean failed, List<FinishedSpan> spans) {}
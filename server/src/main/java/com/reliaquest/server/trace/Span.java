@@ -0,0 +1,213 @@
+package com.reliaquest.server.trace;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A timed operation within a trace. The span being worked on is bound to the current thread while its work runs, so
+ * spans started there become its children; work handed to other threads carries the span along with {@link #wrap} and
+ * {@link #resume}.
+ *
+ * <p>Without a current span nothing is traced: {@link #startChild} returns {@link #NOOP}, whose methods do nothing.
+ * Traces are only started by {@link TraceCollector#startRoot}, normally for an incoming request.
+ */
+public final class Span {
+
+    public static final Span NOOP = new Span(null, null, null, null);
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final TraceCollector.LocalTrace trace;
+
+    @Getter
+    private final TraceContext context;
+
+    private final String parentSpanId;
+    private final String name;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private String error;
+    private boolean ended;
+
+    Span(TraceCollector.LocalTrace trace, TraceContext context, String parentSpanId, String name) {
+        this.trace = trace;
+        this.context = context;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.startNanos = System.nanoTime();
+        final var now = trace == null ? Instant.EPOCH : Instant.now();
+        this.startEpochMicros = now.getEpochSecond() * 1_000_000 + now.getNano() / 1_000;
+    }
+
+    public static Span current() {
+        final var span = CURRENT.get();
+        return span == null ? NOOP : span;
+    }
+
+    public static Span startChild(@NonNull String name) {
+        return current().child(name);
+    }
+
+    /*
+     * Runs work as a child span of the current one, which is ended when the returned future completes. The future
+     * completes after the span has ended, with the same value or exception as the future work returned.
+     */
+    public static <T> CompletableFuture<T> trace(@NonNull String name, @NonNull Supplier<CompletableFuture<T>> work) {
+        final var span = startChild(name);
+        if (!span.isRecording()) {
+            return work.get();
+        }
+        final CompletableFuture<T> future;
+        try (var ignored = span.activate()) {
+            future = work.get();
+        } catch (RuntimeException ex) {
+            span.fail(ex).end();
+            throw ex;
+        }
+        final var traced = new CompletableFuture<T>();
+        future.whenComplete((result, ex) -> {
+            if (ex != null) {
+                span.fail(ex);
+            }
+            span.end();
+            complete(traced, result, ex);
+        });
+        return traced;
+    }
+
+    /*
+     * A future completing like the given one, but with the calling thread's current span bound while it completes, so
+     * continuations attached to it stay in the caller's trace whichever thread completes it.
+     */
+    public static <T> CompletableFuture<T> resume(@NonNull CompletableFuture<T> future) {
+        final var span = current();
+        if (!span.isRecording()) {
+            return future;
+        }
+        final var resumed = new CompletableFuture<T>();
+        future.whenComplete((result, ex) -> {
+            try (var ignored = span.activate()) {
+                complete(resumed, result, ex);
+            }
+        });
+        return resumed;
+    }
+
+    public Span child(@NonNull String name) {
+        if (!isRecording()) {
+            return NOOP;
+        }
+        return new Span(trace, context.newChild(), context.spanId(), name);
+    }
+
+    public boolean isRecording() {
+        return trace != null;
+    }
+
+    /*
+     * Binds this span to the current thread until the returned scope is closed, which restores the previous one.
+     */
+    public Scope activate() {
+        final var previous = CURRENT.get();
+        if (isRecording()) {
+            CURRENT.set(this);
+        } else {
+            CURRENT.remove();
+        }
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public <T> Supplier<T> wrap(@NonNull Supplier<T> work) {
+        if (!isRecording()) {
+            return work;
+        }
+        return () -> {
+            try (var ignored = activate()) {
+                return work.get();
+            }
+        };
+    }
+
+    public Runnable wrap(@NonNull Runnable work) {
+        if (!isRecording()) {
+            return work;
+        }
+        return () -> {
+            try (var ignored = activate()) {
+                work.run();
+            }
+        };
+    }
+
+    public synchronized Span attribute(@NonNull String key, Object value) {
+        if (isRecording() && !ended && value != null) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    public Span fail(@NonNull Throwable ex) {
+        final var cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        return fail(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+    }
+
+    /*
+     * The first failure recorded is kept.
+     */
+    public synchronized Span fail(@NonNull String error) {
+        if (isRecording() && !ended && this.error == null) {
+            this.error = error;
+        }
+        return this;
+    }
+
+    /*
+     * Ends the span once; later calls are ignored. Ending the root span completes the trace.
+     */
+    public void end() {
+        final FinishedSpan finished;
+        synchronized (this) {
+            if (!isRecording() || ended) {
+                return;
+            }
+            ended = true;
+            finished = new FinishedSpan(
+                    context.traceId(),
+                    context.spanId(),
+                    parentSpanId,
+                    name,
+                    startEpochMicros,
+                    (System.nanoTime() - startNanos) / 1_000,
+                    error,
+                    Map.copyOf(attributes));
+        }
+        trace.finished(this, finished);
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, T result, Throwable ex) {
+        if (ex != null) {
+            future.completeExceptionally(ex);
+        } else {
+            future.complete(result);
+        }
+    }
+}
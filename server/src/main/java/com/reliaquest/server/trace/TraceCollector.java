@@ -0,0 +1,104 @@
+package com.reliaquest.server.trace;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * Starts traces and tail-samples them: the spans of a trace are buffered until its root span ends, then exported only
+ * if the trace took at least {@code slowThreshold} or any of its spans failed. Spans that end after their root are
+ * dropped.
+ *
+ * <p>Each process samples its own part of a trace, rooted at the span it started for the incoming request, so a fast
+ * upstream call can be dropped by the mock server while the slow api request it belongs to is kept.
+ */
+public class TraceCollector {
+
+    private final TraceExporter exporter;
+    private final long slowThresholdMicros;
+    private final String service;
+    private final boolean enabled;
+
+    private final LongAdder kept = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public TraceCollector(
+            @NonNull TraceExporter exporter,
+            @NonNull Duration slowThreshold,
+            @NonNull String service,
+            boolean enabled) {
+        if (slowThreshold.isNegative()) {
+            throw new IllegalArgumentException("Slow trace threshold must not be negative");
+        }
+        this.exporter = exporter;
+        this.slowThresholdMicros = slowThreshold.toNanos() / 1_000;
+        this.service = service;
+        this.enabled = enabled;
+    }
+
+    /*
+     * Continues the caller's trace when the request carried one, otherwise starts a new trace. Disabled, this returns
+     * Span.NOOP and nothing under it is traced.
+     */
+    public Span startRoot(@NonNull String name, TraceContext remoteParent) {
+        if (!enabled) {
+            return Span.NOOP;
+        }
+        final var context = remoteParent == null ? TraceContext.newTrace() : remoteParent.newChild();
+        final var trace = new LocalTrace(this);
+        trace.root = new Span(trace, context, remoteParent == null ? null : remoteParent.spanId(), name);
+        return trace.root;
+    }
+
+    public long getKeptCount() {
+        return kept.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void complete(FinishedSpan root, boolean failed, List<FinishedSpan> spans) {
+        if (failed || root.durationMicros() >= slowThresholdMicros) {
+            kept.increment();
+            exporter.export(new RecordedTrace(service, root.traceId(), root.durationMicros(), failed, spans));
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /*
+     * The spans one process has ended so far for a trace, completed by the end of its root span.
+     */
+    static final class LocalTrace {
+
+        private final TraceCollector collector;
+        private final List<FinishedSpan> spans = new ArrayList<>();
+        private volatile Span root;
+        private boolean failed;
+        private boolean completed;
+
+        private LocalTrace(TraceCollector collector) {
+            this.collector = collector;
+        }
+
+        void finished(Span span, FinishedSpan finished) {
+            final List<FinishedSpan> trace;
+            synchronized (this) {
+                if (completed) {
+                    return;
+                }
+                spans.add(finished);
+                failed |= finished.error() != null;
+                if (span != root) {
+                    return;
+                }
+                completed = true;
+                trace = List.copyOf(spans);
+            }
+            collector.complete(finished, failed, trace);
+        }
+    }
+}
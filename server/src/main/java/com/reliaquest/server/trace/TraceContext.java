@@ -0,0 +1,64 @@
+package com.reliaquest.server.trace;
+
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import lombok.NonNull;
+
+/**
+ * The ids that tie a span to its trace, carried between processes in the W3C {@code traceparent} header as
+ * {@code 00-<trace-id>-<parent-id>-<flags>}.
+ */
+public record TraceContext(@NonNull String traceId, @NonNull String spanId) {
+
+    public static final String HEADER = "traceparent";
+
+    private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-[0-9a-f]{2}");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+
+    /*
+     * Malformed headers and the all-zero ids are ignored, as the specification requires, and start a new trace.
+     */
+    public static Optional<TraceContext> parse(String traceparent) {
+        if (traceparent == null) {
+            return Optional.empty();
+        }
+        final var matcher = TRACEPARENT.matcher(traceparent.trim());
+        if (!matcher.matches()
+                || matcher.group(1).equals(INVALID_TRACE_ID)
+                || matcher.group(2).equals(INVALID_SPAN_ID)) {
+            return Optional.empty();
+        }
+        return Optional.of(new TraceContext(matcher.group(1), matcher.group(2)));
+    }
+
+    public static TraceContext newTrace() {
+        return new TraceContext(randomId(2), randomId(1));
+    }
+
+    public TraceContext newChild() {
+        return new TraceContext(traceId, randomId(1));
+    }
+
+    /*
+     * Always sent as sampled, since whether the trace is kept is only decided once it has finished.
+     */
+    public String toTraceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    private static String randomId(int longs) {
+        final var random = ThreadLocalRandom.current();
+        final var id = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            long value;
+            do {
+                value = random.nextLong();
+            } while (value == 0);
+            id.append(HexFormat.of().toHexDigits(value));
+        }
+        return id.toString();
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.server.trace;
+
+/**
+ * Receives the traces kept by tail sampling. Called on the thread that ended the trace's root span.
+ */
+public interface TraceExporter {
+
+    void export(RecordedTrace trace);
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.server.web;
+
+/**
+ * Strong ETags for a single employee, carrying its version, and parsing of the If-Match header that makes an update
+ * a compare-and-set on that version.
+ */
+public final class EmployeeETags {
+
+    public static final String INVALID_IF_MATCH = "If-Match must be a single employee version ETag or *: ";
+
+    private EmployeeETags() {}
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /*
+     * The version the client expects, or null when any version will do (no header, or *). Weak tags are refused, since
+     * If-Match only compares strongly.
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        final var tag = ifMatch.strip();
+        final var version = tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")
+                ? tag.substring(1, tag.length() - 1)
+                : tag;
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException(INVALID_IF_MATCH + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import lombok.NonNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Honors {@code ?fields=a,b} on read endpoints by serializing only those properties of every projectable object in the
+ * response body. Objects are not copied: the projection is a Jackson property filter applied while writing, so it
+ * works for JSON, Smile and CBOR alike.
+ *
+ * <p>A type becomes projectable through the {@link Projectable} mix-in on the application's object mapper, which must
+ * also carry {@link #serializeAll()} as its default filters so unprojected writes are unaffected. Subclasses are the
+ * {@code @ControllerAdvice} for their controllers and name the fields a client may ask for.
+ */
+public abstract class FieldProjection extends AbstractMappingJacksonResponseBodyAdvice {
+
+    public static final String PARAM = "fields";
+    public static final String FILTER_ID = "fieldProjection";
+
+    @JsonFilter(FILTER_ID)
+    public interface Projectable {}
+
+    private final Map<String, String> propertiesByField;
+
+    /**
+     * @param propertiesByField the serialized property name for each field a client may request
+     */
+    protected FieldProjection(@NonNull Map<String, String> propertiesByField) {
+        this.propertiesByField = Map.copyOf(propertiesByField);
+    }
+
+    public static FilterProvider serializeAll() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    /*
+     * Rejects unknown fields rather than silently returning less than asked for.
+     */
+    public FilterProvider only(@NonNull String fields) {
+        final Set<String> properties = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            final var name = field.trim().toLowerCase(Locale.ROOT);
+            final var property = propertiesByField.get(name);
+            if (property == null) {
+                throw new IllegalArgumentException("Unknown field '" + field.trim() + "', expected any of "
+                        + new TreeSet<>(propertiesByField.keySet()));
+            }
+            properties.add(property);
+        }
+        return new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(properties));
+    }
+
+    @Override
+    protected void beforeBodyWriteInternal(
+            MappingJacksonValue bodyContainer,
+            MediaType contentType,
+            MethodParameter returnType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            final var fields = servletRequest.getServletRequest().getParameter(PARAM);
+            if (fields != null && !fields.isBlank()) {
+                bodyContainer.setFilters(only(fields));
+            }
+        }
+    }
+}
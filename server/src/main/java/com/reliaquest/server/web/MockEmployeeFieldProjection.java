@@ -0,0 +1,23 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.controller.MockEmployeeController;
+import java.util.Map;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+
+/*
+ * Fields are requested by their MockEmployee names and projected onto the prefixed employee_* properties.
+ */
+@ControllerAdvice(assignableTypes = MockEmployeeController.class)
+public class MockEmployeeFieldProjection extends FieldProjection {
+
+    public MockEmployeeFieldProjection() {
+        super(Map.of(
+                "id", "id",
+                "name", "employee_name",
+                "salary", "employee_salary",
+                "age", "employee_age",
+                "title", "employee_title",
+                "email", "employee_email",
+                "version", "employee_version"));
+    }
+}
@@ -20,23 +20,32 @@ public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final var event = RequestLimitEvent.start();
+        var decision = RequestLimitEvent.Decision.ALLOWED;
         if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
             if (Instant.now()
                     .minus(REQUEST_BACKOFF_DURATION)
                     .isBefore(requestLimit.get().getLastRequested())) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                event.finish(
+                        request.getRequestURI(),
+                        RequestLimitEvent.Decision.THROTTLED,
+                        requestLimit.get().getCount(),
+                        REQUEST_LIMIT);
                 return false;
             }
             if (Instant.now()
                     .minus(REQUEST_BACKOFF_DURATION)
                     .isAfter(requestLimit.get().getLastRequested())) {
                 requestLimit.set(RequestLimit.init());
+                decision = RequestLimitEvent.Decision.RESET;
             }
         } else {
             requestLimit.getAndUpdate(
                     currentRequestLimit -> new RequestLimit(currentRequestLimit.count() + 1, Instant.now()));
         }
 
+        event.finish(request.getRequestURI(), decision, requestLimit.get().getCount(), REQUEST_LIMIT);
         return true;
     }
 
@@ -0,0 +1,57 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.service.EmployeeChangeLog;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Read-your-writes for reads served by a replica. A read carrying {@code minVersion} waits until this instance has
+ * applied that change-log version, or fails with 412 after the catch-up timeout so the caller can go to the primary.
+ * Every read reports the version it was served at.
+ */
+@Component
+public class ReplicaConsistencyInterceptor implements HandlerInterceptor {
+
+    public static final String VERSION_HEADER = "X-Employee-Version";
+    public static final String MIN_VERSION_PARAM = "minVersion";
+
+    private final EmployeeChangeLog employeeChangeLog;
+    private final Duration catchUpTimeout;
+
+    public ReplicaConsistencyInterceptor(
+            EmployeeChangeLog employeeChangeLog,
+            @Value("${mock.employees.replication.catch-up-timeout:PT0.5S}") Duration catchUpTimeout) {
+        this.employeeChangeLog = employeeChangeLog;
+        this.catchUpTimeout = catchUpTimeout;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        final var minVersion = request.getParameter(MIN_VERSION_PARAM);
+        if (minVersion != null) {
+            final long target;
+            try {
+                target = Long.parseLong(minVersion);
+            } catch (NumberFormatException ex) {
+                response.setStatus(HttpStatus.BAD_REQUEST.value());
+                return false;
+            }
+            if (!employeeChangeLog.awaitSequence(target, catchUpTimeout)) {
+                response.setStatus(HttpStatus.PRECONDITION_FAILED.value());
+                return false;
+            }
+        }
+        response.setHeader(VERSION_HEADER, String.valueOf(employeeChangeLog.currentSequence()));
+        return true;
+    }
+}
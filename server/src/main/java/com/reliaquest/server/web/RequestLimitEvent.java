@@ -0,0 +1,59 @@
+package com.reliaquest.server.web;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for each RandomRequestLimitInterceptor decision, and each request counted against a fault
+ * profile's throttle limit. It is only written while a recording that enables {@value #NAME} is running; otherwise
+ * begin, end and commit are no-ops.
+ */
+@Name(RequestLimitEvent.NAME)
+@Label("Request Limit Decision")
+@Category({"ReliaQuest", "Mock Employee API"})
+@Description("Whether a request was let through or rejected by a request limit")
+@StackTrace(false)
+public class RequestLimitEvent extends Event {
+
+    public static final String NAME = "com.reliaquest.server.RequestLimit";
+
+    public enum Decision {
+        ALLOWED,
+        RESET,
+        THROTTLED
+    }
+
+    @Label("Path")
+    String path;
+
+    @Label("Decision")
+    String decision;
+
+    @Label("Request Count")
+    @Description("Requests counted in the current window")
+    int requestCount;
+
+    @Label("Request Limit")
+    int requestLimit;
+
+    public static RequestLimitEvent start() {
+        final var event = new RequestLimitEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String path, Decision decision, int requestCount, int requestLimit) {
+        end();
+        if (shouldCommit()) {
+            this.path = path;
+            this.decision = decision.name();
+            this.requestCount = requestCount;
+            this.requestLimit = requestLimit;
+            commit();
+        }
+    }
+}
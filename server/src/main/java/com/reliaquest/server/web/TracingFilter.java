@@ -0,0 +1,90 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.trace.Span;
+import com.reliaquest.server.trace.TraceCollector;
+import com.reliaquest.server.trace.TraceContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Starts the root span of every request, continuing the caller's trace from its {@code traceparent} header. The span's
+ * own context is returned in the same header, so a client can find its request among the exported traces.
+ *
+ * <p>Responses with a 5xx or 429 status count as failed, which keeps their traces regardless of duration. A handler
+ * that answers with a future is traced until its async request completes. Streaming responses are committed when the
+ * handler starts streaming, and are traced up to that point.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final TraceCollector traceCollector;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final var span = traceCollector.startRoot(
+                request.getMethod() + " " + request.getRequestURI(),
+                TraceContext.parse(request.getHeader(TraceContext.HEADER)).orElse(null));
+        if (!span.isRecording()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setHeader(TraceContext.HEADER, span.getContext().toTraceparent());
+        try (var ignored = span.activate()) {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            span.fail(ex);
+            end(span, request, response);
+            throw ex;
+        }
+        if (request.isAsyncStarted() && !response.isCommitted()) {
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    end(span, request, response);
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    span.fail("async request timed out");
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    if (event.getThrowable() != null) {
+                        span.fail(event.getThrowable());
+                    }
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {}
+            });
+        } else {
+            end(span, request, response);
+        }
+    }
+
+    private static void end(Span span, HttpServletRequest request, HttpServletResponse response) {
+        final int status = response.getStatus();
+        span.attribute("http.route", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))
+                .attribute("http.status", status);
+        if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            span.fail("HTTP " + status);
+        }
+        span.end();
+    }
+}
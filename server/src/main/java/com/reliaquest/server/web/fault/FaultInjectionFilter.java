@@ -0,0 +1,94 @@
+package com.reliaquest.server.web.fault;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.trace.Span;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Applies the {@code mock.faults} profile to incoming requests: 429s on the throttle schedule, injected latency, error
+ * responses and slowly streamed bodies. It runs inside {@link com.reliaquest.server.web.TracingFilter}, so injected
+ * faults show up on the request's root span. Without an enabled profile every request passes straight through.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    public static final String INJECTED_ERROR = "Injected fault";
+
+    private final FaultInjector faultInjector;
+    private final ObjectMapper objectMapper;
+
+    public FaultInjectionFilter(FaultProfile faultProfile, ObjectMapper objectMapper) {
+        this.faultInjector = new FaultInjector(faultProfile, System::nanoTime);
+        this.objectMapper = objectMapper;
+        if (faultInjector.isEnabled()) {
+            log.warn("Injecting faults from {} rules with seed {}", faultProfile.rules().size(), faultProfile.seed());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !faultInjector.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final var path = request.getRequestURI().substring(request.getContextPath().length());
+        final var decided = faultInjector.decide(request.getMethod(), path);
+        if (decided.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        final var fault = decided.get();
+        final var span = Span.current();
+        if (fault.throttled()) {
+            span.attribute("fault", "throttled");
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((fault.retryAfter().toMillis() + 999) / 1000));
+            return;
+        }
+        if (fault.delayNanos() > 0) {
+            span.attribute("fault.delay.ms", fault.delayNanos() / 1_000_000);
+            pause(fault.delayNanos());
+        }
+        if (fault.errorStatus() != 0) {
+            span.attribute("fault", "error");
+            response.setStatus(fault.errorStatus());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Response.error(INJECTED_ERROR));
+            return;
+        }
+        if (fault.slowBody().isEnabled()) {
+            span.attribute("fault", "slow-body");
+            filterChain.doFilter(request, new SlowBodyResponse(response, fault.slowBody()));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    static void pause(long nanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while injecting latency");
+        }
+    }
+}
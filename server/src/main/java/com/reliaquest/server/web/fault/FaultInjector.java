@@ -0,0 +1,129 @@
+package com.reliaquest.server.web.fault;
+
+import com.reliaquest.server.web.RequestLimitEvent;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Decides what a {@link FaultProfile} does to each request. Throttle windows and periods are measured on the given
+ * nanosecond clock from the injector's creation.
+ */
+public class FaultInjector {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final FaultProfile profile;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final List<RuleState> rules;
+
+    public FaultInjector(@NonNull FaultProfile profile, @NonNull LongSupplier nanoClock) {
+        this.profile = profile;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        this.rules = IntStream.range(0, profile.rules().size())
+                .mapToObj(index -> new RuleState(index, profile.rules().get(index)))
+                .toList();
+    }
+
+    public boolean isEnabled() {
+        return profile.enabled() && !rules.isEmpty();
+    }
+
+    /*
+     * Empty when no rule matches the request.
+     */
+    public Optional<Fault> decide(@NonNull String method, @NonNull String path) {
+        if (!profile.enabled()) {
+            return Optional.empty();
+        }
+        return rules.stream()
+                .filter(rule -> rule.matches(method, path))
+                .findFirst()
+                .map(rule -> rule.decide(path, nanoClock.getAsLong() - startNanos));
+    }
+
+    /**
+     * What happens to one request: a 429 with {@code retryAfter} if {@code throttled}; otherwise a wait of
+     * {@code delayNanos}, then an {@code errorStatus} response if it is non-zero, or else the handled response with
+     * its body streamed per {@code slowBody}.
+     */
+    public record Fault(
+            boolean throttled, Duration retryAfter, long delayNanos, int errorStatus, FaultProfile.SlowBody slowBody) {}
+
+    private final class RuleState {
+
+        private final int index;
+        private final FaultProfile.Rule rule;
+        private final AtomicLong requests = new AtomicLong();
+        private long window = -1;
+        private int windowCount;
+
+        RuleState(int index, FaultProfile.Rule rule) {
+            this.index = index;
+            this.rule = rule;
+        }
+
+        boolean matches(String method, String path) {
+            return (rule.method() == null || rule.method().equalsIgnoreCase(method))
+                    && PATH_MATCHER.match(rule.path(), path);
+        }
+
+        Fault decide(String path, long elapsedNanos) {
+            final var retryAfter = throttle(path, elapsedNanos);
+            if (retryAfter != null) {
+                return new Fault(true, retryAfter, 0, 0, rule.slowBody());
+            }
+            // SplittableRandom mixes its seed, so neighbouring request numbers give unrelated draws.
+            final var random = new SplittableRandom(profile.seed() ^ ((long) index << 48) ^ requests.getAndIncrement());
+            final long delayNanos = rule.latency().sampleNanos(random);
+            final int errorStatus = random.nextDouble() < rule.errorRate() ? rule.errorStatus() : 0;
+            return new Fault(false, null, delayNanos, errorStatus, rule.slowBody());
+        }
+
+        /*
+         * The wait until the schedule lets requests through again, or null if this one is let through.
+         */
+        private Duration throttle(String path, long elapsedNanos) {
+            final var throttle = rule.throttle();
+            if (throttle.period() != null) {
+                final long untilNextPeriod = throttle.period().toNanos() - elapsedNanos % throttle.period().toNanos();
+                if (untilNextPeriod <= throttle.duration().toNanos()) {
+                    return Duration.ofNanos(untilNextPeriod);
+                }
+            }
+            if (throttle.limit() == 0) {
+                return null;
+            }
+            final var event = RequestLimitEvent.start();
+            final long windowNanos = throttle.window().toNanos();
+            final boolean allowed;
+            final int count;
+            synchronized (this) {
+                final long current = elapsedNanos / windowNanos;
+                if (current != window) {
+                    window = current;
+                    windowCount = 0;
+                }
+                allowed = windowCount < throttle.limit();
+                if (allowed) {
+                    windowCount++;
+                }
+                count = windowCount;
+            }
+            if (!allowed) {
+                event.finish(path, RequestLimitEvent.Decision.THROTTLED, count, throttle.limit());
+                return Duration.ofNanos(windowNanos - elapsedNanos % windowNanos);
+            }
+            event.finish(path, RequestLimitEvent.Decision.ALLOWED, count, throttle.limit());
+            return null;
+        }
+    }
+}
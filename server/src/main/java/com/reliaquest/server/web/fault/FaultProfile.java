@@ -0,0 +1,122 @@
+package com.reliaquest.server.web.fault;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Upstream trouble injected by {@link FaultInjectionFilter}, bound from {@code mock.faults}. Each rule applies to the
+ * requests matching its path pattern and, if given, its method; the first matching rule wins. Random draws are seeded
+ * from {@link #seed} and the request's position among those its rule matched, so a run with the same seed and arrival
+ * schedule sees the same faults.
+ */
+@ConfigurationProperties("mock.faults")
+public record FaultProfile(boolean enabled, @DefaultValue("42") long seed, @DefaultValue List<Rule> rules) {
+
+    public record Rule(
+            @DefaultValue("/api/v1/employee/**") String path,
+            String method,
+            @DefaultValue Latency latency,
+            @DefaultValue("0") double errorRate,
+            @DefaultValue("503") int errorStatus,
+            @DefaultValue Throttle throttle,
+            @DefaultValue SlowBody slowBody) {
+
+        public Rule {
+            if (errorRate < 0 || errorRate > 1) {
+                throw new IllegalArgumentException("Fault error-rate must be between 0 and 1 for " + path);
+            }
+            if (errorStatus < 400 || errorStatus > 599) {
+                throw new IllegalArgumentException("Fault error-status must be a 4xx or 5xx status for " + path);
+            }
+        }
+    }
+
+    /*
+     * Added to each matching request before it is handled. FIXED waits median; UNIFORM draws from [min, max];
+     * EXPONENTIAL and LOGNORMAL add to min a draw with the given median, LOGNORMAL spread so that p99 is its 99th
+     * percentile. A max caps every draw.
+     */
+    public record Latency(
+            @DefaultValue("NONE") Distribution distribution,
+            @DefaultValue("PT0S") Duration min,
+            @DefaultValue("PT0S") Duration median,
+            Duration p99,
+            Duration max) {
+
+        private static final double Z_99 = 2.3263478740408408;
+
+        public Latency {
+            if (distribution == Distribution.UNIFORM && max == null) {
+                throw new IllegalArgumentException("Uniform fault latency needs a max");
+            }
+            if (distribution == Distribution.LOGNORMAL && p99 != null && p99.compareTo(median) < 0) {
+                throw new IllegalArgumentException("Lognormal fault latency needs p99 of at least the median");
+            }
+        }
+
+        public long sampleNanos(SplittableRandom random) {
+            final long minNanos = min.toNanos();
+            final long medianNanos = median.toNanos();
+            final long nanos =
+                    switch (distribution) {
+                        case NONE -> 0;
+                        case FIXED -> medianNanos;
+                        case UNIFORM -> minNanos + (long) (random.nextDouble() * (max.toNanos() - minNanos));
+                        case EXPONENTIAL -> minNanos
+                                + (long) (-Math.log(1 - random.nextDouble()) * medianNanos / Math.log(2));
+                        case LOGNORMAL -> minNanos + (long) (medianNanos * Math.exp(sigma() * gaussian(random)));
+                    };
+            return max == null ? nanos : Math.min(nanos, max.toNanos());
+        }
+
+        private double sigma() {
+            return p99 == null || median.isZero() ? 0 : Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+        }
+
+        private static double gaussian(SplittableRandom random) {
+            // Box-Muller; SplittableRandom has no nextGaussian on Java 17.
+            return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        }
+    }
+
+    public enum Distribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        EXPONENTIAL,
+        LOGNORMAL
+    }
+
+    /*
+     * 429 schedules: at most limit requests per fixed window (0 for no limit), and every request during the last
+     * duration of each period (no period for none). Windows and periods are counted from startup.
+     */
+    public record Throttle(
+            @DefaultValue("0") int limit,
+            @DefaultValue("PT1S") Duration window,
+            Duration period,
+            @DefaultValue("PT0S") Duration duration) {
+
+        public Throttle {
+            if (limit < 0 || window.isZero() || window.isNegative()) {
+                throw new IllegalArgumentException("Fault throttle needs a non-negative limit and a positive window");
+            }
+            if (period != null && (period.isZero() || period.isNegative() || duration.compareTo(period) > 0)) {
+                throw new IllegalArgumentException("Fault throttle period must be positive and cover its duration");
+            }
+        }
+    }
+
+    /*
+     * Streams the response body in chunk-size byte chunks, waiting chunk-delay before each after the first.
+     */
+    public record SlowBody(@DefaultValue("0") int chunkSize, @DefaultValue("PT0S") Duration chunkDelay) {
+
+        public boolean isEnabled() {
+            return chunkSize > 0 && !chunkDelay.isZero();
+        }
+    }
+}
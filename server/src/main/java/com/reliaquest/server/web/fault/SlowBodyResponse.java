@@ -0,0 +1,97 @@
+package com.reliaquest.server.web.fault;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * Streams the body to the client in fixed-size chunks, flushing each one and pausing before the next, so the client
+ * sees a server that is slow to send rather than slow to answer.
+ */
+class SlowBodyResponse extends HttpServletResponseWrapper {
+
+    private final FaultProfile.SlowBody slowBody;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    SlowBodyResponse(HttpServletResponse response, FaultProfile.SlowBody slowBody) {
+        super(response);
+        this.slowBody = slowBody;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new ChunkedOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    private final class ChunkedOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private int chunkWritten;
+
+        ChunkedOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (chunkWritten == slowBody.chunkSize()) {
+                    FaultInjectionFilter.pause(slowBody.chunkDelay().toNanos());
+                    chunkWritten = 0;
+                }
+                final int n = Math.min(len, slowBody.chunkSize() - chunkWritten);
+                delegate.write(b, off, n);
+                chunkWritten += n;
+                off += n;
+                len -= n;
+                if (chunkWritten == slowBody.chunkSize()) {
+                    delegate.flush();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}